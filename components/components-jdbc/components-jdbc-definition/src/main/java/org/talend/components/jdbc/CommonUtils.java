@@ -14,7 +14,6 @@ package org.talend.components.jdbc;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -37,7 +36,7 @@ import org.talend.components.api.properties.ComponentReferenceProperties;
 import org.talend.components.api.properties.ComponentReferenceProperties.ReferenceType;
 import org.talend.components.common.avro.AvroTool;
 import org.talend.components.common.config.jdbc.Dbms;
-import org.talend.components.common.config.jdbc.MappingFileLoader;
+import org.talend.components.common.config.jdbc.DbmsRegistry;
 import org.talend.components.jdbc.module.DBTypes;
 import org.talend.components.jdbc.module.JDBCConnectionModule;
 import org.talend.components.jdbc.query.EDatabase4DriverClassName;
@@ -444,66 +443,49 @@ public class CommonUtils {
             mappingFileSubfix = "Mysql";
         }
 
-        MappingFileLoader fileLoader = new MappingFileLoader();
         Dbms dbms = null;
 
+        // the parsed mapping files are shared by all the components of the process, see DbmsRegistry
         try {
-            dbms = loadFromStream(fileLoader, mappingFilesDir, mappingFileSubfix);
+            dbms = loadFromStream(mappingFilesDir, mappingFileSubfix);
         } catch(Exception e) {
             //Fallback to old solution
             LOG.warn("Couldn't load mapping from stream. Trying to read as File.", e);
-            dbms = loadFromFile(fileLoader, mappingFilesDir, mappingFileSubfix);
+            dbms = loadFromFile(mappingFilesDir, mappingFileSubfix);
         }
 
         return dbms;
     }
 
-    private static Dbms loadFromFile(final MappingFileLoader fileLoader, final URL mappingFilesDir, final String mappingFileSubfix) {
+    private static Dbms loadFromFile(final URL mappingFilesDir, final String mappingFileSubfix) {
         File mappingFileFullPath = new File(mappingFilesDir.getFile(), "mapping_" + mappingFileSubfix + ".xml");
         if (!mappingFileFullPath.exists()) {
             mappingFileFullPath =
                     new File(mappingFilesDir.getFile(), "mapping_" + mappingFileSubfix.toLowerCase() + ".xml");
         }
-        return fileLoader.load(mappingFileFullPath).get(0);
-    }
-
-    private static Dbms loadFromStream(final MappingFileLoader fileLoader, final URL mappingFilesDir, final String mappingFileSubfix)
-            throws IOException, URISyntaxException {
-        Dbms dbms = null;
-        InputStream mappingStream = null;
         try {
-            mappingStream = getStream(mappingFilesDir, mappingFileSubfix);
-            dbms = fileLoader.load(mappingStream).get(0);
-        } finally {
-            if (mappingStream != null) {
-                try {
-                    mappingStream.close();
-                } catch (IOException e) {
-                    LOG.warn("Couldn't close stream.", e);
-                }
-            }
+            return DbmsRegistry.get().getDbms(mappingFileFullPath.toURI().toURL());
+        } catch (IOException e) {
+            throw newComponentException(e);
         }
-        return dbms;
     }
 
-    private static InputStream getStream(final URL mappingFileDir, final String mappingFileSubfix)
+    private static Dbms loadFromStream(final URL mappingFilesDir, final String mappingFileSubfix)
             throws IOException, URISyntaxException {
-        if(mappingFileDir == null) {
+        if(mappingFilesDir == null) {
             throw new IllegalArgumentException("Mapping file directory URL cannot be null!");
         }
-        URL mappingFileDirUrl = mappingFileDir;
-        InputStream mappingStream = null;
+        URL mappingFileDirUrl = mappingFilesDir;
         if(!mappingFileDirUrl.toString().endsWith("/")) {
             mappingFileDirUrl = new URL(mappingFileDirUrl.toString() + "/");
         }
         try {
             URL mappingFileFullUrl = mappingFileDirUrl.toURI().resolve("mapping_" + mappingFileSubfix + ".xml").toURL();
-            mappingStream = mappingFileFullUrl.openStream();
+            return DbmsRegistry.get().getDbms(mappingFileFullUrl);
         } catch (URISyntaxException | IOException e) {
             URL mappingFileFullUrl = mappingFileDirUrl.toURI().resolve("mapping_" + mappingFileSubfix.toLowerCase() + ".xml").toURL();
-            mappingStream = mappingFileFullUrl.openStream();
+            return DbmsRegistry.get().getDbms(mappingFileFullUrl);
         }
-        return mappingStream;
     }
 
     public static Dbms getMapping(String mappingFilesDir, AllSetting setting,
@@ -591,6 +573,26 @@ public class CommonUtils {
         productValue2DefaultMappingFileSubfix.put("VERTICA", "Vertica");
     }
 
+    /**
+     * get the database type by the driver class only, no guess here, so it's safe for the runtime which generate database
+     * specific sql
+     * 
+     * @param driverClassName
+     * @return null if the driver class is unknown
+     */
+    public static EDatabaseTypeName getDBTypeByDriverClass(String driverClassName) {
+        if (driverClassName == null) {
+            return null;
+        }
+
+        List<EDatabase4DriverClassName> t4d = EDatabase4DriverClassName.indexOfByDriverClass(driverClassName);
+        if (t4d.isEmpty()) {
+            return null;
+        }
+
+        return t4d.get(0).getDbType();
+    }
+
     // hywang add for bug 7575
     private static String getDbTypeByClassNameAndDriverJar(String driverClassName, String driverJar) {
         List<EDatabase4DriverClassName> t4d = EDatabase4DriverClassName.indexOfByDriverClass(driverClassName);
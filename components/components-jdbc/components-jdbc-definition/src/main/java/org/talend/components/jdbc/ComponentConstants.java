@@ -33,6 +33,10 @@ public interface ComponentConstants {
 
     String RETURN_REJECT_RECORD_COUNT = "nbLineRejected";
 
+    String RETURN_BYTES_READ = "bytesRead";
+
+    String RETURN_ROWS_PER_SECOND = "rowsPerSecond";
+
     // TOOD use a common one
     String TALEND6_DYNAMIC_COLUMN_POSITION = "di.dynamic.column.position";
 
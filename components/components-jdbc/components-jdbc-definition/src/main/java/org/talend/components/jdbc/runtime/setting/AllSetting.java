@@ -121,6 +121,24 @@ public class AllSetting implements Serializable, JDBCAvroRegistryInfluencer {
 
     public Integer queryTimeout;
 
+    private Boolean useBatchUpsert;
+
+    private Boolean useNativeUpsert;
+
+    private Boolean usePartitionedRead;
+
+    private String partitionColumn;
+
+    private Integer partitionCount;
+
+    private Boolean reuseRecord;
+
+    private Boolean useStreamingRead;
+
+    private Boolean useParallelWrite;
+
+    private Integer parallelConnections;
+
     public String getJdbcUrl() {
         return jdbcUrl;
     }
@@ -554,6 +572,78 @@ public class AllSetting implements Serializable, JDBCAvroRegistryInfluencer {
         this.queryTimeout = queryTimeout;
     }
 
+    public boolean getUseBatchUpsert() {
+        return useBatchUpsert != null && useBatchUpsert;
+    }
+
+    public void setUseBatchUpsert(Boolean useBatchUpsert) {
+        this.useBatchUpsert = useBatchUpsert;
+    }
+
+    public boolean getUseNativeUpsert() {
+        return useNativeUpsert != null && useNativeUpsert;
+    }
+
+    public void setUseNativeUpsert(Boolean useNativeUpsert) {
+        this.useNativeUpsert = useNativeUpsert;
+    }
+
+    public boolean getUsePartitionedRead() {
+        return usePartitionedRead != null && usePartitionedRead;
+    }
+
+    public void setUsePartitionedRead(Boolean usePartitionedRead) {
+        this.usePartitionedRead = usePartitionedRead;
+    }
+
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    public void setPartitionColumn(String partitionColumn) {
+        this.partitionColumn = partitionColumn;
+    }
+
+    public Integer getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(Integer partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public boolean getReuseRecord() {
+        return reuseRecord != null && reuseRecord;
+    }
+
+    public void setReuseRecord(Boolean reuseRecord) {
+        this.reuseRecord = reuseRecord;
+    }
+
+    public boolean getUseStreamingRead() {
+        return useStreamingRead != null && useStreamingRead;
+    }
+
+    public void setUseStreamingRead(Boolean useStreamingRead) {
+        this.useStreamingRead = useStreamingRead;
+    }
+
+    public boolean getUseParallelWrite() {
+        return useParallelWrite != null && useParallelWrite;
+    }
+
+    public void setUseParallelWrite(Boolean useParallelWrite) {
+        this.useParallelWrite = useParallelWrite;
+    }
+
+    public Integer getParallelConnections() {
+        return parallelConnections;
+    }
+
+    public void setParallelConnections(Integer parallelConnections) {
+        this.parallelConnections = parallelConnections;
+    }
+
     @Override
     public boolean isTrim(int index) {
         if (trimMap == null || trimMap.isEmpty()) {
@@ -690,6 +780,15 @@ public class AllSetting implements Serializable, JDBCAvroRegistryInfluencer {
                 ", usePreparedStatement=" + usePreparedStatement +
                 ", useQueryTimeout=" + useQueryTimeout +
                 ", queryTimeout=" + queryTimeout +
+                ", useBatchUpsert=" + useBatchUpsert +
+                ", useNativeUpsert=" + useNativeUpsert +
+                ", usePartitionedRead=" + usePartitionedRead +
+                ", partitionColumn='" + partitionColumn + '\'' +
+                ", partitionCount=" + partitionCount +
+                ", reuseRecord=" + reuseRecord +
+                ", useStreamingRead=" + useStreamingRead +
+                ", useParallelWrite=" + useParallelWrite +
+                ", parallelConnections=" + parallelConnections +
                 ", detectErrorOnMultipleSQL=" + detectErrorOnMultipleSQL +
                 ", indexs=" + indexs +
                 ", types=" + types +
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.talend.components.jdbc.module.AdditionalColumnsTable;
+import org.talend.components.jdbc.query.EDatabaseTypeName;
 import org.talend.daikon.avro.SchemaConstants;
 
 /**
@@ -449,6 +450,242 @@ public class JDBCSQLBuilder {
         return generateQuerySQL4InsertOrUpdate(tablename, updateKeys, updateKeyExpressions);
     }
 
+    /**
+     * generate the key lookup query for a buffer of records in batch upsert mode, every branch of the "UNION ALL" returns
+     * the position of the record in the buffer when its keys exist in the table, so only one round trip is needed for
+     * the whole buffer, and the key comparison is done by the database with its own types.
+     */
+    public String generateQuerySQL4BatchInsertOrUpdate(String tablename, List<Column> columnList, int rowCount) {
+        List<String> updateKeys = new ArrayList<>();
+        List<String> updateKeyExpressions = new ArrayList<>();
+
+        List<Column> all = getAllColumns(columnList);
+
+        for (Column column : all) {
+            if (column.updateKey) {
+                updateKeys.add(column.dbColumnName);
+                updateKeyExpressions.add(column.sqlStmt);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < rowCount; row++) {
+            if (row > 0) {
+                sb.append(" UNION ALL ");
+            }
+
+            sb.append("SELECT ").append(row).append(" FROM ").append(getProtectedChar()).append(tablename)
+                    .append(getProtectedChar()).append(" WHERE ");
+
+            int i = 0;
+
+            boolean firstOne = true;
+            for (String dbColumnName : updateKeys) {
+                if (firstOne) {
+                    firstOne = false;
+                } else {
+                    sb.append(" AND ");
+                }
+
+                sb.append(getProtectedChar()).append(dbColumnName).append(getProtectedChar()).append(" = ")
+                        .append(updateKeyExpressions.get(i++));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * generate the native upsert statement of the database, the parameters are the same as the ones of the insert statement
+     * generated by {@link #generateSQL4Insert(String, List)}, so the same row writer can be used.
+     *
+     * @return null if the database don't support native upsert, or the columns can't be expressed by it : no update key,
+     * or an update key or updatable column which is not insertable
+     */
+    public String generateSQL4Upsert(EDatabaseTypeName dbType, String tablename, List<Column> columnList) {
+        if (dbType == null) {
+            return null;
+        }
+
+        List<String> insertColumns = new ArrayList<>();
+        List<String> insertExpressions = new ArrayList<>();
+        List<String> updateValues = new ArrayList<>();
+        List<String> updateKeys = new ArrayList<>();
+
+        List<Column> all = getAllColumns(columnList);
+
+        for (Column column : all) {
+            if (column.insertable) {
+                insertColumns.add(column.dbColumnName);
+                insertExpressions.add(column.sqlStmt);
+            }
+
+            if (column.updateKey) {
+                if (!column.insertable) {
+                    return null;
+                }
+                updateKeys.add(column.dbColumnName);
+            } else if (column.updatable) {
+                if (!column.insertable) {
+                    return null;
+                }
+                updateValues.add(column.dbColumnName);
+            }
+        }
+
+        if (updateKeys.isEmpty()) {
+            return null;
+        }
+
+        String product = dbType.getProduct();
+        if ("POSTGRESQL".equals(product) || "POSTGRESPLUS".equals(product)) {
+            return generateSQL4UpsertOnConflict(tablename, insertColumns, insertExpressions, updateValues, updateKeys);
+        } else if ("MYSQL".equals(product) || "AMAZON_AURORA".equals(product)) {
+            return generateSQL4UpsertOnDuplicateKey(tablename, insertColumns, insertExpressions, updateValues, updateKeys);
+        } else if ("ORACLE".equals(product)) {
+            return generateSQL4Merge(tablename, insertColumns, insertExpressions, updateValues, updateKeys, false);
+        } else if ("SQL_SERVER".equals(product)) {
+            return generateSQL4Merge(tablename, insertColumns, insertExpressions, updateValues, updateKeys, true);
+        }
+
+        return null;
+    }
+
+    private String generateSQL4UpsertOnConflict(String tablename, List<String> insertColumns, List<String> insertExpressions,
+            List<String> updateValues, List<String> updateKeys) {
+        StringBuilder sb = new StringBuilder(generateSQL4Insert(tablename, insertColumns, insertExpressions));
+        sb.append(" ON CONFLICT (");
+        appendColumns(sb, updateKeys, "");
+        sb.append(")");
+
+        if (updateValues.isEmpty()) {
+            sb.append(" DO NOTHING");
+            return sb.toString();
+        }
+
+        sb.append(" DO UPDATE SET ");
+        boolean firstOne = true;
+        for (String dbColumnName : updateValues) {
+            if (firstOne) {
+                firstOne = false;
+            } else {
+                sb.append(",");
+            }
+
+            sb.append(getProtectedChar()).append(dbColumnName).append(getProtectedChar()).append(" = EXCLUDED.")
+                    .append(getProtectedChar()).append(dbColumnName).append(getProtectedChar());
+        }
+
+        return sb.toString();
+    }
+
+    private String generateSQL4UpsertOnDuplicateKey(String tablename, List<String> insertColumns,
+            List<String> insertExpressions, List<String> updateValues, List<String> updateKeys) {
+        StringBuilder sb = new StringBuilder(generateSQL4Insert(tablename, insertColumns, insertExpressions));
+        sb.append(" ON DUPLICATE KEY UPDATE ");
+
+        // nothing to update, but the clause can't be empty, so assign a key to itself
+        List<String> assignedColumns = updateValues.isEmpty() ? updateKeys.subList(0, 1) : updateValues;
+
+        boolean firstOne = true;
+        for (String dbColumnName : assignedColumns) {
+            if (firstOne) {
+                firstOne = false;
+            } else {
+                sb.append(",");
+            }
+
+            sb.append(getProtectedChar()).append(dbColumnName).append(getProtectedChar()).append(" = VALUES(")
+                    .append(getProtectedChar()).append(dbColumnName).append(getProtectedChar()).append(")");
+        }
+
+        return sb.toString();
+    }
+
+    private String generateSQL4Merge(String tablename, List<String> insertColumns, List<String> insertExpressions,
+            List<String> updateValues, List<String> updateKeys, boolean useValuesConstructor) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MERGE INTO ").append(getProtectedChar()).append(tablename).append(getProtectedChar());
+
+        if (useValuesConstructor) {
+            sb.append(" AS TGT USING (VALUES (");
+            appendColumns(sb, insertExpressions, "");
+            sb.append(")) AS SRC (");
+            appendColumns(sb, insertColumns, "");
+            sb.append(")");
+        } else {
+            sb.append(" TGT USING (SELECT ");
+            int i = 0;
+            boolean firstOne = true;
+            for (String dbColumnName : insertColumns) {
+                if (firstOne) {
+                    firstOne = false;
+                } else {
+                    sb.append(",");
+                }
+
+                sb.append(insertExpressions.get(i++)).append(" AS ").append(getProtectedChar()).append(dbColumnName)
+                        .append(getProtectedChar());
+            }
+            sb.append(" FROM DUAL) SRC");
+        }
+
+        sb.append(" ON (");
+        boolean firstOne = true;
+        for (String dbColumnName : updateKeys) {
+            if (firstOne) {
+                firstOne = false;
+            } else {
+                sb.append(" AND ");
+            }
+
+            sb.append("TGT.").append(getProtectedChar()).append(dbColumnName).append(getProtectedChar()).append(" = SRC.")
+                    .append(getProtectedChar()).append(dbColumnName).append(getProtectedChar());
+        }
+        sb.append(")");
+
+        if (!updateValues.isEmpty()) {
+            sb.append(" WHEN MATCHED THEN UPDATE SET ");
+            firstOne = true;
+            for (String dbColumnName : updateValues) {
+                if (firstOne) {
+                    firstOne = false;
+                } else {
+                    sb.append(",");
+                }
+
+                sb.append("TGT.").append(getProtectedChar()).append(dbColumnName).append(getProtectedChar())
+                        .append(" = SRC.").append(getProtectedChar()).append(dbColumnName).append(getProtectedChar());
+            }
+        }
+
+        sb.append(" WHEN NOT MATCHED THEN INSERT (");
+        appendColumns(sb, insertColumns, "");
+        sb.append(") VALUES (");
+        appendColumns(sb, insertColumns, "SRC.");
+        sb.append(")");
+
+        if (useValuesConstructor) {
+            // sql server requires the merge statement to be terminated
+            sb.append(";");
+        }
+
+        return sb.toString();
+    }
+
+    private void appendColumns(StringBuilder sb, List<String> columns, String prefix) {
+        boolean firstOne = true;
+        for (String column : columns) {
+            if (firstOne) {
+                firstOne = false;
+            } else {
+                sb.append(",");
+            }
+
+            sb.append(prefix).append(column);
+        }
+    }
+
     private List<Column> getAllColumns(List<Column> columnList) {
         List<Column> result = new ArrayList<Column>();
         for (Column column : columnList) {
@@ -36,7 +36,7 @@ public class TJDBCInputDefinition extends AbstractComponentDefinition {
 
     public TJDBCInputDefinition() {
         super(COMPONENT_NAME, ExecutionEngine.DI);
-        setupI18N(new Property<?>[] { RETURN_QUERY_PROP });
+        setupI18N(new Property<?>[] { RETURN_QUERY_PROP, RETURN_BYTES_READ_PROP, RETURN_ROWS_PER_SECOND_PROP });
     }
 
     @Override
@@ -51,10 +51,17 @@ public class TJDBCInputDefinition extends AbstractComponentDefinition {
 
     public static final Property<String> RETURN_QUERY_PROP = PropertyFactory.newString(ComponentConstants.RETURN_QUERY);
 
+    public static final Property<Long> RETURN_BYTES_READ_PROP = PropertyFactory.newProperty(Long.class,
+            ComponentConstants.RETURN_BYTES_READ);
+
+    public static final Property<Double> RETURN_ROWS_PER_SECOND_PROP = PropertyFactory.newProperty(Double.class,
+            ComponentConstants.RETURN_ROWS_PER_SECOND);
+
     @SuppressWarnings("rawtypes")
     @Override
     public Property[] getReturnProperties() {
-        return new Property[] { RETURN_ERROR_MESSAGE_PROP, RETURN_TOTAL_RECORD_COUNT_PROP, RETURN_QUERY_PROP };
+        return new Property[] { RETURN_ERROR_MESSAGE_PROP, RETURN_TOTAL_RECORD_COUNT_PROP, RETURN_QUERY_PROP,
+                RETURN_BYTES_READ_PROP, RETURN_ROWS_PER_SECOND_PROP };
     }
 
     @Override
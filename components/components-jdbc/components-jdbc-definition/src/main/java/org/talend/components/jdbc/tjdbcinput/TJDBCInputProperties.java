@@ -120,6 +120,16 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
 
     public Property<Integer> queryTimeout = PropertyFactory.newInteger("queryTimeout").setRequired(true);
 
+    public Property<Boolean> usePartitionedRead = PropertyFactory.newBoolean("usePartitionedRead").setRequired();
+
+    public Property<String> partitionColumn = PropertyFactory.newString("partitionColumn").setRequired();
+
+    public Property<Integer> partitionCount = PropertyFactory.newInteger("partitionCount").setRequired();
+
+    public Property<Boolean> reuseRecord = PropertyFactory.newBoolean("reuseRecord").setRequired();
+
+    public Property<Boolean> useStreamingRead = PropertyFactory.newBoolean("useStreamingRead").setRequired();
+
     @Override
     public void setupLayout() {
         super.setupLayout();
@@ -144,6 +154,7 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
         Form advancedForm = CommonUtils.addForm(this, Form.ADVANCED);
         advancedForm.addRow(useCursor);
         advancedForm.addRow(cursor);
+        advancedForm.addRow(useStreamingRead);
         advancedForm.addRow(trimStringOrCharColumns);
         advancedForm.addRow(widget(trimTable).setWidgetType(Widget.TABLE_WIDGET_TYPE));
         advancedForm.addRow(enableDBMapping);
@@ -153,6 +164,10 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
         advancedForm.addRow(widget(preparedStatementTable).setWidgetType(Widget.TABLE_WIDGET_TYPE));
         advancedForm.addRow(useQueryTimeout);
         advancedForm.addRow(queryTimeout);
+        advancedForm.addRow(usePartitionedRead);
+        advancedForm.addRow(partitionColumn);
+        advancedForm.addColumn(partitionCount);
+        advancedForm.addRow(reuseRecord);
     }
 
     @Override
@@ -191,6 +206,13 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
 
         useQueryTimeout.setValue(false);
         queryTimeout.setValue(30);
+
+        usePartitionedRead.setValue(false);
+        partitionCount.setValue(4);
+
+        reuseRecord.setValue(false);
+
+        useStreamingRead.setValue(false);
     }
 
     @Override
@@ -216,6 +238,9 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
             form.getWidget(dbMapping.getName()).setVisible(enableDBMapping.getValue());
             form.getWidget(preparedStatementTable.getName()).setHidden(!usePreparedStatement.getValue());
             form.getWidget(queryTimeout.getName()).setHidden(!useQueryTimeout.getValue());
+            boolean partitioned = usePartitionedRead.getValue() != null && usePartitionedRead.getValue();
+            form.getWidget(partitionColumn.getName()).setHidden(!partitioned);
+            form.getWidget(partitionCount.getName()).setHidden(!partitioned);
 
             updateTrimTable();
         }
@@ -284,6 +309,10 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
         refreshLayout(getForm(Form.ADVANCED));
     }
 
+    public void afterUsePartitionedRead() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     @Override
     protected Set<PropertyPathConnector> getAllSchemaPropertiesConnectors(boolean isOutputConnection) {
         if (isOutputConnection) {
@@ -374,6 +403,14 @@ public class TJDBCInputProperties extends FixedConnectorsComponentProperties imp
         setting.setUseQueryTimeout(this.useQueryTimeout.getValue());
         setting.setQueryTimeout(this.queryTimeout.getValue());
 
+        setting.setUsePartitionedRead(this.usePartitionedRead.getValue());
+        setting.setPartitionColumn(this.partitionColumn.getValue());
+        setting.setPartitionCount(this.partitionCount.getValue());
+
+        setting.setReuseRecord(this.reuseRecord.getValue());
+
+        setting.setUseStreamingRead(this.useStreamingRead.getValue());
+
         return setting;
     }
 
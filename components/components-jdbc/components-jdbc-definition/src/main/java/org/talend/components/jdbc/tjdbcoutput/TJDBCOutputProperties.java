@@ -118,6 +118,14 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
 
     public Property<Integer> batchSize = PropertyFactory.newInteger("batchSize").setRequired();
 
+    public Property<Boolean> useBatchUpsert = PropertyFactory.newBoolean("useBatchUpsert").setRequired();
+
+    public Property<Boolean> useNativeUpsert = PropertyFactory.newBoolean("useNativeUpsert").setRequired();
+
+    public Property<Boolean> useParallelWrite = PropertyFactory.newBoolean("useParallelWrite").setRequired();
+
+    public Property<Integer> parallelConnections = PropertyFactory.newInteger("parallelConnections").setRequired();
+
     public Property<Boolean> useQueryTimeout = PropertyFactory.newBoolean("useQueryTimeout").setRequired();
 
     public Property<Integer> queryTimeout = PropertyFactory.newInteger("queryTimeout").setRequired();
@@ -180,7 +188,11 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
 
         advancedForm.addRow(debug);
         advancedForm.addRow(useBatch);
+        advancedForm.addRow(useBatchUpsert);
+        advancedForm.addRow(useNativeUpsert);
         advancedForm.addRow(batchSize);
+        advancedForm.addRow(useParallelWrite);
+        advancedForm.addColumn(parallelConnections);
 
         advancedForm.addRow(useQueryTimeout);
         advancedForm.addRow(queryTimeout);
@@ -197,6 +209,12 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
         useBatch.setValue(true);
         batchSize.setValue(10000);
 
+        useBatchUpsert.setValue(false);
+        useNativeUpsert.setValue(false);
+
+        useParallelWrite.setValue(false);
+        parallelConnections.setValue(4);
+
         tableSelection.setConnection(this);
 
         connection.setNotRequired();
@@ -227,9 +245,23 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
                     || (dataAction.getValue() == DataAction.DELETE)) {
                 form.getWidget(useBatch.getName()).setHidden(false);
                 form.getWidget(batchSize.getName()).setHidden(!useBatch.getValue());
+                form.getWidget(useBatchUpsert.getName()).setHidden(true);
+                form.getWidget(useNativeUpsert.getName()).setHidden(true);
+
+                // the batches of an insert can be executed by several connections as they don't depend on each other
+                boolean parallel = (dataAction.getValue() == DataAction.INSERT) && useBatch.getValue()
+                        && !useOtherConnection;
+                form.getWidget(useParallelWrite.getName()).setHidden(!parallel);
+                form.getWidget(parallelConnections.getName())
+                        .setHidden(!parallel || !(useParallelWrite.getValue() != null && useParallelWrite.getValue()));
             } else {
+                boolean batchUpsert = useBatchUpsert.getValue() != null && useBatchUpsert.getValue();
                 form.getWidget(useBatch.getName()).setHidden(true);
-                form.getWidget(batchSize.getName()).setHidden(true);
+                form.getWidget(useBatchUpsert.getName()).setHidden(false);
+                form.getWidget(useNativeUpsert.getName()).setHidden(!batchUpsert);
+                form.getWidget(batchSize.getName()).setHidden(!batchUpsert);
+                form.getWidget(useParallelWrite.getName()).setHidden(true);
+                form.getWidget(parallelConnections.getName()).setHidden(true);
             }
             form.getWidget(fieldOptions.getName()).setVisible(enableFieldOptions.getValue());
             form.getWidget(queryTimeout.getName()).setHidden(!useQueryTimeout.getValue());
@@ -270,6 +302,14 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
         refreshLayout(getForm(Form.ADVANCED));
     }
 
+    public void afterUseBatchUpsert() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
+    public void afterUseParallelWrite() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     public void afterEnableFieldOptions() {
         refreshLayout(getForm(Form.ADVANCED));
     }
@@ -411,6 +451,10 @@ public class TJDBCOutputProperties extends FixedConnectorsComponentProperties im
         setting.setDebug(this.debug.getValue());
         setting.setUseBatch(this.useBatch.getValue());
         setting.setBatchSize(this.batchSize.getValue());
+        setting.setUseBatchUpsert(this.useBatchUpsert.getValue());
+        setting.setUseNativeUpsert(this.useNativeUpsert.getValue());
+        setting.setUseParallelWrite(this.useParallelWrite.getValue());
+        setting.setParallelConnections(this.parallelConnections.getValue());
         setting.setUseQueryTimeout(this.useQueryTimeout.getValue());
         setting.setQueryTimeout(this.queryTimeout.getValue());
 
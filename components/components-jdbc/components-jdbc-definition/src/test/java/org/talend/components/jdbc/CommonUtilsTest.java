@@ -214,4 +214,13 @@ public class CommonUtilsTest {
         Assert.assertEquals(43, dbms.getDbmsTypes().size());
     }
 
+    @Test
+    public void testLoadMappingOnlyOnce() {
+        AllSetting settings = new AllSetting();
+        settings.setDriverClass("com.mysql.cj.jdbc.Driver");
+        settings.setDriverPaths(Collections.emptyList());
+        Dbms dbms = CommonUtils.getMapping(getClass().getResource("/xmlMappings"), settings, null, null);
+        Assert.assertSame(dbms, CommonUtils.getMapping(getClass().getResource("/xmlMappings"), settings, null, DBTypes.MYSQL));
+    }
+
 }
@@ -19,6 +19,7 @@ import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
 import org.junit.Assert;
 import org.junit.Test;
+import org.talend.components.jdbc.query.EDatabaseTypeName;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.avro.SchemaConstants;
 
@@ -129,4 +130,51 @@ public class JDBCSQLBuilderTest {
                 JDBCSQLBuilder.getInstance().generateQuerySQL4InsertOrUpdate("TEST", advancedColumnList));
     }
 
+    @Test
+    public void testGenerateQuerySQL4BatchInsertOrUpdate() {
+        Assert.assertEquals(
+                "SELECT 0 FROM TEST WHERE ID1 = ? AND ID2 = ? UNION ALL SELECT 1 FROM TEST WHERE ID1 = ? AND ID2 = ?",
+                JDBCSQLBuilder.getInstance().generateQuerySQL4BatchInsertOrUpdate("TEST", basicColumnList, 2));
+    }
+
+    @Test
+    public void testGenerateSQL4UpsertPostgresql() {
+        Assert.assertEquals(
+                "INSERT INTO TEST (ID1,ID2,NAME,ADDRESS) VALUES (?,?,?,?) ON CONFLICT (ID1,ID2) DO UPDATE SET NAME = EXCLUDED.NAME,ADDRESS = EXCLUDED.ADDRESS",
+                JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.PSQL, "TEST", basicColumnList));
+    }
+
+    @Test
+    public void testGenerateSQL4UpsertMysql() {
+        Assert.assertEquals(
+                "INSERT INTO TEST (ID1,ID2,NAME,ADDRESS) VALUES (?,?,?,?) ON DUPLICATE KEY UPDATE NAME = VALUES(NAME),ADDRESS = VALUES(ADDRESS)",
+                JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.MYSQL, "TEST", basicColumnList));
+    }
+
+    @Test
+    public void testGenerateSQL4UpsertOracle() {
+        Assert.assertEquals(
+                "MERGE INTO TEST TGT USING (SELECT ? AS ID1,? AS ID2,? AS NAME,? AS ADDRESS FROM DUAL) SRC ON (TGT.ID1 = SRC.ID1 AND TGT.ID2 = SRC.ID2)"
+                        + " WHEN MATCHED THEN UPDATE SET TGT.NAME = SRC.NAME,TGT.ADDRESS = SRC.ADDRESS"
+                        + " WHEN NOT MATCHED THEN INSERT (ID1,ID2,NAME,ADDRESS) VALUES (SRC.ID1,SRC.ID2,SRC.NAME,SRC.ADDRESS)",
+                JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.ORACLE_OCI, "TEST", basicColumnList));
+    }
+
+    @Test
+    public void testGenerateSQL4UpsertSQLServer() {
+        Assert.assertEquals(
+                "MERGE INTO TEST AS TGT USING (VALUES (?,?,?,?)) AS SRC (ID1,ID2,NAME,ADDRESS) ON (TGT.ID1 = SRC.ID1 AND TGT.ID2 = SRC.ID2)"
+                        + " WHEN MATCHED THEN UPDATE SET TGT.NAME = SRC.NAME,TGT.ADDRESS = SRC.ADDRESS"
+                        + " WHEN NOT MATCHED THEN INSERT (ID1,ID2,NAME,ADDRESS) VALUES (SRC.ID1,SRC.ID2,SRC.NAME,SRC.ADDRESS);",
+                JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.MSSQL05_08, "TEST", basicColumnList));
+    }
+
+    @Test
+    public void testGenerateSQL4UpsertNotSupported() {
+        Assert.assertNull(JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.JAVADB_EMBEDED, "TEST", basicColumnList));
+        Assert.assertNull(JDBCSQLBuilder.getInstance().generateSQL4Upsert(null, "TEST", basicColumnList));
+        // the update key ID2 is not insertable
+        Assert.assertNull(JDBCSQLBuilder.getInstance().generateSQL4Upsert(EDatabaseTypeName.PSQL, "TEST", advancedColumnList));
+    }
+
 }
@@ -111,7 +111,7 @@ public class TJDBCInputDefinitionTest {
         Property[] result = fixture.getReturnProperties();
 
         assertNotNull(result);
-        assertEquals(3, result.length);
+        assertEquals(5, result.length);
         assertNotNull(result[0]);
         assertEquals("Error Message", result[0].getDisplayName());
         assertEquals("Property: errorMessage", result[0].toString());
@@ -149,6 +149,25 @@ public class TJDBCInputPropertiesTest {
         Assert.assertTrue(!advanced.getWidget(fixture.cursor.getName()).isVisible());
     }
 
+    @Test
+    public void testAfterUsePartitionedRead() throws Exception {
+        TJDBCInputProperties fixture = new TJDBCInputProperties("input");
+        fixture.init();
+
+        Form advanced = fixture.getForm(Form.ADVANCED);
+        Assert.assertFalse(advanced.getWidget(fixture.partitionColumn.getName()).isVisible());
+
+        fixture.usePartitionedRead.setValue(true);
+        fixture.afterUsePartitionedRead();
+        Assert.assertTrue(advanced.getWidget(fixture.partitionColumn.getName()).isVisible());
+        Assert.assertTrue(advanced.getWidget(fixture.partitionCount.getName()).isVisible());
+
+        fixture.usePartitionedRead.setValue(false);
+        fixture.afterUsePartitionedRead();
+        Assert.assertFalse(advanced.getWidget(fixture.partitionColumn.getName()).isVisible());
+        Assert.assertFalse(advanced.getWidget(fixture.partitionCount.getName()).isVisible());
+    }
+
     /**
      * Run the void afterUseDataSource() method test.
      *
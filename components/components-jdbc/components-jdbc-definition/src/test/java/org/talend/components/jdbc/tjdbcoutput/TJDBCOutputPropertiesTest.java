@@ -136,6 +136,55 @@ public class TJDBCOutputPropertiesTest {
         Assert.assertTrue(!advanced.getWidget(fixture.batchSize.getName()).isVisible());
     }
 
+    @Test
+    public void testAfterUseBatchUpsert() throws Exception {
+        TJDBCOutputProperties fixture = new TJDBCOutputProperties("output");
+        fixture.init();
+
+        Assert.assertEquals(Boolean.FALSE, fixture.useBatchUpsert.getValue());
+        Assert.assertEquals(Boolean.FALSE, fixture.useNativeUpsert.getValue());
+
+        Form advanced = fixture.getForm(Form.ADVANCED);
+
+        fixture.dataAction.setValue(DataAction.INSERT_OR_UPDATE);
+        fixture.useBatchUpsert.setValue(true);
+        fixture.afterUseBatchUpsert();
+        Assert.assertTrue(advanced.getWidget(fixture.useBatchUpsert.getName()).isVisible());
+        Assert.assertTrue(advanced.getWidget(fixture.useNativeUpsert.getName()).isVisible());
+        Assert.assertTrue(advanced.getWidget(fixture.batchSize.getName()).isVisible());
+
+        fixture.useBatchUpsert.setValue(false);
+        fixture.afterUseBatchUpsert();
+        Assert.assertFalse(advanced.getWidget(fixture.useNativeUpsert.getName()).isVisible());
+        Assert.assertFalse(advanced.getWidget(fixture.batchSize.getName()).isVisible());
+
+        fixture.dataAction.setValue(DataAction.INSERT);
+        fixture.afterDataAction();
+        Assert.assertFalse(advanced.getWidget(fixture.useBatchUpsert.getName()).isVisible());
+    }
+
+    @Test
+    public void testAfterUseParallelWrite() throws Exception {
+        TJDBCOutputProperties fixture = new TJDBCOutputProperties("output");
+        fixture.init();
+
+        Form advanced = fixture.getForm(Form.ADVANCED);
+
+        fixture.dataAction.setValue(DataAction.INSERT);
+        fixture.useParallelWrite.setValue(true);
+        fixture.afterUseParallelWrite();
+        Assert.assertTrue(advanced.getWidget(fixture.useParallelWrite.getName()).isVisible());
+        Assert.assertTrue(advanced.getWidget(fixture.parallelConnections.getName()).isVisible());
+
+        fixture.useParallelWrite.setValue(false);
+        fixture.afterUseParallelWrite();
+        Assert.assertFalse(advanced.getWidget(fixture.parallelConnections.getName()).isVisible());
+
+        fixture.dataAction.setValue(DataAction.UPDATE);
+        fixture.afterDataAction();
+        Assert.assertFalse(advanced.getWidget(fixture.useParallelWrite.getName()).isVisible());
+    }
+
     /**
      * Run the void afterUseDataSource() method test.
      *
@@ -14,7 +14,6 @@ package org.talend.components.jdbc.runtime;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +25,7 @@ import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.component.runtime.WriteOperation;
 import org.talend.components.api.component.runtime.Writer;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.common.runtime.CSVEncoder;
 import org.talend.components.jdbc.CommonUtils;
 import org.talend.components.jdbc.RuntimeSettingProvider;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
@@ -33,10 +33,8 @@ import org.talend.components.jdbc.runtime.type.BulkFormatter;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.avro.SchemaConstants;
 
-import com.talend.csv.CSVWriter;
-
 /**
- * Generate bulk file
+ * Generate bulk file, the file is compressed by gzip if its name ends with ".gz"
  */
 public class JDBCBulkFileWriter implements Writer<Result> {
 
@@ -50,7 +48,7 @@ public class JDBCBulkFileWriter implements Writer<Result> {
     
     private AllSetting setting;
 
-    private CSVWriter csvWriter;
+    private CSVEncoder csvEncoder;
 
     private String charset = "UTF-8";
 
@@ -96,21 +94,21 @@ public class JDBCBulkFileWriter implements Writer<Result> {
         if(setting.fieldSeparator.length()>1) {
             throw new RuntimeException("only support one char field separator");
         }
-        csvWriter = new CSVWriter(new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset));
-        csvWriter.setSeparator(setting.fieldSeparator.charAt(0));
-        csvWriter.setLineEnd(setting.rowSeparator.substring(0, 1));
+        if(setting.setTextEnclosure && setting.textEnclosure.length()>1) {
+            throw new RuntimeException("only support one char text enclosure");
+        }
+        csvEncoder = CSVEncoder.open(file, isAppend, charset, CSVEncoder.Compression.of(filepath));
+        csvEncoder.setSeparator(setting.fieldSeparator.charAt(0));
+        csvEncoder.setLineEnd(setting.rowSeparator.substring(0, 1));
 
         if(setting.setTextEnclosure) {
-            if(setting.textEnclosure.length()>1) {
-                throw new RuntimeException("only support one char text enclosure");
-            }
             //not let it to do the "smart" thing, avoid to promise too much for changing api in future
-            csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
-            csvWriter.setQuoteChar(setting.textEnclosure.charAt(0));
+            csvEncoder.setQuoteMode(CSVEncoder.QuoteMode.FORCE);
+            csvEncoder.setQuoteChar(setting.textEnclosure.charAt(0));
         } else {
-            csvWriter.setQuoteStatus(CSVWriter.QuoteStatus.NO);
+            csvEncoder.setQuoteMode(CSVEncoder.QuoteMode.NO);
         }
-        csvWriter.setEscapeChar('\\');
+        csvEncoder.setEscapeChar('\\');
 
         fileIsEmpty = (file.length() == 0);
     }
@@ -134,11 +132,11 @@ public class JDBCBulkFileWriter implements Writer<Result> {
                 currentSchema = CommonUtils.mergeRuntimeSchema2DesignSchema4Dynamic(this.designSchema, inputSchema);
             }
             
-            bulkFormatter = new BulkFormatter(inputSchema, currentSchema, setting.setTextEnclosure);
+            bulkFormatter = new BulkFormatter(inputSchema, currentSchema);
         }
 
         if (includeHeader && !headerIsReady && (!isAppend || fileIsEmpty)) {
-            csvWriter.writeNext(getHeaders(currentSchema));
+            csvEncoder.writeRow(getHeaders(currentSchema));
             headerIsReady = true;
         }
 
@@ -147,14 +145,9 @@ public class JDBCBulkFileWriter implements Writer<Result> {
         result.totalCount++;
     }
 
-    private void flush() throws IOException {
-        csvWriter.flush();
-    }
-
     @Override
     public Result close() throws IOException {
-        flush();
-        csvWriter.close();
+        csvEncoder.close();
         return result;
     }
 
@@ -175,8 +168,8 @@ public class JDBCBulkFileWriter implements Writer<Result> {
     private void writeValues(IndexedRecord input) throws IOException {
         List<Field> fields = currentSchema.getFields();
         for (int i=0;i<fields.size();i++) {
-            bulkFormatter.getFormatter(i).format(input, nullValue, csvWriter);
+            bulkFormatter.getFormatter(i).format(input, nullValue, csvEncoder);
         }
-        csvWriter.endRow();
+        csvEncoder.endRow();
     }
 }
@@ -17,9 +17,12 @@ import org.talend.components.api.component.runtime.Sink;
 import org.talend.components.api.component.runtime.Writer;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.jdbc.RuntimeSettingProvider;
+import org.talend.components.jdbc.runtime.setting.AllSetting;
+import org.talend.components.jdbc.runtime.writer.JDBCOutputBatchUpsertWriter;
 import org.talend.components.jdbc.runtime.writer.JDBCOutputDeleteWriter;
 import org.talend.components.jdbc.runtime.writer.JDBCOutputInsertOrUpdateWriter;
 import org.talend.components.jdbc.runtime.writer.JDBCOutputInsertWriter;
+import org.talend.components.jdbc.runtime.writer.JDBCOutputPipelinedInsertWriter;
 import org.talend.components.jdbc.runtime.writer.JDBCOutputUpdateOrInsertWriter;
 import org.talend.components.jdbc.runtime.writer.JDBCOutputUpdateWriter;
 import org.talend.components.jdbc.tjdbcoutput.TJDBCOutputProperties.DataAction;
@@ -40,18 +43,31 @@ public class JDBCOutputWriteOperation extends DefaultWriteOperation {
     public Writer<Result> createWriter(RuntimeContainer runtimeContainer) {
         RuntimeSettingProvider properties = ((JDBCSink) this.getSink()).properties;
 
-        DataAction dataAction = properties.getRuntimeSetting().getDataAction();
+        AllSetting setting = properties.getRuntimeSetting();
+        DataAction dataAction = setting.getDataAction();
 
         switch (dataAction) {
         case INSERT:
+            // several connections can't be used with a shared or referenced connection, and the debug mode need the
+            // statements in order
+            if (setting.getUseParallelWrite() && setting.getUseBatch() && setting.getReferencedComponentId() == null
+                    && !setting.getShareConnection() && !setting.getDebug()) {
+                return new JDBCOutputPipelinedInsertWriter(this, runtimeContainer);
+            }
             return new JDBCOutputInsertWriter(this, runtimeContainer);
         case UPDATE:
             return new JDBCOutputUpdateWriter(this, runtimeContainer);
         case DELETE:
             return new JDBCOutputDeleteWriter(this, runtimeContainer);
         case INSERT_OR_UPDATE:
+            if (setting.getUseBatchUpsert()) {
+                return new JDBCOutputBatchUpsertWriter(this, runtimeContainer);
+            }
             return new JDBCOutputInsertOrUpdateWriter(this, runtimeContainer);
         case UPDATE_OR_INSERT:
+            if (setting.getUseBatchUpsert()) {
+                return new JDBCOutputBatchUpsertWriter(this, runtimeContainer);
+            }
             return new JDBCOutputUpdateOrInsertWriter(this, runtimeContainer);
         default:
             return null;
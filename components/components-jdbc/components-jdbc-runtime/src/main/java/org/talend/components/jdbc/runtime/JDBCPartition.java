@@ -0,0 +1,257 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * a range of the split column for the partitioned read, the range is [lowerBound, upperBound) except for the last partition
+ * which include the upper bound, the first partition also read the rows with null value for the split column, so the
+ * partitions cover all the rows of the query together.
+ */
+public class JDBCPartition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Pattern ROW_LIMIT = Pattern.compile("\\b(LIMIT|OFFSET|FETCH|ROWS|TOP)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SELECT_TOP = Pattern.compile("^\\s*SELECT\\s+(DISTINCT\\s+)?TOP\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final String column;
+
+    private final Object lowerBound;
+
+    private final Object upperBound;
+
+    private final boolean first;
+
+    private final boolean last;
+
+    JDBCPartition(String column, Object lowerBound, Object upperBound, boolean first, boolean last) {
+        this.column = column;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.first = first;
+        this.last = last;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Object getLowerBound() {
+        return lowerBound;
+    }
+
+    public Object getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * wrap the origin query as a sub query to filter it by the range, so any query can be partitioned, not only a table. The
+     * trailing order by clause of the query is removed, as most databases refuse it in a sub query, and the partitions are
+     * not read in order anyway.
+     */
+    public String wrapQuery(String sql) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT * FROM (").append(removeOrderBy(sql)).append(") T_PARTITION WHERE ");
+        if (first) {
+            sb.append("(");
+        }
+        sb.append(column).append(" >= ? AND ").append(column).append(last ? " <= ?" : " < ?");
+        if (first) {
+            sb.append(" OR ").append(column).append(" IS NULL)");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param offset the count of the parameters in the origin query
+     */
+    public void setParameters(PreparedStatement statement, int offset) throws SQLException {
+        statement.setObject(offset + 1, lowerBound);
+        statement.setObject(offset + 2, upperBound);
+    }
+
+    public static String generateBoundsQuery(String sql, String column) {
+        return "SELECT MIN(" + column + "), MAX(" + column + ") FROM (" + removeOrderBy(sql) + ") T_PARTITION";
+    }
+
+    /**
+     * @return false if the order by clause of the query limits the rows, with TOP, LIMIT, OFFSET or FETCH, then the order
+     * by clause can't be removed, and the query can't be a sub query for most databases
+     */
+    public static boolean isPartitionable(String sql) {
+        String query = removeTrailingSemicolon(sql);
+        int index = indexOfOrderBy(query);
+        if (index < 0) {
+            return true;
+        }
+        return !ROW_LIMIT.matcher(query.substring(index)).find() && !SELECT_TOP.matcher(query).find();
+    }
+
+    static String removeOrderBy(String sql) {
+        String query = removeTrailingSemicolon(sql);
+        int index = indexOfOrderBy(query);
+        return index < 0 ? query : query.substring(0, index).trim();
+    }
+
+    private static String removeTrailingSemicolon(String sql) {
+        String query = sql.trim();
+        while (query.endsWith(";")) {
+            query = query.substring(0, query.length() - 1).trim();
+        }
+        return query;
+    }
+
+    /**
+     * @return the index of the last order by clause out of the parentheses and the quotes, -1 if none
+     */
+    private static int indexOfOrderBy(String sql) {
+        String upper = sql.toUpperCase(Locale.ENGLISH);
+        int result = -1;
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < upper.length(); i++) {
+            char c = upper.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && c == 'O' && upper.startsWith("ORDER", i) && isWordStart(upper, i)) {
+                int j = i + "ORDER".length();
+                int k = j;
+                while (k < upper.length() && Character.isWhitespace(upper.charAt(k))) {
+                    k++;
+                }
+                if (k > j && upper.startsWith("BY", k) && isWordEnd(upper, k + "BY".length())) {
+                    result = i;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWordStart(String sql, int index) {
+        return index == 0 || !Character.isLetterOrDigit(sql.charAt(index - 1)) && sql.charAt(index - 1) != '_';
+    }
+
+    private static boolean isWordEnd(String sql, int index) {
+        return index >= sql.length() || !Character.isLetterOrDigit(sql.charAt(index)) && sql.charAt(index) != '_';
+    }
+
+    /**
+     * split the [min, max] range to partitions of the same width
+     *
+     * @return null if the type of the bounds is not supported, only number and date are supported now
+     */
+    public static List<JDBCPartition> split(String column, Object min, Object max, int count) {
+        Object[] bounds = null;
+        if (isIntegral(min) && isIntegral(max)) {
+            bounds = splitIntegral(toBigInteger(min), toBigInteger(max), count);
+        } else if ((min instanceof Number) && (max instanceof Number)) {
+            bounds = splitDecimal(new BigDecimal(min.toString()), new BigDecimal(max.toString()), count);
+        } else if ((min instanceof Date) && (max instanceof Date)) {
+            Object[] millis = splitIntegral(BigInteger.valueOf(((Date) min).getTime()),
+                    BigInteger.valueOf(((Date) max).getTime()), count);
+            bounds = new Object[millis.length];
+            for (int i = 0; i < millis.length; i++) {
+                bounds[i] = new Timestamp(((Number) millis[i]).longValue());
+            }
+            // keep the exact origin values at the two ends, as the nanoseconds may be lost by the conversion
+            bounds[0] = min;
+            bounds[bounds.length - 1] = max;
+        }
+
+        if (bounds == null) {
+            return null;
+        }
+
+        List<JDBCPartition> partitions = new ArrayList<>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            partitions.add(new JDBCPartition(column, bounds[i], bounds[i + 1], i == 0, i == bounds.length - 2));
+        }
+        return partitions;
+    }
+
+    private static boolean isIntegral(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            return true;
+        }
+        return (value instanceof BigDecimal) && ((BigDecimal) value).scale() <= 0;
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toBigInteger();
+        }
+        return BigInteger.valueOf(((Number) value).longValue());
+    }
+
+    private static Object[] splitIntegral(BigInteger min, BigInteger max, int count) {
+        // the count of the values in the range, and no more partitions than values
+        BigInteger width = max.subtract(min).add(BigInteger.ONE);
+        int realCount = width.min(BigInteger.valueOf(count)).max(BigInteger.ONE).intValue();
+
+        // BigInteger is not a standard jdbc parameter type, so use BigDecimal for the bounds
+        Object[] bounds = new Object[realCount + 1];
+        for (int i = 0; i < realCount; i++) {
+            bounds[i] = new BigDecimal(min.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(realCount))));
+        }
+        bounds[realCount] = new BigDecimal(max);
+        return bounds;
+    }
+
+    private static Object[] splitDecimal(BigDecimal min, BigDecimal max, int count) {
+        BigDecimal width = max.subtract(min);
+        int realCount = width.signum() == 0 ? 1 : count;
+
+        int scale = Math.max(Math.max(min.scale(), max.scale()), 0) + 6;
+        Object[] bounds = new Object[realCount + 1];
+        for (int i = 0; i < realCount; i++) {
+            bounds[i] = min.add(width.multiply(BigDecimal.valueOf(i)).divide(BigDecimal.valueOf(realCount), scale,
+                    RoundingMode.FLOOR));
+        }
+        bounds[realCount] = max;
+        return bounds;
+    }
+
+    @Override
+    public String toString() {
+        return "JDBCPartition{" + "column='" + column + '\'' + ", lowerBound=" + lowerBound + ", upperBound=" + upperBound
+                + ", first=" + first + ", last=" + last + '}';
+    }
+
+}
@@ -41,15 +41,23 @@ public class JDBCSink extends JDBCSourceOrSink implements Sink {
         if (refComponentId != null) {
             return JdbcRuntimeUtils.fetchConnectionFromContextOrCreateNew(setting, runtime);
         } else {
-            Connection conn = JdbcRuntimeUtils.createConnectionOrGetFromSharedConnectionPoolOrDataSource(runtime, setting, false);
+            return openConnection(runtime);
+        }
+    }
 
-            Integer commitEvery = setting.getCommitEvery();
-            if (commitEvery != null && commitEvery > 0) {
-                conn.setAutoCommit(false);
-            }
+    /**
+     * open a new connection with the setting of the sink, it's never registered in the runtime container, so the other
+     * components of the job can't get it, and the writer which opens it can close it
+     */
+    public Connection openConnection(RuntimeContainer runtime) throws ClassNotFoundException, SQLException {
+        Connection conn = JdbcRuntimeUtils.createConnectionOrGetFromSharedConnectionPoolOrDataSource(runtime, setting, false);
 
-            return conn;
+        Integer commitEvery = setting.getCommitEvery();
+        if (commitEvery != null && commitEvery > 0) {
+            conn.setAutoCommit(false);
         }
+
+        return conn;
     }
 
 }
@@ -13,14 +13,22 @@
 package org.talend.components.jdbc.runtime;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.api.properties.ComponentProperties;
 import org.talend.components.jdbc.runtime.reader.JDBCInputReader;
+import org.talend.daikon.avro.SchemaConstants;
 
 /**
  * JDBC runtime execution object for input action
@@ -30,6 +38,11 @@ public class JDBCSource extends JDBCSourceOrSink implements BoundedSource {
 
     private static final long serialVersionUID = 1L;
 
+    private static final Logger LOG = LoggerFactory.getLogger(JDBCSource.class);
+
+    // the size of a column in bytes when the length is unknown in the schema
+    private static final int DEFAULT_COLUMN_SIZE = 8;
+
     @SuppressWarnings("rawtypes")
     @Override
     public BoundedReader createReader(RuntimeContainer container) {
@@ -40,17 +53,159 @@ public class JDBCSource extends JDBCSourceOrSink implements BoundedSource {
         return new JDBCInputReader(container, this, properties, readLimit);
     }
 
+    /**
+     * the range of the split column read by this source, null if not partitioned
+     */
+    private JDBCPartition partition;
+
+    private int partitionCount = 1;
+
+    public JDBCPartition getPartition() {
+        return partition;
+    }
+
     @Override
     public List<? extends BoundedSource> splitIntoBundles(long desiredBundleSizeBytes, RuntimeContainer adaptor)
             throws Exception {
         List<BoundedSource> list = new ArrayList<>();
-        list.add(this);
+
+        // the source is split only once, and the query of a referenced connection is not partitioned as the connection is
+        // unique
+        if (partition != null || !setting.getUsePartitionedRead() || setting.getReferencedComponentId() != null) {
+            list.add(this);
+            return list;
+        }
+
+        String column = setting.getPartitionColumn();
+        Integer count = setting.getPartitionCount();
+        if (column == null || column.trim().isEmpty() || count == null || count <= 1) {
+            list.add(this);
+            return list;
+        }
+
+        if (!JDBCPartition.isPartitionable(setting.getSql())) {
+            LOG.warn("Can't split the query by the column '{}', its order by clause limits the rows, it's read without partition.",
+                    column);
+            list.add(this);
+            return list;
+        }
+
+        // the partition count is the maximum, use less partitions if they are smaller than the desired size
+        if (desiredBundleSizeBytes > 0) {
+            long size = getEstimatedSizeBytes(adaptor);
+            if (size > 0) {
+                count = (int) Math.max(1, Math.min(count, (size + desiredBundleSizeBytes - 1) / desiredBundleSizeBytes));
+                if (count == 1) {
+                    list.add(this);
+                    return list;
+                }
+            }
+        }
+
+        List<JDBCPartition> partitions = null;
+        try (Connection conn = connect(adaptor); Statement statement = conn.createStatement()) {
+            if (setting.getUseQueryTimeout()) {
+                statement.setQueryTimeout(setting.getQueryTimeout());
+            }
+
+            String sql = JDBCPartition.generateBoundsQuery(setting.getSql(), column);
+            LOG.debug("Executing the query: '{}'", sql);
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                if (resultSet.next() && resultSet.getObject(1) != null) {
+                    partitions = JDBCPartition.split(column, resultSet.getObject(1), resultSet.getObject(2), count);
+                }
+            }
+        }
+
+        if (partitions == null) {
+            LOG.warn("Can't split the query by the column '{}', it's empty or not a number or date column.", column);
+            list.add(this);
+            return list;
+        }
+
+        for (JDBCPartition p : partitions) {
+            JDBCSource source = new JDBCSource();
+            source.initialize(adaptor, (ComponentProperties) properties);
+            source.setDBTypeMapping(getDBTypeMapping());
+            source.partition = p;
+            source.partitionCount = partitions.size();
+            list.add(source);
+        }
+
         return list;
     }
 
+    /**
+     * estimate the size by the table statistics of the database metadata : row count * the row size by the schema, so only
+     * work when the table name is set and the driver provide the statistics, 0 if unknown
+     */
     @Override
     public long getEstimatedSizeBytes(RuntimeContainer adaptor) {
-        return 0;
+        // the size is only used to split the source, so don't connect to the database when it's not partitioned
+        if (!setting.getUsePartitionedRead()) {
+            return 0;
+        }
+
+        String tablename = setting.getTablename();
+        if (tablename == null || tablename.isEmpty() || setting.getReferencedComponentId() != null) {
+            return 0;
+        }
+
+        String schemaPattern = null;
+        int index = tablename.lastIndexOf('.');
+        if (index > 0) {
+            schemaPattern = tablename.substring(0, index);
+            tablename = tablename.substring(index + 1);
+        }
+
+        long rowCount = -1;
+        try (Connection conn = connect(adaptor)) {
+            DatabaseMetaData metadata = conn.getMetaData();
+            for (String name : new String[] { tablename, tablename.toUpperCase(), tablename.toLowerCase() }) {
+                rowCount = getRowCountFromStatistics(metadata, schemaPattern, name);
+                if (rowCount >= 0) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            LOG.debug("Can't get the table statistics : {}", e.getMessage());
+            return 0;
+        }
+
+        if (rowCount <= 0) {
+            return 0;
+        }
+
+        return rowCount * estimateRowSize(setting.getSchema()) / partitionCount;
+    }
+
+    private long getRowCountFromStatistics(DatabaseMetaData metadata, String schemaPattern, String tablename)
+            throws SQLException {
+        try (ResultSet resultSet = metadata.getIndexInfo(null, schemaPattern, tablename, false, true)) {
+            while (resultSet.next()) {
+                if (resultSet.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                    return resultSet.getLong("CARDINALITY");
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long estimateRowSize(Schema schema) {
+        if (schema == null || schema.getFields().isEmpty()) {
+            return DEFAULT_COLUMN_SIZE;
+        }
+
+        long size = 0;
+        for (Schema.Field field : schema.getFields()) {
+            String length = field.getProp(SchemaConstants.TALEND_COLUMN_DB_LENGTH);
+            try {
+                size += (length != null) ? Math.max(Integer.parseInt(length), 1) : DEFAULT_COLUMN_SIZE;
+            } catch (NumberFormatException e) {
+                size += DEFAULT_COLUMN_SIZE;
+            }
+        }
+        return size;
     }
 
     @Override
@@ -113,6 +113,10 @@ public class JDBCSourceOrSink extends JdbcRuntimeSourceOrSinkDefault {
         typeMapping = mapping;
     }
 
+    protected Dbms getDBTypeMapping() {
+        return typeMapping;
+    }
+
     @Override
     public ValidationResult validate(RuntimeContainer runtime) {
         return JdbcRuntimeUtils.validate(runtime, this);
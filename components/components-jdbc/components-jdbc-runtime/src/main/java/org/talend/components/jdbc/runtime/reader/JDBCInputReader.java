@@ -22,10 +22,12 @@ import org.talend.components.api.component.runtime.Reader;
 import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.common.avro.JDBCResultSetIndexedRecordConverter;
+import org.talend.components.common.avro.PrimitiveIndexedRecord;
 import org.talend.components.jdbc.CommonUtils;
 import org.talend.components.jdbc.ComponentConstants;
 import org.talend.components.jdbc.JdbcComponentErrorsCode;
 import org.talend.components.jdbc.RuntimeSettingProvider;
+import org.talend.components.jdbc.runtime.JDBCPartition;
 import org.talend.components.jdbc.runtime.JDBCSource;
 import org.talend.components.jdbc.runtime.JdbcRuntimeUtils;
 import org.talend.components.jdbc.runtime.setting.AllSetting;
@@ -34,6 +36,7 @@ import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -77,10 +80,26 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
 
     private int readLimit = -1;
 
+    private boolean autoCommitChanged;
+
+    private long startTime;
+
+    private long endTime;
+
+    private long bytesRead;
+
+    /**
+     * the size in bytes of the fixed size fields, -1 for the others whose size depend on the value, null if the bytes read
+     * are not measured as the streaming read is off
+     */
+    private int[] fieldSizes;
+
     /**
      * Current {@link IndexedRecord} read by this {@link Reader}
      * It is returned in {@link Reader#getCurrent()} method.
-     * It is changed in {@link Reader#advance()}
+     * It is changed in {@link Reader#advance()}, and if the reuse record option is set, it's the same object which is
+     * refilled by {@link Reader#advance()}, so it need to be copied by
+     * {@link org.talend.components.common.avro.PrimitiveIndexedRecord#copy()} to be kept.
      */
     private IndexedRecord currentRecord;
 
@@ -177,11 +196,16 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
             }
 
             converter.setSchema(getSchema());
+            if (setting.getUseStreamingRead()) {
+                fieldSizes = getFieldSizes(converter.getSchema());
+            }
 
             int sizeInResultSet = resultSet.getMetaData().getColumnCount();
 
             if (converter instanceof JDBCResultSetIndexedRecordConverter) {
                 ((JDBCResultSetIndexedRecordConverter) converter).setSizeInResultSet(sizeInResultSet);
+                // the record is refilled by every advance(), the consumer have to copy it if it keep the record
+                ((JDBCResultSetIndexedRecordConverter) converter).setReuseRecord(setting.getReuseRecord());
             }
 
         }
@@ -197,17 +221,29 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
         }
 
         result = new Result();
-        boolean usePreparedStatement = setting.getUsePreparedStatement();
+
+        // a partitioned source read a range of the query only, the range is set by the prepared statement parameters
+        JDBCPartition partition = source.getPartition();
+        String sql = partition == null ? setting.getSql() : partition.wrapQuery(setting.getSql());
+        boolean usePreparedStatement = setting.getUsePreparedStatement() || partition != null;
         try {
             conn = source.getConnection(container);
 
+            StreamingFetchDialect dialect = null;
+            String url = null;
+            if (setting.getUseStreamingRead()) {
+                url = conn.getMetaData().getURL();
+                dialect = StreamingFetchDialect.of(setting.getDriverClass(), url);
+                LOG.debug("Streaming read for the database: " + dialect);
+                autoCommitChanged = dialect.prepareConnection(conn, useExistedConnection);
+            }
+
             String driverClass = setting.getDriverClass();
-            if (driverClass != null && driverClass.toLowerCase().contains("mysql")) {
+            if (dialect == null && driverClass != null && driverClass.toLowerCase().contains("mysql")) {
                 if (usePreparedStatement) {
-                    LOG.debug("Prepared statement: "+setting.getSql());
-                    PreparedStatement prepared_statement = conn.prepareStatement(setting.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-                    JdbcRuntimeUtils.setPreparedStatement(prepared_statement, setting.getIndexs(), setting.getTypes(),
-                            setting.getValues());
+                    LOG.debug("Prepared statement: "+sql);
+                    PreparedStatement prepared_statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    setPreparedStatementParameters(prepared_statement, partition);
                     statement = prepared_statement;
                 }else{
                     LOG.debug("Create statement.");
@@ -225,10 +261,9 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
                 }
             } else {
                 if (usePreparedStatement) {
-                    LOG.debug("Prepared statement: "+setting.getSql());
-                	PreparedStatement prepared_statement = conn.prepareStatement(setting.getSql());
-                    JdbcRuntimeUtils.setPreparedStatement(prepared_statement, setting.getIndexs(), setting.getTypes(),
-                            setting.getValues());
+                    LOG.debug("Prepared statement: "+sql);
+                	PreparedStatement prepared_statement = conn.prepareStatement(sql);
+                    setPreparedStatementParameters(prepared_statement, partition);
                     statement = prepared_statement;
 
                 }else {
@@ -245,6 +280,13 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
                 LOG.debug("Fetch size: " +setting.getCursor());
                 statement.setFetchSize(setting.getCursor());
             }
+
+            if (dialect != null) {
+                int fetchSize = setting.getUseCursor() ? setting.getCursor() : StreamingFetchDialect.DEFAULT_FETCH_SIZE;
+                dialect.tuneStatement(statement, fetchSize, url);
+            }
+
+            startTime = System.nanoTime();
             if (usePreparedStatement) {
             	resultSet = ((PreparedStatement)statement).executeQuery();
             }else {
@@ -262,6 +304,23 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
         }
     }
 
+    private void setPreparedStatementParameters(PreparedStatement prepared_statement, JDBCPartition partition)
+            throws SQLException {
+        int parameterCount = 0;
+        if (setting.getUsePreparedStatement()) {
+            JdbcRuntimeUtils.setPreparedStatement(prepared_statement, setting.getIndexs(), setting.getTypes(),
+                    setting.getValues());
+            for (Integer index : setting.getIndexs()) {
+                parameterCount = Math.max(parameterCount, index);
+            }
+        }
+
+        if (partition != null) {
+            LOG.debug("Reading the partition: " + partition);
+            partition.setParameters(prepared_statement, parameterCount);
+        }
+    }
+
     private boolean haveNext() throws SQLException, IOException {
         boolean haveNext = resultSet.next();
 
@@ -269,6 +328,11 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
             result.totalCount++;
             LOG.debug("Retrieving the record: " + result.totalCount);
             currentRecord = getConverter(resultSet).convertToAvro(resultSet);
+            if (fieldSizes != null) {
+                bytesRead += getSize(currentRecord);
+            }
+        } else {
+            endTime = System.nanoTime();
         }
 
         return haveNext;
@@ -305,6 +369,16 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
                 statement = null;
             }
 
+            if (autoCommitChanged && conn != null) {
+                // it commit the read only transaction opened for the streaming read too
+                conn.setAutoCommit(true);
+                autoCommitChanged = false;
+            }
+
+            if (startTime != 0 && endTime == 0) {
+                endTime = System.nanoTime();
+            }
+
             if (!useExistedConnection && conn != null) {
                 LOG.debug("Closing connection");
                 conn.close();
@@ -317,7 +391,67 @@ public class JDBCInputReader extends AbstractBoundedReader<IndexedRecord> {
 
     @Override
     public Map<String, Object> getReturnValues() {
-        return result.toMap();
+        Map<String, Object> values = result.toMap();
+        values.put(ComponentConstants.RETURN_BYTES_READ, bytesRead);
+
+        long elapsed = (endTime != 0 ? endTime : System.nanoTime()) - startTime;
+        double rowsPerSecond = (startTime != 0 && elapsed > 0) ? result.totalCount * 1000000000d / elapsed : 0;
+        values.put(ComponentConstants.RETURN_ROWS_PER_SECOND, rowsPerSecond);
+        return values;
+    }
+
+    private static int[] getFieldSizes(Schema schema) {
+        List<Field> fields = schema.getFields();
+        int[] sizes = new int[fields.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            switch (AvroUtils.unwrapIfNullable(fields.get(i).schema()).getType()) {
+            case BOOLEAN:
+                sizes[i] = 1;
+                break;
+            case INT:
+            case FLOAT:
+                sizes[i] = 4;
+                break;
+            case LONG:
+            case DOUBLE:
+                sizes[i] = 8;
+                break;
+            default:
+                sizes[i] = -1;
+                break;
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * the approximate size of the values of the record, the strings are counted by the chars
+     */
+    private long getSize(IndexedRecord record) {
+        long size = 0;
+        for (int i = 0; i < fieldSizes.length; i++) {
+            if (fieldSizes[i] >= 0) {
+                // no need to box the primitive value to check the null value
+                boolean isNull = (record instanceof PrimitiveIndexedRecord) ? ((PrimitiveIndexedRecord) record).isNull(i)
+                        : record.get(i) == null;
+                size += isNull ? 0 : fieldSizes[i];
+                continue;
+            }
+
+            Object value = record.get(i);
+            if (value == null) {
+                continue;
+            } else if (value instanceof CharSequence) {
+                size += ((CharSequence) value).length();
+            } else if (value instanceof byte[]) {
+                size += ((byte[]) value).length;
+            } else if (value instanceof BigDecimal) {
+                size += ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+            } else {
+                size += 8;
+            }
+        }
+        return size;
     }
 
 }
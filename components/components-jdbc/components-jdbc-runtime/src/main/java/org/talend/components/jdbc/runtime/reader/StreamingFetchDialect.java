@@ -0,0 +1,161 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.reader;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.jdbc.CommonUtils;
+import org.talend.components.jdbc.query.EDatabaseTypeName;
+
+/**
+ * how to read a result set as a stream for the different databases, as a lot of drivers read the whole result set into
+ * memory by default, whatever the fetch size is.
+ */
+public enum StreamingFetchDialect {
+
+    /**
+     * the driver only use a cursor when the auto commit is off, else the fetch size is ignored
+     */
+    POSTGRESQL {
+
+        @Override
+        boolean prepareConnection(Connection conn, boolean sharedConnection) throws SQLException {
+            if (!conn.getAutoCommit()) {
+                return false;
+            }
+
+            if (sharedConnection) {
+                LOG.warn("The auto commit of the shared connection is on, the result set can't be read as a stream.");
+                return false;
+            }
+
+            conn.setAutoCommit(false);
+            return true;
+        }
+
+    },
+
+    /**
+     * the fetch size is the row prefetch of the oracle driver, which is only 10 by default
+     */
+    ORACLE,
+
+    /**
+     * the adaptive buffering read the rows from the response only when they are needed
+     */
+    SQL_SERVER {
+
+        @Override
+        void tuneStatement(Statement statement, int fetchSize, String jdbcUrl) throws SQLException {
+            invokeIfExists(statement, "setResponseBuffering", "adaptive");
+            statement.setFetchSize(fetchSize);
+        }
+
+    },
+
+    /**
+     * Integer.MIN_VALUE is the flag of the row by row streaming for mysql driver, but the real fetch size is used if the
+     * server cursor is enabled by "useCursorFetch=true"
+     */
+    MYSQL {
+
+        @Override
+        void tuneStatement(Statement statement, int fetchSize, String jdbcUrl) throws SQLException {
+            boolean useCursorFetch = jdbcUrl != null && jdbcUrl.toLowerCase().contains("usecursorfetch=true");
+            statement.setFetchSize(useCursorFetch ? fetchSize : Integer.MIN_VALUE);
+        }
+
+    },
+
+    /**
+     * mariadb driver stream the result set for any positive fetch size
+     */
+    MARIADB,
+
+    /**
+     * the driver download the result chunks in background and only keep some of them in memory, the fetch size is
+     * only a hint
+     */
+    SNOWFLAKE,
+
+    DEFAULT;
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingFetchDialect.class);
+
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    public static StreamingFetchDialect of(String driverClass, String jdbcUrl) {
+        String driver = driverClass == null ? "" : driverClass.toLowerCase();
+        String url = jdbcUrl == null ? "" : jdbcUrl.toLowerCase();
+
+        // mariadb and snowflake are not in the database type list or share the type with another database
+        if (driver.contains("mariadb") || url.startsWith("jdbc:mariadb:")) {
+            return MARIADB;
+        }
+        if (driver.contains("snowflake") || url.startsWith("jdbc:snowflake:")) {
+            return SNOWFLAKE;
+        }
+
+        EDatabaseTypeName dbType = CommonUtils.getDBTypeByDriverClass(driverClass);
+        String product = dbType == null ? null : dbType.getProduct();
+        if ("POSTGRESQL".equals(product) || "POSTGRESPLUS".equals(product)) {
+            return POSTGRESQL;
+        } else if ("ORACLE".equals(product)) {
+            return ORACLE;
+        } else if ("SQL_SERVER".equals(product)) {
+            return SQL_SERVER;
+        } else if ("MYSQL".equals(product) || "AMAZON_AURORA".equals(product)) {
+            return MYSQL;
+        }
+
+        // no driver class for a shared connection or a data source, so check the url of the connection
+        if (url.startsWith("jdbc:postgresql:")) {
+            return POSTGRESQL;
+        } else if (url.startsWith("jdbc:oracle:")) {
+            return ORACLE;
+        } else if (url.startsWith("jdbc:sqlserver:")) {
+            return SQL_SERVER;
+        } else if (url.startsWith("jdbc:mysql:")) {
+            return MYSQL;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * prepare the connection before creating the statement
+     *
+     * @return true if the auto commit is switched off, then it need to be restored after the read
+     */
+    boolean prepareConnection(Connection conn, boolean sharedConnection) throws SQLException {
+        return false;
+    }
+
+    void tuneStatement(Statement statement, int fetchSize, String jdbcUrl) throws SQLException {
+        statement.setFetchSize(fetchSize);
+    }
+
+    private static void invokeIfExists(Statement statement, String methodName, String value) {
+        try {
+            Method method = statement.getClass().getMethod(methodName, String.class);
+            method.invoke(statement, value);
+        } catch (Exception e) {
+            LOG.debug("Can't call the method " + methodName + " of the statement : " + e.getMessage());
+        }
+    }
+
+}
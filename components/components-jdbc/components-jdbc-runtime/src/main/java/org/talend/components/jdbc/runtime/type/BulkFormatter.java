@@ -13,6 +13,7 @@
 package org.talend.components.jdbc.runtime.type;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -22,19 +23,21 @@ import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.IndexedRecord;
+import org.talend.components.common.runtime.CSVEncoder;
 import org.talend.components.common.runtime.FormatterUtils;
+import org.talend.components.common.runtime.TemporalCodec;
 import org.talend.components.jdbc.CommonUtils;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.avro.SchemaConstants;
 
-import com.talend.csv.CSVWriter;
-
+/**
+ * the formatters of the bulk file columns, they are created once by the schema, so nothing is looked up for every value
+ */
 public class BulkFormatter {
 
     private Formatter[] formatter;
-    private boolean useTextEnclosure;
 
-    public BulkFormatter(Schema inputSchema, Schema currentSchema, boolean useTextEnclosure) {
+    public BulkFormatter(Schema inputSchema, Schema currentSchema) {
         List<Formatter> writers = new ArrayList<Formatter>();
         List<Field> fields = currentSchema.getFields();
 
@@ -53,6 +56,15 @@ public class BulkFormatter {
                 writer = new DateTypeWriter(inputValueLocation, pattern);
             } else if (AvroUtils.isSameType(basicSchema, AvroUtils._bytes())) {
                 writer = new BytesTypeWriter(inputValueLocation);
+            } else if (AvroUtils.isSameType(basicSchema, AvroUtils._int())
+                    || AvroUtils.isSameType(basicSchema, AvroUtils._long())
+                    || AvroUtils.isSameType(basicSchema, AvroUtils._short())
+                    || AvroUtils.isSameType(basicSchema, AvroUtils._byte())) {
+                writer = new IntegralTypeWriter(inputValueLocation);
+            } else if (AvroUtils.isSameType(basicSchema, AvroUtils._boolean())) {
+                writer = new BooleanTypeWriter(inputValueLocation);
+            } else if (AvroUtils.isSameType(basicSchema, AvroUtils._decimal())) {
+                writer = new DecimalTypeWriter(inputValueLocation);
             } else {
                 writer = new StringTypeWriter(inputValueLocation);
             }
@@ -61,7 +73,6 @@ public class BulkFormatter {
         }
 
         formatter = writers.toArray(new Formatter[0]);
-        this.useTextEnclosure = useTextEnclosure;
     }
     
     public Formatter getFormatter(int i) {
@@ -76,24 +87,15 @@ public class BulkFormatter {
             this.inputValueLocation = inputValueLocation;
         }
 
-        public void format(IndexedRecord input, String nullValue, CSVWriter writer) throws IOException {
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
             // do nothing
         }
 
     }
     
-    private void fillNull(String nullValue, CSVWriter writer) throws IOException {
-        writer.setQuoteStatus(CSVWriter.QuoteStatus.NO);
-        if(nullValue!=null) {
-            writer.writeColumn(nullValue);
-        } else {
-            writer.writeColumn("");
-        }
-        if(useTextEnclosure) {
-            writer.setQuoteStatus(CSVWriter.QuoteStatus.FORCE);
-        } else {
-            writer.setQuoteStatus(CSVWriter.QuoteStatus.NO);
-        }
+    private void fillNull(String nullValue, CSVEncoder writer) throws IOException {
+        // the null value is never enclosed
+        writer.writeRawColumn(nullValue != null ? nullValue : "");
     }
 
     public class StringTypeWriter extends Formatter {
@@ -102,31 +104,94 @@ public class BulkFormatter {
             super(inputValueLocation);
         }
 
-        public void format(IndexedRecord input, String nullValue, CSVWriter writer) throws IOException {
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
+            Object inputValue = input.get(inputValueLocation);
+            if(inputValue==null) {
+                fillNull(nullValue, writer);
+            } else {
+                writer.writeColumn(String.valueOf(inputValue));
+            }
+        }
+    }
+
+    public class IntegralTypeWriter extends Formatter {
+
+        IntegralTypeWriter(int inputValueLocation) {
+            super(inputValueLocation);
+        }
+
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
             Object inputValue = input.get(inputValueLocation);
             if(inputValue==null) {
                 fillNull(nullValue, writer);
+            } else if (inputValue instanceof Number && !(inputValue instanceof BigDecimal)) {
+                writer.writeColumn(((Number) inputValue).longValue());
             } else {
                 writer.writeColumn(String.valueOf(inputValue));
             }
         }
     }
 
+    public class BooleanTypeWriter extends Formatter {
+
+        BooleanTypeWriter(int inputValueLocation) {
+            super(inputValueLocation);
+        }
+
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
+            Object inputValue = input.get(inputValueLocation);
+            if(inputValue==null) {
+                fillNull(nullValue, writer);
+            } else if (inputValue instanceof Boolean) {
+                writer.writeColumn((Boolean) inputValue ? "true" : "false");
+            } else {
+                writer.writeColumn(String.valueOf(inputValue));
+            }
+        }
+    }
+
+    public class DecimalTypeWriter extends Formatter {
+
+        DecimalTypeWriter(int inputValueLocation) {
+            super(inputValueLocation);
+        }
+
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
+            Object inputValue = input.get(inputValueLocation);
+            if(inputValue==null) {
+                fillNull(nullValue, writer);
+            } else {
+                // same as String.valueOf, BigDecimal.toString keep the exponent for the very small or big values
+                writer.writeColumn(inputValue.toString());
+            }
+        }
+    }
+
     public class DateTypeWriter extends Formatter {
 
         private String pattern;
+
+        private TemporalCodec codec;
+
+        // reused for each value, the encoder copies it
+        private final StringBuilder value = new StringBuilder(32);
         
         DateTypeWriter(int inputValueLocation, String pattern) {
             super(inputValueLocation);
             this.pattern = pattern;
         }
 
-        public void format(IndexedRecord input, String nullValue, CSVWriter writer) throws IOException {
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
             Object inputValue = input.get(inputValueLocation);
             if(inputValue==null) {
                 fillNull(nullValue, writer);
             } else {
-                writer.writeColumn(FormatterUtils.formatDate((Date)inputValue, pattern));
+                if (codec == null) {
+                    // in the default time zone when the first value is written
+                    codec = TemporalCodec.getInstance(pattern == null ? FormatterUtils.dateDefaultPattern : pattern);
+                }
+                value.setLength(0);
+                writer.writeColumn(codec.formatTo(((Date) inputValue).getTime(), value));
             }
         }
 
@@ -141,7 +206,7 @@ public class BulkFormatter {
             super(inputValueLocation);
         }
 
-        public void format(IndexedRecord input, String nullValue, CSVWriter writer) throws IOException {
+        public void format(IndexedRecord input, String nullValue, CSVEncoder writer) throws IOException {
             Object inputValue = input.get(inputValueLocation);
             if(inputValue==null) {
                 fillNull(nullValue, writer);
@@ -44,6 +44,20 @@ public class RowWriter {
 
     public RowWriter(List<JDBCSQLBuilder.Column> columnList, Schema inputSchema, Schema currentSchema,
             PreparedStatement statement, boolean debug, String sql) {
+        this(columnList, inputSchema, currentSchema, statement, debug, sql, 0);
+    }
+
+    /**
+     * @param statementIndexOffset the count of the parameters before the first one of this writer in the statement, it's
+     * useful when the values of several records are set to the same statement
+     */
+    public RowWriter(List<JDBCSQLBuilder.Column> columnList, Schema inputSchema, Schema currentSchema,
+            PreparedStatement statement, int statementIndexOffset) {
+        this(columnList, inputSchema, currentSchema, statement, false, null, statementIndexOffset);
+    }
+
+    private RowWriter(List<JDBCSQLBuilder.Column> columnList, Schema inputSchema, Schema currentSchema,
+            PreparedStatement statement, boolean debug, String sql, int statementIndexOffset) {
         this.debug = debug;
 
         if (debug) {
@@ -52,7 +66,7 @@ public class RowWriter {
 
         List<TypeWriter> writers = new ArrayList<TypeWriter>();
 
-        int statementIndex = 0;
+        int statementIndex = statementIndexOffset;
 
         for (JDBCSQLBuilder.Column column : columnList) {
             Field inputField = CommonUtils.getField(inputSchema, column.columnLabel);
@@ -0,0 +1,470 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.writer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.component.runtime.WriteOperation;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.jdbc.CommonUtils;
+import org.talend.components.jdbc.runtime.setting.JDBCSQLBuilder;
+import org.talend.components.jdbc.runtime.type.RowWriter;
+
+/**
+ * set based writer for the "insert or update" and "update or insert" actions : the records are buffered, the existing keys
+ * of the whole buffer are found by one lookup query, then the inserts and the updates are sent as two jdbc batches. If the
+ * native upsert is enabled and supported by the database, the buffer is sent as one batch of the native upsert statement
+ * directly.
+ *
+ * The result in database is the same as the row by row writers, but no reject is available for a record, and a record is
+ * reported as success when it's written to the buffer, as the batch mode of the other writers.
+ *
+ * A record with the same key as a record inserted before it in the buffer is written after the inserts are executed,
+ * with a new lookup, so two records with the same key are never inserted by one batch. The keys are compared ignoring
+ * the case and the trailing spaces of the strings, as the collation of the database may do.
+ *
+ * The native upsert statement doesn't tell which records are inserted and which ones are updated, so all the records
+ * written by it are counted as updated records.
+ */
+public class JDBCOutputBatchUpsertWriter extends JDBCOutputWriter {
+
+    private transient static final Logger LOG = LoggerFactory.getLogger(JDBCOutputBatchUpsertWriter.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 10000;
+
+    // keep the parameter count of the lookup query under the limit of most databases, sql server is the smallest one : 2100
+    private static final int MAX_LOOKUP_PARAMETERS = 1000;
+
+    private String sqlInsert;
+
+    private String sqlUpdate;
+
+    private String sqlUpsert;
+
+    private PreparedStatement statementInsert;
+
+    private PreparedStatement statementUpdate;
+
+    private PreparedStatement statementUpsert;
+
+    private PreparedStatement statementLookup;
+
+    // the lookup statement for the last part of a buffer which is smaller than the lookup size, kept as it's the same size
+    // for every flush in most cases
+    private PreparedStatement statementLookup4Rest;
+
+    private RowWriter[] rowWriters4Lookup;
+
+    private RowWriter[] rowWriters4LookupRest;
+
+    private int lookupSize;
+
+    private int[] keyLocations;
+
+    private final List<IndexedRecord> buffer = new ArrayList<>();
+
+    public JDBCOutputBatchUpsertWriter(WriteOperation<Result> writeOperation, RuntimeContainer runtime) {
+        super(writeOperation, runtime);
+
+        Integer size = setting.getBatchSize();
+        batchSize = (size != null && size > 0) ? size : DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public void open(String uId) throws IOException {
+        super.open(uId);
+        try {
+            conn = sink.getConnection(runtime);
+
+            if (!isDynamic) {
+                prepareStatements();
+            }
+        } catch (ClassNotFoundException | SQLException e) {
+            throw CommonUtils.newComponentException(e);
+        }
+    }
+
+    private void prepareStatements() throws SQLException {
+        if (setting.getUseNativeUpsert()) {
+            sqlUpsert = JDBCSQLBuilder.getInstance().generateSQL4Upsert(
+                    CommonUtils.getDBTypeByDriverClass(setting.getDriverClass()), setting.getTablename(), columnList);
+            if (sqlUpsert == null) {
+                LOG.warn("Native upsert is not supported for the current database or field options, use the batch lookup.");
+            }
+        }
+
+        if (sqlUpsert != null) {
+            statementUpsert = conn.prepareStatement(sqlUpsert);
+            return;
+        }
+
+        sqlInsert = JDBCSQLBuilder.getInstance().generateSQL4Insert(setting.getTablename(), columnList);
+        statementInsert = conn.prepareStatement(sqlInsert);
+
+        sqlUpdate = JDBCSQLBuilder.getInstance().generateSQL4Update(setting.getTablename(), columnList);
+        statementUpdate = conn.prepareStatement(sqlUpdate);
+    }
+
+    private RowWriter rowWriter4Update = null;
+
+    private RowWriter rowWriter4Insert = null;
+
+    private List<JDBCSQLBuilder.Column> columnList4Lookup;
+
+    private boolean initSchema;
+
+    private Schema currentSchema;
+
+    private Schema inputSchema;
+
+    private void initRowWriterIfNot(Schema inputSchema) {
+        if (!initSchema) {
+            currentSchema = componentSchema;
+            if (isDynamic) {
+                try {
+                    currentSchema = CommonUtils.mergeRuntimeSchema2DesignSchema4Dynamic(componentSchema, inputSchema);
+                    columnList = JDBCSQLBuilder.getInstance().createColumnList(setting, currentSchema);
+                    prepareStatements();
+                } catch (SQLException e) {
+                    throw CommonUtils.newComponentException(e);
+                }
+            }
+
+            this.inputSchema = inputSchema;
+            initSchema = true;
+        }
+
+        if (rowWriter4Insert == null) {
+            List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.insertable) {
+                    columnList4Statement.add(column);
+                }
+            }
+
+            // the native upsert statement have the same parameters with the insert one
+            PreparedStatement statement = statementUpsert != null ? statementUpsert : statementInsert;
+            String sql = statementUpsert != null ? sqlUpsert : sqlInsert;
+            rowWriter4Insert = new RowWriter(columnList4Statement, inputSchema, currentSchema, statement, setting.getDebug(),
+                    sql);
+        }
+
+        if (statementUpsert != null) {
+            return;
+        }
+
+        if (rowWriter4Update == null) {
+            List<JDBCSQLBuilder.Column> columnList4Statement = new ArrayList<>();
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.updatable) {
+                    columnList4Statement.add(column);
+                }
+            }
+
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.updateKey) {
+                    columnList4Statement.add(column);
+                }
+            }
+
+            rowWriter4Update = new RowWriter(columnList4Statement, inputSchema, currentSchema, statementUpdate,
+                    setting.getDebug(), sqlUpdate);
+        }
+
+        if (rowWriters4Lookup == null) {
+            columnList4Lookup = new ArrayList<>();
+            for (JDBCSQLBuilder.Column column : columnList) {
+                if (column.addCol || (column.isReplaced())) {
+                    continue;
+                }
+
+                if (column.updateKey) {
+                    columnList4Lookup.add(column);
+                }
+            }
+
+            keyLocations = new int[columnList4Lookup.size()];
+            for (int i = 0; i < keyLocations.length; i++) {
+                keyLocations[i] = CommonUtils.getField(inputSchema, columnList4Lookup.get(i).columnLabel).pos();
+            }
+
+            lookupSize = Math.min(batchSize, Math.max(1, MAX_LOOKUP_PARAMETERS / Math.max(1, keyLocations.length)));
+
+            try {
+                statementLookup = prepareLookupStatement(lookupSize);
+            } catch (SQLException e) {
+                throw CommonUtils.newComponentException(e);
+            }
+            rowWriters4Lookup = createLookupRowWriters(statementLookup, lookupSize);
+        }
+    }
+
+    private PreparedStatement prepareLookupStatement(int rowCount) throws SQLException {
+        String sqlLookup = JDBCSQLBuilder.getInstance().generateQuerySQL4BatchInsertOrUpdate(setting.getTablename(),
+                columnList, rowCount);
+        return conn.prepareStatement(sqlLookup);
+    }
+
+    private RowWriter[] createLookupRowWriters(PreparedStatement statement, int rowCount) {
+        RowWriter[] rowWriters = new RowWriter[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rowWriters[i] = new RowWriter(columnList4Lookup, inputSchema, currentSchema, statement,
+                    i * columnList4Lookup.size());
+        }
+        return rowWriters;
+    }
+
+    @Override
+    public void write(Object datum) throws IOException {
+        super.write(datum);
+
+        IndexedRecord input = this.getFactory(datum).convertToAvro(datum);
+
+        initRowWriterIfNot(input.getSchema());
+
+        // the input record may be reused by the previous component, so keep a copy until the buffer is flushed
+        IndexedRecord copy = copy(input);
+        buffer.add(copy);
+
+        result.totalCount++;
+
+        handleSuccess(copy);
+
+        if (buffer.size() >= batchSize) {
+            flush();
+        }
+
+        // the buffer need to be passed to the server side before commit something
+        if (useCommit && (commitCount + 1 >= commitEvery)) {
+            flush();
+        }
+
+        try {
+            executeCommit(null);
+        } catch (SQLException e) {
+            if (dieOnError) {
+                throw CommonUtils.newComponentException(e);
+            } else {
+                LOG.warn(e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        List<IndexedRecord> records = new ArrayList<>(buffer);
+        buffer.clear();
+
+        while (!records.isEmpty()) {
+            records = flush(records);
+        }
+    }
+
+    /**
+     * write the records, except the ones with the same key as a record inserted before them
+     *
+     * @return the records to write after the inserts of this flush are executed
+     */
+    private List<IndexedRecord> flush(List<IndexedRecord> records) {
+        List<IndexedRecord> nextRecords = new ArrayList<>();
+        try {
+            if (statementUpsert != null) {
+                for (IndexedRecord input : records) {
+                    traceSQL(rowWriter4Insert.write(input));
+                    statementUpsert.addBatch();
+                }
+
+                // the database doesn't tell which records are inserted and which ones are updated
+                updateCount += executeBatchAndGetCount(statementUpsert);
+                return nextRecords;
+            }
+
+            boolean[] exists = lookup(records);
+
+            Set<List<Object>> insertedKeys = new HashSet<>();
+            boolean hasInserts = false;
+            boolean hasUpdates = false;
+
+            for (int i = 0; i < records.size(); i++) {
+                IndexedRecord input = records.get(i);
+                if (exists[i]) {
+                    traceSQL(rowWriter4Update.write(input));
+                    statementUpdate.addBatch();
+                    hasUpdates = true;
+                } else if (insertedKeys.add(getKey(input))) {
+                    traceSQL(rowWriter4Insert.write(input));
+                    statementInsert.addBatch();
+                    hasInserts = true;
+                } else {
+                    // the next lookup finds the inserted record
+                    nextRecords.add(input);
+                }
+            }
+
+            if (hasInserts) {
+                insertCount += executeBatchAndGetCount(statementInsert);
+            }
+
+            if (hasUpdates) {
+                updateCount += executeBatchAndGetCount(statementUpdate);
+            }
+        } catch (SQLException e) {
+            if (dieOnError) {
+                throw CommonUtils.newComponentException(e);
+            } else {
+                LOG.warn(e.getMessage());
+            }
+
+            clearBatchQuietly(statementUpsert);
+            clearBatchQuietly(statementInsert);
+            clearBatchQuietly(statementUpdate);
+        }
+        return nextRecords;
+    }
+
+    private boolean[] lookup(List<IndexedRecord> records) throws SQLException {
+        boolean[] exists = new boolean[records.size()];
+
+        for (int start = 0; start < records.size(); start += lookupSize) {
+            int rowCount = Math.min(lookupSize, records.size() - start);
+
+            PreparedStatement statement = statementLookup;
+            RowWriter[] rowWriters = rowWriters4Lookup;
+            if (rowCount < lookupSize) {
+                if (rowWriters4LookupRest == null || rowWriters4LookupRest.length != rowCount) {
+                    closeStatementQuietly(statementLookup4Rest);
+                    statementLookup4Rest = prepareLookupStatement(rowCount);
+                    rowWriters4LookupRest = createLookupRowWriters(statementLookup4Rest, rowCount);
+                }
+                statement = statementLookup4Rest;
+                rowWriters = rowWriters4LookupRest;
+            }
+
+            for (int i = 0; i < rowCount; i++) {
+                rowWriters[i].write(records.get(start + i));
+            }
+
+            if (useQueryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+
+            LOG.debug("Executing the key lookup for {} records", rowCount);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    exists[start + resultSet.getInt(1)] = true;
+                }
+            }
+        }
+
+        return exists;
+    }
+
+    private List<Object> getKey(IndexedRecord input) {
+        List<Object> key = new ArrayList<>(keyLocations.length);
+        for (int location : keyLocations) {
+            Object value = input.get(location);
+            if (value instanceof byte[]) {
+                value = ByteBuffer.wrap((byte[]) value);
+            } else if (value instanceof String) {
+                value = trimTrailingSpaces((String) value).toLowerCase(Locale.ROOT);
+            }
+            key.add(value);
+        }
+        return key;
+    }
+
+    private static String trimTrailingSpaces(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+
+    private static IndexedRecord copy(IndexedRecord input) {
+        GenericData.Record copy = new GenericData.Record(input.getSchema());
+        for (int i = 0; i < input.getSchema().getFields().size(); i++) {
+            copy.put(i, input.get(i));
+        }
+        return copy;
+    }
+
+    private void traceSQL(String sql_fact) {
+        if (sql_fact != null && runtime != null) {
+            runtime.setComponentData(runtime.getCurrentComponentId(), QUERY_KEY, sql_fact);
+        }
+        if (setting.getDebug() && sql_fact != null) {
+            LOG.debug("'" + sql_fact.trim() + "'.");
+        }
+    }
+
+    private void clearBatchQuietly(PreparedStatement statement) {
+        if (statement != null) {
+            try {
+                statement.clearBatch();
+            } catch (SQLException e) {
+                // clear quietly
+            }
+        }
+    }
+
+    @Override
+    public Result close() throws IOException {
+        flush();
+
+        closeStatementQuietly(statementLookup);
+        closeStatementQuietly(statementLookup4Rest);
+        closeStatementQuietly(statementUpsert);
+        closeStatementQuietly(statementUpdate);
+        closeStatementQuietly(statementInsert);
+
+        statementLookup = null;
+        statementLookup4Rest = null;
+        statementUpsert = null;
+        statementUpdate = null;
+        statementInsert = null;
+
+        commitAndCloseAtLast();
+
+        constructResult();
+
+        return result;
+    }
+
+}
@@ -0,0 +1,340 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.writer;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.component.runtime.WriteOperation;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.jdbc.CommonUtils;
+import org.talend.components.jdbc.runtime.setting.JDBCSQLBuilder;
+import org.talend.components.jdbc.runtime.type.RowWriter;
+
+/**
+ * the insert writer which execute the batches by several connections at the same time. The records are buffered by the
+ * current thread, and a full batch is given to an idle connection, the current thread wait if all the connections are
+ * busy.
+ *
+ * When "commit every" records are written, all the running batches are finished first, then all the connections are
+ * committed, so a commit always contain all the records before it, like the single connection writer.
+ */
+public class JDBCOutputPipelinedInsertWriter extends JDBCOutputWriter {
+
+    private transient static final Logger LOG = LoggerFactory.getLogger(JDBCOutputPipelinedInsertWriter.class);
+
+    private String sql;
+
+    private final int connectionCount;
+
+    private final List<Worker> workers = new ArrayList<>();
+
+    private BlockingQueue<Worker> idleWorkers;
+
+    private ExecutorService executor;
+
+    private final List<Future<Integer>> runningBatches = new ArrayList<>();
+
+    private List<IndexedRecord> buffer = new ArrayList<>();
+
+    private List<JDBCSQLBuilder.Column> columnList4Statement;
+
+    private Schema inputSchema;
+
+    private Schema currentSchema;
+
+    public JDBCOutputPipelinedInsertWriter(WriteOperation<Result> writeOperation, RuntimeContainer runtime) {
+        super(writeOperation, runtime);
+        Integer count = setting.getParallelConnections();
+        connectionCount = (count == null || count < 1) ? 1 : count;
+    }
+
+    @Override
+    public void open(String uId) throws IOException {
+        super.open(uId);
+        try {
+            conn = sink.getConnection(runtime);
+        } catch (SQLException | ClassNotFoundException e) {
+            throw CommonUtils.newComponentException(e);
+        }
+    }
+
+    private void initWorkersIfNot(Schema inputSchema) {
+        if (executor != null) {
+            return;
+        }
+
+        this.inputSchema = inputSchema;
+        currentSchema = componentSchema;
+        if (isDynamic) {
+            currentSchema = CommonUtils.mergeRuntimeSchema2DesignSchema4Dynamic(componentSchema, inputSchema);
+            columnList = JDBCSQLBuilder.getInstance().createColumnList(setting, currentSchema);
+        }
+        sql = JDBCSQLBuilder.getInstance().generateSQL4Insert(setting.getTablename(), columnList);
+
+        columnList4Statement = new ArrayList<>();
+        for (JDBCSQLBuilder.Column column : columnList) {
+            if (column.addCol || (column.isReplaced())) {
+                continue;
+            }
+
+            if (column.insertable) {
+                columnList4Statement.add(column);
+            }
+        }
+
+        if (runtime != null) {
+            runtime.setComponentData(runtime.getCurrentComponentId(), QUERY_KEY, sql);
+        }
+
+        idleWorkers = new ArrayBlockingQueue<>(connectionCount);
+        try {
+            for (int i = 0; i < connectionCount; i++) {
+                // the connection of the sink is the first one, the others are new ones with the same setting, only used and
+                // closed by this writer
+                Connection connection = (i == 0) ? conn : sink.openConnection(runtime);
+                Worker worker = new Worker(connection);
+                workers.add(worker);
+                idleWorkers.add(worker);
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            releaseWorkers();
+            throw CommonUtils.newComponentException(e);
+        }
+
+        final AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(connectionCount, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "JDBCOutputPipelinedInsertWriter-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public void write(Object datum) throws IOException {
+        super.write(datum);
+
+        IndexedRecord input = this.getFactory(datum).convertToAvro(datum);
+
+        initWorkersIfNot(input.getSchema());
+
+        // the input record may be reused by the previous component, so keep a copy until the batch is executed
+        buffer.add(copy(input));
+        result.totalCount++;
+        handleSuccess(input);
+
+        if (buffer.size() >= batchSize) {
+            submitBuffer();
+        }
+
+        if (useCommit && ++commitCount >= commitEvery) {
+            commitCount = 0;
+            submitBuffer();
+            waitRunningBatches();
+            commitAll();
+        }
+    }
+
+    private void submitBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        final Worker worker;
+        try {
+            // wait when all the connections are busy
+            worker = idleWorkers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw CommonUtils.newComponentException(e);
+        }
+
+        final List<IndexedRecord> batch = buffer;
+        buffer = new ArrayList<>(batchSize);
+        runningBatches.add(executor.submit(new Callable<Integer>() {
+
+            @Override
+            public Integer call() throws Exception {
+                try {
+                    return worker.execute(batch);
+                } finally {
+                    idleWorkers.add(worker);
+                }
+            }
+        }));
+
+        collectFinishedBatches();
+    }
+
+    private void collectFinishedBatches() {
+        Iterator<Future<Integer>> iterator = runningBatches.iterator();
+        while (iterator.hasNext()) {
+            Future<Integer> future = iterator.next();
+            if (future.isDone()) {
+                iterator.remove();
+                insertCount += getCount(future);
+            }
+        }
+    }
+
+    private void waitRunningBatches() {
+        Iterator<Future<Integer>> iterator = runningBatches.iterator();
+        while (iterator.hasNext()) {
+            Future<Integer> future = iterator.next();
+            iterator.remove();
+            insertCount += getCount(future);
+        }
+    }
+
+    private int getCount(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw CommonUtils.newComponentException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (dieOnError) {
+                releaseWorkers();
+                throw CommonUtils.newComponentException(cause);
+            }
+            LOG.warn(cause.getMessage());
+            return 0;
+        }
+    }
+
+    private void commitAll() {
+        LOG.debug("Committing the transaction of all the connections.");
+        for (Worker worker : workers) {
+            try {
+                worker.connection.commit();
+            } catch (SQLException e) {
+                if (dieOnError) {
+                    releaseWorkers();
+                    throw CommonUtils.newComponentException(e);
+                }
+                LOG.warn(e.getMessage());
+            }
+        }
+    }
+
+    private void releaseWorkers() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        for (Worker worker : workers) {
+            closeStatementQuietly(worker.statement);
+            // the connection of the sink is closed by commitAndCloseAtLast
+            if (worker.connection != conn) {
+                try {
+                    worker.connection.close();
+                } catch (SQLException e) {
+                    // close quietly
+                }
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public Result close() throws IOException {
+        if (executor != null) {
+            // execute the last batch to make everything is passed to the server side before release the resource
+            submitBuffer();
+            waitRunningBatches();
+
+            if (useCommit && commitCount > 0) {
+                commitCount = 0;
+                commitAll();
+            }
+
+            releaseWorkers();
+        }
+
+        commitAndCloseAtLast();
+
+        constructResult();
+
+        return result;
+    }
+
+    private static IndexedRecord copy(IndexedRecord input) {
+        GenericData.Record copy = new GenericData.Record(input.getSchema());
+        for (int i = 0; i < input.getSchema().getFields().size(); i++) {
+            copy.put(i, input.get(i));
+        }
+        return copy;
+    }
+
+    /**
+     * a connection with its statement, only used by one thread at the same time
+     */
+    private class Worker {
+
+        private final Connection connection;
+
+        private final PreparedStatement statement;
+
+        private final RowWriter rowWriter;
+
+        Worker(Connection connection) throws SQLException {
+            this.connection = connection;
+            statement = connection.prepareStatement(sql);
+            rowWriter = new RowWriter(columnList4Statement, inputSchema, currentSchema, statement);
+        }
+
+        int execute(List<IndexedRecord> batch) throws SQLException {
+            try {
+                for (IndexedRecord record : batch) {
+                    rowWriter.write(record);
+                    statement.addBatch();
+                }
+                return executeBatchAndGetCount(statement);
+            } catch (SQLException e) {
+                try {
+                    statement.clearBatch();
+                } catch (SQLException ignore) {
+                    // keep the origin exception
+                }
+                throw e;
+            }
+        }
+    }
+
+}
@@ -14,6 +14,8 @@ package org.talend.components.jdbc;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -36,10 +38,13 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.talend.components.api.component.ComponentDefinition;
+import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.component.runtime.Reader;
 import org.talend.components.api.container.DefaultComponentRuntimeContainerImpl;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.api.exception.ComponentException;
+import org.talend.components.common.avro.PrimitiveIndexedRecord;
+import org.talend.components.jdbc.ComponentConstants;
 import org.talend.components.jdbc.common.DBTestUtils;
 import org.talend.components.jdbc.runtime.JDBCSource;
 import org.talend.components.jdbc.runtime.JdbcRuntimeUtils;
@@ -295,6 +300,110 @@ public class JDBCInputTestIT {
 
     }
     
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testPartitionedRead() throws Exception {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue(DBTestUtils.getSQL(tablename));
+        properties.usePartitionedRead.setValue(true);
+        properties.partitionColumn.setValue("ID");
+        properties.partitionCount.setValue(2);
+
+        JDBCSource source = DBTestUtils.createCommonJDBCSource(properties);
+
+        List<? extends BoundedSource> bundles = source.splitIntoBundles(0, null);
+        assertEquals(2, bundles.size());
+
+        int count = 0;
+        for (BoundedSource bundle : bundles) {
+            Reader reader = bundle.createReader(null);
+            try {
+                for (boolean available = reader.start(); available; available = reader.advance()) {
+                    count++;
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        assertEquals(3, count);
+    }
+
+    @Test
+    public void testReaderWithReusedRecord() throws Exception {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue(DBTestUtils.getSQL(tablename));
+        properties.reuseRecord.setValue(true);
+
+        Reader reader = DBTestUtils.createCommonJDBCInputReader(properties);
+        try {
+            reader.start();
+
+            PrimitiveIndexedRecord first = (PrimitiveIndexedRecord) reader.getCurrent();
+            assertEquals(1, first.getInt(0));
+            assertFalse(first.isNull(0));
+            assertEquals("wangwei", first.get(1));
+
+            PrimitiveIndexedRecord copy = first.copy();
+
+            reader.advance();
+
+            PrimitiveIndexedRecord second = (PrimitiveIndexedRecord) reader.getCurrent();
+            assertSame(first, second);
+            assertEquals(2, second.getInt(0));
+            assertEquals(2L, second.getLong(0));
+            assertEquals(2, second.get(0));
+            assertEquals(" gaoyan ", second.get(1));
+
+            // the copy is not changed by the next row
+            assertEquals(1, copy.get(0));
+            assertEquals("wangwei", copy.get(1));
+
+            reader.advance();
+
+            assertEquals(3, ((PrimitiveIndexedRecord) reader.getCurrent()).getInt(0));
+            assertFalse(reader.advance());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testStreamingRead() throws Exception {
+        TJDBCInputDefinition definition = new TJDBCInputDefinition();
+        TJDBCInputProperties properties = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition);
+
+        properties.main.schema.setValue(DBTestUtils.createTestSchema(tablename));
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.sql.setValue(DBTestUtils.getSQL(tablename));
+        properties.useStreamingRead.setValue(true);
+
+        Reader reader = DBTestUtils.createCommonJDBCInputReader(properties);
+        int count = 0;
+        try {
+            for (boolean available = reader.start(); available; available = reader.advance()) {
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        assertEquals(3, count);
+
+        Map<String, Object> returnMap = reader.getReturnValues();
+        assertEquals(3, returnMap.get(ComponentDefinition.RETURN_TOTAL_RECORD_COUNT));
+        // 3 ints and the chars of the 3 names
+        assertEquals(3 * 4L + 7 + 8 + 5, returnMap.get(ComponentConstants.RETURN_BYTES_READ));
+        assertTrue((Double) returnMap.get(ComponentConstants.RETURN_ROWS_PER_SECOND) > 0);
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Test
     public void testTrimAll() {
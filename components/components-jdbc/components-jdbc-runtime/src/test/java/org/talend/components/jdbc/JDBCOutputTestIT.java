@@ -17,7 +17,9 @@ import static org.junit.Assert.assertThat;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -27,6 +29,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.component.runtime.WriteOperation;
 import org.talend.components.api.component.runtime.WriterDataSupplier;
 import org.talend.components.api.exception.ComponentException;
@@ -858,6 +861,140 @@ public class JDBCOutputTestIT {
         Assert.assertEquals("new one", records.get(3).get(1));
     }
 
+    @Test
+    public void testBatchUpsert() throws Exception {
+        TJDBCOutputDefinition definition = new TJDBCOutputDefinition();
+        TJDBCOutputProperties properties = DBTestUtils.createCommonJDBCOutputProperties(allSetting, definition);
+
+        Schema schema = DBTestUtils.createTestSchema2(tablename);
+        properties.main.schema.setValue(schema);
+        properties.updateOutputSchemas();
+
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.dataAction.setValue(DataAction.INSERT_OR_UPDATE);
+        properties.dieOnError.setValue(true);
+        properties.useBatchUpsert.setValue(true);
+        properties.batchSize.setValue(2);
+
+        properties.commitEvery.setValue(DBTestUtils.randomInt());
+
+        JDBCOutputWriter writer = DBTestUtils.createCommonJDBCOutputWriter(definition, properties);
+
+        try {
+            writer.open("wid");
+
+            IndexedRecord r1 = new GenericData.Record(properties.main.schema.getValue());
+            r1.put(0, 1);
+            r1.put(1, "wangwei1");
+            writer.write(r1);
+
+            // the records are reported as successes when they are buffered
+            DBTestUtils.assertSuccessRecord(writer, r1);
+
+            IndexedRecord r2 = new GenericData.Record(properties.main.schema.getValue());
+            r2.put(0, 4);
+            r2.put(1, "new one");
+            writer.write(r2);
+
+            DBTestUtils.assertSuccessRecord(writer, r2);
+
+            // the same key with a record inserted in the same buffer
+            IndexedRecord r3 = new GenericData.Record(properties.main.schema.getValue());
+            r3.put(0, 5);
+            r3.put(1, "inserted");
+            writer.write(r3);
+
+            IndexedRecord r4 = new GenericData.Record(properties.main.schema.getValue());
+            r4.put(0, 5);
+            r4.put(1, "updated");
+            writer.write(r4);
+
+            IndexedRecord r5 = new GenericData.Record(properties.main.schema.getValue());
+            r5.put(0, 2);
+            r5.put(1, "gaoyan1");
+            writer.write(r5);
+
+            // the last record is reported before the buffer is flushed by close
+            DBTestUtils.assertSuccessRecord(writer, r5);
+
+            Result result = writer.close();
+            Assert.assertEquals(5, result.getSuccessCount());
+        } finally {
+            writer.close();
+        }
+
+        TJDBCInputDefinition definition1 = new TJDBCInputDefinition();
+        TJDBCInputProperties properties1 = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition1);
+        List<IndexedRecord> records = DBTestUtils.fetchDataByReaderFromTable(tablename, schema, definition1, properties1);
+
+        assertThat(records, hasSize(5));
+        Assert.assertEquals(new Integer(1), records.get(0).get(0));
+        Assert.assertEquals("wangwei1", records.get(0).get(1));
+        Assert.assertEquals(new Integer(2), records.get(1).get(0));
+        Assert.assertEquals("gaoyan1", records.get(1).get(1));
+        Assert.assertEquals(new Integer(3), records.get(2).get(0));
+        Assert.assertEquals("dabao", records.get(2).get(1));
+        Assert.assertEquals(new Integer(4), records.get(3).get(0));
+        Assert.assertEquals("new one", records.get(3).get(1));
+        Assert.assertEquals(new Integer(5), records.get(4).get(0));
+        Assert.assertEquals("updated", records.get(4).get(1));
+    }
+
+    @Test
+    public void testPipelinedInsert() throws Exception {
+        TJDBCOutputDefinition definition = new TJDBCOutputDefinition();
+        TJDBCOutputProperties properties = DBTestUtils.createCommonJDBCOutputProperties(allSetting, definition);
+
+        Schema schema = DBTestUtils.createTestSchema(tablename);
+        properties.main.schema.setValue(schema);
+        properties.updateOutputSchemas();
+
+        properties.tableSelection.tablename.setValue(tablename);
+        properties.dataAction.setValue(DataAction.INSERT);
+        properties.dieOnError.setValue(true);
+        properties.useBatch.setValue(true);
+        properties.batchSize.setValue(2);
+        properties.commitEvery.setValue(3);
+        properties.useParallelWrite.setValue(true);
+        properties.parallelConnections.setValue(3);
+
+        JDBCOutputWriter writer = DBTestUtils.createCommonJDBCOutputWriter(definition, properties);
+
+        try {
+            writer.open("wid");
+
+            // the same record object is changed for every row, the writer must keep its values
+            IndexedRecord r = new GenericData.Record(properties.main.schema.getValue());
+            for (int i = 4; i <= 13; i++) {
+                r.put(0, i);
+                r.put(1, "name" + i);
+                writer.write(r);
+
+                DBTestUtils.assertSuccessRecord(writer, r);
+            }
+
+            Result result = writer.close();
+            Assert.assertEquals(10, result.getTotalCount());
+            Assert.assertEquals(10, result.getSuccessCount());
+        } finally {
+            writer.close();
+        }
+
+        TJDBCInputDefinition definition1 = new TJDBCInputDefinition();
+        TJDBCInputProperties properties1 = DBTestUtils.createCommonJDBCInputProperties(allSetting, definition1);
+        List<IndexedRecord> records = DBTestUtils.fetchDataByReaderFromTable(tablename, schema, definition1, properties1);
+
+        assertThat(records, hasSize(13));
+        Set<Integer> ids = new HashSet<>();
+        for (IndexedRecord record : records) {
+            ids.add((Integer) record.get(0));
+            if ((Integer) record.get(0) > 3) {
+                Assert.assertEquals("name" + record.get(0), record.get(1));
+            }
+        }
+        assertThat(ids, hasSize(13));
+    }
+
     @Test
     public void testDynamicUpdateOrInsert() throws Exception {
         TJDBCOutputDefinition definition = new TJDBCOutputDefinition();
@@ -0,0 +1,55 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class JDBCPartitionTest {
+
+    @Test
+    public void testWrapQueryWithoutOrderBy() {
+        List<JDBCPartition> partitions = JDBCPartition.split("ID", 1, 100, 2);
+
+        assertEquals(2, partitions.size());
+        assertEquals("SELECT * FROM (select ID, NAME from TEST) T_PARTITION WHERE (ID >= ? AND ID < ? OR ID IS NULL)",
+                partitions.get(0).wrapQuery("select ID, NAME from TEST order by ID;"));
+        assertEquals("SELECT * FROM (select ID, NAME from TEST) T_PARTITION WHERE ID >= ? AND ID <= ?",
+                partitions.get(1).wrapQuery("select ID, NAME from TEST"));
+    }
+
+    @Test
+    public void testRemoveOrderBy() {
+        assertEquals("select ID from TEST", JDBCPartition.removeOrderBy("select ID from TEST ORDER  BY ID desc, NAME"));
+        // the order by of a sub query or a literal is kept
+        assertEquals("select ID from (select ID from TEST order by ID) T where NAME = 'order by'",
+                JDBCPartition.removeOrderBy("select ID from (select ID from TEST order by ID) T where NAME = 'order by'"));
+        assertEquals("select RECORDER from TEST", JDBCPartition.removeOrderBy("select RECORDER from TEST"));
+    }
+
+    @Test
+    public void testIsPartitionable() {
+        assertTrue(JDBCPartition.isPartitionable("select ID from TEST"));
+        assertTrue(JDBCPartition.isPartitionable("select ID from TEST order by ID"));
+        assertTrue(JDBCPartition.isPartitionable("select ID from (select top 10 ID from TEST order by ID) T"));
+        assertFalse(JDBCPartition.isPartitionable("select top 10 ID from TEST order by ID"));
+        assertFalse(JDBCPartition.isPartitionable("select ID from TEST order by ID limit 10"));
+        assertFalse(JDBCPartition.isPartitionable("select ID from TEST order by ID offset 10 rows fetch next 10 rows only"));
+    }
+
+}
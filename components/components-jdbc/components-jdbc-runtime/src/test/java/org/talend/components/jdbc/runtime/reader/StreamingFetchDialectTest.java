@@ -0,0 +1,41 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.jdbc.runtime.reader;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class StreamingFetchDialectTest {
+
+    @Test
+    public void testByDriverClass() {
+        assertEquals(StreamingFetchDialect.POSTGRESQL, StreamingFetchDialect.of("org.postgresql.Driver", null));
+        assertEquals(StreamingFetchDialect.ORACLE, StreamingFetchDialect.of("oracle.jdbc.OracleDriver", null));
+        assertEquals(StreamingFetchDialect.SQL_SERVER,
+                StreamingFetchDialect.of("com.microsoft.sqlserver.jdbc.SQLServerDriver", null));
+        assertEquals(StreamingFetchDialect.MYSQL, StreamingFetchDialect.of("com.mysql.cj.jdbc.Driver", null));
+        assertEquals(StreamingFetchDialect.MARIADB, StreamingFetchDialect.of("org.mariadb.jdbc.Driver", null));
+        assertEquals(StreamingFetchDialect.SNOWFLAKE, StreamingFetchDialect.of("net.snowflake.client.jdbc.SnowflakeDriver", null));
+        assertEquals(StreamingFetchDialect.DEFAULT, StreamingFetchDialect.of("org.apache.derby.jdbc.ClientDriver", null));
+    }
+
+    @Test
+    public void testByUrl() {
+        assertEquals(StreamingFetchDialect.POSTGRESQL, StreamingFetchDialect.of(null, "jdbc:postgresql://localhost/db"));
+        assertEquals(StreamingFetchDialect.MARIADB, StreamingFetchDialect.of(null, "jdbc:mariadb://localhost/db"));
+        assertEquals(StreamingFetchDialect.SNOWFLAKE, StreamingFetchDialect.of(null, "jdbc:snowflake://talend.snowflakecomputing.com"));
+        assertEquals(StreamingFetchDialect.DEFAULT, StreamingFetchDialect.of(null, null));
+    }
+
+}
@@ -12,7 +12,6 @@
 //============================================================================
 package org.talend.components.marketo.runtime.client;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -25,6 +24,7 @@ import org.apache.avro.generic.IndexedRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.components.common.runtime.TemporalCodec;
 import org.talend.components.marketo.MarketoConstants;
 import org.talend.components.marketo.runtime.client.rest.response.SyncResult;
 import org.talend.components.marketo.runtime.client.type.MarketoException;
@@ -137,8 +137,8 @@ public class MarketoCampaignClient extends MarketoBulkExecClient {
             inputJson.addProperty(FIELD_CLONE_TO_PROGRAM_NAME, parameters.cloneToProgramName.getValue());
         }
         if (!StringUtils.isEmpty(runat)) {
-            SimpleDateFormat sdf = new SimpleDateFormat(MarketoConstants.DATETIME_PATTERN_REST);
-            inputJson.addProperty(FIELD_RUN_AT, sdf.format(parameters.runAt.getValue()));
+            inputJson.addProperty(FIELD_RUN_AT,
+                    TemporalCodec.getInstance(MarketoConstants.DATETIME_PATTERN_REST).format(parameters.runAt.getValue()));
         }
         if (parameters.campaignTokens.size() > 0) {
             inputJson.add(FIELD_TOKENS, gson.toJsonTree(parameters.campaignTokens.getTokensAsJson()));
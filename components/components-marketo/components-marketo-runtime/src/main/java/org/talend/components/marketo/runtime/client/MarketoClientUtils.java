@@ -14,16 +14,14 @@ package org.talend.components.marketo.runtime.client;
 
 import static org.talend.components.marketo.MarketoConstants.DATETIME_PATTERN_PARAM_UTC;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.apache.avro.Schema.Field;
 import org.apache.avro.Schema.Type;
 import org.apache.commons.lang3.StringUtils;
-import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.components.common.runtime.TemporalCodec;
 import org.talend.components.marketo.MarketoUtils;
 import org.talend.daikon.avro.SchemaConstants;
 
@@ -60,11 +58,8 @@ public class MarketoClientUtils extends MarketoUtils {
             return null;
         }
         try {
-            Date dt = null;
             // Mkto returns datetime in UTC and Follows W3C format (ISO 8601).
-            dt = new DateTime(datetime, DateTimeZone.forID("UTC")).toDate();
-            SimpleDateFormat sdf = new SimpleDateFormat(DATETIME_PATTERN_PARAM_UTC);
-            return sdf.format(dt);
+            return TemporalCodec.getInstance(DATETIME_PATTERN_PARAM_UTC).format(datetime);
         } catch (Exception e) {
             LOG.error("Error while parsing date : {}.", e.getMessage());
         }
@@ -92,6 +92,22 @@ public class NetSuiteConnectionProperties extends ComponentPropertiesImpl
 
     public final Property<Boolean> useRequestLevelCredentials = newBoolean("useRequestLevelCredentials");
 
+    /**
+     * Maximum number of requests which the components sharing the connection can send at the same time.
+     */
+    public final Property<Integer> maxConcurrentRequests = newInteger("maxConcurrentRequests");
+
+    /**
+     * Time to live of customization meta data shared by the connections of the JVM, in minutes,
+     * 0 to retrieve customization meta data for each connection.
+     */
+    public final Property<Integer> customizationCacheTtl = newInteger("customizationCacheTtl");
+
+    /**
+     * Directory where shared customization meta data is stored, empty to keep it only in memory.
+     */
+    public final Property<String> customizationCacheDirectory = newString("customizationCacheDirectory");
+
     public final PresentationItem testConnection = new PresentationItem("testConnection", "Test connection");
 
     public final ComponentReferenceProperties<NetSuiteConnectionProperties> referencedComponent =
@@ -120,6 +136,9 @@ public class NetSuiteConnectionProperties extends ComponentPropertiesImpl
         applicationId.setValue("");
         customizationEnabled.setValue(true);
         useRequestLevelCredentials.setValue(false);
+        maxConcurrentRequests.setValue(1);
+        customizationCacheTtl.setValue(0);
+        customizationCacheDirectory.setValue("");
     }
 
     @Override
@@ -138,6 +157,9 @@ public class NetSuiteConnectionProperties extends ComponentPropertiesImpl
         Form advForm = new Form(this, Form.ADVANCED);
         advForm.addRow(customizationEnabled);
         advForm.addRow(useRequestLevelCredentials);
+        advForm.addRow(maxConcurrentRequests);
+        advForm.addRow(customizationCacheTtl);
+        advForm.addRow(customizationCacheDirectory);
 
         // A form for a reference to a connection
         Form refForm = Form.create(this, Form.REFERENCE);
@@ -182,6 +204,11 @@ public class NetSuiteConnectionProperties extends ComponentPropertiesImpl
         } else if (form.getName().equals(Form.ADVANCED)) {
             form.getWidget(customizationEnabled.getName()).setHidden(refConnectionUsed);
             form.getWidget(useRequestLevelCredentials.getName()).setHidden(refConnectionUsed);
+            // Only the request level credentials allow concurrent sessions
+            form.getWidget(maxConcurrentRequests.getName()).setHidden(refConnectionUsed
+                    || !Boolean.TRUE.equals(useRequestLevelCredentials.getValue()));
+            form.getWidget(customizationCacheTtl.getName()).setHidden(refConnectionUsed);
+            form.getWidget(customizationCacheDirectory.getName()).setHidden(refConnectionUsed);
         }
     }
 
@@ -230,6 +257,10 @@ public class NetSuiteConnectionProperties extends ComponentPropertiesImpl
         return null;
     }
 
+    public void afterUseRequestLevelCredentials() {
+        refreshLayout(getForm(Form.ADVANCED));
+    }
+
     public void afterReferencedComponent() {
         refreshLayout(getForm(Form.MAIN));
         refreshLayout(getForm(Form.REFERENCE));
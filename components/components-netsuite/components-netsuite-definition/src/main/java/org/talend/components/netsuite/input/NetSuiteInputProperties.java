@@ -14,6 +14,7 @@
 package org.talend.components.netsuite.input;
 
 import static org.talend.daikon.properties.property.PropertyFactory.newBoolean;
+import static org.talend.daikon.properties.property.PropertyFactory.newInteger;
 
 import java.util.Collections;
 import java.util.Set;
@@ -34,12 +35,25 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class NetSuiteInputProperties extends FixedConnectorsComponentProperties
         implements NetSuiteProvideConnectionProperties {
 
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 100;
+
     public final NetSuiteConnectionProperties connection;
 
     public final NetSuiteInputModuleProperties module;
 
     public final Property<Boolean> bodyFieldsOnly = newBoolean("bodyFieldsOnly", true);
 
+    /**
+     * Number of records of a search result page, NetSuite accepts 5 to 1000 records.
+     */
+    public final Property<Integer> searchPageSize = newInteger("searchPageSize");
+
+    /**
+     * Number of search result pages retrieved in parallel while the current page is read,
+     * {@code 0} to retrieve a page when the previous one is read.
+     */
+    public final Property<Integer> readAheadPages = newInteger("readAheadPages");
+
     protected transient final PropertyPathConnector mainConnector =
             new PropertyPathConnector(Connector.MAIN_NAME, "module.main");
 
@@ -49,6 +63,8 @@ public class NetSuiteInputProperties extends FixedConnectorsComponentProperties
         connection = new NetSuiteConnectionProperties("connection");
         module = new NetSuiteInputModuleProperties("module", connection);
         bodyFieldsOnly.setValue(true);
+        searchPageSize.setValue(DEFAULT_SEARCH_PAGE_SIZE);
+        readAheadPages.setValue(0);
     }
 
     @Override
@@ -61,6 +77,8 @@ public class NetSuiteInputProperties extends FixedConnectorsComponentProperties
 
         Form advForm = Form.create(this, Form.ADVANCED);
         advForm.addRow(bodyFieldsOnly);
+        advForm.addRow(searchPageSize);
+        advForm.addRow(readAheadPages);
         advForm.addRow(module.getForm(Form.ADVANCED));
     }
 
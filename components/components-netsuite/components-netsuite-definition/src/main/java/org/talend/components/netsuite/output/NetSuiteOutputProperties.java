@@ -45,6 +45,12 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
 
     public final Property<Boolean> dieOnError = newBoolean("dieOnError");
 
+    /**
+     * Specifies whether batches are written in background, overlapping with processing of next records.
+     * The last batches complete when the component is closed, so the component has no outgoing flows in this mode.
+     */
+    public final Property<Boolean> asynchronous = newBoolean("asynchronous");
+
     protected transient final PropertyPathConnector mainConnector;
 
     protected transient final PropertyPathConnector flowConnector;
@@ -69,6 +75,7 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
 
         batchSize.setValue(NetSuiteOutputProperties.DEFAULT_BATCH_SIZE);
         dieOnError.setValue(Boolean.TRUE);
+        asynchronous.setValue(Boolean.FALSE);
     }
 
     @Override
@@ -83,6 +90,7 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
         Form advForm = Form.create(this, Form.ADVANCED);
         advForm.addRow(module.getForm(Form.ADVANCED));
         advForm.addRow(batchSize);
+        advForm.addRow(asynchronous);
     }
 
     @Override
@@ -108,8 +116,10 @@ public class NetSuiteOutputProperties extends FixedConnectorsComponentProperties
     protected Set<PropertyPathConnector> getAllSchemaPropertiesConnectors(boolean isOutputConnection) {
         Set<PropertyPathConnector> connectors = new HashSet<>();
         if (isOutputConnection) {
-            connectors.add(flowConnector);
-            connectors.add(rejectConnector);
+            if (!Boolean.TRUE.equals(asynchronous.getValue())) {
+                connectors.add(flowConnector);
+                connectors.add(rejectConnector);
+            }
         } else {
             connectors.add(mainConnector);
         }
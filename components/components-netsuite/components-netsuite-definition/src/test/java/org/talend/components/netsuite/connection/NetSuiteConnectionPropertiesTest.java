@@ -16,6 +16,8 @@ package org.talend.components.netsuite.connection;
 import org.junit.Test;
 import org.talend.daikon.properties.presentation.Form;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -36,6 +38,9 @@ public class NetSuiteConnectionPropertiesTest {
         assertNotNull(properties.account.getValue());
         assertNotNull(properties.applicationId.getValue());
         assertNotNull(properties.customizationEnabled.getValue());
+        assertEquals(Integer.valueOf(1), properties.maxConcurrentRequests.getValue());
+        assertEquals(Integer.valueOf(0), properties.customizationCacheTtl.getValue());
+        assertEquals("", properties.customizationCacheDirectory.getValue());
     }
 
     @Test
@@ -53,10 +58,25 @@ public class NetSuiteConnectionPropertiesTest {
 
         Form advForm = properties.getForm(Form.ADVANCED);
         assertNotNull(advForm.getWidget("customizationEnabled"));
+        assertNotNull(advForm.getWidget("maxConcurrentRequests"));
+        assertNotNull(advForm.getWidget("customizationCacheTtl"));
+        assertNotNull(advForm.getWidget("customizationCacheDirectory"));
 
         Form refForm = properties.getForm(Form.REFERENCE);
         assertNotNull(refForm);
         assertNotNull(refForm.getWidget("referencedComponent"));
         assertNotNull(refForm.getWidget("connection"));
     }
+
+    @Test
+    public void testMaxConcurrentRequestsWithRequestLevelCredentials() {
+        properties.init();
+
+        Form advForm = properties.getForm(Form.ADVANCED);
+        assertTrue(advForm.getWidget("maxConcurrentRequests").isHidden());
+
+        properties.useRequestLevelCredentials.setValue(true);
+        properties.afterUseRequestLevelCredentials();
+        assertFalse(advForm.getWidget("maxConcurrentRequests").isHidden());
+    }
 }
@@ -72,6 +72,9 @@ public class NetSuiteInputPropertiesTest extends NetSuitePropertiesTestBase {
         properties.setupProperties();
 
         assertNotNull(properties.getConnectionProperties());
+        assertEquals(Integer.valueOf(NetSuiteInputProperties.DEFAULT_SEARCH_PAGE_SIZE),
+                properties.searchPageSize.getValue());
+        assertEquals(Integer.valueOf(0), properties.readAheadPages.getValue());
     }
 
     @Test
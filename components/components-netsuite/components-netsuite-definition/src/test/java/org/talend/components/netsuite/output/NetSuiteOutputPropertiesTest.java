@@ -79,6 +79,7 @@ public class NetSuiteOutputPropertiesTest extends NetSuitePropertiesTestBase {
         assertEquals(Boolean.FALSE, properties.module.useNativeUpsert.getValue());
         assertEquals((Integer) NetSuiteOutputProperties.DEFAULT_BATCH_SIZE, properties.batchSize.getValue());
         assertEquals(Boolean.TRUE, properties.dieOnError.getValue());
+        assertEquals(Boolean.FALSE, properties.asynchronous.getValue());
 
         assertNotNull(properties.getConnectionProperties());
     }
@@ -112,6 +113,15 @@ public class NetSuiteOutputPropertiesTest extends NetSuitePropertiesTestBase {
         assertThat(rejectConnector.getPropertyPath(), is("module.rejectSchema"));
     }
 
+    @Test
+    public void testNoOutgoingConnectorsForAsynchronous() {
+        properties.setupProperties();
+        properties.asynchronous.setValue(true);
+
+        assertEquals(0, properties.getAllSchemaPropertiesConnectors(true).size());
+        assertEquals(1, properties.getAllSchemaPropertiesConnectors(false).size());
+    }
+
     private <T extends NamedThing> T getByName(Collection<T> objects, String name) {
         for (T obj : objects) {
             if (name.equals(obj.getName())) {
@@ -13,12 +13,15 @@
 
 package org.talend.components.netsuite;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.netsuite.client.CustomMetaDataCache;
 import org.talend.components.netsuite.client.MetaDataSource;
 import org.talend.components.netsuite.client.NetSuiteClientFactory;
 import org.talend.components.netsuite.client.NetSuiteClientService;
@@ -141,6 +144,14 @@ public class NetSuiteEndpoint {
             connectionConfig.setReferenceComponentId(properties.getReferencedComponentId());
             connectionConfig.setCustomizationEnabled(customizationEnabled);
             connectionConfig.setUseRequestLevelCredentials(connProps.useRequestLevelCredentials.getValue());
+            if (connProps.maxConcurrentRequests.getValue() != null && connectionConfig.isUseRequestLevelCredentials()) {
+                connectionConfig.setMaxConcurrentRequests(connProps.maxConcurrentRequests.getValue());
+            }
+            if (connProps.customizationCacheTtl.getValue() != null) {
+                connectionConfig.setCustomizationCacheTtl(connProps.customizationCacheTtl.getValue());
+            }
+            connectionConfig.setCustomizationCacheDirectory(
+                    StringUtils.trimToNull(connProps.customizationCacheDirectory.getStringValue()));
             return connectionConfig;
         } catch (MalformedURLException e) {
             throw new NetSuiteException(new NetSuiteErrorCode(NetSuiteErrorCode.CLIENT_ERROR),
@@ -202,6 +213,16 @@ public class NetSuiteEndpoint {
         clientService.setEndpointUrl(connectionConfig.getEndpointUrl().toString());
         clientService.setCredentials(connectionConfig.getCredentials());
         clientService.setUseRequestLevelCredentials(connectionConfig.isUseRequestLevelCredentials());
+        clientService.setMaxConcurrentRequests(connectionConfig.getMaxConcurrentRequests());
+        if (connectionConfig.isCustomizationEnabled() && connectionConfig.getCustomizationCacheTtl() > 0) {
+            NetSuiteCredentials credentials = connectionConfig.getCredentials();
+            String directory = connectionConfig.getCustomizationCacheDirectory();
+            clientService.setCustomMetaDataCache(CustomMetaDataCache.getInstance(credentials.getAccount(),
+                    credentials.getRoleId(),
+                    connectionConfig.getApiVersion() != null ? connectionConfig.getApiVersion().getMajorAsString() : null,
+                    directory != null ? new File(directory) : null,
+                    TimeUnit.MINUTES.toMillis(connectionConfig.getCustomizationCacheTtl())));
+        }
         MetaDataSource metaDataSource = clientService.getMetaDataSource();
         metaDataSource.setCustomizationEnabled(connectionConfig.isCustomizationEnabled());
 
@@ -219,6 +240,9 @@ public class NetSuiteEndpoint {
         private NetSuiteCredentials credentials;
         private boolean customizationEnabled;
         private boolean useRequestLevelCredentials;
+        private int maxConcurrentRequests = 1;
+        private int customizationCacheTtl;
+        private String customizationCacheDirectory;
         private String referenceComponentId;
 
         public ConnectionConfig() {
@@ -270,6 +294,30 @@ public class NetSuiteEndpoint {
             this.useRequestLevelCredentials = useRequestLevelCredentials;
         }
 
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public int getCustomizationCacheTtl() {
+            return customizationCacheTtl;
+        }
+
+        public void setCustomizationCacheTtl(int customizationCacheTtl) {
+            this.customizationCacheTtl = customizationCacheTtl;
+        }
+
+        public String getCustomizationCacheDirectory() {
+            return customizationCacheDirectory;
+        }
+
+        public void setCustomizationCacheDirectory(String customizationCacheDirectory) {
+            this.customizationCacheDirectory = customizationCacheDirectory;
+        }
+
         public void setReferenceComponentId(String referenceComponentId) {
             this.referenceComponentId = referenceComponentId;
         }
@@ -288,6 +336,9 @@ public class NetSuiteEndpoint {
             }
             ConnectionConfig that = (ConnectionConfig) o;
             return customizationEnabled == that.customizationEnabled
+                    && maxConcurrentRequests == that.maxConcurrentRequests
+                    && customizationCacheTtl == that.customizationCacheTtl
+                    && Objects.equals(customizationCacheDirectory, that.customizationCacheDirectory)
                     && Objects.equals(endpointUrl, that.endpointUrl) && Objects.equals(apiVersion, that.apiVersion)
                     && Objects.equals(credentials, that.credentials)
                     && Objects.equals(referenceComponentId,that.referenceComponentId);
@@ -305,6 +356,9 @@ public class NetSuiteEndpoint {
             sb.append("apiVersion=").append(apiVersion);
             sb.append(", credentials=").append(credentials);
             sb.append(", customizationEnabled=").append(customizationEnabled);
+            sb.append(", maxConcurrentRequests=").append(maxConcurrentRequests);
+            sb.append(", customizationCacheTtl=").append(customizationCacheTtl);
+            sb.append(", customizationCacheDirectory=").append(customizationCacheDirectory);
             sb.append(", referenceComponentId=").append(referenceComponentId);
             sb.append('}');
             return sb.toString();
@@ -21,6 +21,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -49,6 +50,7 @@ import org.talend.components.netsuite.client.model.SimpleFieldDesc;
 import org.talend.components.netsuite.client.model.TypeDesc;
 import org.talend.components.netsuite.client.model.beans.BeanInfo;
 import org.talend.components.netsuite.client.model.beans.Beans;
+import org.talend.components.netsuite.client.model.beans.PropertyHandle;
 import org.talend.components.netsuite.client.model.customfield.CustomFieldRefType;
 import org.talend.components.netsuite.client.model.customfield.ListOrRecord;
 import org.talend.components.netsuite.client.model.customfield.MultiSelectCustomField;
@@ -284,6 +286,62 @@ public abstract class NsObjectTransducer {
         return valueMap;
     }
 
+    /**
+     * Bind fields of given schema to descriptors of NetSuite data model object's fields.
+     *
+     * <p>Fields of schema which don't have a descriptor are skipped. Value converters and
+     * property accessors are resolved once, so the bindings should be reused for all records.
+     *
+     * @param schema schema
+     * @param typeDesc type descriptor
+     * @return bindings in order of schema fields
+     */
+    protected List<FieldBinding> bindFields(Schema schema, TypeDesc typeDesc) {
+        BeanInfo beanInfo = Beans.getBeanInfo(typeDesc.getTypeClass());
+        Map<String, FieldDesc> fieldMap = typeDesc.getFieldMap();
+
+        List<FieldBinding> bindings = new ArrayList<>(schema.getFields().size());
+        for (Schema.Field field : schema.getFields()) {
+            // Get actual name of the field
+            String nsFieldName = NetSuiteDatasetRuntimeImpl.getNsFieldName(field);
+            FieldDesc fieldDesc = fieldMap.get(nsFieldName);
+
+            if (fieldDesc == null) {
+                continue;
+            }
+
+            PropertyHandle propertyHandle = null;
+            if (fieldDesc instanceof SimpleFieldDesc) {
+                propertyHandle = beanInfo.getPropertyHandle(fieldDesc.asSimple().getPropertyName());
+            }
+            bindings.add(new FieldBinding(field.pos(), nsFieldName, fieldDesc, getValueConverter(fieldDesc),
+                    propertyHandle));
+        }
+        return Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * Build and get map of native custom field objects by script IDs.
+     *
+     * @param nsObject NetSuite data model object which to extract custom fields from
+     * @return table of custom fields by script IDs
+     */
+    protected Map<String, Object> getCustomFieldMap(Object nsObject) {
+        if (Beans.getBeanInfo(nsObject.getClass()).getProperty("customFieldList") == null) {
+            return Collections.emptyMap();
+        }
+        List<?> customFieldList = (List<?>) getProperty(nsObject, "customFieldList.customField");
+        if (customFieldList == null || customFieldList.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Object> customFieldMap = new HashMap<>(customFieldList.size() * 2);
+        for (Object customField : customFieldList) {
+            String scriptId = (String) getSimpleProperty(customField, "scriptId");
+            customFieldMap.put(scriptId, customField);
+        }
+        return customFieldMap;
+    }
+
     /**
      * Read a value from a field.
      *
@@ -295,21 +353,43 @@ public abstract class NsObjectTransducer {
         String fieldName = fieldDesc.getName();
         AvroConverter valueConverter = getValueConverter(fieldDesc);
         if (fieldDesc instanceof CustomFieldDesc) {
-            Object customField = valueMap.get(fieldName);
-            if (customField != null) {
-                if (((CustomFieldDesc) fieldDesc).getCustomFieldType() == CustomFieldRefType.MULTI_SELECT) {
-                    return readMultiSelectField(customField);
-                }
-                Object value = getSimpleProperty(customField, "value");
-                return valueConverter.convertToAvro(value);
-            }
-            return null;
+            return readCustomField(valueMap.get(fieldName), fieldDesc.asCustom(), valueConverter);
         } else {
             Object value = valueMap.get(fieldName);
             return valueConverter.convertToAvro(value);
         }
     }
 
+    /**
+     * Read a value from a bound field.
+     *
+     * @param nsObject NetSuite data model object which to read field value from
+     * @param binding field binding
+     * @param customFieldMap map of native custom field objects by script IDs
+     * @return value of a field or <code>null</code>
+     */
+    protected Object readField(Object nsObject, FieldBinding binding, Map<String, Object> customFieldMap) {
+        AvroConverter valueConverter = binding.getValueConverter();
+        if (binding.isCustom()) {
+            return readCustomField(customFieldMap.get(binding.getNsFieldName()), binding.getFieldDesc().asCustom(),
+                    valueConverter);
+        } else {
+            Object value = binding.get(nsObject);
+            return valueConverter.convertToAvro(value);
+        }
+    }
+
+    private Object readCustomField(Object customField, CustomFieldDesc fieldDesc, AvroConverter valueConverter) {
+        if (customField != null) {
+            if (fieldDesc.getCustomFieldType() == CustomFieldRefType.MULTI_SELECT) {
+                return readMultiSelectField(customField);
+            }
+            Object value = getSimpleProperty(customField, "value");
+            return valueConverter.convertToAvro(value);
+        }
+        return null;
+    }
+
     /**
      * Transform NetSuite MultiSelectCustomFieldRef object to {@link MultiSelectCustomField} to remove unneeded values.
      *
@@ -368,6 +448,24 @@ public abstract class NsObjectTransducer {
         }
     }
 
+    /**
+     * Write a value to a bound field.
+     *
+     * @param nsObject target NetSuite data model object which to write field value to
+     * @param binding field binding
+     * @param customFieldMap map of native custom field objects by names
+     * @param nullFieldNames collection to register null'ed fields
+     * @param value value to be written, can be <code>null</code>
+     */
+    protected void writeField(Object nsObject, FieldBinding binding, Map<String, Object> customFieldMap,
+            Collection<String> nullFieldNames, Object value) {
+        if (binding.isCustom()) {
+            writeCustomField(nsObject, binding.getFieldDesc().asCustom(), customFieldMap, true, nullFieldNames, value);
+        } else {
+            writeSimpleField(nsObject, binding, true, nullFieldNames, value);
+        }
+    }
+
     /**
      * Write a custom field which is not defined by NetSuite standard data model.
      *
@@ -433,18 +531,24 @@ public abstract class NsObjectTransducer {
      */
     protected void writeSimpleField(Object nsObject, SimpleFieldDesc fieldDesc,
             boolean replace, Collection<String> nullFieldNames, Object value) {
+        FieldBinding binding = new FieldBinding(-1, fieldDesc.getName(), fieldDesc, getValueConverter(fieldDesc), null);
+        writeSimpleField(nsObject, binding, replace, nullFieldNames, value);
+    }
 
-        AvroConverter valueConverter = getValueConverter(fieldDesc);
+    private void writeSimpleField(Object nsObject, FieldBinding binding,
+            boolean replace, Collection<String> nullFieldNames, Object value) {
+
+        AvroConverter valueConverter = binding.getValueConverter();
 
         Object targetValue = valueConverter.convertToDatum(value);
 
         if (targetValue == null) {
             if (replace) {
-                setSimpleProperty(nsObject, fieldDesc.getPropertyName(), null);
-                nullFieldNames.add(fieldDesc.getName());
+                binding.set(nsObject, null);
+                nullFieldNames.add(binding.getFieldDesc().getName());
             }
         } else {
-            setSimpleProperty(nsObject, fieldDesc.getPropertyName(), targetValue);
+            binding.set(nsObject, targetValue);
         }
     }
 
@@ -582,4 +686,82 @@ public abstract class NsObjectTransducer {
         return null;
     }
 
+    /**
+     * Field of schema bound to descriptor, value converter and precompiled accessor
+     * of NetSuite data model object's field.
+     */
+    protected static class FieldBinding {
+
+        /** Position of field in schema. */
+        private final int pos;
+
+        /** Actual name of the field. */
+        private final String nsFieldName;
+
+        private final FieldDesc fieldDesc;
+
+        private final AvroConverter valueConverter;
+
+        /** Accessor of simple field, {@code null} for custom fields or unknown properties. */
+        private final PropertyHandle propertyHandle;
+
+        public FieldBinding(int pos, String nsFieldName, FieldDesc fieldDesc, AvroConverter<?, ?> valueConverter,
+                PropertyHandle propertyHandle) {
+            this.pos = pos;
+            this.nsFieldName = nsFieldName;
+            this.fieldDesc = fieldDesc;
+            this.valueConverter = valueConverter;
+            this.propertyHandle = propertyHandle;
+        }
+
+        public int getPos() {
+            return pos;
+        }
+
+        public String getNsFieldName() {
+            return nsFieldName;
+        }
+
+        public FieldDesc getFieldDesc() {
+            return fieldDesc;
+        }
+
+        public AvroConverter getValueConverter() {
+            return valueConverter;
+        }
+
+        public boolean isCustom() {
+            return fieldDesc instanceof CustomFieldDesc;
+        }
+
+        /**
+         * Get value of simple field.
+         *
+         * <p>Objects which are not instances of the bound class are accessed through {@link Beans}.
+         *
+         * @param nsObject NetSuite data model object
+         * @return value
+         */
+        public Object get(Object nsObject) {
+            if (propertyHandle != null && propertyHandle.getBeanClass().isInstance(nsObject)) {
+                return propertyHandle.get(nsObject);
+            }
+            return getSimpleProperty(nsObject, fieldDesc.asSimple().getPropertyName());
+        }
+
+        /**
+         * Set value of simple field.
+         *
+         * @param nsObject NetSuite data model object
+         * @param value value to be set
+         */
+        public void set(Object nsObject, Object value) {
+            if (propertyHandle != null && propertyHandle.getBeanClass().isInstance(nsObject)) {
+                propertyHandle.set(nsObject, value);
+            } else {
+                setSimpleProperty(nsObject, fieldDesc.asSimple().getPropertyName(), value);
+            }
+        }
+    }
+
 }
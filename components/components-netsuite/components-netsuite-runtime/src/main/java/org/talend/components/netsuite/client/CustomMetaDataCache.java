@@ -0,0 +1,436 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import static org.talend.components.netsuite.NetSuiteDatasetRuntimeImpl.getCustomFieldValueClass;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.components.netsuite.client.model.CustomFieldDesc;
+import org.talend.components.netsuite.client.model.RefType;
+import org.talend.components.netsuite.client.model.customfield.CustomFieldRefType;
+import org.talend.daikon.java8.Function;
+
+/**
+ * Cache of customization meta data which is shared by all clients of the JVM which use
+ * same account, role and API version.
+ *
+ * <p>Meta data is cached in sections (custom record types, custom fields of standard record types,
+ * custom fields of a custom record type), a section is retrieved again when it is older than
+ * the time to live. If a directory is specified the cache is also stored in a file,
+ * so retrieved meta data is reused by next jobs.
+ */
+public class CustomMetaDataCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomMetaDataCache.class);
+
+    /** Version of the format of cache file, files of other versions are ignored. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x4E534D43;
+
+    private static final String CUSTOM_TYPES = "customTypes";
+
+    private static final String CUSTOM_FIELDS = "customFields";
+
+    private static final String CUSTOM_RECORD_FIELDS_PREFIX = "customRecordFields:";
+
+    private static final byte REF_LIST = 1;
+
+    private static final byte FIELD_LIST = 2;
+
+    /** Caches by keys and directories. */
+    private static final ConcurrentMap<String, CustomMetaDataCache> caches = new ConcurrentHashMap<>();
+
+    /** Key of cached meta data. */
+    private final String key;
+
+    /** Cache file, {@code null} if cache is not stored. */
+    private final File file;
+
+    /** Time to live of a section, in milliseconds. */
+    private volatile long ttl;
+
+    /** Cached sections by names. */
+    private final ConcurrentMap<String, Section> sections = new ConcurrentHashMap<>();
+
+    private CustomMetaDataCache(String key, File file, long ttl) {
+        this.key = key;
+        this.file = file;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Get shared cache for given account, role and API version.
+     *
+     * @param account NetSuite account
+     * @param roleId role ID, can be {@code null}
+     * @param apiVersion API version
+     * @param directory directory where cache file is stored, {@code null} to not store the cache
+     * @param ttl time to live of cached meta data, in milliseconds
+     * @return cache
+     */
+    public static CustomMetaDataCache getInstance(String account, String roleId, String apiVersion,
+            File directory, long ttl) {
+        String key = account + "|" + (roleId != null ? roleId : "") + "|" + apiVersion;
+        String cacheKey = directory != null ? key + "|" + directory.getAbsolutePath() : key;
+        CustomMetaDataCache cache = caches.get(cacheKey);
+        if (cache == null) {
+            File file = directory != null
+                    ? new File(directory, "netsuite-" + key.replaceAll("[^A-Za-z0-9._-]", "_") + ".cache")
+                    : null;
+            CustomMetaDataCache newCache = new CustomMetaDataCache(key, file, ttl);
+            cache = caches.putIfAbsent(cacheKey, newCache);
+            if (cache == null) {
+                cache = newCache;
+                cache.read();
+            }
+        }
+        cache.ttl = ttl;
+        return cache;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Get customization refs of custom record types and custom transaction types.
+     *
+     * @param loader retrieves refs if they are not cached
+     * @return customization refs
+     */
+    public List<NsRef> getCustomTypes(Function<Void, List<NsRef>> loader) {
+        return (List<NsRef>) get(CUSTOM_TYPES, REF_LIST, loader);
+    }
+
+    /**
+     * Get custom fields of standard record types.
+     *
+     * @param loader retrieves fields if they are not cached
+     * @return custom fields
+     */
+    public List<CachedCustomField> getCustomFields(Function<Void, List<CachedCustomField>> loader) {
+        return (List<CachedCustomField>) get(CUSTOM_FIELDS, FIELD_LIST, loader);
+    }
+
+    /**
+     * Get custom fields of given custom record type.
+     *
+     * @param recordTypeName name of custom record type
+     * @param loader retrieves fields if they are not cached
+     * @return custom fields
+     */
+    public List<CachedCustomField> getCustomRecordFields(String recordTypeName,
+            Function<Void, List<CachedCustomField>> loader) {
+        return (List<CachedCustomField>) get(CUSTOM_RECORD_FIELDS_PREFIX + recordTypeName, FIELD_LIST, loader);
+    }
+
+    /**
+     * Discard all cached meta data, including the cache file.
+     */
+    public synchronized void invalidate() {
+        sections.clear();
+        if (file != null && file.exists() && !file.delete()) {
+            LOG.warn("Couldn't delete customization cache file: {}", file);
+        }
+    }
+
+    private List<?> get(String name, byte kind, Function<Void, ? extends List<?>> loader) {
+        Section section = sections.get(name);
+        if (section != null && !section.isExpired(ttl)) {
+            return section.values;
+        }
+        // Meta data is retrieved once for all clients which are waiting for it
+        synchronized (this) {
+            section = sections.get(name);
+            if (section == null || section.isExpired(ttl)) {
+                List<?> values = loader.apply(null);
+                section = new Section(kind, System.currentTimeMillis(),
+                        Collections.unmodifiableList(new ArrayList<>(values)));
+                sections.put(name, section);
+                write();
+            }
+            return section.values;
+        }
+    }
+
+    /**
+     * Read cached meta data from the cache file, the file is ignored if it can't be read.
+     */
+    private synchronized void read() {
+        if (file == null || !file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !key.equals(in.readUTF())) {
+                LOG.debug("Ignored customization cache file of other version: {}", file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                long loadTime = in.readLong();
+                byte kind = in.readByte();
+                int size = in.readInt();
+                List<Object> values = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    values.add(kind == REF_LIST ? readRef(in) : CachedCustomField.read(in));
+                }
+                sections.put(name, new Section(kind, loadTime, Collections.unmodifiableList(values)));
+            }
+        } catch (IOException | RuntimeException e) {
+            sections.clear();
+            LOG.warn("Couldn't read customization cache file: {}", file, e);
+        }
+    }
+
+    /**
+     * Write cached meta data to the cache file, the file is replaced atomically if possible.
+     */
+    private void write() {
+        if (file == null) {
+            return;
+        }
+        File tempFile = null;
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Couldn't create directory " + directory);
+            }
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(key);
+                out.writeInt(sections.size());
+                for (Map.Entry<String, Section> entry : sections.entrySet()) {
+                    Section section = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(section.loadTime);
+                    out.writeByte(section.kind);
+                    out.writeInt(section.values.size());
+                    for (Object value : section.values) {
+                        if (section.kind == REF_LIST) {
+                            writeRef(out, (NsRef) value);
+                        } else {
+                            ((CachedCustomField) value).write(out);
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Couldn't write customization cache file: {}", file, e);
+            if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    private static NsRef readRef(DataInputStream in) throws IOException {
+        NsRef ref = new NsRef();
+        String refType = readString(in);
+        ref.setRefType(refType != null ? RefType.valueOf(refType) : null);
+        ref.setName(readString(in));
+        ref.setType(readString(in));
+        ref.setInternalId(readString(in));
+        ref.setExternalId(readString(in));
+        ref.setScriptId(readString(in));
+        ref.setTypeId(readString(in));
+        return ref;
+    }
+
+    private static void writeRef(DataOutputStream out, NsRef ref) throws IOException {
+        writeString(out, ref.getRefType() != null ? ref.getRefType().name() : null);
+        writeString(out, ref.getName());
+        writeString(out, ref.getType());
+        writeString(out, ref.getInternalId());
+        writeString(out, ref.getExternalId());
+        writeString(out, ref.getScriptId());
+        writeString(out, ref.getTypeId());
+    }
+
+    private static NsRef copyRef(NsRef ref) {
+        NsRef copy = new NsRef(ref.getRefType());
+        copy.setName(ref.getName());
+        copy.setType(ref.getType());
+        copy.setInternalId(ref.getInternalId());
+        copy.setExternalId(ref.getExternalId());
+        copy.setScriptId(ref.getScriptId());
+        copy.setTypeId(ref.getTypeId());
+        return copy;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Cached values of a section.
+     */
+    private static class Section {
+
+        private final byte kind;
+
+        /** Time when the values were retrieved. */
+        private final long loadTime;
+
+        private final List<?> values;
+
+        Section(byte kind, long loadTime, List<?> values) {
+            this.kind = kind;
+            this.loadTime = loadTime;
+            this.values = values;
+        }
+
+        boolean isExpired(long ttl) {
+            return System.currentTimeMillis() - loadTime > ttl;
+        }
+    }
+
+    /**
+     * Cached descriptor of a custom field.
+     *
+     * <p>Descriptors are shared, so {@link #toFieldDesc()} creates new field descriptor for a caller.
+     */
+    public static class CachedCustomField {
+
+        private final NsRef customizationRef;
+
+        private final String name;
+
+        private final CustomFieldRefType customFieldType;
+
+        private final boolean nullable;
+
+        /** Standard record types which the field applies to, empty for fields of custom record types. */
+        private final Set<String> recordTypes;
+
+        public CachedCustomField(CustomFieldDesc fieldDesc, Set<String> recordTypes) {
+            this(copyRef(fieldDesc.getCustomizationRef()), fieldDesc.getName(), fieldDesc.getCustomFieldType(),
+                    fieldDesc.isNullable(), recordTypes);
+        }
+
+        private CachedCustomField(NsRef customizationRef, String name, CustomFieldRefType customFieldType,
+                boolean nullable, Set<String> recordTypes) {
+            this.customizationRef = customizationRef;
+            this.name = name;
+            this.customFieldType = customFieldType;
+            this.nullable = nullable;
+            this.recordTypes = Collections.unmodifiableSet(new LinkedHashSet<>(recordTypes));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Set<String> getRecordTypes() {
+            return recordTypes;
+        }
+
+        /**
+         * Determine whether the field applies to given standard record type.
+         *
+         * @param recordType type of record
+         * @return {@code true} if the field applies to the record type, {@code false} otherwise
+         */
+        public boolean appliesTo(String recordType) {
+            return recordTypes.contains(recordType);
+        }
+
+        /**
+         * Create new field descriptor for the cached field.
+         *
+         * @return field descriptor
+         */
+        public CustomFieldDesc toFieldDesc() {
+            CustomFieldDesc fieldDesc = new CustomFieldDesc();
+            fieldDesc.setCustomizationRef(copyRef(customizationRef));
+            fieldDesc.setName(name);
+            fieldDesc.setCustomFieldType(customFieldType);
+            fieldDesc.setValueType(getCustomFieldValueClass(customFieldType));
+            fieldDesc.setNullable(nullable);
+            return fieldDesc;
+        }
+
+        static CachedCustomField read(DataInputStream in) throws IOException {
+            NsRef customizationRef = readRef(in);
+            String name = in.readUTF();
+            CustomFieldRefType customFieldType = CustomFieldRefType.valueOf(in.readUTF());
+            boolean nullable = in.readBoolean();
+            int size = in.readInt();
+            Set<String> recordTypes = new LinkedHashSet<>(size);
+            for (int i = 0; i < size; i++) {
+                recordTypes.add(in.readUTF());
+            }
+            return new CachedCustomField(customizationRef, name, customFieldType, nullable, recordTypes);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            writeRef(out, customizationRef);
+            out.writeUTF(name);
+            out.writeUTF(customFieldType.name());
+            out.writeBoolean(nullable);
+            out.writeInt(recordTypes.size());
+            for (String recordType : recordTypes) {
+                out.writeUTF(recordType);
+            }
+        }
+    }
+}
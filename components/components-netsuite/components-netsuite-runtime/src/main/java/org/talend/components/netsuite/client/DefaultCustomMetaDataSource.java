@@ -22,11 +22,15 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.components.netsuite.client.CustomMetaDataCache.CachedCustomField;
 import org.talend.components.netsuite.client.model.BasicRecordType;
 import org.talend.components.netsuite.client.model.CustomFieldDesc;
 import org.talend.components.netsuite.client.model.CustomRecordTypeInfo;
@@ -40,6 +44,9 @@ import org.talend.daikon.java8.Function;
 /**
  * Implementation of <code>CustomMetaDataSource</code> which retrieves custom meta data from NetSuite and
  * caches retrieved data.
+ *
+ * <p>If the client has a {@link CustomMetaDataCache} then custom meta data is taken from the shared cache
+ * and is retrieved from NetSuite only when it is not cached or is expired.
  */
 public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource {
     protected transient final Logger logger = LoggerFactory.getLogger(getClass());
@@ -194,13 +201,18 @@ public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource
             return;
         }
 
-        List<NsRef> customTypes = new ArrayList<>();
-
-        List<NsRef> customRecordTypes = customMetaDataRetriever.retrieveCustomizationIds(BasicRecordType.CUSTOM_RECORD_TYPE);
-        customTypes.addAll(customRecordTypes);
+        List<NsRef> customTypes;
+        CustomMetaDataCache cache = clientService.getCustomMetaDataCache();
+        if (cache != null) {
+            customTypes = cache.getCustomTypes(new Function<Void, List<NsRef>>() {
 
-        List<NsRef> customTransactionTypes = customMetaDataRetriever.retrieveCustomizationIds(BasicRecordType.CUSTOM_TRANSACTION_TYPE);
-        customTypes.addAll(customTransactionTypes);
+                @Override public List<NsRef> apply(Void param) {
+                    return retrieveCustomTypeRefs();
+                }
+            });
+        } else {
+            customTypes = retrieveCustomTypeRefs();
+        }
 
         for (NsRef customizationRef : customTypes) {
             String recordType = customizationRef.getType();
@@ -220,6 +232,24 @@ public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource
         customRecordTypesLoaded = true;
     }
 
+    /**
+     * Retrieve customization refs of custom record types and custom transaction types from NetSuite web service.
+     *
+     * @return customization refs
+     * @throws NetSuiteException if an error occurs during retrieving of customization data
+     */
+    protected List<NsRef> retrieveCustomTypeRefs() throws NetSuiteException {
+        List<NsRef> customTypes = new ArrayList<>();
+
+        List<NsRef> customRecordTypes = customMetaDataRetriever.retrieveCustomizationIds(BasicRecordType.CUSTOM_RECORD_TYPE);
+        customTypes.addAll(customRecordTypes);
+
+        List<NsRef> customTransactionTypes = customMetaDataRetriever.retrieveCustomizationIds(BasicRecordType.CUSTOM_TRANSACTION_TYPE);
+        customTypes.addAll(customTransactionTypes);
+
+        return customTypes;
+    }
+
     /**
      * Retrieve custom fields for a given record type.
      *
@@ -227,6 +257,25 @@ public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource
      * @throws NetSuiteException if an error occurs during retrieving of customization data
      */
     protected void retrieveCustomFields(RecordTypeDesc recordType) throws NetSuiteException {
+        CustomMetaDataCache cache = clientService.getCustomMetaDataCache();
+        if (cache != null) {
+            List<CachedCustomField> cachedFields = cache.getCustomFields(new Function<Void, List<CachedCustomField>>() {
+
+                @Override public List<CachedCustomField> apply(Void param) {
+                    return retrieveCachedCustomFields();
+                }
+            });
+
+            Map<String, CustomFieldDesc> fieldDescMap = new HashMap<>();
+            for (CachedCustomField cachedField : cachedFields) {
+                if (cachedField.appliesTo(recordType.getType())) {
+                    fieldDescMap.put(cachedField.getName(), cachedField.toFieldDesc());
+                }
+            }
+            recordCustomFieldMap.put(recordType.getType(), fieldDescMap);
+            return;
+        }
+
         retrieveCustomFields();
 
         Map<String, CustomFieldDesc> fieldDescMap = new HashMap<>();
@@ -266,6 +315,46 @@ public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource
         customFieldsLoaded = true;
     }
 
+    /**
+     * Retrieve custom fields for standard record types from NetSuite web service and
+     * determine record types which each field applies to.
+     *
+     * @return custom fields to be cached, in order of customization types
+     * @throws NetSuiteException if an error occurs during retrieving of customization data
+     */
+    protected List<CachedCustomField> retrieveCachedCustomFields() throws NetSuiteException {
+        retrieveCustomFields();
+
+        Collection<RecordTypeDesc> recordTypes = clientService.getBasicMetaData().getRecordTypes();
+
+        List<CachedCustomField> cachedFields = new ArrayList<>();
+        for (BasicRecordType customizationType : fieldCustomizationTypes) {
+            List<?> customFieldList = customFieldMap.get(customizationType);
+
+            Map<String, CustomFieldDesc> fieldDescMap = new LinkedHashMap<>();
+            Map<String, Set<String>> fieldRecordTypeMap = new HashMap<>();
+            for (RecordTypeDesc recordType : recordTypes) {
+                Map<String, CustomFieldDesc> customFieldDescMap =
+                        createCustomFieldDescMap(clientService, recordType, customizationType, customFieldList);
+                for (CustomFieldDesc customFieldDesc : customFieldDescMap.values()) {
+                    Set<String> fieldRecordTypes = fieldRecordTypeMap.get(customFieldDesc.getName());
+                    if (fieldRecordTypes == null) {
+                        fieldRecordTypes = new LinkedHashSet<>();
+                        fieldRecordTypeMap.put(customFieldDesc.getName(), fieldRecordTypes);
+                        fieldDescMap.put(customFieldDesc.getName(), customFieldDesc);
+                    }
+                    fieldRecordTypes.add(recordType.getType());
+                }
+            }
+
+            for (CustomFieldDesc customFieldDesc : fieldDescMap.values()) {
+                cachedFields.add(new CachedCustomField(customFieldDesc,
+                        fieldRecordTypeMap.get(customFieldDesc.getName())));
+            }
+        }
+        return cachedFields;
+    }
+
     /**
      * Retrieve custom fields for a given custom record type.
      *
@@ -277,8 +366,32 @@ public class DefaultCustomMetaDataSource<PortT> implements CustomMetaDataSource
         if (recordCustomFieldMap != null) {
             return;
         }
-        recordCustomFieldMap = customMetaDataRetriever.retrieveCustomRecordCustomFields(
-                recordTypeInfo.getRecordType(), recordTypeInfo.getCustomizationRef());
+        CustomMetaDataCache cache = clientService.getCustomMetaDataCache();
+        if (cache != null) {
+            final RecordTypeDesc recordType = recordTypeInfo.getRecordType();
+            final NsRef customizationRef = recordTypeInfo.getCustomizationRef();
+            List<CachedCustomField> cachedFields = cache.getCustomRecordFields(recordTypeInfo.getName(),
+                    new Function<Void, List<CachedCustomField>>() {
+
+                        @Override public List<CachedCustomField> apply(Void param) {
+                            List<CachedCustomField> cachedFields = new ArrayList<>();
+                            for (CustomFieldDesc customFieldDesc : customMetaDataRetriever
+                                    .retrieveCustomRecordCustomFields(recordType, customizationRef).values()) {
+                                cachedFields.add(new CachedCustomField(customFieldDesc,
+                                        Collections.<String>emptySet()));
+                            }
+                            return cachedFields;
+                        }
+                    });
+
+            recordCustomFieldMap = new HashMap<>();
+            for (CachedCustomField cachedField : cachedFields) {
+                recordCustomFieldMap.put(cachedField.getName(), cachedField.toFieldDesc());
+            }
+        } else {
+            recordCustomFieldMap = customMetaDataRetriever.retrieveCustomRecordCustomFields(
+                    recordTypeInfo.getRecordType(), recordTypeInfo.getCustomizationRef());
+        }
         customRecordCustomFieldMap.put(recordTypeInfo.getName(), recordCustomFieldMap);
     }
 
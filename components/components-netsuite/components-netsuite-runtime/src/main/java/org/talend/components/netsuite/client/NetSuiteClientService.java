@@ -13,12 +13,15 @@
 
 package org.talend.components.netsuite.client;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.xml.bind.JAXBException;
@@ -54,6 +57,9 @@ public abstract class NetSuiteClientService<PortT> {
 
     public static final int DEFAULT_SEARCH_PAGE_SIZE = 100;
 
+    /** Upper limit of the requests sent at the same time, NetSuite limits the concurrency of an account too. */
+    public static final int MAXIMUM_CONCURRENT_REQUESTS = 10;
+
     /** Base Interval between retries. */
     public static final int FIXED_RETRY_INTERVAL = 2;
 
@@ -70,9 +76,12 @@ public abstract class NetSuiteClientService<PortT> {
 
     protected NsPreferences preferences;
 
-    /** Used for synchronization of access to NetSuite port. */
+    /** Used for synchronization of access to meta data retrieved from NetSuite. */
     protected ReentrantLock lock = new ReentrantLock();
 
+    /** Used for synchronization of logging in of the ports. */
+    protected ReentrantLock loginLock = new ReentrantLock();
+
     /** Specifies whether logging of SOAP messages is enabled. Intended for test/debug purposes. */
     protected boolean messageLoggingEnabled = false;
 
@@ -106,19 +115,41 @@ public abstract class NetSuiteClientService<PortT> {
     /** Specifies whether to use request level credentials. */
     protected boolean useRequestLevelCredentials = false;
 
+    /** Maximum number of operations executed at the same time, each one with its own port. */
+    protected int maxConcurrentRequests = 1;
+
     /** Flag indicating whether the client is logged in. */
     protected boolean loggedIn = false;
 
     /** NetSuite Web Service port implementor. */
     protected PortT port;
 
+    /** Session of {@link #port}, the other sessions are created when several operations are executed at once. */
+    private final PortSession<PortT> primarySession = new PortSession<>();
+
+    /** Sessions not used by an operation, the last released session is reused first. */
+    private final Deque<PortSession<PortT>> idleSessions = new ArrayDeque<>();
+
+    private int sessionCount = 1;
+
+    private final ReentrantLock sessionLock = new ReentrantLock();
+
+    private final Condition sessionReleased = sessionLock.newCondition();
+
+    /** Search preferences header set after logging in, it is applied to the other ports before their next use. */
+    private volatile Header searchPreferencesHeader;
+
     protected PortAdapter<PortT> portAdapter;
 
     /** Source of meta data. */
     protected MetaDataSource metaDataSource;
 
+    /** Shared cache of customization meta data, {@code null} if customization meta data is not shared. */
+    protected CustomMetaDataCache customMetaDataCache;
+
     protected NetSuiteClientService() {
         super();
+        idleSessions.push(primarySession);
         String prefix = null;
         try {
             prefix = Class.forName("com.sun.xml.bind.v2.runtime.JAXBContextImpl").getName();
@@ -155,8 +186,15 @@ public abstract class NetSuiteClientService<PortT> {
         return searchPageSize;
     }
 
+    /**
+     * Sets the size of search result page, it is applied to the ports already logged in too.
+     */
     public void setSearchPageSize(int searchPageSize) {
         this.searchPageSize = searchPageSize;
+        if (searchPreferences != null) {
+            searchPreferences.setPageSize(searchPageSize);
+            updateSearchPreferencesHeader();
+        }
     }
 
     public boolean isBodyFieldsOnly() {
@@ -166,15 +204,29 @@ public abstract class NetSuiteClientService<PortT> {
     public void setBodyFieldsOnly(boolean bodyFieldsOnly) {
         this.bodyFieldsOnly = bodyFieldsOnly;
         searchPreferences.setBodyFieldsOnly(bodyFieldsOnly);
+        updateSearchPreferencesHeader();
+    }
+
+    /**
+     * Set the search preferences header for the client port, the other ports get it before their next use.
+     *
+     * <p>The login lock is held, as {@link #port} refers to the port of another session while it logs in.
+     */
+    private void updateSearchPreferencesHeader() {
         Object searchPreferencesObject = createNativeSearchPreferences(searchPreferences);
+        loginLock.lock();
         try {
             Header searchPreferencesHeader = new Header(
                     new QName(getPlatformMessageNamespaceUri(), "searchPreferences"),
                     searchPreferencesObject, new JAXBDataBinding(searchPreferencesObject.getClass()));
             setHeader(port, searchPreferencesHeader);
+            primarySession.searchPreferencesHeader = searchPreferencesHeader;
+            this.searchPreferencesHeader = searchPreferencesHeader;
         } catch (JAXBException e) {
             throw new NetSuiteException(new NetSuiteErrorCode(NetSuiteErrorCode.INTERNAL_ERROR),
                     NetSuiteRuntimeI18n.MESSAGES.getMessage("error.binding"), e);
+        } finally {
+            loginLock.unlock();
         }
     }
 
@@ -210,18 +262,32 @@ public abstract class NetSuiteClientService<PortT> {
         this.useRequestLevelCredentials = useRequestLevelCredentials;
     }
 
+    /**
+     * Returns the number of operations which can be executed at the same time,
+     * always 1 without request level credentials.
+     */
+    public int getMaxConcurrentRequests() {
+        return useRequestLevelCredentials ? maxConcurrentRequests : 1;
+    }
+
+    /**
+     * Sets the number of operations which can be executed at the same time by several threads.
+     *
+     * <p>Each operation uses its own port, a port logs in when it is used for the first time.
+     * NetSuite only accepts concurrent sessions with request level credentials, so the setting
+     * is ignored without them.
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = Math.min(Math.max(maxConcurrentRequests, 1), MAXIMUM_CONCURRENT_REQUESTS);
+    }
+
     /**
      * Log in to NetSuite.
      *
      * @throws NetSuiteException if an error occurs during logging in
      */
     public void login() throws NetSuiteException {
-        lock.lock();
-        try {
-            relogin();
-        } finally {
-            lock.unlock();
-        }
+        relogin(primarySession);
     }
 
     /**
@@ -612,6 +678,20 @@ public abstract class NetSuiteClientService<PortT> {
      */
     public abstract BasicMetaData getBasicMetaData();
 
+    public CustomMetaDataCache getCustomMetaDataCache() {
+        return customMetaDataCache;
+    }
+
+    /**
+     * Sets the cache of customization meta data which is shared with other clients.
+     *
+     * <p>The cache is used by default custom meta data source, it must be created for
+     * the account, the role and the API version of this client.
+     */
+    public void setCustomMetaDataCache(CustomMetaDataCache customMetaDataCache) {
+        this.customMetaDataCache = customMetaDataCache;
+    }
+
     /**
      * Get meta data source used by this client.
      *
@@ -646,15 +726,15 @@ public abstract class NetSuiteClientService<PortT> {
      * @throws NetSuiteException if an error occurs during performing of operation
      */
     protected <R> R executeUsingLogin(PortOperation<R, PortT> op) throws NetSuiteException {
-        lock.lock();
+        PortSession<PortT> session = acquireSession();
         try {
             // Log in if required
-            login(false);
+            login(session, false);
 
             R result = null;
             for (int i = 0; i < getRetryCount(); i++) {
                 try {
-                    result = op.execute(port);
+                    result = op.execute(session.port);
                     break;
                 } catch (Exception e) {
                     if (errorCanBeWorkedAround(e)) {
@@ -662,7 +742,7 @@ public abstract class NetSuiteClientService<PortT> {
                         waitForRetryInterval(i);
                         if (errorRequiresNewLogin(e) || i >= getRetriesBeforeLogin() - 1) {
                             logger.debug("Re-logging in ({})", (i + 1));
-                            relogin();
+                            relogin(session);
                         }
                         continue;
                     } else {
@@ -673,7 +753,7 @@ public abstract class NetSuiteClientService<PortT> {
             return result;
 
         } finally {
-            lock.unlock();
+            releaseSession(session);
         }
     }
 
@@ -686,12 +766,15 @@ public abstract class NetSuiteClientService<PortT> {
      * @throws NetSuiteException if an error occurs during performing of operation
      */
     private <R> R executeUsingRequestLevelCredentials(PortOperation<R, PortT> op) throws NetSuiteException {
-        lock.lock();
+        PortSession<PortT> session = acquireSession();
         try {
+            // The port of a new session is set up by logging in
+            login(session, false);
+
             R result = null;
             for (int i = 0; i < getRetryCount(); i++) {
                 try {
-                    result = op.execute(port);
+                    result = op.execute(session.port);
                     break;
                 } catch (Exception e) {
                     if (errorCanBeWorkedAround(e)) {
@@ -705,7 +788,53 @@ public abstract class NetSuiteClientService<PortT> {
             }
             return result;
         } finally {
-            lock.unlock();
+            releaseSession(session);
+        }
+    }
+
+    /**
+     * Take a session which is not used by another operation, or create one when
+     * less than {@link #maxConcurrentRequests} sessions exist, otherwise wait for a released session.
+     *
+     * @return session
+     * @throws NetSuiteException if the thread is interrupted while waiting
+     */
+    private PortSession<PortT> acquireSession() throws NetSuiteException {
+        PortSession<PortT> session;
+        sessionLock.lock();
+        try {
+            while (idleSessions.isEmpty() && sessionCount >= getMaxConcurrentRequests()) {
+                sessionReleased.await();
+            }
+            if (idleSessions.isEmpty()) {
+                sessionCount++;
+                session = new PortSession<>();
+            } else {
+                session = idleSessions.pop();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NetSuiteException(e.getMessage(), e);
+        } finally {
+            sessionLock.unlock();
+        }
+
+        // The search preferences may have changed since the port logged in
+        Header header = searchPreferencesHeader;
+        if (session.loggedIn && header != null && session.searchPreferencesHeader != header) {
+            setHeader(session.port, header);
+            session.searchPreferencesHeader = header;
+        }
+        return session;
+    }
+
+    private void releaseSession(PortSession<PortT> session) {
+        sessionLock.lock();
+        try {
+            idleSessions.push(session);
+            sessionReleased.signal();
+        } finally {
+            sessionLock.unlock();
         }
     }
 
@@ -768,52 +897,76 @@ public abstract class NetSuiteClientService<PortT> {
     }
 
     /**
-     * Forcibly re-log in the client.
+     * Forcibly re-log in a session.
      *
+     * @param session session to be logged in
      * @throws NetSuiteException if an error occurs during performing of operation
      */
-    private void relogin() throws NetSuiteException {
-        login(true);
+    private void relogin(PortSession<PortT> session) throws NetSuiteException {
+        login(session, true);
     }
 
     /**
-     * Log in the client.
+     * Log in a session.
+     *
+     * <p>{@link #doLogin()} and {@link #doLogout()} work with {@link #port},
+     * so it refers to the port of the session while the session logs in.
      *
-     * @param relogin specifies whether the client should be forcibly re-logged in
+     * @param session session to be logged in
+     * @param relogin specifies whether the session should be forcibly re-logged in
      * @throws NetSuiteException if an error occurs during performing of operation
      */
-    private void login(boolean relogin) throws NetSuiteException {
-        if (relogin) {
-            loggedIn = false;
-        }
-        if (loggedIn) {
-            return;
-        }
-
-        if (port != null) {
-            try {
-                doLogout();
-            } catch (Exception e) {
+    private void login(PortSession<PortT> session, boolean relogin) throws NetSuiteException {
+        loginLock.lock();
+        PortT primaryPort = port;
+        try {
+            if (relogin) {
+                session.loggedIn = false;
+            }
+            if (session.loggedIn) {
+                return;
             }
-        }
 
-        doLogin();
+            if (session != primarySession) {
+                port = session.port;
+            }
+            if (port != null) {
+                try {
+                    doLogout();
+                } catch (Exception e) {
+                }
+            }
 
-        NsSearchPreferences searchPreferences = new NsSearchPreferences();
-        searchPreferences.setPageSize(searchPageSize);
-        searchPreferences.setReturnSearchColumns(Boolean.valueOf(returnSearchColumns));
+            doLogin();
 
-        this.searchPreferences = searchPreferences;
+            NsSearchPreferences searchPreferences = new NsSearchPreferences();
+            searchPreferences.setPageSize(searchPageSize);
+            searchPreferences.setReturnSearchColumns(Boolean.valueOf(returnSearchColumns));
+            searchPreferences.setBodyFieldsOnly(Boolean.valueOf(bodyFieldsOnly));
 
-        NsPreferences preferences = new NsPreferences();
-        preferences.setDisableMandatoryCustomFieldValidation(disableMandatoryCustomFieldValidation);
-        preferences.setWarningAsError(treatWarningsAsErrors);
+            NsPreferences preferences = new NsPreferences();
+            preferences.setDisableMandatoryCustomFieldValidation(disableMandatoryCustomFieldValidation);
+            preferences.setWarningAsError(treatWarningsAsErrors);
 
-        this.preferences = preferences;
+            if (session == primarySession) {
+                this.searchPreferences = searchPreferences;
+                this.preferences = preferences;
+            }
 
-        setPreferences(port, preferences, searchPreferences);
+            setPreferences(port, preferences, searchPreferences);
 
-        loggedIn = true;
+            session.port = port;
+            session.searchPreferencesHeader = searchPreferencesHeader;
+            session.loggedIn = true;
+        } finally {
+            if (session == primarySession) {
+                session.port = port;
+                loggedIn = session.loggedIn;
+            } else {
+                port = primaryPort;
+            }
+            loginLock.unlock();
+        }
     }
 
     /**
@@ -1079,6 +1232,21 @@ public abstract class NetSuiteClientService<PortT> {
         R execute(PortT port) throws Exception;
     }
 
+    /**
+     * Port and its log-in state, a session is used by one operation at a time.
+     *
+     * @param <PortT> type of NetSuite port implementation
+     */
+    private static class PortSession<PortT> {
+
+        private PortT port;
+
+        private boolean loggedIn;
+
+        /** Search preferences header last set for the port. */
+        private Header searchPreferencesHeader;
+    }
+
     /**
      * Check status of an operation and throw {@link NetSuiteException} if status indicates that
      * an error occurred.
@@ -33,4 +33,11 @@ public abstract class ResultSet<T> {
      * @throws NetSuiteException if an error occurs during retrieving of results
      */
     public abstract T get() throws NetSuiteException;
+
+    /**
+     * Release resources held by the result set, the results are not available after closing.
+     */
+    public void close() {
+        // nothing to release by default
+    }
 }
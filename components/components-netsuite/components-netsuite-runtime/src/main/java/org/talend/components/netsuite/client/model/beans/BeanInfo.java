@@ -19,6 +19,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Descriptor of a bean.
@@ -34,11 +36,22 @@ public class BeanInfo {
     /** Table of properties by names, for faster access. */
     private Map<String, PropertyInfo> propertyMap;
 
+    /** Class of bean, can be {@code null} if the descriptor is not bound to a class. */
+    private Class<?> beanClass;
+
+    /** Precompiled accessors of properties by names, created on first access. */
+    private final ConcurrentMap<String, PropertyHandle> propertyHandleMap = new ConcurrentHashMap<>();
+
     public BeanInfo(PropertyInfo[] properties) {
         this(Arrays.asList(properties));
     }
 
     public BeanInfo(List<PropertyInfo> properties) {
+        this(null, properties);
+    }
+
+    public BeanInfo(Class<?> beanClass, List<PropertyInfo> properties) {
+        this.beanClass = beanClass;
         this.properties = new ArrayList<>(properties);
         propertyMap = new HashMap<>(properties.size());
         for (PropertyInfo pmd : properties) {
@@ -58,6 +71,33 @@ public class BeanInfo {
         return propertyMap.get(name);
     }
 
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Get precompiled accessor for given property.
+     *
+     * @param name name of property
+     * @return property accessor or {@code null} if specified property was not found
+     *         or the descriptor is not bound to a class
+     */
+    public PropertyHandle getPropertyHandle(String name) {
+        PropertyHandle handle = propertyHandleMap.get(name);
+        if (handle == null) {
+            PropertyInfo propertyInfo = propertyMap.get(name);
+            if (propertyInfo == null || beanClass == null) {
+                return null;
+            }
+            PropertyHandle newHandle = new PropertyHandle(beanClass, propertyInfo);
+            handle = propertyHandleMap.putIfAbsent(name, newHandle);
+            if (handle == null) {
+                handle = newHandle;
+            }
+        }
+        return handle;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("BeanInfo{");
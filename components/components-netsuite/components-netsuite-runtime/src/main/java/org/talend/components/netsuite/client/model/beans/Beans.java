@@ -49,6 +49,17 @@ public abstract class Beans {
         return beanInfo != null ? beanInfo.getProperty(name) : null;
     }
 
+    /**
+     * Get precompiled accessor for given bean class and it's property name.
+     *
+     * @param clazz class of bean
+     * @param name name of property
+     * @return property accessor or {@code null} if specified property was not found
+     */
+    public static PropertyHandle getPropertyHandle(Class<?> clazz, String name) {
+        return getBeanInfo(clazz).getPropertyHandle(name);
+    }
+
     /**
      * Get bean descriptor for given class.
      *
@@ -71,7 +82,7 @@ public abstract class Beans {
     private static BeanInfo loadBeanInfoForClass(Class<?> clazz) {
         try {
             List<PropertyInfo> properties = BeanIntrospector.getInstance().getProperties(clazz.getName());
-            return new BeanInfo(properties);
+            return new BeanInfo(clazz, properties);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -252,144 +263,31 @@ public abstract class Beans {
     }
 
     /**
-     * Property accessor which uses reflection to access properties.
+     * Property accessor which uses precompiled accessors of the cached bean descriptors.
      */
     protected static class ReflectPropertyAccessor implements PropertyAccessor<Object> {
         protected static final ReflectPropertyAccessor INSTANCE = new ReflectPropertyAccessor();
 
-        /** An empty class array */
-        private static final Class[] EMPTY_CLASS_PARAMETERS = new Class[0];
-        /** An empty object array */
-        private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
-
         public Object get(Object target, String name) {
-            if (name == null) {
-                throw new IllegalArgumentException("No name specified for bean class '" +
-                        target.getClass() + "'");
-            }
-
-            // Retrieve the property getter method for the specified property
-            BeanInfo metaData = Beans.getBeanInfo(target.getClass());
-            PropertyInfo descriptor = metaData.getProperty(name);
-            if (descriptor == null) {
-                throw new IllegalArgumentException("Unknown property '" +
-                        name + "' on class '" + target.getClass() + "'");
-            }
-            Method readMethod = getReadMethod(target.getClass(), descriptor);
-            if (readMethod == null) {
-                throw new IllegalArgumentException("Property '" + name +
-                        "' has no getter method in class '" + target.getClass() + "'");
-            }
-
-            // Call the property getter and return the value
-            try {
-                Object value = invokeMethod(readMethod, target, EMPTY_OBJECT_ARRAY);
-                return (value);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new RuntimeException(e);
-            }
+            return getPropertyHandle(target, name).get(target);
         }
 
         public void set(Object target, String name, Object value) {
+            getPropertyHandle(target, name).set(target, value);
+        }
+
+        private PropertyHandle getPropertyHandle(Object target, String name) {
             if (name == null) {
                 throw new IllegalArgumentException("No name specified for bean class '" +
                         target.getClass() + "'");
             }
 
-            // Retrieve the property setter method for the specified property
-            BeanInfo metaData = Beans.getBeanInfo(target.getClass());
-            PropertyInfo descriptor = metaData.getProperty(name);
-            if (descriptor == null) {
+            PropertyHandle handle = Beans.getPropertyHandle(target.getClass(), name);
+            if (handle == null) {
                 throw new IllegalArgumentException("Unknown property '" +
-                        name + "' on class '" + target.getClass() + "'" );
-            }
-            Method writeMethod = getWriteMethod(target.getClass(), descriptor);
-            if (writeMethod == null) {
-                throw new IllegalArgumentException("Property '" + name +
-                        "' has no setter method in class '" + target.getClass() + "'");
-            }
-
-            // Call the property setter method
-            Object[] values = new Object[1];
-            values[0] = value;
-
-            try {
-                invokeMethod(writeMethod, target, values);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        /** This just catches and wraps IllegalArgumentException. */
-        private Object invokeMethod(
-                Method method,
-                Object bean,
-                Object[] values)
-                throws
-                IllegalAccessException,
-                InvocationTargetException {
-
-            try {
-                return method.invoke(bean, values);
-            } catch (IllegalArgumentException cause) {
-                if(bean == null) {
-                    throw new IllegalArgumentException("No bean specified " +
-                            "- this should have been checked before reaching this method");
-                }
-                String valueString = "";
-                if (values != null) {
-                    for (int i = 0; i < values.length; i++) {
-                        if (i>0) {
-                            valueString += ", " ;
-                        }
-                        valueString += (values[i]).getClass().getName();
-                    }
-                }
-                String expectedString = "";
-                Class[] parTypes = method.getParameterTypes();
-                if (parTypes != null) {
-                    for (int i = 0; i < parTypes.length; i++) {
-                        if (i > 0) {
-                            expectedString += ", ";
-                        }
-                        expectedString += parTypes[i].getName();
-                    }
-                }
-                IllegalArgumentException e = new IllegalArgumentException(
-                        "Cannot invoke " + method.getDeclaringClass().getName() + "."
-                                + method.getName() + " on bean class '" + bean.getClass() +
-                                "' - " + cause.getMessage()
-                                + " - had objects of type \"" + valueString
-                                + "\" but expected signature \""
-                                +   expectedString + "\""
-                );
-                throw e;
+                        name + "' on class '" + target.getClass() + "'");
             }
-        }
-
-        /**
-         * <p>Return an accessible property getter method for this property,
-         * if there is one; otherwise return <code>null</code>.</p>
-         *
-         * @param clazz The class of the read method will be invoked on
-         * @param descriptor Property descriptor to return a getter for
-         * @return The read method
-         */
-        Method getReadMethod(Class clazz, PropertyInfo descriptor) {
-            return (MethodUtils.getAccessibleMethod(clazz, descriptor.getReadMethodName(), EMPTY_CLASS_PARAMETERS));
-        }
-
-        /**
-         * <p>Return an accessible property setter method for this property,
-         * if there is one; otherwise return <code>null</code>.</p>
-         *
-         * @param clazz The class of the read method will be invoked on
-         * @param descriptor Property descriptor to return a setter for
-         * @return The write method
-         */
-        Method getWriteMethod(Class clazz, PropertyInfo descriptor) {
-            return (MethodUtils.getAccessibleMethod(clazz, descriptor.getWriteMethodName(),
-                    new Class[]{descriptor.getWriteType()}));
+            return handle;
         }
     }
 
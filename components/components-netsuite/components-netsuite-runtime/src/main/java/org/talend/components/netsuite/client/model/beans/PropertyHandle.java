@@ -0,0 +1,135 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.netsuite.client.model.beans;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.apache.commons.beanutils.MethodUtils;
+
+/**
+ * Precompiled accessor of bean's property.
+ *
+ * <p>The getter and the setter of the property are resolved once as method handles,
+ * so accessing the property doesn't look up the descriptor and doesn't use reflection.
+ * Handles are created by {@link BeanInfo} and cached with it.
+ */
+public class PropertyHandle {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** Class of bean. */
+    private final Class<?> beanClass;
+
+    /** Descriptor of property. */
+    private final PropertyInfo propertyInfo;
+
+    /** Getter as {@code (Object)Object}, can be {@code null}. */
+    private final MethodHandle getter;
+
+    /** Setter as {@code (Object,Object)void}, can be {@code null}. */
+    private final MethodHandle setter;
+
+    PropertyHandle(Class<?> beanClass, PropertyInfo propertyInfo) {
+        this.beanClass = beanClass;
+        this.propertyInfo = propertyInfo;
+
+        Method readMethod = propertyInfo.getReadMethodName() != null
+                ? MethodUtils.getAccessibleMethod(beanClass, propertyInfo.getReadMethodName(), new Class[0])
+                : null;
+        Method writeMethod = propertyInfo.getWriteMethodName() != null
+                ? MethodUtils.getAccessibleMethod(beanClass, propertyInfo.getWriteMethodName(),
+                        new Class[]{ propertyInfo.getWriteType() })
+                : null;
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            getter = readMethod != null ? lookup.unreflect(readMethod).asType(GETTER_TYPE) : null;
+            setter = writeMethod != null ? lookup.unreflect(writeMethod).asType(SETTER_TYPE) : null;
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public PropertyInfo getPropertyInfo() {
+        return propertyInfo;
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * Get value of the property.
+     *
+     * @param target target bean
+     * @return value
+     */
+    public Object get(Object target) {
+        if (getter == null) {
+            throw new IllegalArgumentException("Property '" + propertyInfo.getName() +
+                    "' has no getter method in class '" + beanClass + "'");
+        }
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Set value of the property.
+     *
+     * @param target target bean
+     * @param value value to be set
+     */
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            throw new IllegalArgumentException("Property '" + propertyInfo.getName() +
+                    "' has no setter method in class '" + beanClass + "'");
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Cannot set property '" + propertyInfo.getName() +
+                    "' on bean class '" + target.getClass() + "' - " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PropertyHandle{");
+        sb.append("beanClass=").append(beanClass);
+        sb.append(", propertyInfo=").append(propertyInfo);
+        sb.append('}');
+        return sb.toString();
+    }
+}
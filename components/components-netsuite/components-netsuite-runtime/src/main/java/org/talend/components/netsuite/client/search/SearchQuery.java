@@ -81,6 +81,9 @@ public class SearchQuery<SearchT, RecT> {
     /** List of custom search fields. */
     private List<Object> customFieldList = new ArrayList<>();
 
+    /** Number of result pages retrieved ahead. */
+    private int readAheadPages;
+
     public SearchQuery(NetSuiteClientService<?> clientService, MetaDataSource metaDataSource) {
         this.clientService = clientService;
         this.metaDataSource = metaDataSource != null ? metaDataSource : clientService.getMetaDataSource();
@@ -112,6 +115,18 @@ public class SearchQuery<SearchT, RecT> {
         return this;
     }
 
+    /**
+     * Set number of result pages retrieved in parallel while the current page is consumed.
+     *
+     * @param readAheadPages number of pages, {@code 0} to retrieve a page when it is needed
+     * @return this search query object
+     * @see SearchResultSet#setReadAheadPages(int)
+     */
+    public SearchQuery readAheadPages(int readAheadPages) {
+        this.readAheadPages = readAheadPages;
+        return this;
+    }
+
     public RecordTypeInfo getRecordTypeInfo() {
         initSearch();
         return recordTypeInfo;
@@ -329,6 +344,7 @@ public class SearchQuery<SearchT, RecT> {
         }
         SearchResultSet<RecT> resultSet = new SearchResultSet<>(clientService,
                 recordTypeInfo.getRecordType(), searchRecordTypeDesc, result);
+        resultSet.setReadAheadPages(readAheadPages);
         return resultSet;
     }
 
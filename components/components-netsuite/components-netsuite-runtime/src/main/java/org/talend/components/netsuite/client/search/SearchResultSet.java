@@ -13,10 +13,19 @@
 
 package org.talend.components.netsuite.client.search;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.talend.components.netsuite.client.NetSuiteClientService;
 import org.talend.components.netsuite.client.NetSuiteException;
@@ -29,11 +38,19 @@ import org.talend.components.netsuite.client.model.SearchRecordTypeDesc;
 /**
  * Result set for search results.
  *
+ * <p>By default a page is retrieved when the records of the previous page are consumed.
+ * With read-ahead, the retrieval of the next pages starts with the first call of {@link #next()},
+ * up to the given count of pages are retrieved in parallel while the current page is consumed,
+ * and the pages are still returned in page order.
+ *
  * @see SearchQuery#search()
  * @see NetSuiteClientService#search(Object)
  */
 public class SearchResultSet<R> extends ResultSet<R> {
 
+    /** Upper limit of the pages retrieved ahead, the requests are limited by the client concurrency too. */
+    public static final int MAXIMUM_READ_AHEAD_PAGES = 10;
+
     /** NetSuite client which this result set is owned by. */
     private NetSuiteClientService<?> clientService;
 
@@ -58,6 +75,18 @@ public class SearchResultSet<R> extends ResultSet<R> {
     /** Last retrieved record. */
     private R current;
 
+    /** Number of pages retrieved ahead, {@code 0} to retrieve a page when it is needed. */
+    private int readAheadPages;
+
+    /** Executor retrieving the next pages, created with the first call of {@link #next()}. */
+    private ExecutorService readAheadExecutor;
+
+    /** Pages being retrieved or not consumed yet, in page order. */
+    private final Deque<Future<NsSearchResult<R>>> pendingPages = new ArrayDeque<>();
+
+    /** Index of the next page to be submitted for retrieval, {@code 0} until read-ahead starts. */
+    private int nextPageIndex;
+
     public SearchResultSet(NetSuiteClientService<?> clientService,
             RecordTypeDesc recordTypeDesc,
             SearchRecordTypeDesc searchRecordTypeDesc,
@@ -89,8 +118,25 @@ public class SearchResultSet<R> extends ResultSet<R> {
         return searchId;
     }
 
+    public int getReadAheadPages() {
+        return readAheadPages;
+    }
+
+    /**
+     * Set number of pages retrieved ahead, must be set before the first call of {@link #next()}.
+     *
+     * @param readAheadPages number of pages, {@code 0} to disable read-ahead
+     */
+    public void setReadAheadPages(int readAheadPages) {
+        this.readAheadPages = Math.min(Math.max(readAheadPages, 0), MAXIMUM_READ_AHEAD_PAGES);
+    }
+
     @Override
     public boolean next() throws NetSuiteException {
+        if (readAheadPages > 0 && nextPageIndex == 0 && searchId != null && hasMore()) {
+            // The next pages are retrieved while the first one is consumed
+            startReadAhead();
+        }
         if (!recordIterator.hasNext() && hasMore()) {
             recordList = getMoreRecords();
             recordIterator = recordList.iterator();
@@ -107,6 +153,18 @@ public class SearchResultSet<R> extends ResultSet<R> {
         return current;
     }
 
+    /**
+     * Stop retrieval of pages retrieved ahead.
+     */
+    @Override
+    public void close() {
+        if (readAheadExecutor != null) {
+            readAheadExecutor.shutdownNow();
+            readAheadExecutor = null;
+        }
+        pendingPages.clear();
+    }
+
     /**
      * Check whether search has more results that can be retrieved.
      *
@@ -133,9 +191,11 @@ public class SearchResultSet<R> extends ResultSet<R> {
      */
     protected List<R> getMoreRecords() throws NetSuiteException {
         if (searchId != null) {
-            int nextPageIndex = result.getPageIndex().intValue() + 1;
-            NsSearchResult<R> nextPageResult = clientService.searchMoreWithId(searchId, nextPageIndex);
+            NsSearchResult<R> nextPageResult = readAheadPages > 0
+                    ? getReadAheadPage()
+                    : clientService.<R>searchMoreWithId(searchId, result.getPageIndex().intValue() + 1);
             if (!nextPageResult.isSuccess()) {
+                close();
                 NetSuiteClientService.checkError(nextPageResult.getStatus());
             }
             result = nextPageResult;
@@ -144,6 +204,74 @@ public class SearchResultSet<R> extends ResultSet<R> {
         return Collections.emptyList();
     }
 
+    /**
+     * Create the executor and submit the retrieval of the pages following the current one.
+     */
+    private void startReadAhead() {
+        final AtomicInteger threadIndex = new AtomicInteger();
+        readAheadExecutor = Executors.newFixedThreadPool(readAheadPages, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "SearchResultSet-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        nextPageIndex = result.getPageIndex().intValue() + 1;
+        submitReadAheadPages();
+    }
+
+    /**
+     * Submit the retrieval of the next pages, the pages retrieved and not consumed yet
+     * are bounded by the count of pages retrieved ahead.
+     */
+    private void submitReadAheadPages() {
+        int totalPages = result.getTotalPages().intValue();
+        while (pendingPages.size() < readAheadPages && nextPageIndex <= totalPages) {
+            final int index = nextPageIndex++;
+            pendingPages.add(readAheadExecutor.submit(new Callable<NsSearchResult<R>>() {
+
+                @Override
+                public NsSearchResult<R> call() throws Exception {
+                    return clientService.searchMoreWithId(searchId, index);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Take the next page from the pages retrieved ahead and submit the retrieval of the following pages.
+     *
+     * @return search result of the page
+     * @throws NetSuiteException if an error occurs during retrieval
+     */
+    private NsSearchResult<R> getReadAheadPage() throws NetSuiteException {
+        if (readAheadExecutor == null) {
+            startReadAhead();
+        }
+        Future<NsSearchResult<R>> page = pendingPages.remove();
+        submitReadAheadPages();
+
+        try {
+            NsSearchResult<R> pageResult = page.get();
+            if (pendingPages.isEmpty() && nextPageIndex > result.getTotalPages().intValue()) {
+                close();
+            }
+            return pageResult;
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new NetSuiteException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof NetSuiteException) {
+                throw (NetSuiteException) e.getCause();
+            }
+            throw new NetSuiteException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     /**
      * Filter list of records before returning to a caller.
      *
@@ -67,6 +67,9 @@ public class NetSuiteSearchInputReader extends AbstractBoundedReader<IndexedReco
     /** Last indexed record. */
     private IndexedRecord currentIndexedRecord;
 
+    /** Search page size of the client before it is changed by this reader, {@code null} if not changed. */
+    private Integer originalSearchPageSize;
+
     public NetSuiteSearchInputReader(RuntimeContainer container,
             NetSuiteSource source, NetSuiteInputProperties properties) {
         super(source);
@@ -82,6 +85,11 @@ public class NetSuiteSearchInputReader extends AbstractBoundedReader<IndexedReco
 
             clientService = ((NetSuiteSource) getCurrentSource()).getClientService(container);
             clientService.setBodyFieldsOnly(properties.bodyFieldsOnly.getValue());
+            Integer searchPageSize = properties.searchPageSize.getValue();
+            if (searchPageSize != null && searchPageSize.intValue() != clientService.getSearchPageSize()) {
+                originalSearchPageSize = clientService.getSearchPageSize();
+                clientService.setSearchPageSize(searchPageSize);
+            }
             // Set up MetaDataSource which retrieves customization meta data from schema.
             // We use MetaDataSource from NetSuite client as base source.
             MetaDataSource originalMetaDataSource = clientService.getMetaDataSource();
@@ -122,10 +130,15 @@ public class NetSuiteSearchInputReader extends AbstractBoundedReader<IndexedReco
 
     @Override
     public void close() throws IOException {
+        if (resultSet != null) {
+            resultSet.close();
+        }
         if (!properties.bodyFieldsOnly.getValue()) {
             clientService.setBodyFieldsOnly(true);
         }
-        // Nothing to close
+        if (originalSearchPageSize != null) {
+            clientService.setSearchPageSize(originalSearchPageSize);
+        }
     }
 
     @Override
@@ -165,6 +178,9 @@ public class NetSuiteSearchInputReader extends AbstractBoundedReader<IndexedReco
 
         SearchQuery search = clientService.newSearch(metaDataSource);
         search.target(target);
+        if (properties.readAheadPages.getValue() != null) {
+            search.readAheadPages(properties.readAheadPages.getValue());
+        }
 
         // Build search conditions
 
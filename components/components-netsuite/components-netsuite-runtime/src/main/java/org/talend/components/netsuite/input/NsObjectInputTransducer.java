@@ -13,17 +13,17 @@
 
 package org.talend.components.netsuite.input;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.IndexedRecord;
-import org.talend.components.netsuite.NetSuiteDatasetRuntimeImpl;
 import org.talend.components.netsuite.NsObjectTransducer;
 import org.talend.components.netsuite.SchemaCustomMetaDataSource;
 import org.talend.components.netsuite.client.NetSuiteClientService;
-import org.talend.components.netsuite.client.model.FieldDesc;
 import org.talend.components.netsuite.client.model.TypeDesc;
 import org.talend.daikon.avro.AvroUtils;
 
@@ -43,6 +43,12 @@ public class NsObjectInputTransducer extends NsObjectTransducer {
 
     /** Descriptor of NetSuite data model object. */
     private TypeDesc typeDesc;
+
+    /** Fields of runtime schema bound to fields of NetSuite data model object. */
+    private List<FieldBinding> fieldBindings;
+
+    /** Specifies whether runtime schema contains custom fields. */
+    private boolean hasCustomFields;
     
     private String apiVersion;
 
@@ -66,22 +72,15 @@ public class NsObjectInputTransducer extends NsObjectTransducer {
     public IndexedRecord read(Object data) {
         prepare();
 
-        Map<String, FieldDesc> fieldMap = typeDesc.getFieldMap();
-        Map<String, Object> mapView = getMapView(data, runtimeSchema, typeDesc);
+        Map<String, Object> customFieldMap = hasCustomFields
+                ? getCustomFieldMap(data) : Collections.<String, Object>emptyMap();
 
         GenericRecord indexedRecord = new GenericData.Record(runtimeSchema);
 
-        for (Schema.Field field : runtimeSchema.getFields()) {
-            String nsFieldName = NetSuiteDatasetRuntimeImpl.getNsFieldName(field);
-
-            FieldDesc fieldDesc = fieldMap.get(nsFieldName);
-            if (fieldDesc == null) {
-                continue;
-            }
+        for (FieldBinding binding : fieldBindings) {
+            Object value = readField(data, binding, customFieldMap);
 
-            Object value = readField(mapView, fieldDesc);
-
-            indexedRecord.put(field.name(), value);
+            indexedRecord.put(binding.getPos(), value);
         }
 
         return indexedRecord;
@@ -91,7 +90,7 @@ public class NsObjectInputTransducer extends NsObjectTransducer {
      * Prepare processing of data object.
      */
     private void prepare() {
-        if (runtimeSchema != null) {
+        if (fieldBindings != null) {
             return;
         }
 
@@ -113,6 +112,11 @@ public class NsObjectInputTransducer extends NsObjectTransducer {
             // Use design schema as runtime schema
             runtimeSchema = schema;
         }
+
+        fieldBindings = bindFields(runtimeSchema, typeDesc);
+        for (FieldBinding binding : fieldBindings) {
+            hasCustomFields |= binding.isCustom();
+        }
     }
 
     
@@ -14,8 +14,17 @@
 package org.talend.components.netsuite.output;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -47,6 +56,14 @@ import org.talend.components.netsuite.client.model.TypeDesc;
  * <li>Delete - {@link NetSuiteDeleteWriter}</li>
  * </ul>
  *
+ * <p>In asynchronous mode a full batch is transduced by the calling thread and then written
+ * in background, so the next batch is accumulated and transduced while the previous one is sent.
+ * Up to {@link NetSuiteClientService#getMaxConcurrentRequests()} batches are written concurrently.
+ * Write responses are processed by the calling thread in order of batches, so the errors are
+ * reported in order of input records. The last batches complete in {@link #close()}, when
+ * a DI job doesn't read the feedback anymore, so this mode produces no successful and rejected
+ * records: the component has no outgoing flows then.
+ *
  * @param <T> type of NetSuite objects that are passed to {@link NetSuiteClientService}
  * @param <RefT> type of NetSuite reference objects
  */
@@ -74,6 +91,18 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
 
     private int batchSize = NetSuiteOutputProperties.DEFAULT_BATCH_SIZE;
 
+    /** Specifies whether batches are written in background. */
+    private boolean asynchronous;
+
+    /** Maximum number of batches which are written concurrently in asynchronous mode. */
+    private int maxBatchesInFlight = 1;
+
+    /** Executor writing the batches, created with the first batch written in asynchronous mode. */
+    private ExecutorService writeExecutor;
+
+    /** Batches which are being written in asynchronous mode, in order of submission. */
+    private final Deque<PendingBatch<RefT>> pendingBatches = new ArrayDeque<>();
+
     // Holds accumulated IndexedRecords for a current batch
     private List<IndexedRecord> inputRecordList = new ArrayList<>();
 
@@ -122,6 +151,14 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         this.batchSize = batchSize;
     }
 
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
     @Override
     public void cleanWrites() {
         writeResponses.clear();
@@ -134,7 +171,10 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         // If successful write feedback is requested before submitting of current batch
         // then write accumulated records to provide feedback to a caller.
         // This is required due to bug in DI job which is not aware of bulk writes.
-        flush();
+        // In asynchronous mode there is no feedback.
+        if (!asynchronous) {
+            flush();
+        }
         return successfulWrites;
     }
 
@@ -143,7 +183,10 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         // If rejected write feedback is requested before submitting of current batch
         // then write accumulated records to provide feedback to a caller.
         // This is required due to bug in DI job which is not aware of bulk writes.
-        flush();
+        // In asynchronous mode there is no feedback.
+        if (!asynchronous) {
+            flush();
+        }
         return rejectedWrites;
     }
 
@@ -151,7 +194,10 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         // If write feedback is requested before submitting of current batch
         // then write accumulated records to provide feedback to a caller.
         // This is required due to bug in DI job which is not aware of bulk writes.
-        flush();
+        // In asynchronous mode responses of completed batches are provided.
+        if (!asynchronous) {
+            flush();
+        }
         return writeResponses;
     }
 
@@ -170,6 +216,8 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
 
             initTransducer();
 
+            maxBatchesInFlight = Math.max(clientService.getMaxConcurrentRequests(), 1);
+
         } catch (NetSuiteException e) {
             throw new IOException(e);
         }
@@ -191,11 +239,16 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
     public void write(Object object) throws IOException {
         IndexedRecord record = (IndexedRecord) object;
 
+        // Clean the results of the previous record
+        cleanWrites();
+
         inputRecordList.add(record);
 
         if (inputRecordList.size() == batchSize) {
             // If batch is full then submit it.
             flush();
+        } else if (asynchronous) {
+            processCompletedBatches(false);
         }
     }
 
@@ -204,7 +257,11 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
      */
     private void flush() {
         try {
-            write(inputRecordList);
+            if (asynchronous) {
+                submit(inputRecordList);
+            } else {
+                write(inputRecordList);
+            }
         } finally {
             inputRecordList.clear();
         }
@@ -241,6 +298,96 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         }
     }
 
+    /**
+     * Transduce given list of <code>IndexedRecord</code>s and submit it for writing in background.
+     *
+     * <p>If maximum number of batches are being written then the method waits for the oldest one.
+     *
+     * @param indexedRecordList list of records to be processed
+     */
+    private void submit(List<IndexedRecord> indexedRecordList) {
+        if (!indexedRecordList.isEmpty()) {
+            final List<T> nsObjectList = new ArrayList<>(indexedRecordList.size());
+            for (IndexedRecord indexedRecord : indexedRecordList) {
+                Object nsObject = transducer.write(indexedRecord);
+                nsObjectList.add((T) nsObject);
+            }
+
+            while (pendingBatches.size() >= maxBatchesInFlight) {
+                processCompletedBatches(true);
+            }
+
+            if (writeExecutor == null) {
+                final AtomicInteger threadIndex = new AtomicInteger();
+                writeExecutor = Executors.newFixedThreadPool(maxBatchesInFlight, new ThreadFactory() {
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "NetSuiteOutputWriter-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+
+            Future<List<NsWriteResponse<RefT>>> responses = writeExecutor.submit(
+                    new Callable<List<NsWriteResponse<RefT>>>() {
+
+                        @Override
+                        public List<NsWriteResponse<RefT>> call() {
+                            return doWrite(nsObjectList);
+                        }
+                    });
+            pendingBatches.add(new PendingBatch<>(new ArrayList<>(indexedRecordList), responses));
+        }
+
+        processCompletedBatches(false);
+    }
+
+    /**
+     * Process write responses of the oldest batches which are completed.
+     *
+     * @param wait specifies whether to wait for the oldest batch
+     */
+    private void processCompletedBatches(boolean wait) {
+        while (!pendingBatches.isEmpty() && (wait || pendingBatches.peek().responses.isDone())) {
+            PendingBatch<RefT> batch = pendingBatches.remove();
+            wait = false;
+
+            List<NsWriteResponse<RefT>> responseList;
+            try {
+                responseList = batch.responses.get();
+            } catch (InterruptedException e) {
+                shutdown();
+                Thread.currentThread().interrupt();
+                throw new NetSuiteException(e.getMessage(), e);
+            } catch (ExecutionException e) {
+                shutdown();
+                if (e.getCause() instanceof NetSuiteException) {
+                    throw (NetSuiteException) e.getCause();
+                }
+                throw new NetSuiteException(e.getCause().getMessage(), e.getCause());
+            }
+
+            for (int i = 0; i < responseList.size(); i++) {
+                NsWriteResponse<RefT> response = responseList.get(i);
+                IndexedRecord indexedRecord = batch.indexedRecordList.get(i);
+                processWriteResponse(response, indexedRecord);
+            }
+        }
+    }
+
+    /**
+     * Stop writing of batches in background and discard pending batches.
+     */
+    private void shutdown() {
+        pendingBatches.clear();
+        if (writeExecutor != null) {
+            writeExecutor.shutdownNow();
+            writeExecutor = null;
+        }
+    }
+
     /**
      * Process NetSuite write response and produce result record for outgoing flow.
      *
@@ -253,15 +400,19 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         result.totalCount++;
 
         if (response.getStatus().isSuccess()) {
-            IndexedRecord targetRecord = createSuccessRecord(response, indexedRecord);
-            successfulWrites.add(targetRecord);
+            if (!asynchronous) {
+                IndexedRecord targetRecord = createSuccessRecord(response, indexedRecord);
+                successfulWrites.add(targetRecord);
+            }
             result.successCount++;
         } else {
             if (exceptionForErrors) {
                 NetSuiteClientService.checkError(response.getStatus());
             }
-            IndexedRecord targetRecord = createRejectRecord(response, indexedRecord);
-            rejectedWrites.add(targetRecord);
+            if (!asynchronous) {
+                IndexedRecord targetRecord = createRejectRecord(response, indexedRecord);
+                rejectedWrites.add(targetRecord);
+            }
             result.rejectCount++;
         }
     }
@@ -379,8 +530,20 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
 
     @Override
     public Result close() throws IOException {
-        // Write remaining objects
-        flush();
+        if (asynchronous) {
+            cleanWrites();
+        }
+        try {
+            // Write remaining objects
+            flush();
+
+            // Wait for batches which are being written
+            while (!pendingBatches.isEmpty()) {
+                processCompletedBatches(true);
+            }
+        } finally {
+            shutdown();
+        }
         return result;
     }
 
@@ -389,4 +552,22 @@ public abstract class NetSuiteOutputWriter<T, RefT> implements WriterWithFeedbac
         return writeOperation;
     }
 
+    /**
+     * Batch which is being written in background.
+     *
+     * @param <RefT> type of NetSuite reference objects
+     */
+    private static class PendingBatch<RefT> {
+
+        /** Records which were transduced to the written objects. */
+        private final List<IndexedRecord> indexedRecordList;
+
+        private final Future<List<NsWriteResponse<RefT>>> responses;
+
+        PendingBatch(List<IndexedRecord> indexedRecordList, Future<List<NsWriteResponse<RefT>>> responses) {
+            this.indexedRecordList = indexedRecordList;
+            this.responses = responses;
+        }
+    }
+
 }
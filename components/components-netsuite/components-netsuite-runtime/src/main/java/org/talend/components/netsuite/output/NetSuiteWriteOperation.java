@@ -99,6 +99,11 @@ public class NetSuiteWriteOperation implements WriteOperation<Result> {
             writer.setExceptionForErrors(dieOnError);
         }
 
+        Boolean asynchronous = properties.asynchronous.getValue();
+        if (asynchronous != null) {
+            writer.setAsynchronous(asynchronous);
+        }
+
         return writer;
     }
 
@@ -26,7 +26,6 @@ import java.util.Set;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.commons.lang3.StringUtils;
-import org.talend.components.netsuite.NetSuiteDatasetRuntimeImpl;
 import org.talend.components.netsuite.NsObjectTransducer;
 import org.talend.components.netsuite.client.NetSuiteClientService;
 import org.talend.components.netsuite.client.NsRef;
@@ -63,6 +62,12 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
     /** Information about target record type. */
     private RecordTypeInfo recordTypeInfo;
 
+    /** Schema which fields are bound. */
+    private Schema boundSchema;
+
+    /** Fields of bound schema bound to fields of NetSuite data object. */
+    private List<FieldBinding> fieldBindings;
+
     /** Information for picklist type*/
     private String apiVersion;
 
@@ -107,10 +112,14 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
     public Object write(IndexedRecord indexedRecord) {
         prepare();
 
-        Map<String, FieldDesc> fieldMap = typeDesc.getFieldMap();
         BeanInfo beanInfo = Beans.getBeanInfo(typeDesc.getTypeClass());
 
         Schema schema = indexedRecord.getSchema();
+        if (schema != boundSchema) {
+            // Records usually share the schema, so fields are bound once
+            fieldBindings = bindFields(schema, typeDesc);
+            boundSchema = schema;
+        }
 
         String targetTypeName;
         if (recordTypeInfo != null && !reference) {
@@ -141,17 +150,10 @@ public class NsObjectOutputTransducer extends NsObjectTransducer {
             }
         }
 
-        for (Schema.Field field : schema.getFields()) {
-            String nsFieldName = NetSuiteDatasetRuntimeImpl.getNsFieldName(field);
-
-            FieldDesc fieldDesc = fieldMap.get(nsFieldName);
-            if (fieldDesc == null) {
-                continue;
-            }
-
-            Object value = indexedRecord.get(field.pos());
+        for (FieldBinding binding : fieldBindings) {
+            Object value = indexedRecord.get(binding.getPos());
 
-            writeField(nsObject, fieldDesc, customFieldMap, nullFieldNames, value);
+            writeField(nsObject, binding, customFieldMap, nullFieldNames, value);
         }
 
         // Set record type identification data
@@ -0,0 +1,186 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.components.netsuite.client.CustomMetaDataCache.CachedCustomField;
+import org.talend.components.netsuite.client.model.CustomFieldDesc;
+import org.talend.components.netsuite.client.model.RefType;
+import org.talend.components.netsuite.client.model.customfield.CustomFieldRefType;
+import org.talend.daikon.java8.Function;
+
+/**
+ *
+ */
+public class CustomMetaDataCacheTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toMillis(10);
+
+    private String account;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        account = UUID.randomUUID().toString();
+        directory = Files.createTempDirectory("netsuite-cache").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void testSharedCache() {
+        CustomMetaDataCache cache = CustomMetaDataCache.getInstance(account, "3", "2019.2", null, TTL);
+        assertSame(cache, CustomMetaDataCache.getInstance(account, "3", "2019.2", null, TTL));
+        assertNotSame(cache, CustomMetaDataCache.getInstance(account, "3", "2018.2", null, TTL));
+        assertNotSame(cache, CustomMetaDataCache.getInstance(account, "1000", "2019.2", null, TTL));
+
+        CountingLoader<NsRef> loader = new CountingLoader<>(Arrays.asList(createRef("customrecord1")));
+        List<NsRef> refs = cache.getCustomTypes(loader);
+        assertEquals(1, refs.size());
+        assertSame(refs, CustomMetaDataCache.getInstance(account, "3", "2019.2", null, TTL).getCustomTypes(loader));
+        assertEquals(1, loader.count.get());
+    }
+
+    @Test
+    public void testExpiredSection() {
+        CustomMetaDataCache cache = CustomMetaDataCache.getInstance(account, "3", "2019.2", null, -1);
+
+        CountingLoader<NsRef> loader = new CountingLoader<>(Collections.<NsRef>emptyList());
+        cache.getCustomTypes(loader);
+        cache.getCustomTypes(loader);
+        assertEquals(2, loader.count.get());
+
+        cache.invalidate();
+        CustomMetaDataCache.getInstance(account, "3", "2019.2", null, TTL).getCustomTypes(loader);
+        cache.getCustomTypes(loader);
+        assertEquals(3, loader.count.get());
+    }
+
+    @Test
+    public void testStoredCache() {
+        CustomMetaDataCache cache = CustomMetaDataCache.getInstance(account, "3", "2019.2", directory, TTL);
+
+        CustomFieldDesc fieldDesc = new CustomFieldDesc();
+        fieldDesc.setCustomizationRef(createRef("custbody_field1"));
+        fieldDesc.setName("custbody_field1");
+        fieldDesc.setCustomFieldType(CustomFieldRefType.STRING);
+        fieldDesc.setNullable(true);
+        CachedCustomField field = new CachedCustomField(fieldDesc,
+                new HashSet<>(Arrays.asList("salesOrder", "purchaseOrder")));
+
+        cache.getCustomTypes(new CountingLoader<>(Arrays.asList(createRef("customrecord1"))));
+        cache.getCustomFields(new CountingLoader<>(Arrays.asList(field)));
+        cache.getCustomRecordFields("customrecord1", new CountingLoader<>(Collections.<CachedCustomField>emptyList()));
+        assertTrue(cache.getFile().isFile());
+
+        // Other path of same directory, so the cache is read from the file
+        CustomMetaDataCache storedCache = CustomMetaDataCache.getInstance(account, "3", "2019.2",
+                new File(directory, "."), TTL);
+        assertNotSame(cache, storedCache);
+
+        CountingLoader<NsRef> refLoader = new CountingLoader<>(Collections.<NsRef>emptyList());
+        List<NsRef> refs = storedCache.getCustomTypes(refLoader);
+        assertEquals(0, refLoader.count.get());
+        assertEquals(1, refs.size());
+        assertEquals(RefType.CUSTOMIZATION_REF, refs.get(0).getRefType());
+        assertEquals("customrecord1", refs.get(0).getScriptId());
+        assertEquals("1001", refs.get(0).getInternalId());
+
+        CountingLoader<CachedCustomField> fieldLoader = new CountingLoader<>(Collections.<CachedCustomField>emptyList());
+        List<CachedCustomField> fields = storedCache.getCustomFields(fieldLoader);
+        assertEquals(0, fieldLoader.count.get());
+        assertEquals(1, fields.size());
+        assertTrue(fields.get(0).appliesTo("salesOrder"));
+        assertFalse(fields.get(0).appliesTo("opportunity"));
+
+        CustomFieldDesc storedFieldDesc = fields.get(0).toFieldDesc();
+        assertEquals("custbody_field1", storedFieldDesc.getName());
+        assertEquals(CustomFieldRefType.STRING, storedFieldDesc.getCustomFieldType());
+        assertEquals(String.class, storedFieldDesc.getValueType());
+        assertEquals("custbody_field1", storedFieldDesc.getCustomizationRef().getScriptId());
+
+        assertTrue(storedCache.getCustomRecordFields("customrecord1", fieldLoader).isEmpty());
+        assertEquals(0, fieldLoader.count.get());
+
+        storedCache.invalidate();
+        assertFalse(storedCache.getFile().exists());
+    }
+
+    @Test
+    public void testIgnoredCacheFile() throws IOException {
+        CustomMetaDataCache cache = CustomMetaDataCache.getInstance(account, "3", "2019.2", directory, TTL);
+        Files.write(cache.getFile().toPath(), "corrupted".getBytes(StandardCharsets.UTF_8));
+
+        CustomMetaDataCache storedCache = CustomMetaDataCache.getInstance(account, "3", "2019.2",
+                new File(directory, "."), TTL);
+        CountingLoader<NsRef> loader = new CountingLoader<>(Collections.<NsRef>emptyList());
+        storedCache.getCustomTypes(loader);
+        assertEquals(1, loader.count.get());
+    }
+
+    private static NsRef createRef(String scriptId) {
+        NsRef ref = new NsRef(RefType.CUSTOMIZATION_REF);
+        ref.setScriptId(scriptId);
+        ref.setInternalId("1001");
+        ref.setType("customRecordType");
+        return ref;
+    }
+
+    private static class CountingLoader<T> implements Function<Void, List<T>> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final List<T> values;
+
+        CountingLoader(List<T> values) {
+            this.values = values;
+        }
+
+        @Override
+        public List<T> apply(Void param) {
+            count.incrementAndGet();
+            return values;
+        }
+    }
+}
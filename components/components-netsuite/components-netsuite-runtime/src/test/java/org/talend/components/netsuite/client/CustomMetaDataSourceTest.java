@@ -25,6 +25,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -98,6 +100,40 @@ public class CustomMetaDataSourceTest extends NetSuiteMockTestBase {
         assertEquals(TestRecordTypeEnum.TRANSACTION_BODY_CUSTOM_FIELD.getType(), customFieldDesc.getCustomizationRef().getType());
     }
 
+    @Test
+    public void testGetCachedCustomFields() {
+        Map<String, CustomFieldSpec<RecordType, CustomizationFieldType>> customFieldSpecs = createCustomFieldSpecs();
+        customMetaDataRetriever.setCustomFieldSpecs(customFieldSpecs);
+
+        RecordTypeInfo opportunityTypeInfo = clientService.getMetaDataSource().getRecordType(
+                TestRecordTypeEnum.OPPORTUNITY.getTypeName());
+        RecordTypeInfo salesOrderTypeInfo = clientService.getMetaDataSource().getRecordType(
+                TestRecordTypeEnum.SALES_ORDER.getTypeName());
+
+        Map<String, CustomFieldDesc> opportunityFields = customMetaDataSource.getCustomFields(opportunityTypeInfo);
+        Map<String, CustomFieldDesc> salesOrderFields = customMetaDataSource.getCustomFields(salesOrderTypeInfo);
+        assertEquals(customFieldSpecs.size(), opportunityFields.size());
+
+        clientService.setCustomMetaDataCache(CustomMetaDataCache.getInstance(UUID.randomUUID().toString(), "3",
+                "2019.2", null, TimeUnit.MINUTES.toMillis(10)));
+        try {
+            // The fields retrieved for the cache are the same as the fields retrieved for the record type
+            TestCustomMetaDataRetriever cachingRetriever = new TestCustomMetaDataRetriever();
+            cachingRetriever.setCustomFieldSpecs(customFieldSpecs);
+            DefaultCustomMetaDataSource cachingSource = new DefaultCustomMetaDataSource(clientService, cachingRetriever);
+            assertSameCustomFields(opportunityFields, cachingSource.getCustomFields(opportunityTypeInfo));
+            assertSameCustomFields(salesOrderFields, cachingSource.getCustomFields(salesOrderTypeInfo));
+
+            // Another source gets them from the cache, its retriever has no customizations
+            DefaultCustomMetaDataSource cachedSource = new DefaultCustomMetaDataSource(clientService,
+                    new TestCustomMetaDataRetriever());
+            assertSameCustomFields(opportunityFields, cachedSource.getCustomFields(opportunityTypeInfo));
+            assertSameCustomFields(salesOrderFields, cachedSource.getCustomFields(salesOrderTypeInfo));
+        } finally {
+            clientService.setCustomMetaDataCache(null);
+        }
+    }
+
     @Test
     public void testGetCustomRecordTypes() throws Exception {
         Map<String, CustomFieldSpec<RecordType, CustomizationFieldType>> customRecordFieldSpecs = createCustomRecordFieldSpecs();
@@ -148,6 +184,20 @@ public class CustomMetaDataSourceTest extends NetSuiteMockTestBase {
         assertNull(emptyCustomMetaDataSource.getCustomRecordType("custrecord25"));
     }
 
+    private static void assertSameCustomFields(Map<String, CustomFieldDesc> expected, Map<String, CustomFieldDesc> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (CustomFieldDesc expectedField : expected.values()) {
+            CustomFieldDesc actualField = actual.get(expectedField.getName());
+            assertEquals(expectedField.getName(), actualField.getName());
+            assertEquals(expectedField.getCustomizationRef(), actualField.getCustomizationRef());
+            assertEquals(expectedField.getCustomFieldType(), actualField.getCustomFieldType());
+            assertEquals(expectedField.getValueType(), actualField.getValueType());
+            assertEquals(expectedField.isNullable(), actualField.isNullable());
+            assertEquals(expectedField.isKey(), actualField.isKey());
+            assertEquals(expectedField.getLength(), actualField.getLength());
+        }
+    }
+
     protected Map<String, CustomFieldSpec<RecordType, CustomizationFieldType>> createCustomFieldSpecs() {
         CustomFieldSpec<RecordType, CustomizationFieldType> customBodyField1 = new CustomFieldSpec(
                 "custbody_field1", "1001",
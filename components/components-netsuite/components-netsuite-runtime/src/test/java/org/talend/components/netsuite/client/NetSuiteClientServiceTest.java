@@ -13,6 +13,7 @@
 
 package org.talend.components.netsuite.client;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -23,7 +24,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -448,6 +456,64 @@ public class NetSuiteClientServiceTest extends NetSuiteMockTestBase {
         assertTrue(stopWatch.getTime() >= sleeptSeconds * 1000);
     }
 
+    @Test
+    public void testConcurrentRequestsOnlyWithRequestLevelCredentials() throws Exception {
+        clientService.setMaxConcurrentRequests(3);
+        assertEquals(1, clientService.getMaxConcurrentRequests());
+
+        clientService.setUseRequestLevelCredentials(true);
+        assertEquals(3, clientService.getMaxConcurrentRequests());
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        clientService.setUseRequestLevelCredentials(true);
+        clientService.setMaxConcurrentRequests(3);
+        clientService.login();
+        TypeDesc typeDesc = clientService.getMetaDataSource().getTypeInfo("RecordRef");
+
+        final RecordRef recordRef = new NsObjectComposer<RecordRef>(clientService.getMetaDataSource(), typeDesc)
+                .composeObject();
+
+        final DeleteResponse response = new DeleteResponse();
+        response.setWriteResponse(createSuccessWriteResponse());
+
+        // The calls wait for each other, so they fail if the client sends them one by one
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+
+        when(port.delete(notNull(DeleteRequest.class))).thenAnswer(new Answer<DeleteResponse>() {
+
+            @Override
+            public DeleteResponse answer(InvocationOnMock invocation) throws Throwable {
+                barrier.await(10, TimeUnit.SECONDS);
+                return response;
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<NsWriteResponse<RecordRef>>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(new Callable<NsWriteResponse<RecordRef>>() {
+
+                    @Override
+                    public NsWriteResponse<RecordRef> call() throws Exception {
+                        return clientService.delete(recordRef);
+                    }
+                }));
+            }
+            for (Future<NsWriteResponse<RecordRef>> future : futures) {
+                assertNotNull(future.get().getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One session per concurrent request, the first one is the session of the client
+        verify(port, times(3)).login(notNull(LoginRequest.class));
+        verify(port, times(3)).delete(notNull(DeleteRequest.class));
+    }
+
     @Test(expected = NetSuiteException.class)
     public void testCheckError() throws Exception {
         Status status = NetSuitePortTypeMockAdapterImpl.createErrorStatus(
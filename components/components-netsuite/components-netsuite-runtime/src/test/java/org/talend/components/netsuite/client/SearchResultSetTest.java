@@ -16,8 +16,13 @@ package org.talend.components.netsuite.client;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -144,6 +149,64 @@ public class SearchResultSetTest {
         assertEquals(page1.size() + page2.size(), recordList.size());
     }
 
+    @Test
+    public void testReadAhead() throws Exception {
+        NetSuiteClientService<?> conn = mock(NetSuiteClientService.class);
+
+        int totalPages = 5;
+        List<NsSearchResult> results = new ArrayList<>();
+        for (int pageIndex = 1; pageIndex <= totalPages; pageIndex++) {
+            SearchResult result = new SearchResult();
+            Status status = new Status();
+            status.setIsSuccess(true);
+            result.setStatus(status);
+            result.setSearchId("abc123");
+            result.setPageIndex(pageIndex);
+            result.setTotalRecords(totalPages * 10);
+            result.setTotalPages(totalPages);
+            result.setRecordList(new RecordList());
+            for (int i = 0; i < 10; i++) {
+                Account account = new Account();
+                account.setInternalId(Integer.toString((pageIndex - 1) * 10 + i));
+                result.getRecordList().getRecord().add(account);
+            }
+            results.add(TestNetSuiteClientService.toNsSearchResult(result));
+        }
+
+        for (int pageIndex = 2; pageIndex <= totalPages; pageIndex++) {
+            when(conn.searchMoreWithId(eq("abc123"), eq(pageIndex))).thenReturn(results.get(pageIndex - 1));
+        }
+
+        NetSuiteClientService<?> clientService = new TestNetSuiteClientService();
+        RecordTypeInfo recordTypeInfo = clientService.getMetaDataSource().getRecordType("Account");
+        SearchRecordTypeDesc searchRecordTypeDesc = clientService.getMetaDataSource()
+                .getSearchRecordType(recordTypeInfo.getRecordType().getSearchRecordType());
+
+        SearchResultSet<Record> resultSet = new SearchResultSet<>(conn,
+                recordTypeInfo.getRecordType(), searchRecordTypeDesc, results.get(0));
+        resultSet.setReadAheadPages(2);
+
+        // The next pages are retrieved while the first page is consumed
+        assertTrue(resultSet.next());
+        verify(conn, timeout(5000)).searchMoreWithId(eq("abc123"), eq(2));
+        verify(conn, timeout(5000)).searchMoreWithId(eq("abc123"), eq(3));
+        verify(conn, never()).searchMoreWithId(eq("abc123"), eq(4));
+
+        // The records are returned in page order although the pages are retrieved in parallel
+        assertEquals("0", ((Account) resultSet.get()).getInternalId());
+        int count = 1;
+        while (resultSet.next()) {
+            Account record = (Account) resultSet.get();
+            assertEquals(Integer.toString(count), record.getInternalId());
+            count++;
+        }
+        assertEquals(totalPages * 10, count);
+
+        for (int pageIndex = 2; pageIndex <= totalPages; pageIndex++) {
+            verify(conn, times(1)).searchMoreWithId(eq("abc123"), eq(pageIndex));
+        }
+    }
+
     @Test
     public void testRecordFiltering() throws Exception {
         NetSuiteClientService<?> conn = mock(NetSuiteClientService.class);
@@ -0,0 +1,68 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.netsuite.client.model.beans;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.netsuite.webservices.test.lists.accounting.Account;
+
+/**
+ *
+ */
+public class BeansTest {
+
+    @Test
+    public void testPropertyHandle() {
+        PropertyHandle handle = Beans.getPropertyHandle(Account.class, "acctName");
+        assertNotNull(handle);
+        assertSame(handle, Beans.getBeanInfo(Account.class).getPropertyHandle("acctName"));
+        assertEquals(Account.class, handle.getBeanClass());
+        assertTrue(handle.isReadable());
+        assertTrue(handle.isWritable());
+
+        Account account = new Account();
+        handle.set(account, "Test Account");
+        assertEquals("Test Account", account.getAcctName());
+        assertEquals("Test Account", handle.get(account));
+
+        assertNull(Beans.getPropertyHandle(Account.class, "unknownProperty"));
+    }
+
+    @Test
+    public void testSimpleProperty() {
+        Account account = new Account();
+        Beans.setSimpleProperty(account, "isInactive", Boolean.TRUE);
+        assertEquals(Boolean.TRUE, Beans.getSimpleProperty(account, "isInactive"));
+
+        Beans.setSimpleProperty(account, "isInactive", null);
+        assertNull(Beans.getSimpleProperty(account, "isInactive"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProperty() {
+        Beans.getSimpleProperty(new Account(), "unknownProperty");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongValueType() {
+        Beans.setSimpleProperty(new Account(), "acctName", Boolean.TRUE);
+    }
+
+}
@@ -16,6 +16,7 @@ package org.talend.components.netsuite.v2019_2.output;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -40,6 +41,7 @@ import org.talend.components.netsuite.NetSuiteDatasetRuntime;
 import org.talend.components.netsuite.NetSuiteRuntime;
 import org.talend.components.netsuite.NetSuiteSink;
 import org.talend.components.netsuite.client.NetSuiteClientService;
+import org.talend.components.netsuite.client.NsWriteResponse;
 import org.talend.components.netsuite.client.model.RefType;
 import org.talend.components.netsuite.client.model.TypeDesc;
 import org.talend.components.netsuite.output.NetSuiteOutputProperties;
@@ -169,6 +171,102 @@ public class NetSuiteOutputWriterTest extends NetSuiteMockTestBase {
         assertEquals(indexedRecordList.size(), updatedRecordList.size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAsynchronousUpdate() throws Exception {
+        final NetSuitePortType port = webServiceMockTestFixture.getPortMock();
+
+        final TypeDesc typeDesc = webServiceMockTestFixture.getClientService().getMetaDataSource()
+                .getTypeInfo(RecordTypeEnum.OPPORTUNITY.getTypeName());
+
+        mockGetListRequestResults(null);
+
+        final List<Thread> writingThreads = new ArrayList<>();
+        when(port.updateList(any(UpdateListRequest.class))).then(new Answer<UpdateListResponse>() {
+            @Override public UpdateListResponse answer(InvocationOnMock invocationOnMock) throws Throwable {
+                UpdateListRequest request = (UpdateListRequest) invocationOnMock.getArguments()[0];
+                writingThreads.add(Thread.currentThread());
+
+                UpdateListResponse response = new UpdateListResponse();
+                WriteResponseList writeResponseList = new WriteResponseList();
+                writeResponseList.setStatus(createSuccessStatus());
+                for (int i = 0; i < request.getRecord().size(); i++) {
+                    Opportunity record = (Opportunity) request.getRecord().get(i);
+
+                    RecordRef recordRef = new RecordRef();
+                    recordRef.setInternalId(record.getInternalId());
+                    recordRef.setType(RecordType.OPPORTUNITY);
+
+                    WriteResponse writeResponse = new WriteResponse();
+                    writeResponse.setStatus(createSuccessStatus());
+                    writeResponse.setBaseRef(recordRef);
+
+                    writeResponseList.getWriteResponse().add(writeResponse);
+                }
+                response.setWriteResponseList(writeResponseList);
+                return response;
+            }
+        });
+
+        properties.module.moduleName.setValue(typeDesc.getTypeName());
+        properties.module.action.setValue(OutputAction.UPDATE);
+        properties.batchSize.setValue(50);
+        properties.asynchronous.setValue(true);
+
+        NetSuiteRuntime netSuiteRuntime = new NetSuiteRuntimeImpl();
+        NetSuiteDatasetRuntime dataSetRuntime = netSuiteRuntime.getDatasetRuntime(properties.getConnectionProperties());
+
+        Schema schema = dataSetRuntime.getSchema(properties.module.moduleName.getValue());
+
+        properties.module.main.schema.setValue(schema);
+
+        NetSuiteSink sink = new NetSuiteSinkImpl();
+        sink.initialize(mockTestFixture.getRuntimeContainer(), properties);
+
+        NetSuiteClientService<?> clientService = sink.getClientService(null);
+
+        NetSuiteWriteOperation writeOperation = (NetSuiteWriteOperation) sink.createWriteOperation();
+        NetSuiteOutputWriter writer = (NetSuiteOutputWriter) writeOperation.createWriter(
+                mockTestFixture.getRuntimeContainer());
+        writer.open(UUID.randomUUID().toString());
+
+        List<IndexedRecord> indexedRecordList = makeIndexedRecords(clientService, schema,
+                new SimpleObjectComposer<>(typeDesc.getTypeClass()), 150);
+
+        List<NsWriteResponse<RecordRef>> writeResponses = new ArrayList<>();
+        for (IndexedRecord record : indexedRecordList) {
+            writer.write(record);
+            // There are no outgoing flows in asynchronous mode
+            assertFalse(writer.getSuccessfulWrites().iterator().hasNext());
+            assertFalse(writer.getRejectedWrites().iterator().hasNext());
+            for (Object writeResponse : writer.getWriteResponses()) {
+                writeResponses.add((NsWriteResponse<RecordRef>) writeResponse);
+            }
+        }
+
+        // The last batches are completed by closing
+        Result writerResult = writer.close();
+        for (Object writeResponse : writer.getWriteResponses()) {
+            writeResponses.add((NsWriteResponse<RecordRef>) writeResponse);
+        }
+        assertNotNull(writerResult);
+        assertEquals(indexedRecordList.size(), writerResult.totalCount);
+        assertEquals(indexedRecordList.size(), writerResult.successCount);
+
+        verify(port, times(3)).updateList(any(UpdateListRequest.class));
+        for (Thread thread : writingThreads) {
+            assertNotSame(Thread.currentThread(), thread);
+        }
+
+        // Write responses are processed in order of input records
+        assertEquals(indexedRecordList.size(), writeResponses.size());
+        for (int i = 0; i < indexedRecordList.size(); i++) {
+            IndexedRecord record = indexedRecordList.get(i);
+            assertEquals(record.get(schema.getField("InternalId").pos()),
+                    writeResponses.get(i).getRef().getInternalId());
+        }
+    }
+
     @Test
     public void testDelete() throws Exception {
         final NetSuitePortType port = webServiceMockTestFixture.getPortMock();
@@ -30,6 +30,11 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
 
     public Property<Integer> waitTimeCheckBatchState = newInteger("waitTimeCheckBatchState");
 
+    /**
+     * the count of the threads which upload the batches and download their results, 1 means one by one
+     */
+    public Property<Integer> parallelThreads = newInteger("parallelThreads", "1");
+
     public Property<Boolean> bulkApiV2 = newBoolean("bulkApiV2");
 
     public Property<ColumnDelimiter> columnDelimiter = newEnum("columnDelimiter", ColumnDelimiter.class);
@@ -38,6 +43,21 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
 
     public Property<Boolean> safetySwitch = newBoolean("safetySwitch", true);
 
+    /**
+     * gzip the data uploaded to the Bulk API 2.0 jobs
+     */
+    public Property<Boolean> compressUpload = newBoolean("compressUpload");
+
+    /**
+     * the count of the rows uploaded to one Bulk API 2.0 job, 0 means one job for the whole file
+     */
+    public Property<Integer> rowsPerJob = newInteger("rowsPerJob", "0");
+
+    /**
+     * the count of the Bulk API 2.0 jobs which are run at the same time, 1 means one by one
+     */
+    public Property<Integer> parallelJobs = newInteger("parallelJobs", "1");
+
     public SalesforceBulkProperties(String name) {
         super(name);
     }
@@ -58,7 +78,11 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
         mainForm.addRow(bulkApiV2);
         mainForm.addRow(columnDelimiter);
         mainForm.addColumn(lineEnding);
+        mainForm.addRow(compressUpload);
+        mainForm.addRow(rowsPerJob);
+        mainForm.addColumn(parallelJobs);
         mainForm.addRow(concurrencyMode);
+        mainForm.addColumn(parallelThreads);
         mainForm.addRow(rowsToCommit);
         mainForm.addColumn(bytesToCommit);
         mainForm.addRow(waitTimeCheckBatchState);
@@ -74,8 +98,12 @@ public class SalesforceBulkProperties extends ComponentPropertiesImpl {
             form.getWidget(rowsToCommit.getName()).setVisible(!useBulkApiV2);
             form.getWidget(bytesToCommit.getName()).setVisible(!useBulkApiV2);
             form.getWidget(concurrencyMode.getName()).setVisible(!useBulkApiV2);
+            form.getWidget(parallelThreads.getName()).setVisible(!useBulkApiV2);
             form.getWidget(columnDelimiter.getName()).setVisible(useBulkApiV2);
             form.getWidget(lineEnding.getName()).setVisible(useBulkApiV2);
+            form.getWidget(compressUpload.getName()).setVisible(useBulkApiV2);
+            form.getWidget(rowsPerJob.getName()).setVisible(useBulkApiV2);
+            form.getWidget(parallelJobs.getName()).setVisible(useBulkApiV2);
         }
     }
 
@@ -83,6 +83,12 @@ public class SalesforceConnectionProperties extends ComponentPropertiesImpl
 
     public Property<String> sessionDirectory = newString("sessionDirectory"); //$NON-NLS-1$
 
+    /**
+     * keep the module metadata for 10 minutes, shared by the components of the JVM and saved with the session, off by
+     * default so the changes of the modules are always seen
+     */
+    public Property<Boolean> useMetadataCache = newBoolean("useMetadataCache"); //$NON-NLS-1$
+
     public Property<Boolean> needCompression = newBoolean("needCompression"); //$NON-NLS-1$
 
     public Property<Integer> timeout = newInteger("timeout"); //$NON-NLS-1$
@@ -134,6 +140,7 @@ public class SalesforceConnectionProperties extends ComponentPropertiesImpl
         apiVersion.setValue(DEFAULT_API_VERSION);
         timeout.setValue(60000);
         httpChunked.setValue(true);
+        useMetadataCache.setValue(false);
         oauth2FlowType.setPossibleValues(JWT_Flow);
         oauth2FlowType.setValue(JWT_Flow);
         oauth2JwtFlow.audience.setValue("https://login.salesforce.com");
@@ -168,6 +175,7 @@ public class SalesforceConnectionProperties extends ComponentPropertiesImpl
         advancedForm.addRow(bulkConnection);
         advancedForm.addRow(reuseSession);
         advancedForm.addRow(widget(sessionDirectory).setWidgetType(Widget.DIRECTORY_WIDGET_TYPE));
+        advancedForm.addRow(useMetadataCache);
         advancedForm.addRow(needCompression);
         advancedForm.addRow(httpTraceMessage);
         advancedForm.addRow(httpChunked);
@@ -36,6 +36,11 @@ public class SalesforceGetDeletedUpdatedProperties extends SalesforceConnectionM
 
     public Property<Date> endDate = newProperty(DATE_TYPE_LITERAL, "endDate").setRequired();
 
+    /**
+     * retrieve the next records in background while the current records are read
+     */
+    public Property<Boolean> readAhead = newBoolean("readAhead", false);
+
     public SalesforceGetDeletedUpdatedProperties(String name) {
         super(name);
     }
@@ -46,6 +51,9 @@ public class SalesforceGetDeletedUpdatedProperties extends SalesforceConnectionM
         Form mainForm = getForm(Form.MAIN);
         mainForm.addRow(startDate);
         mainForm.addRow(endDate);
+
+        Form advancedForm = getForm(Form.ADVANCED);
+        advancedForm.addRow(readAhead);
     }
 
     @Override
@@ -86,8 +86,12 @@ public class TSalesforceBulkExecProperties extends SalesforceOutputProperties {
                 main.getWidget(hardDelete.getName()).setVisible(!useBulkApiV2 && outputAction.getValue().equals(OutputAction.DELETE));
                 main.getWidget(contentType.getName()).setVisible(!useBulkApiV2);
                 bulkForm.getWidget(bulkProperties.concurrencyMode.getName()).setVisible(!useBulkApiV2);
+                bulkForm.getWidget(bulkProperties.parallelThreads.getName()).setVisible(!useBulkApiV2);
                 bulkForm.getWidget(bulkProperties.columnDelimiter.getName()).setVisible(useBulkApiV2);
                 bulkForm.getWidget(bulkProperties.lineEnding.getName()).setVisible(useBulkApiV2);
+                bulkForm.getWidget(bulkProperties.compressUpload.getName()).setVisible(useBulkApiV2);
+                bulkForm.getWidget(bulkProperties.rowsPerJob.getName()).setVisible(useBulkApiV2);
+                bulkForm.getWidget(bulkProperties.parallelJobs.getName()).setVisible(useBulkApiV2);
 
                 form.getChildForm(connection.getName()).getWidget(connection.httpChunked.getName()).setHidden(
                         useBulkApiV2);
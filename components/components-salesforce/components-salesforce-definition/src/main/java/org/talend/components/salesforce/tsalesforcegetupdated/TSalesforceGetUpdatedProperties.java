@@ -12,10 +12,27 @@
 //============================================================================
 package org.talend.components.salesforce.tsalesforcegetupdated;
 
+import static org.talend.daikon.properties.property.PropertyFactory.newInteger;
+
 import org.talend.components.salesforce.SalesforceGetDeletedUpdatedProperties;
+import org.talend.daikon.properties.presentation.Form;
+import org.talend.daikon.properties.property.Property;
 
 public class TSalesforceGetUpdatedProperties extends SalesforceGetDeletedUpdatedProperties {
+
+    /**
+     * count of the retrieve calls which run at the same time, 1 to retrieve the records chunk by chunk
+     */
+    public Property<Integer> retrieveThreads = newInteger("retrieveThreads", 1);
+
     public TSalesforceGetUpdatedProperties(String name) {
         super(name);
     }
+
+    @Override
+    public void setupLayout() {
+        super.setupLayout();
+        Form advancedForm = getForm(Form.ADVANCED);
+        advancedForm.addRow(retrieveThreads);
+    }
 }
@@ -79,6 +79,11 @@ public class TSalesforceInputProperties extends SalesforceConnectionModuleProper
     // Advanced
     public Property<Integer> batchSize = newInteger("batchSize"); //$NON-NLS-1$
 
+    /**
+     * query the next batch in background while the current batch is read
+     */
+    public Property<Boolean> readAhead = newBoolean("readAhead", false);
+
     public Property<String> normalizeDelimiter = newProperty("normalizeDelimiter"); //$NON-NLS-1$
 
     public Property<String> columnNameDelimiter = newProperty("columnNameDelimiter"); //$NON-NLS-1$
@@ -100,6 +105,16 @@ public class TSalesforceInputProperties extends SalesforceConnectionModuleProper
 
     public Property<Integer> chunkSleepTime = newInteger("chunkSleepTime", DEFAULT_CHUNK_SLEEP_TIME);
 
+    /**
+     * count of the threads to download the results of the chunk batches, 1 for the sequential download
+     */
+    public Property<Integer> chunkParallelThreads = newInteger("chunkParallelThreads", 1);
+
+    /**
+     * with several threads, output the results of the chunk batches in the order they are downloaded
+     */
+    public Property<Boolean> unorderedChunkResults = newBoolean("unorderedChunkResults", false);
+
     public Property<Boolean> useResultLocator = newBoolean("useResultLocator", false);
 
     public Property<Integer> maxRecords = newInteger("maxRecords", 50000);
@@ -188,7 +203,10 @@ public class TSalesforceInputProperties extends SalesforceConnectionModuleProper
         advancedForm.addRow(specifyParent);
         advancedForm.addRow(parentObject);
         advancedForm.addRow(chunkSleepTime);
+        advancedForm.addRow(chunkParallelThreads);
+        advancedForm.addRow(unorderedChunkResults);
         advancedForm.addRow(batchSize);
+        advancedForm.addRow(readAhead);
         advancedForm.addRow(normalizeDelimiter);
         advancedForm.addRow(columnNameDelimiter);
         advancedForm.addRow(useResultLocator);
@@ -308,9 +326,12 @@ public class TSalesforceInputProperties extends SalesforceConnectionModuleProper
             form.getWidget(specifyParent.getName()).setVisible(isBulkQueryV1 && pkChunking.getValue());
             form.getWidget(parentObject.getName()).setVisible(isBulkQueryV1 && pkChunking.getValue() && specifyParent.getValue());
             form.getWidget(chunkSleepTime.getName()).setVisible(isBulkQueryV1 && pkChunking.getValue());
+            form.getWidget(chunkParallelThreads.getName()).setVisible(isBulkQueryV1 && pkChunking.getValue());
+            form.getWidget(unorderedChunkResults.getName()).setVisible(isBulkQueryV1 && pkChunking.getValue());
             form.getWidget(normalizeDelimiter.getName()).setHidden(isBulkQueryV1 || isBulkQueryV2);
             form.getWidget(columnNameDelimiter.getName()).setHidden(isBulkQueryV1 || isBulkQueryV2);
             form.getWidget(batchSize.getName()).setHidden(isBulkQueryV1 || isBulkQueryV2);
+            form.getWidget(readAhead.getName()).setHidden(isBulkQueryV1 || isBulkQueryV2);
             form.getWidget(useResultLocator.getName()).setVisible(isBulkQueryV2);
             form.getWidget(maxRecords.getName()).setVisible(isBulkQueryV2 && useResultLocator.getValue());
             connection.bulkConnection.setValue(isBulkQueryV1 || isBulkQueryV2);
@@ -57,6 +57,13 @@ public class TSalesforceOutputProperties extends SalesforceOutputProperties impl
 
     public Property<Integer> commitLevel = newInteger("commitLevel", 200); //$NON-NLS-1$
 
+    /**
+     * count of the SOAP calls which are sent at the same time, each one with a commit level of records. With die on
+     * error, no call is sent after a failure is received, but the calls which are already sent at that time are still
+     * applied.
+     */
+    public Property<Integer> writeThreads = newInteger("writeThreads", 1); //$NON-NLS-1$
+
     public Property<Boolean> dataTimeUTC = newBoolean("dataTimeUTC",true); //$NON-NLS-1$
 
     // FIXME - should be file
@@ -167,6 +174,7 @@ public class TSalesforceOutputProperties extends SalesforceOutputProperties impl
         advancedForm.addRow(ignoreNull);
         advancedForm.addRow(retrieveInsertId);
         advancedForm.addRow(commitLevel);
+        advancedForm.addRow(writeThreads);
         advancedForm.addRow(widget(logFileName).setWidgetType(Widget.FILE_WIDGET_TYPE));
         advancedForm.addRow(dataTimeUTC);
     }
@@ -195,6 +203,7 @@ public class TSalesforceOutputProperties extends SalesforceOutputProperties impl
             form.getChildForm(connection.getName()).getWidget(connection.bulkConnection.getName()).setHidden(true);
             form.getChildForm(connection.getName()).getWidget(connection.httpTraceMessage.getName()).setHidden(true);
             form.getWidget("commitLevel").setHidden(!extendInsert.getValue());
+            form.getWidget(writeThreads.getName()).setHidden(!extendInsert.getValue());
             form.getWidget("retrieveInsertId")
                     .setHidden(extendInsert.getValue() || !(OutputAction.INSERT.equals(outputAction.getValue())
                             || OutputAction.UPSERT.equals(outputAction.getValue())));
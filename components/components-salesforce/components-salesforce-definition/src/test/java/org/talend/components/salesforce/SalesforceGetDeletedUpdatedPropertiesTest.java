@@ -63,6 +63,7 @@ public class SalesforceGetDeletedUpdatedPropertiesTest extends SalesforceTestBas
                 properties.getConnectionProperties().bulkConnection.getName()));
         assertNotNull(advForm.getChildForm(properties.getConnectionProperties().getName()).getWidget(
                 properties.getConnectionProperties().httpTraceMessage.getName()));
+        assertNotNull(advForm.getWidget(properties.readAhead.getName()));
     }
 
     @Test
@@ -213,9 +213,13 @@ public class TSalesforceBulkExecPropertiesTest extends SalesforceTestBase {
         assertTrue(bulkForm.getWidget(properties.bulkProperties.rowsToCommit.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.bytesToCommit.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.concurrencyMode.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.parallelThreads.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.waitTimeCheckBatchState.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.columnDelimiter.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.lineEnding.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.compressUpload.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.rowsPerJob.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.parallelJobs.getName()).isVisible());
 
         properties.connection.loginType.setValue(SalesforceConnectionProperties.LoginType.OAuth);
         propertiesService.afterProperty(properties.connection.loginType.getName(), properties.connection);
@@ -229,9 +233,13 @@ public class TSalesforceBulkExecPropertiesTest extends SalesforceTestBase {
         assertFalse(bulkForm.getWidget(properties.bulkProperties.rowsToCommit.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.bytesToCommit.getName()).isVisible());
         assertFalse(bulkForm.getWidget(properties.bulkProperties.concurrencyMode.getName()).isVisible());
+        assertFalse(bulkForm.getWidget(properties.bulkProperties.parallelThreads.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.waitTimeCheckBatchState.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.columnDelimiter.getName()).isVisible());
         assertTrue(bulkForm.getWidget(properties.bulkProperties.lineEnding.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.compressUpload.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.rowsPerJob.getName()).isVisible());
+        assertTrue(bulkForm.getWidget(properties.bulkProperties.parallelJobs.getName()).isVisible());
 
     }
 
@@ -0,0 +1,43 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.tsalesforcegetupdated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.daikon.properties.presentation.Form;
+
+/**
+ *
+ */
+public class TSalesforceGetUpdatedPropertiesTest {
+
+    private TSalesforceGetUpdatedProperties properties;
+
+    @Before
+    public void setUp() {
+        properties = new TSalesforceGetUpdatedProperties("root");
+        properties.init();
+    }
+
+    @Test
+    public void testRetrieveThreads() {
+        assertEquals(Integer.valueOf(1), properties.retrieveThreads.getValue());
+
+        Form advForm = properties.getForm(Form.ADVANCED);
+        assertNotNull(advForm.getWidget(properties.retrieveThreads.getName()));
+        assertNotNull(advForm.getWidget(properties.readAhead.getName()));
+    }
+}
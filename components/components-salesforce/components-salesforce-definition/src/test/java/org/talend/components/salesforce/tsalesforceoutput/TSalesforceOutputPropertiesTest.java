@@ -105,6 +105,8 @@ public class TSalesforceOutputPropertiesTest extends SalesforceTestBase {
         assertTrue(properties.ceaseForError.getValue());
         assertTrue(advancedForm.getWidget(properties.commitLevel.getName()).isVisible());
         assertEquals(200, properties.commitLevel.getValue().intValue());
+        assertTrue(advancedForm.getWidget(properties.writeThreads.getName()).isVisible());
+        assertEquals(1, properties.writeThreads.getValue().intValue());
         assertTrue(advancedForm.getWidget(properties.logFileName.getName()).isVisible());
         assertNull(properties.logFileName.getValue());
 
@@ -125,6 +127,7 @@ public class TSalesforceOutputPropertiesTest extends SalesforceTestBase {
         PropertiesDynamicMethodHelper.afterProperty(properties, properties.extendInsert.getName());
         assertTrue(advancedForm.getWidget(properties.retrieveInsertId.getName()).isVisible());
         assertFalse(properties.retrieveInsertId.getValue());
+        assertFalse(advancedForm.getWidget(properties.writeThreads.getName()).isVisible());
 
         // 3.After retrieveInsertId checked
         properties.retrieveInsertId.setValue(true);
@@ -13,30 +13,70 @@
 package org.talend.components.salesforce.runtime;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 public class BulkResult {
 
     Map<String, Object> values;
 
+    /**
+     * the header and the row of a result file, the values are only copied to the map when a value is set
+     */
+    private BulkResultHeader header;
+
+    private String[] row;
+
     public BulkResult() {
         values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     }
 
+    public BulkResult(BulkResultHeader header, String[] row) {
+        this.header = header;
+        this.row = row;
+    }
+
     public void setValue(String field, Object vlaue) {
+        toMap();
         values.put(field, vlaue);
     }
 
     public Object getValue(String fieldName) {
+        if (header != null) {
+            return getValue(header.indexOf(fieldName));
+        }
         return values.get(fieldName);
     }
 
+    /**
+     * @return the header of the row, or null if the values are not read from a result file
+     */
+    public BulkResultHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * @param columnIndex - index of the column in the header, see {@link BulkResultHeader#indexOf(String)}
+     * @return the value of the column, or null if there is no such column
+     */
+    public Object getValue(int columnIndex) {
+        return (row != null && columnIndex >= 0 && columnIndex < row.length) ? row[columnIndex] : null;
+    }
+
+    /**
+     * @return the field names sorted case insensitively
+     */
+    public Set<String> getFieldNames() {
+        return header != null ? header.getColumnNames() : values.keySet();
+    }
+
     public void copyValues(BulkResult result) {
         if (result == null) {
             return;
         } else {
-            for (String key : result.values.keySet()) {
-                Object value = result.values.get(key);
+            toMap();
+            for (String key : result.getFieldNames()) {
+                Object value = result.getValue(key);
                 if ("#N/A".equals(value)) {
                     value = null;
                 }
@@ -46,9 +86,24 @@ public class BulkResult {
     }
 
     public boolean containField(String fieldName) {
+        if (header != null) {
+            return header.indexOf(fieldName) >= 0;
+        }
         if (values != null && values.containsKey(fieldName)) {
             return true;
         }
         return false;
     }
+
+    private void toMap() {
+        if (header == null) {
+            return;
+        }
+        values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String fieldName : header.getColumnNames()) {
+            values.put(fieldName, getValue(header.indexOf(fieldName)));
+        }
+        header = null;
+        row = null;
+    }
 }
\ No newline at end of file
@@ -40,6 +40,11 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
     @SuppressWarnings("rawtypes")
     protected transient AvroConverter[] fieldConverter;
 
+    /** The header which the fields are bound to, and the index of the column of each field in it. */
+    private transient BulkResultHeader boundHeader;
+
+    private transient int[] columnIndexes;
+
     @Override
     public Schema getSchema() {
         return schema;
@@ -59,7 +64,7 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
     public IndexedRecord convertToAvro(BulkResult result) {
         if (AvroUtils.isIncludeAllFields(schema)) {
             List<Field> fields = new ArrayList<>();
-            Set<String> resultFieldNames = result.values.keySet();
+            Set<String> resultFieldNames = result.getFieldNames();
             for (String fieldName : resultFieldNames) {
                 // skip field which set in design schema or duplicate value
                 if (schema.getField(fieldName) != null || "Created".equals(fieldName) || "Error".equals(fieldName)
@@ -120,10 +125,15 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
                     fieldConverter[j] = SalesforceAvroRegistry.get().getConverterFromString(f);
                 }
             }
-            Object resultValue = value.getValue(names[i]);
-            if (resultValue == null) {
-                String columnName = names[i].substring(names[i].indexOf("_") + 1);
-                resultValue = value.getValue(columnName);
+            Object resultValue;
+            if (value.getHeader() != null) {
+                resultValue = value.getValue(getColumnIndex(value.getHeader(), i));
+            } else {
+                resultValue = value.getValue(names[i]);
+                if (resultValue == null) {
+                    String columnName = names[i].substring(names[i].indexOf("_") + 1);
+                    resultValue = value.getValue(columnName);
+                }
             }
             if (returnNullForEmpty && resultValue != null && "".equals(resultValue)) {
                 resultValue = null;
@@ -131,6 +141,23 @@ public class BulkResultAdapterFactory implements IndexedRecordConverter<BulkResu
             return fieldConverter[i].convertToAvro(resultValue);
         }
 
+        /**
+         * the fields are bound to the columns once for all the rows of a result file
+         */
+        private int getColumnIndex(BulkResultHeader header, int i) {
+            if (header != boundHeader) {
+                columnIndexes = new int[names.length];
+                for (int j = 0; j < names.length; j++) {
+                    columnIndexes[j] = header.indexOf(names[j]);
+                    if (columnIndexes[j] < 0) {
+                        columnIndexes[j] = header.indexOf(names[j].substring(names[j].indexOf("_") + 1));
+                    }
+                }
+                boundHeader = header;
+            }
+            return columnIndexes[i];
+        }
+
         @Override
         public Schema getSchema() {
             return BulkResultAdapterFactory.this.getSchema();
@@ -0,0 +1,56 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The header of a bulk result file, it's shared by all the rows of the file, so the column names are only normalized
+ * and indexed once. The names are case insensitive like the ones of {@link BulkResult}.
+ */
+public final class BulkResultHeader {
+
+    /**
+     * key is the normalized column name, value is the index of the column in the row
+     */
+    private final Map<String, Integer> columnIndexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public BulkResultHeader(List<String> header) {
+        for (int i = 0; header != null && i < header.size(); i++) {
+            //We replace the . with _ to add support of relationShip Queries
+            //The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
+            //So Account.Name in SF will be Account_Name in Talend
+            columnIndexes.put(header.get(i).replace('.', '_'), i);
+        }
+    }
+
+    /**
+     * @return the index of the column in the row, or -1 if there is no such column
+     */
+    public int indexOf(String columnName) {
+        Integer index = columnName == null ? null : columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the column names in the same order as the field names of a {@link BulkResult}
+     */
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(columnIndexes.keySet());
+    }
+
+}
@@ -23,9 +23,13 @@ public class BulkResultSet {
 
     List<String> header;
 
+    private final BulkResultHeader resultHeader;
+
     public BulkResultSet(CSVReader reader, List<String> header) {
         this.reader = reader;
         this.header = header;
+        // the column names are normalized once for all the rows
+        this.resultHeader = new BulkResultHeader(header);
     }
 
     public BulkResult next() throws IOException {
@@ -45,13 +49,7 @@ public class BulkResultSet {
 
         if (hasNext) {
             if ((row = reader.getValues()) != null) {
-                result = new BulkResult();
-                for (int i = 0; i < this.header.size(); i++) {
-                    //We replace the . with _ to add support of relationShip Queries
-                    //The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
-                    //So Account.Name in SF will be Account_Name in Talend
-                    result.setValue(header.get(i).replace('.', '_'), row[i]);
-                }
+                result = new BulkResult(resultHeader, row);
                 return result;
             } else {
                 return next();
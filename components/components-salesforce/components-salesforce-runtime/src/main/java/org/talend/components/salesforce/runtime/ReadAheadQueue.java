@@ -0,0 +1,135 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.sforce.ws.ConnectionException;
+
+/**
+ * Fetches the next results of a reader in a background thread while the current result is consumed. The results are
+ * returned in the fetch order, the thread waits when {@code capacity} results are not taken yet, so at most
+ * {@code capacity + 1} results are fetched in advance. The error of a fetch is thrown by the next {@link #take()}.
+ *
+ * The fetcher is only called by the background thread, it must not share its connection with the consumer thread
+ * while the queue is open.
+ */
+public class ReadAheadQueue<T> implements Closeable {
+
+    public interface Fetcher<T> {
+
+        /**
+         * @return the next result, or null if there is no more result
+         */
+        T fetch() throws IOException, ConnectionException;
+    }
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    private boolean finished;
+
+    public ReadAheadQueue(String name, int capacity, final Fetcher<T> fetcher) {
+        queue = new ArrayBlockingQueue<>(capacity);
+        thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                fetchAll(fetcher);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void fetchAll(Fetcher<T> fetcher) {
+        try {
+            try {
+                T result;
+                while (!closed && (result = fetcher.fetch()) != null) {
+                    queue.put(result);
+                }
+                queue.put(END);
+            } catch (IOException | ConnectionException | RuntimeException e) {
+                queue.put(new Failure(e));
+            }
+        } catch (InterruptedException e) {
+            // the queue is closed
+        }
+    }
+
+    /**
+     * Wait for the next result.
+     *
+     * @return the next result, or null if there is no more result
+     */
+    @SuppressWarnings("unchecked")
+    public T take() throws IOException, ConnectionException {
+        if (finished) {
+            return null;
+        }
+
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+
+        if (item == END) {
+            finished = true;
+            return null;
+        }
+        if (item instanceof Failure) {
+            finished = true;
+            Exception cause = ((Failure) item).cause;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+        return (T) item;
+    }
+
+    /**
+     * Stop the background thread, the running fetch is finished but its result is dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        finished = true;
+        thread.interrupt();
+        queue.clear();
+    }
+
+    private static class Failure {
+
+        private final Exception cause;
+
+        private Failure(Exception cause) {
+            this.cause = cause;
+        }
+    }
+
+}
@@ -13,8 +13,10 @@
 package org.talend.components.salesforce.runtime;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +52,11 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
 
     private Map<String, AvroConverter> name2converter;
 
+    /**
+     * The plans are kept by the type of the root object, a plan is only extended when a record has a new column.
+     */
+    private Map<String, BindingPlan> plans;
+
     @Override
     public Schema getSchema() {
         return schema;
@@ -58,6 +65,7 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
     @Override
     public void setSchema(Schema schema) {
         this.schema = schema;
+        this.plans = null;
     }
 
     @Override
@@ -75,37 +83,158 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
         return new SObjectIndexedRecord(value);
     }
 
+    private BindingPlan getPlan(String rootType) {
+        if (plans == null) {
+            plans = new HashMap<>();
+        }
+        BindingPlan plan = plans.get(rootType);
+        if (plan == null) {
+            plan = new BindingPlan(rootType);
+            plans.put(rootType, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The column names of the records and the field positions bound to them. A column name is built by appending the
+     * names of the XML elements with the column name delimiter, each column name is only built once, then the value of
+     * the column is stored in a slot of the record.
+     */
+    private class BindingPlan {
+
+        private final String delimiter = schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER);
+
+        private final Column root;
+
+        /**
+         * key is the column name, the columns with the same name in another case use the same slot
+         */
+        private final Map<String, Integer> slots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        /**
+         * The slots of a field, found by the field name first, then by the root type and the field name.
+         */
+        private int[] fieldSlots;
+
+        private int[] rootFieldSlots;
+
+        private int boundSlotCount = -1;
+
+        private BindingPlan(String rootType) {
+            root = new Column(rootType == null ? "" : rootType, -1, false, null);
+        }
+
+        private Column child(Column parent, String name) {
+            Column column = parent.children.get(name);
+            if (column == null) {
+                String columnName = parent.name.isEmpty() ? name : parent.name + delimiter + name;
+                Integer slot = slots.get(columnName);
+                if (slot == null) {
+                    slot = slots.size();
+                    slots.put(columnName, slot);
+                }
+                column = new Column(columnName, slot, columnName.equals(name), name2converter.get(columnName));
+                parent.children.put(name, column);
+            }
+            return column;
+        }
+
+        private int slotCount() {
+            return slots.size();
+        }
+
+        private int fieldSlot(int i) {
+            bindIfNecessary();
+            return fieldSlots[i];
+        }
+
+        private int rootFieldSlot(int i) {
+            bindIfNecessary();
+            return rootFieldSlots[i];
+        }
+
+        private void bindIfNecessary() {
+            if (boundSlotCount == slots.size()) {
+                return;
+            }
+            fieldSlots = new int[names.length];
+            rootFieldSlots = new int[names.length];
+            for (int j = 0; j < names.length; j++) {
+                Integer slot = slots.get(names[j]);
+                fieldSlots[j] = slot == null ? -1 : slot;
+                slot = slots.get(root.name + delimiter + names[j]);
+                rootFieldSlots[j] = slot == null ? -1 : slot;
+            }
+            boundSlotCount = slots.size();
+        }
+    }
+
+    private static class Column {
+
+        private final String name;
+
+        private final int slot;
+
+        /**
+         * true if the column name is the element name, without any prefix
+         */
+        private final boolean bare;
+
+        @SuppressWarnings("rawtypes")
+        private final AvroConverter converter;
+
+        /**
+         * key is the name of the child element
+         */
+        private final Map<String, Column> children = new HashMap<>();
+
+        @SuppressWarnings("rawtypes")
+        private Column(String name, int slot, boolean bare, AvroConverter converter) {
+            this.name = name;
+            this.slot = slot;
+            this.bare = bare;
+            this.converter = converter;
+        }
+    }
+
     private class SObjectIndexedRecord implements IndexedRecord {
 
         final private CalendarCodec calendarCodec = new CalendarCodec();
 
         final private DateCodec dateCodec = new DateCodec();
 
-        private Map<String, Object> valueMap;
+        private final BindingPlan plan;
 
-        private String rootType;
+        /**
+         * the values by the slots of the plan, a slot is set if the column is found, even if its value is null
+         */
+        private Object[] values;
+
+        private boolean[] found;
 
         private boolean isAggregateResult;
 
         public SObjectIndexedRecord(SObject value) {
-            rootType = value.getType();
+            String rootType = value.getType();
             isAggregateResult = "AggregateResult".equals(rootType);
-            init();
+            init(rootType);
+            plan = getPlan(rootType);
+            values = new Object[Math.max(plan.slotCount(), 8)];
+            found = new boolean[values.length];
 
             Iterator<XmlObject> fields = value.getChildren();
             // Ignore "type" element when find firstly
             int typeCount = 0;
             while (fields.hasNext()) {
                 XmlObject field = fields.next();
-                if (valueMap != null && (valueMap.containsKey(field.getName().getLocalPart()) || valueMap.containsKey(rootType
-                        + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER) + field.getName().getLocalPart()))) {
+                if (isFound(plan.child(plan.root, field.getName().getLocalPart()))) {
                     continue;
                 } else {
                     if ("type".equals(field.getName().getLocalPart()) && typeCount == 0) {
                         typeCount++;
                         continue;
                     }
-                    processXmlObject(field, rootType, null);
+                    processXmlObject(field, plan.root, null);
                 }
             }
         }
@@ -123,14 +252,22 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
         @SuppressWarnings("unchecked")
         @Override
         public Object get(int i) {
-            Object value = valueMap.get(names[i]);
+            Object value = getValue(plan.fieldSlot(i));
             if (value == null) {
-                value = valueMap.get(rootType + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER) + names[i]);
+                value = getValue(plan.rootFieldSlot(i));
             }
             return fieldConverter[i].convertToAvro(value);
         }
 
-        private void init() {
+        private Object getValue(int slot) {
+            return (slot >= 0 && slot < values.length) ? values[slot] : null;
+        }
+
+        private boolean isFound(Column column) {
+            return column.slot < found.length && found[column.slot];
+        }
+
+        private void init(String rootType) {
             if (names == null) {
                 List<Schema.Field> fields = getSchema().getFields();
                 names = new String[fields.size()];
@@ -147,26 +284,25 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
         }
 
         /**
-         * Parse XML object and store found values into value map.
-         * During iterations <code>prefixName</code> concatenates with current local part of input object.
-         * On the last iteration prefixName will become as a column name.
+         * Parse XML object and store found values into the slots of the columns.
+         * During iterations <code>prefix</code> is extended with current local part of input object.
+         * On the last iteration prefix will become as a column name.
          * <code>Id</code> and <code>type</code> elements are skipped, except type of child relation.
          *
          *
          * @param xo - XML object to be processed.
-         * @param prefixName - name of all parent branches, appended with underscore.
-         * @param prefixTypeName - name of child relation.
+         * @param prefix - column of all parent branches.
+         * @param prefixType - column of child relation.
          */
-        protected void processXmlObject(XmlObject xo, String prefixName, String prefixTypeName) {
-            if (valueMap == null) {
-                valueMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-            }
+        protected void processXmlObject(XmlObject xo, Column prefix, Column prefixType) {
             Iterator<XmlObject> xos = xo.getChildren();
             if (xos.hasNext()) {
                 // delete the fixed id and type elements when find firstly
                 int typeCount = 0;
                 int idCount = 0;
                 String typeName = null;
+                Column current = null;
+                Column currentType = null;
                 while (xos.hasNext()) {
                     XmlObject objectValue = xos.next();
                     if (objectValue != null) {
@@ -181,68 +317,67 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
                             idCount++;
                             continue;
                         }
-                        if (null != prefixName) {
-                            String tempPrefixName = prefixName + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER)
-                                    + xo.getName().getLocalPart();
-                            String tempPrefixTypeName = null;
-                            if (null != prefixTypeName) {
-                                tempPrefixTypeName = prefixTypeName
-                                        + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER)
-                                        + xo.getName().getLocalPart();
-                            } else if (typeCount != 0 && null != typeName) {
-                                // Initialize type prefix name only for child relation object.
-                                tempPrefixTypeName = tempPrefixName
-                                        + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER) + typeName;
+                        if (current == null) {
+                            current = plan.child(prefix, xo.getName().getLocalPart());
+                            if (null != prefixType) {
+                                currentType = plan.child(prefixType, xo.getName().getLocalPart());
                             }
-                            processXmlObject(xmlObject, tempPrefixName, tempPrefixTypeName);
-                        } else {
-                            processXmlObject(xmlObject, xo.getName().getLocalPart(), prefixTypeName);
                         }
+                        if (null == prefixType && typeCount != 0 && null != typeName && !isNullRoot(prefix)) {
+                            // Initialize type prefix name only for child relation object.
+                            currentType = plan.child(current, typeName);
+                        }
+                        processXmlObject(xmlObject, current, currentType);
                     }
                 }
             } else {
-                placeValueInFieldMap(prefixName, xo);
+                placeValue(plan.child(prefix, xo.getName().getLocalPart()), xo);
                 // Extended columns for parent-to-child relation with the same values.
-                if (null != prefixTypeName) {
-                    placeValueInFieldMap(prefixTypeName, xo);
+                if (null != prefixType) {
+                    placeValue(plan.child(prefixType, xo.getName().getLocalPart()), xo);
                 }
             }
         }
 
         /**
-         * Puts parsed values into value map by column names or complex column names.<br/>
+         * the elements of a root object without type are not prefixed, and have no type column
+         */
+        private boolean isNullRoot(Column prefix) {
+            return prefix == plan.root && prefix.name.isEmpty();
+        }
+
+        /**
+         * Puts parsed values into the slots of the columns.<br/>
          * For <b>Parent-to-Child</b> relation stores duplicates to grant a possibility<br/>
          * to get values by such column names in child table:
          * <code>Contact.Name, Contact.Account.Name</code>
          *
-         * @param prefixName - name to be appended to column name.
+         * @param column - column of the value.
          * @param xo - XML object that contains column value.
          */
-        private void placeValueInFieldMap(String prefixName, XmlObject xo) {
+        private void placeValue(Column column, XmlObject xo) {
             Object value = xo.getValue();
-            String columnName = null;
-            if (prefixName != null && prefixName.length() > 0) {
-                columnName = prefixName + schema.getProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER)
-                        + xo.getName().getLocalPart();
-            } else {
-                columnName = xo.getName().getLocalPart();
+            if (value != null) {
+                value = formatIfNecessary(value, column);
             }
 
-            if (value != null) {
-                value = formatIfNecessary(value, columnName);
+            int slot = column.slot;
+            if (slot >= values.length) {
+                int length = Math.max(slot + 1, values.length * 2);
+                values = Arrays.copyOf(values, length);
+                found = Arrays.copyOf(found, length);
             }
-            if (valueMap.get(columnName) == null) {
-                valueMap.put(columnName, value);
+            found[slot] = true;
+            if (values[slot] == null) {
+                values[slot] = value;
             } else {
-                if (!columnName.equals(xo.getName().getLocalPart())) {
-                    valueMap
-                            .put(columnName, valueMap.get(columnName)
-                                    + schema.getProp(SalesforceSchemaConstants.VALUE_DELIMITER) + value);
+                if (!column.bare) {
+                    values[slot] = values[slot] + schema.getProp(SalesforceSchemaConstants.VALUE_DELIMITER) + value;
                 }
             }
         }
 
-        private String formatIfNecessary(Object value, String columnName) {
+        private String formatIfNecessary(Object value, Column column) {
             final String text;
             if (isAggregateResult) {
                 if (value instanceof String) {
@@ -254,7 +389,7 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
                 } else if (value instanceof Long) {
                     text = "" + value;
                 } else if (value instanceof Date) {
-                    AvroConverter converter = name2converter.get(columnName);
+                    AvroConverter converter = column.converter;
                     if ((converter == null) || !(converter instanceof StringToDateConverter)) {
                         text = calendarCodec.getValueAsString(value);
                     } else {
@@ -262,7 +397,7 @@ public class SObjectAdapterFactory implements IndexedRecordConverter<SObject, In
                         text = stdc.getFormat().format((Date) value);
                     }
                 } else if (value instanceof Calendar) {
-                    AvroConverter converter = name2converter.get(columnName);
+                    AvroConverter converter = column.converter;
                     if ((converter == null) || !(converter instanceof StringToDateConverter)) {
                         text = calendarCodec.getValueAsString(value);
                     } else {
@@ -59,6 +59,7 @@ final class SalesforceBulkExecReader extends SalesforceReader {
                 new SalesforceBulkRuntime(((SalesforceSource) getCurrentSource()).connect(container).bulkConnection);
         bulkRuntime.setConcurrencyMode(sprops.bulkProperties.concurrencyMode.getValue());
         bulkRuntime.setAwaitTime(sprops.bulkProperties.waitTimeCheckBatchState.getValue());
+        bulkRuntime.setParallelThreads(sprops.bulkProperties.parallelThreads.getValue());
         bulkRuntime.setSafetySwitch(sprops.bulkProperties.safetySwitch.getValue());
 
         try {
@@ -76,6 +76,7 @@ public class SalesforceBulkExecRuntime extends SalesforceSourceOrSink
             SalesforceBulkRuntime bulkRuntime = new SalesforceBulkRuntime(connect(container).bulkConnection);
             bulkRuntime.setConcurrencyMode(sprops.bulkProperties.concurrencyMode.getValue());
             bulkRuntime.setAwaitTime(sprops.bulkProperties.waitTimeCheckBatchState.getValue());
+            bulkRuntime.setParallelThreads(sprops.bulkProperties.parallelThreads.getValue());
             // We only support CSV file for bulk output
             bulkRuntime
                     .executeBulk(sprops.module.moduleName.getStringValue(), sprops.outputAction.getValue(),
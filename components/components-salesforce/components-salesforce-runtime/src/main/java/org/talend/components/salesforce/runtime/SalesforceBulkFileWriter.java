@@ -17,7 +17,6 @@ import java.util.List;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
-import org.apache.avro.generic.IndexedRecord;
 import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.component.runtime.WriteOperation;
 import org.talend.components.api.container.RuntimeContainer;
@@ -102,24 +101,13 @@ final class SalesforceBulkFileWriter extends BulkFileWriter {
     }
 
     @Override
-    public List<String> getValues(Object datum) {
-        IndexedRecord input = getFactory(datum).convertToAvro((IndexedRecord) datum);
-        List<String> values = new ArrayList<String>();
-        for (Field f : input.getSchema().getFields()) {
-            if (checkDeleteOption(f.name())) {
-                continue;
-            }
-            if (input.get(f.pos()) == null) {
-                if (getBulkProperties().ignoreNull.getValue()) {
-                    values.add("");
-                } else {
-                    values.add("#N/A");
-                }
-            } else {
-                values.add(String.valueOf(input.get(f.pos())));
-            }
-        }
-        return values;
+    protected boolean isIncluded(Field field) {
+        return !checkDeleteOption(field.name());
+    }
+
+    @Override
+    protected String getNullValue() {
+        return getBulkProperties().ignoreNull.getValue() ? "" : "#N/A";
     }
 
     protected TSalesforceOutputBulkProperties getBulkProperties() {
@@ -82,26 +82,25 @@ public class SalesforceBulkQueryInputReader extends SalesforceReader<IndexedReco
     }
 
     private boolean retrieveNextResultSet() throws IOException {
-        while (bulkRuntime.hasNextResultId()) {
-            String resultId = bulkRuntime.nextResultId();
-            if (null != resultId) {
-                try {
-                    // Get a new result set
-                    bulkResultSet = bulkRuntime.getQueryResultSet(resultId);
-                } catch (AsyncApiException | ConnectionException e) {
-                    throw new IOException(e);
-                }
+        while (true) {
+            try {
+                // Get a new result set, the results of the chunk batches may be downloaded in background
+                bulkResultSet = bulkRuntime.nextQueryResultSet();
+            } catch (AsyncApiException | ConnectionException e) {
+                throw new IOException(e);
+            }
+            if (bulkResultSet == null) {
+                return false;
+            }
 
-                currentRecord = bulkResultSet.next();
-                // If currentRecord is null, we need to check if resultId set has more entries.
-                if (null != currentRecord) {
-                    // New result set available to retrieve
-                    dataCount++;
-                    return true;
-                }
+            currentRecord = bulkResultSet.next();
+            // If currentRecord is null, we need to check if there are more result sets.
+            if (null != currentRecord) {
+                // New result set available to retrieve
+                dataCount++;
+                return true;
             }
         }
-        return false;
     }
 
     @Override
@@ -110,6 +109,9 @@ public class SalesforceBulkQueryInputReader extends SalesforceReader<IndexedReco
             bulkRuntime.closeJob();
         } catch (AsyncApiException | ConnectionException e) {
             throw new IOException(e);
+        } finally {
+            // stop the downloads of the results which are not read
+            bulkRuntime.close();
         }
     }
 
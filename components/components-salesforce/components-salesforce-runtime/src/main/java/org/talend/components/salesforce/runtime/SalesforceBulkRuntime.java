@@ -22,13 +22,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -132,6 +148,48 @@ public class SalesforceBulkRuntime {
 
     private static final int MAX_BATCH_EXECUTION_TIME = 600 * 1000;
 
+    /**
+     * the shortest interval to check the batch state in the pipelined mode
+     */
+    private static final long MIN_AWAIT_TIME = 1000L;
+
+    private int parallelThreads = 1;
+
+    /**
+     * only created when several threads are used, it uploads the batches and downloads their results
+     */
+    private ExecutorService batchExecutor;
+
+    /**
+     * the result files of the completed batches which are downloaded in background, key is the batch id
+     */
+    private final Map<String, Future<File>> batchResultFiles = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * the count of the downloaded chunk results which are not read, by thread
+     */
+    private static final int CHUNK_PREFETCH_FACTOR = 2;
+
+    private boolean unorderedChunkResults;
+
+    /**
+     * key is the result id, value is the id of its batch, the results of a pk chunking query are in the chunk batches
+     */
+    private Map<String, String> queryResultBatchIds = new HashMap<>();
+
+    /**
+     * the chunk batches which are not read yet when their results are downloaded in background, in the order of the job
+     */
+    private LinkedHashMap<String, ChunkBatch> chunkBatches;
+
+    private String chunkQueryBatchId;
+
+    private int prefetchedChunkResults;
+
+    private long lastChunkPoll;
+
     public SalesforceBulkRuntime(BulkConnection bulkConnection) throws IOException {
         this.bulkConnection = bulkConnection;
         if (this.bulkConnection == null) {
@@ -158,6 +216,8 @@ public class SalesforceBulkRuntime {
                 : TSalesforceInputProperties.DEFAULT_CHUNK_SLEEP_TIME * 1000;
 
         this.parentObject = properties.specifyParent.getValue() ? properties.parentObject.getValue() : "";
+        setParallelThreads(properties.chunkParallelThreads.getValue());
+        this.unorderedChunkResults = Boolean.TRUE.equals(properties.unorderedChunkResults.getValue());
     }
 
     public int getChunkSize() {
@@ -172,6 +232,22 @@ public class SalesforceBulkRuntime {
         this.safetySwitch = safetySwitch;
     }
 
+    /**
+     * Set the count of the threads to upload the batches and download their results. With more than one thread, the
+     * batches are uploaded while the file is still being split (only when the concurrency mode is not serial, as the
+     * serial mode need the batches to be created in order), and the result of a batch is downloaded as soon as it's
+     * completed. For a pk chunking query, the results of the chunk batches are downloaded by these threads.
+     *
+     * @param parallelThreads - the count of the threads, 1 or null for the sequential execution.
+     */
+    public void setParallelThreads(Integer parallelThreads) {
+        this.parallelThreads = (parallelThreads == null || parallelThreads < 1) ? 1 : parallelThreads;
+    }
+
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
     /**
      * Set the global timeout of the job.
      *
@@ -185,6 +261,21 @@ public class SalesforceBulkRuntime {
         this.jobTimeOut = timeout * 1000; // from seconds to milliseconds
     }
 
+    private void createBatchExecutorIfNot() {
+        if (parallelThreads > 1 && batchExecutor == null) {
+            final AtomicInteger threadIndex = new AtomicInteger();
+            batchExecutor = Executors.newFixedThreadPool(parallelThreads, new ThreadFactory() {
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "SalesforceBulkRuntime-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
     private void setBulkOperation(String sObjectType, OutputAction userOperation, boolean hardDelete, String externalIdFieldName,
             String contentTypeStr, String bulkFileName, int maxBytes, int maxRows) {
         this.sObjectType = sObjectType;
@@ -224,6 +315,7 @@ public class SalesforceBulkRuntime {
     public void executeBulk(String sObjectType, OutputAction userOperation, boolean hardDelete, String externalIdFieldName, String contentTypeStr,
             String bulkFileName, int maxBytes, int maxRows) throws AsyncApiException, ConnectionException, IOException {
         setBulkOperation(sObjectType, userOperation, hardDelete, externalIdFieldName, contentTypeStr, bulkFileName, maxBytes, maxRows);
+        createBatchExecutorIfNot();
         job = createJob();
         if("JSON".equals(contentTypeStr)){
             batchInfoList =  createBatchesFromJSONFile();
@@ -322,15 +414,15 @@ public class SalesforceBulkRuntime {
      * @throws ConnectionException
      */
     private List<BatchInfo> createBatchesFromCSVFile() throws IOException, AsyncApiException, ConnectionException {
-        List<BatchInfo> batchInfos = new ArrayList<BatchInfo>();
+        List<Future<BatchInfo>> batchUploads = new ArrayList<>();
         BufferedReader rdr = new BufferedReader(new InputStreamReader(new FileInputStream(bulkFileName), FILE_ENCODING));
-        // read the CSV header row
-        byte[] headerBytes = (rdr.readLine() + "\n").getBytes("UTF-8");
-        int headerBytesLength = headerBytes.length;
-        File tmpFile = File.createTempFile("sforceBulkAPI", ".csv");
+        File tmpFile = null;
+        FileOutputStream tmpOut = null;
         // Split the CSV file into multiple batches
         try {
-            FileOutputStream tmpOut = new FileOutputStream(tmpFile);
+            // read the CSV header row
+            byte[] headerBytes = (rdr.readLine() + "\n").getBytes("UTF-8");
+            int headerBytesLength = headerBytes.length;
             int currentBytes = 0;
             int currentLines = 0;
             String nextLine;
@@ -356,12 +448,16 @@ public class SalesforceBulkRuntime {
                 byte[] bytes = (nextLine + "\n").getBytes("UTF-8");
 
                 // Create a new batch when our batch size limit is reached
-                if (currentBytes + bytes.length > maxBytesPerBatch || currentLines > maxRowsPerBatch) {
-                    createBatch(tmpOut, tmpFile, batchInfos);
+                if (currentBytes > 0 && (currentBytes + bytes.length > maxBytesPerBatch || currentLines > maxRowsPerBatch)) {
+                    createBatch(tmpOut, tmpFile, batchUploads);
+                    tmpOut = null;
+                    tmpFile = null;
                     currentBytes = 0;
                     currentLines = 0;
                 }
                 if (currentBytes == 0) {
+                    // every batch has its own file, as it may be uploaded while the next one is being written
+                    tmpFile = File.createTempFile("sforceBulkAPI", ".csv");
                     tmpOut = new FileOutputStream(tmpFile);
                     tmpOut.write(headerBytes);
                     currentBytes = headerBytesLength;
@@ -377,18 +473,20 @@ public class SalesforceBulkRuntime {
             }
             // Finished processing all rows
             // Create a final batch for any remaining data
-            rdr.close();
             if (currentLines > 1) {
-                createBatch(tmpOut, tmpFile, batchInfos);
+                createBatch(tmpOut, tmpFile, batchUploads);
+                tmpOut = null;
+                tmpFile = null;
             }
         } finally {
-            tmpFile.delete();
+            closeResources(rdr, tmpOut);
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
         }
-        return batchInfos;
+        return getUploadedBatches(batchUploads);
     }
 
-
-
     /**
      * Create and upload batches using a Json file. The file into the appropriate size batch files.
      *
@@ -398,7 +496,7 @@ public class SalesforceBulkRuntime {
      * @throws ConnectionException
      */
     private List<BatchInfo> createBatchesFromJSONFile() throws IOException, AsyncApiException, ConnectionException {
-        List<BatchInfo> batchInfos = new ArrayList<BatchInfo>();
+        List<Future<BatchInfo>> batchInfos = new ArrayList<>();
         long startTime = System.currentTimeMillis();
         JsonFactory jsonFactory = new JsonFactory();
         int bucket = 0;
@@ -458,10 +556,10 @@ public class SalesforceBulkRuntime {
 
         LOGGER.debug("Last time: {} milliseconds", (endTime - startTime));
 
-        return batchInfos;
+        return getUploadedBatches(batchInfos);
     }
 
-    private void createJsonBatch(long offset,long length,List<BatchInfo> batchInfos)
+    private void createJsonBatch(long offset,long length,List<Future<BatchInfo>> batchInfos)
             throws IOException, AsyncApiException, ConnectionException {
 
         File tmpFile = File.createTempFile("sforceBulkAPI", ".json");
@@ -484,36 +582,113 @@ public class SalesforceBulkRuntime {
             }
             fileOutputStream.write(93);// write ARRAY_END
             fileOutputStream.flush();
-        }
-
-        try (FileInputStream tmpInputStream = new FileInputStream(tmpFile)){
-            BatchInfo batchInfo = createBatchFromStream(job, tmpInputStream);
-            LOGGER.debug("Batch Infor: " +batchInfo);
-            batchInfos.add(batchInfo);
-        } finally {
+        } catch (IOException e) {
             tmpFile.delete();
+            throw e;
         }
 
+        uploadBatch(tmpFile, batchInfos);
     }
 
     /**
      * Create a batch by uploading the contents of the file. This closes the output stream.
      *
      * @param tmpOut The output stream used to write the CSV data for a single batch.
-     * @param tmpFile The file associated with the above stream.
-     * @param batchInfos The batch info for the newly created batch is added to this list.
+     * @param tmpFile The file associated with the above stream, it's deleted after uploading.
+     * @param batchUploads The upload of the newly created batch is added to this list.
      *
      * @throws IOException
      * @throws AsyncApiException
      * @throws ConnectionException
      */
-    private void createBatch(FileOutputStream tmpOut, File tmpFile, List<BatchInfo> batchInfos)
+    private void createBatch(FileOutputStream tmpOut, File tmpFile, List<Future<BatchInfo>> batchUploads)
             throws IOException, AsyncApiException, ConnectionException {
-        tmpOut.flush();
-        tmpOut.close();
-        try(FileInputStream tmpInputStream = new FileInputStream(tmpFile)) {
-            BatchInfo batchInfo = createBatchFromStream(job, tmpInputStream);
-            batchInfos.add(batchInfo);
+        try {
+            tmpOut.flush();
+            tmpOut.close();
+        } catch (IOException e) {
+            tmpFile.delete();
+            throw e;
+        }
+        uploadBatch(tmpFile, batchUploads);
+    }
+
+    /**
+     * Upload a batch file in current thread, or in the batch executor if the batches can be uploaded in parallel. The
+     * file is deleted after uploading.
+     */
+    private void uploadBatch(final File batchFile, List<Future<BatchInfo>> batchUploads)
+            throws IOException, AsyncApiException, ConnectionException {
+        Callable<BatchInfo> upload = new Callable<BatchInfo>() {
+
+            @Override
+            public BatchInfo call() throws Exception {
+                try (FileInputStream tmpInputStream = new FileInputStream(batchFile)) {
+                    BatchInfo batchInfo = createBatchFromStream(job, tmpInputStream);
+                    LOGGER.debug("Batch created: {}", batchInfo.getId());
+                    return batchInfo;
+                } finally {
+                    batchFile.delete();
+                }
+            }
+        };
+
+        // the serial mode process the batches by the creation order, so they must be created one by one
+        if (batchExecutor == null || ConcurrencyMode.Serial.equals(concurrencyMode)) {
+            try {
+                batchUploads.add(CompletableFuture.completedFuture(upload.call()));
+            } catch (IOException | AsyncApiException | ConnectionException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ComponentException(e);
+            }
+            return;
+        }
+
+        // no more waiting batch files than the threads, so the splitting doesn't go too far before the uploading
+        int running = 0;
+        for (Future<BatchInfo> batchUpload : batchUploads) {
+            if (!batchUpload.isDone()) {
+                running++;
+            }
+        }
+        for (int i = 0; running >= parallelThreads && i < batchUploads.size(); i++) {
+            if (!batchUploads.get(i).isDone()) {
+                getBatchFuture(batchUploads.get(i));
+                running--;
+            }
+        }
+
+        batchUploads.add(batchExecutor.submit(upload));
+    }
+
+    private List<BatchInfo> getUploadedBatches(List<Future<BatchInfo>> batchUploads)
+            throws IOException, AsyncApiException, ConnectionException {
+        List<BatchInfo> batchInfos = new ArrayList<BatchInfo>();
+        for (Future<BatchInfo> batchUpload : batchUploads) {
+            batchInfos.add(getBatchFuture(batchUpload));
+        }
+        return batchInfos;
+    }
+
+    private static <T> T getBatchFuture(Future<T> future) throws IOException, AsyncApiException, ConnectionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof AsyncApiException) {
+                throw (AsyncApiException) cause;
+            } else if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ComponentException(cause);
         }
     }
 
@@ -556,6 +731,7 @@ public class SalesforceBulkRuntime {
      */
     private void awaitCompletion() throws AsyncApiException, ConnectionException {
         long sleepTime = 0L;
+        long minSleepTime = Math.min(MIN_AWAIT_TIME, awaitTime);
         Set<String> incomplete = new HashSet<String>();
         for (BatchInfo bi : batchInfoList) {
             incomplete.add(bi.getId());
@@ -565,16 +741,67 @@ public class SalesforceBulkRuntime {
                 Thread.sleep(sleepTime);
             } catch (InterruptedException e) {
             }
-            sleepTime = awaitTime;
+            boolean progress = false;
             BatchInfo[] statusList = getBatchInfoList(job.getId()).getBatchInfo();
             for (BatchInfo b : statusList) {
                 if (b.getState() == BatchStateEnum.Completed || b.getState() == BatchStateEnum.Failed) {
-                    incomplete.remove(b.getId());
+                    if (incomplete.remove(b.getId())) {
+                        progress = true;
+                        prefetchBatchResult(b);
+                    }
                 }
             }
+
+            if (batchExecutor == null) {
+                sleepTime = awaitTime;
+            } else {
+                // check again soon while the batches are completing, and slow down to the await time when nothing changes
+                sleepTime = progress ? minSleepTime : Math.min(awaitTime, Math.max(minSleepTime, sleepTime * 2));
+            }
         }
     }
 
+    /**
+     * Download the result of a completed batch in background, so the results are ready when they are read one by one
+     */
+    private void prefetchBatchResult(final BatchInfo batch) {
+        if (batchExecutor == null || ContentType.JSON.equals(contentType) || batch.getState() != BatchStateEnum.Completed) {
+            return;
+        }
+
+        batchResultFiles.put(batch.getId(), downloadInBackground(new Callable<InputStream>() {
+
+            @Override
+            public InputStream call() throws Exception {
+                return getBatchResultStream(job.getId(), batch.getId());
+            }
+        }));
+    }
+
+    /**
+     * Copy a result stream to a temporary file by the batch threads
+     */
+    private Future<File> downloadInBackground(final Callable<InputStream> source) {
+        return batchExecutor.submit(new Callable<File>() {
+
+            @Override
+            public File call() throws Exception {
+                File resultFile = File.createTempFile("sforceBulkResult", ".csv");
+                try (InputStream result = source.call()) {
+                    Files.copy(result, resultFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (Exception e) {
+                    resultFile.delete();
+                    throw e;
+                }
+                if (closed) {
+                    resultFile.delete();
+                    return null;
+                }
+                return resultFile;
+            }
+        });
+    }
+
     /**
      * Get result from the reader
      *
@@ -688,11 +915,25 @@ public class SalesforceBulkRuntime {
     public List<BulkResult> getCSVBatchLog(int batchNum, String upsertKeyName)
             throws AsyncApiException, IOException, ConnectionException {
         // batchInfoList was populated when batches were created and submitted
-        List<BulkResult> resultInfoList = new ArrayList<BulkResult>();
-        BulkResult resultInfo;
         BatchInfo b = batchInfoList.get(batchNum);
-        CSVReader rdr = new CSVReader(getBatchResultStream(job.getId(), b.getId()));
+        Future<File> resultFile = batchResultFiles.remove(b.getId());
+        if (resultFile != null) {
+            File file = getBatchFuture(resultFile);
+            try (InputStream result = new FileInputStream(file)) {
+                return readCSVBatchLog(new CSVReader(result), upsertKeyName);
+            } finally {
+                file.delete();
+            }
+        }
 
+        try (InputStream result = getBatchResultStream(job.getId(), b.getId())) {
+            return readCSVBatchLog(new CSVReader(result), upsertKeyName);
+        }
+    }
+
+    private List<BulkResult> readCSVBatchLog(CSVReader rdr, String upsertKeyName) throws IOException {
+        List<BulkResult> resultInfoList = new ArrayList<BulkResult>();
+        BulkResult resultInfo;
         List<String> resultHeader = rdr.nextRecord();
         int resultCols = resultHeader.size();
         List<String> row;
@@ -797,13 +1038,43 @@ public class SalesforceBulkRuntime {
             }
         }
 
-        retrieveResultsOfQuery(info);
+        if (BatchStateEnum.NotProcessed == info.getState() && parallelThreads > 1) {
+            startChunkFetch(info);
+        } else {
+            retrieveResultsOfQuery(info);
+        }
     }
 
     public BulkResultSet getQueryResultSet(String resultId) throws AsyncApiException, IOException, ConnectionException {
-        baseFileReader = new com.talend.csv.CSVReader(new BufferedReader(
-                new InputStreamReader(getQueryResultStream(job.getId(), batchInfoList.get(0).getId(), resultId), FILE_ENCODING)),
-                ',');
+        String batchId = queryResultBatchIds.get(resultId);
+        if (batchId == null) {
+            batchId = batchInfoList.get(0).getId();
+        }
+        return createQueryResultSet(getQueryResultStream(job.getId(), batchId, resultId));
+    }
+
+    /**
+     * Returns the result sets of the query one by one, it works for all the queries. The results of the chunk batches
+     * are downloaded in background when several threads are set by the chunk properties.
+     *
+     * @return the next result set, or null if all the results are read
+     */
+    public BulkResultSet nextQueryResultSet() throws AsyncApiException, IOException, ConnectionException {
+        if (chunkBatches == null) {
+            String resultId = nextResultId();
+            return resultId == null ? null : getQueryResultSet(resultId);
+        }
+
+        File resultFile = nextChunkResultFile();
+        if (resultFile == null) {
+            return null;
+        }
+        // the file is removed when the result set is read to the end
+        return createQueryResultSet(Files.newInputStream(resultFile.toPath(), StandardOpenOption.DELETE_ON_CLOSE));
+    }
+
+    private BulkResultSet createQueryResultSet(InputStream result) throws IOException {
+        baseFileReader = new com.talend.csv.CSVReader(new BufferedReader(new InputStreamReader(result, FILE_ENCODING)), ',');
 
         baseFileReader.setSafetySwitch(safetySwitch);
         if (baseFileReader.readNext()) {
@@ -928,9 +1199,48 @@ public class SalesforceBulkRuntime {
     }
 
     public void close() throws IOException {
+        closed = true;
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+            batchExecutor = null;
+        }
+        // remove the downloaded results which are not read
+        for (Future<File> resultFile : batchResultFiles.values()) {
+            discardDownload(resultFile);
+        }
+        batchResultFiles.clear();
+        if (chunkBatches != null) {
+            for (ChunkBatch batch : chunkBatches.values()) {
+                if (batch.results == null) {
+                    continue;
+                }
+                for (ChunkResult result : batch.results) {
+                    if (result.file != null) {
+                        discardDownload(result.file);
+                    }
+                }
+            }
+            chunkBatches.clear();
+        }
         closeResources(br,readLog,jsonParserLog);
     }
 
+    private static void discardDownload(Future<File> resultFile) {
+        // a running download remove its file itself when it see the runtime is closed
+        if (!resultFile.cancel(true) && !resultFile.isCancelled()) {
+            try {
+                File file = resultFile.get();
+                if (file != null) {
+                    file.delete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // nothing to remove
+            }
+        }
+    }
+
     private void closeResources(Closeable... resources) throws IOException {
 
         List<IOException> exceptions = new ArrayList<>();
@@ -996,12 +1306,16 @@ public class SalesforceBulkRuntime {
 
         if (BatchStateEnum.Completed == info.getState()) {
             QueryResultList list = getQueryResultList(job.getId(), info.getId());
-            queryResultIDs = new HashSet<String>(Arrays.asList(list.getResult())).iterator();
+            queryResultBatchIds = new LinkedHashMap<>();
+            for (String resultId : list.getResult()) {
+                queryResultBatchIds.put(resultId, info.getId());
+            }
+            queryResultIDs = queryResultBatchIds.keySet().iterator();
             this.batchInfoList = Collections.singletonList(info);
             return;
         }
         BatchInfoList batchInfoList = null;
-        Set<String> resultSet = new HashSet<>();
+        Map<String, String> resultSet = new LinkedHashMap<>();
         boolean isInProgress = true;
         while (isInProgress) {
             batchInfoList = getBatchInfoList(job.getId());
@@ -1020,11 +1334,14 @@ public class SalesforceBulkRuntime {
             if (batch.getId().equals(info.getId())) {
                 continue;
             }
-            resultSet.addAll(Arrays.asList(getQueryResultList(job.getId(), batch.getId()).getResult()));
+            for (String resultId : getQueryResultList(job.getId(), batch.getId()).getResult()) {
+                resultSet.put(resultId, batch.getId());
+            }
             LOGGER.debug("Finished batch info: " + batch.toString().replaceAll("\n", ","));
         }
 
-        queryResultIDs = resultSet.iterator();
+        queryResultBatchIds = resultSet;
+        queryResultIDs = resultSet.keySet().iterator();
         this.batchInfoList = Arrays.asList(batchInfoList.getBatchInfo());
     }
 
@@ -1065,6 +1382,201 @@ public class SalesforceBulkRuntime {
         return false;
     }
 
+    /**
+     * Start to read the results of a pk chunking query while the chunk batches are still processed. The states of the
+     * batches are checked every chunk sleep time, and the results of the completed batches are downloaded to temporary
+     * files by the batch threads, at most {@link #CHUNK_PREFETCH_FACTOR} results by thread are downloaded before they
+     * are read.
+     *
+     * @param info - batch info of the query batch.
+     */
+    private void startChunkFetch(BatchInfo info) throws AsyncApiException, ConnectionException {
+        createBatchExecutorIfNot();
+        chunkQueryBatchId = info.getId();
+        chunkBatches = new LinkedHashMap<>();
+        pollChunkBatches();
+    }
+
+    private void pollChunkBatches() throws AsyncApiException, ConnectionException {
+        lastChunkPoll = System.currentTimeMillis();
+        BatchInfoList batchInfos = getBatchInfoList(job.getId());
+        for (BatchInfo batch : batchInfos.getBatchInfo()) {
+            if (batch.getId().equals(chunkQueryBatchId)) {
+                continue;
+            }
+
+            ChunkBatch chunkBatch = chunkBatches.get(batch.getId());
+            if (chunkBatch == null) {
+                // the batches are listed in the order of the job
+                chunkBatch = new ChunkBatch(batch.getId());
+                chunkBatches.put(batch.getId(), chunkBatch);
+            } else if (chunkBatch.results != null) {
+                continue;
+            }
+
+            switch (batch.getState()) {
+            case Completed:
+                chunkBatch.results = new LinkedList<>();
+                for (String resultId : getQueryResultList(job.getId(), batch.getId()).getResult()) {
+                    chunkBatch.results.add(new ChunkResult(resultId));
+                }
+                LOGGER.debug("Finished batch info: " + batch.toString().replaceAll("\n", ","));
+                break;
+            case NotProcessed:
+            case Failed:
+                TalendRuntimeException.build(SalesforceErrorCodes.ERROR_IN_BULK_QUERY_PROCESSING)
+                        .put(ExceptionContext.KEY_MESSAGE, batch.getStateMessage()).throwIt();
+            default:
+                break;
+            }
+        }
+
+        long processingTime = lastChunkPoll - job.getCreatedDate().getTimeInMillis();
+        if (processingTime > MAX_BATCH_EXECUTION_TIME && hasIncompleteChunkBatch()) {
+            // Stop waiting and return the processed data if any batch was processed.
+            LOGGER.warn(MESSAGES.getMessage("warn.batch.timeout"));
+            for (ChunkBatch chunkBatch : chunkBatches.values()) {
+                if (chunkBatch.results == null) {
+                    chunkBatch.results = new LinkedList<>();
+                }
+            }
+        }
+    }
+
+    private boolean hasIncompleteChunkBatch() {
+        for (ChunkBatch chunkBatch : chunkBatches.values()) {
+            if (chunkBatch.results == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the downloaded file of the next chunk result, or null if all the results are read
+     */
+    private File nextChunkResultFile() throws AsyncApiException, IOException, ConnectionException {
+        while (true) {
+            long sinceLastPoll = System.currentTimeMillis() - lastChunkPoll;
+            if (sinceLastPoll >= chunkSleepTime && hasIncompleteChunkBatch()) {
+                pollChunkBatches();
+                sinceLastPoll = 0;
+            }
+
+            scheduleChunkDownloads();
+            ChunkResult next = unorderedChunkResults ? takeDownloadedChunkResult() : takeOrderedChunkResult();
+            if (next != null) {
+                prefetchedChunkResults--;
+                File resultFile = getBatchFuture(next.file);
+                if (resultFile == null) {
+                    throw new IOException("The result " + next.id + " is not downloaded as the runtime is closed");
+                }
+                return resultFile;
+            }
+
+            if (chunkBatches.isEmpty()) {
+                return null;
+            }
+
+            // nothing can be read before the next batches are completed
+            try {
+                Thread.sleep(Math.max(0, chunkSleepTime - sinceLastPoll));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ComponentException(e);
+            }
+        }
+    }
+
+    private void scheduleChunkDownloads() {
+        int maxPrefetched = parallelThreads * CHUNK_PREFETCH_FACTOR;
+        for (ChunkBatch chunkBatch : chunkBatches.values()) {
+            if (chunkBatch.results == null) {
+                continue;
+            }
+            for (ChunkResult result : chunkBatch.results) {
+                if (prefetchedChunkResults >= maxPrefetched) {
+                    return;
+                }
+                if (result.file == null) {
+                    scheduleChunkDownload(chunkBatch, result);
+                }
+            }
+        }
+    }
+
+    private void scheduleChunkDownload(final ChunkBatch chunkBatch, final ChunkResult result) {
+        result.file = downloadInBackground(new Callable<InputStream>() {
+
+            @Override
+            public InputStream call() throws Exception {
+                return getQueryResultStream(job.getId(), chunkBatch.id, result.id);
+            }
+        });
+        prefetchedChunkResults++;
+    }
+
+    /**
+     * @return the first result of the first batch, or null if the first batch is not completed
+     */
+    private ChunkResult takeOrderedChunkResult() {
+        Iterator<ChunkBatch> batches = chunkBatches.values().iterator();
+        while (batches.hasNext()) {
+            ChunkBatch chunkBatch = batches.next();
+            if (chunkBatch.results == null) {
+                return null;
+            }
+            ChunkResult result = chunkBatch.results.poll();
+            if (result == null) {
+                batches.remove();
+                continue;
+            }
+            if (result.file == null) {
+                // the buffers may be used by the next batches, but the first result must be read anyway
+                scheduleChunkDownload(chunkBatch, result);
+            }
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * @return the first downloaded result of any completed batch, or the first result being downloaded, or null if no
+     * result is being downloaded
+     */
+    private ChunkResult takeDownloadedChunkResult() {
+        ChunkResult pending = null;
+        Iterator<ChunkBatch> batches = chunkBatches.values().iterator();
+        while (batches.hasNext()) {
+            ChunkBatch chunkBatch = batches.next();
+            if (chunkBatch.results == null) {
+                continue;
+            }
+            if (chunkBatch.results.isEmpty()) {
+                batches.remove();
+                continue;
+            }
+            for (ChunkResult result : chunkBatch.results) {
+                if (result.file != null && result.file.isDone()) {
+                    chunkBatch.results.remove(result);
+                    return result;
+                }
+                if (result.file != null && pending == null) {
+                    pending = result;
+                }
+            }
+        }
+
+        if (pending != null) {
+            for (ChunkBatch chunkBatch : chunkBatches.values()) {
+                if (chunkBatch.results != null && chunkBatch.results.remove(pending)) {
+                    break;
+                }
+            }
+        }
+        return pending;
+    }
+
     public String nextResultId() {
         String resultId = null;
         if (queryResultIDs != null && queryResultIDs.hasNext()) {
@@ -1077,4 +1589,35 @@ public class SalesforceBulkRuntime {
         return queryResultIDs != null && queryResultIDs.hasNext();
     }
 
+    /**
+     * a chunk batch of a pk chunking query, its results are known when it's completed
+     */
+    private static class ChunkBatch {
+
+        private final String id;
+
+        /**
+         * the results which are not read, null if the batch is not completed
+         */
+        private LinkedList<ChunkResult> results;
+
+        private ChunkBatch(String id) {
+            this.id = id;
+        }
+    }
+
+    private static class ChunkResult {
+
+        private final String id;
+
+        /**
+         * the downloaded file, null if the download is not started
+         */
+        private Future<File> file;
+
+        private ChunkResult(String id) {
+            this.id = id;
+        }
+    }
+
 }
@@ -45,6 +45,8 @@ final class SalesforceBulkV2ExecReader extends SalesforceReader {
 
     private boolean failedResultRetrieved;
 
+    private boolean unprocessedResultRetrieved;
+
     private BulkResultSet bulkResultSet;
 
     private int successCount;
@@ -144,7 +146,7 @@ final class SalesforceBulkV2ExecReader extends SalesforceReader {
     }
 
     private boolean retrieveResultSet() throws IOException {
-        if (successResultRetrieved && failedResultRetrieved) {
+        if (successResultRetrieved && failedResultRetrieved && unprocessedResultRetrieved) {
             return false;
         }
         if (!successResultRetrieved) {
@@ -169,6 +171,18 @@ final class SalesforceBulkV2ExecReader extends SalesforceReader {
                 return true;
             }
         }
+        if (!unprocessedResultRetrieved) {
+            // the records of the jobs which failed when the file is split in several jobs
+            bulkResultSet = bulkRuntime.getUnprocessedResultSet();
+            unprocessedResultRetrieved = true;
+            currentRecord = bulkResultSet.next();
+            if (currentRecord == null) {
+                return retrieveResultSet();
+            } else {
+                countData();
+                return true;
+            }
+        }
 
         return false;
     }
@@ -22,7 +22,9 @@ import org.talend.components.salesforce.SalesforceGetDeletedUpdatedProperties;
 
 import com.sforce.soap.partner.DeletedRecord;
 import com.sforce.soap.partner.GetDeletedResult;
+import com.sforce.soap.partner.PartnerConnection;
 import com.sforce.soap.partner.QueryResult;
+import com.sforce.soap.partner.sobject.SObject;
 import com.sforce.ws.ConnectionException;
 
 public class SalesforceGetDeletedReader extends SalesforceGetDeletedUpdatedReader<GetDeletedResult> {
@@ -31,8 +33,6 @@ public class SalesforceGetDeletedReader extends SalesforceGetDeletedUpdatedReade
 
     protected List<String> queryStringList;
 
-    private transient QueryResult inputResult;
-
     public SalesforceGetDeletedReader(RuntimeContainer adaptor, SalesforceSource source,
             SalesforceGetDeletedUpdatedProperties props) {
         super(adaptor, source, props);
@@ -64,13 +64,11 @@ public class SalesforceGetDeletedReader extends SalesforceGetDeletedUpdatedReade
             if (queryStringList.size() == 0) {
                 return false;
             }
-            inputResult = getConnection().queryAll(queryStringList.get(queryIndex++));
-            inputRecords = inputResult.getRecords();
-            while (!inputResult.isDone()) {
-                inputResult = getConnection().queryMore(inputResult.getQueryLocator());
-                inputRecords = ArrayUtils.addAll(inputRecords, inputResult.getRecords());
-            }
+            inputRecords = queryAllRecords(getConnection(), queryStringList.get(queryIndex++));
             inputRecordsIndex = 0;
+            if (isReadAhead() && queryIndex < queryStringList.size()) {
+                startReadAhead();
+            }
         } catch (ConnectionException e) {
             throw new IOException(e);
         }
@@ -89,16 +87,28 @@ public class SalesforceGetDeletedReader extends SalesforceGetDeletedUpdatedReade
             dataCount++;
             return true;
         }
-        if ((inputResult == null || inputResult.isDone()) && queryIndex < queryStringList.size()) {
+        if (nextRecords != null) {
             try {
-                inputResult = getConnection().queryAll(queryStringList.get(queryIndex++));
-                inputRecords = inputResult.getRecords();
-                while (!inputResult.isDone()) {
-                    inputResult = getConnection().queryMore(inputResult.getQueryLocator());
-                    inputRecords = ArrayUtils.addAll(inputRecords, inputResult.getRecords());
+                SObject[] records = nextRecords.take();
+                if (records == null) {
+                    return false;
+                }
+                inputRecords = records;
+                inputRecordsIndex = 0;
+                boolean isAdvanced = inputRecords.length > 0;
+                if (isAdvanced) {
+                    dataCount++;
                 }
+                return isAdvanced;
+            } catch (ConnectionException e) {
+                throw new IOException(e);
+            }
+        }
+        if (queryIndex < queryStringList.size()) {
+            try {
+                inputRecords = queryAllRecords(getConnection(), queryStringList.get(queryIndex++));
                 inputRecordsIndex = 0;
-                boolean isAdvanced = inputResult.getSize() > 0;
+                boolean isAdvanced = inputRecords.length > 0;
                 if (isAdvanced) {
                     dataCount++;
                 }
@@ -110,6 +120,40 @@ public class SalesforceGetDeletedReader extends SalesforceGetDeletedUpdatedReade
         return false;
     }
 
+    /**
+     * Query all the records of a statement, including the next batches.
+     */
+    private static SObject[] queryAllRecords(PartnerConnection connection, String queryString) throws ConnectionException {
+        QueryResult inputResult = connection.queryAll(queryString);
+        SObject[] records = inputResult.getRecords();
+        while (!inputResult.isDone()) {
+            inputResult = connection.queryMore(inputResult.getQueryLocator());
+            records = ArrayUtils.addAll(records, inputResult.getRecords());
+        }
+        return records;
+    }
+
+    /**
+     * Query the next statements in a background thread with its own connection, one statement is queried while the
+     * records of the current one are read, and the records of another one may wait in the queue.
+     */
+    private void startReadAhead() throws IOException, ConnectionException {
+        final PartnerConnection connection = connectWithSession(getConnection());
+        final int firstIndex = queryIndex;
+        nextRecords = new ReadAheadQueue<>("SalesforceGetDeletedReader-queryAll", 1, new ReadAheadQueue.Fetcher<SObject[]>() {
+
+            private int nextIndex = firstIndex;
+
+            @Override
+            public SObject[] fetch() throws ConnectionException {
+                if (nextIndex >= queryStringList.size()) {
+                    return null;
+                }
+                return queryAllRecords(connection, queryStringList.get(nextIndex++));
+            }
+        });
+    }
+
     /**
      * Get the SOQL statements with the SObject Ids which get from the reocord.
      * Because of the SOQL statements have a limitation of the length.
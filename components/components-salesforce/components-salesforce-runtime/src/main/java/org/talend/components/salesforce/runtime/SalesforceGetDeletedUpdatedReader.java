@@ -39,6 +39,11 @@ public abstract class SalesforceGetDeletedUpdatedReader<ResultT> extends Salesfo
 
     protected Calendar endDate;
 
+    /**
+     * the next records retrieved in background, only used in the read ahead mode
+     */
+    protected transient ReadAheadQueue<SObject[]> nextRecords;
+
     public SalesforceGetDeletedUpdatedReader(RuntimeContainer container, SalesforceSource source,
             SalesforceGetDeletedUpdatedProperties props) {
         super(container, source);
@@ -57,6 +62,22 @@ public abstract class SalesforceGetDeletedUpdatedReader<ResultT> extends Salesfo
         }
     }
 
+    /**
+     * @return true if the next records should be retrieved in background while the current ones are read
+     */
+    protected boolean isReadAhead() {
+        return Boolean.TRUE.equals(((SalesforceGetDeletedUpdatedProperties) properties).readAhead.getValue());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (nextRecords != null) {
+            nextRecords.close();
+            nextRecords = null;
+        }
+        super.close();
+    }
+
     abstract protected String[] getRecordIds(ResultT result);
 
     /**
@@ -13,15 +13,29 @@
 package org.talend.components.salesforce.runtime;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.avro.Schema;
 import org.apache.commons.lang3.ArrayUtils;
 import org.talend.components.api.container.RuntimeContainer;
 import org.talend.components.salesforce.SalesforceGetDeletedUpdatedProperties;
+import org.talend.components.salesforce.tsalesforcegetupdated.TSalesforceGetUpdatedProperties;
 
 import com.sforce.soap.partner.GetUpdatedResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.soap.partner.sobject.SObject;
 import com.sforce.ws.ConnectionException;
 
 public class SalesforceGetUpdatedReader extends SalesforceGetDeletedUpdatedReader<GetUpdatedResult> {
@@ -32,6 +46,23 @@ public class SalesforceGetUpdatedReader extends SalesforceGetDeletedUpdatedReade
 
     private static int MAXIMUM_RETRIEVE = 2000;
 
+    /**
+     * an org only allows 25 long running requests at the same time, keep some of them for the other clients
+     */
+    static final int MAXIMUM_RETRIEVE_THREADS = 10;
+
+    private transient ExecutorService retrieveExecutor;
+
+    /**
+     * the retrieve calls which are submitted to the executor, in the order of the id chunks
+     */
+    private transient Deque<Future<SObject[]>> retrieves;
+
+    /**
+     * the connections of the retrieve threads, a connection is only used by one thread at the same time
+     */
+    private transient BlockingQueue<PartnerConnection> retrieveConnections;
+
     public SalesforceGetUpdatedReader(RuntimeContainer adaptor, SalesforceSource source,
             SalesforceGetDeletedUpdatedProperties props) {
         super(adaptor, source, props);
@@ -58,8 +89,17 @@ public class SalesforceGetUpdatedReader extends SalesforceGetDeletedUpdatedReade
             if (idsList.size() == 0) {
                 return false;
             }
-            inputRecords = getConnection().retrieve(getFieldNamesStr(), properties.module.moduleName.getValue(),
-                    idsList.get(queryIndex++));
+            int retrieveThreads = getRetrieveThreads();
+            if (retrieveThreads > 1 && idsList.size() > 1) {
+                startParallelRetrieve(retrieveThreads);
+                inputRecords = takeRetrieved();
+            } else {
+                inputRecords = getConnection().retrieve(getFieldNamesStr(), properties.module.moduleName.getValue(),
+                        idsList.get(queryIndex++));
+                if (isReadAhead() && queryIndex < idsList.size()) {
+                    startReadAhead();
+                }
+            }
             inputRecordsIndex = 0;
         } catch (ConnectionException e) {
             throw new IOException(e);
@@ -79,6 +119,23 @@ public class SalesforceGetUpdatedReader extends SalesforceGetDeletedUpdatedReade
             dataCount++;
             return true;
         }
+        if (nextRecords != null || retrieves != null) {
+            try {
+                SObject[] records = nextRecords != null ? nextRecords.take() : takeRetrieved();
+                if (records == null) {
+                    return false;
+                }
+                inputRecords = records;
+                inputRecordsIndex = 0;
+                boolean isAdvanced = inputRecords.length > 0;
+                if (isAdvanced) {
+                    dataCount++;
+                }
+                return isAdvanced;
+            } catch (ConnectionException e) {
+                throw new IOException(e);
+            }
+        }
         if (queryIndex < idsList.size()) {
             try {
                 inputRecords = getConnection().retrieve(getFieldNamesStr(), properties.module.moduleName.getValue(),
@@ -96,6 +153,129 @@ public class SalesforceGetUpdatedReader extends SalesforceGetDeletedUpdatedReade
         return false;
     }
 
+    /**
+     * Retrieve the next chunks of ids in a background thread with its own connection, one chunk is retrieved while the
+     * current one is read, and another one may wait in the queue.
+     */
+    private void startReadAhead() throws IOException, ConnectionException {
+        final PartnerConnection connection = connectWithSession(getConnection());
+        final String fieldNames = getFieldNamesStr();
+        final String moduleName = properties.module.moduleName.getValue();
+        final int firstIndex = queryIndex;
+        nextRecords = new ReadAheadQueue<>("SalesforceGetUpdatedReader-retrieve", 1, new ReadAheadQueue.Fetcher<SObject[]>() {
+
+            private int nextIndex = firstIndex;
+
+            @Override
+            public SObject[] fetch() throws ConnectionException {
+                if (nextIndex >= idsList.size()) {
+                    return null;
+                }
+                return connection.retrieve(fieldNames, moduleName, idsList.get(nextIndex++));
+            }
+        });
+    }
+
+    /**
+     * @return the count of the retrieve calls which run at the same time, limited by {@link #MAXIMUM_RETRIEVE_THREADS}
+     */
+    protected int getRetrieveThreads() {
+        if (!(properties instanceof TSalesforceGetUpdatedProperties)) {
+            return 1;
+        }
+        Integer retrieveThreads = ((TSalesforceGetUpdatedProperties) properties).retrieveThreads.getValue();
+        if (retrieveThreads == null || retrieveThreads < 1) {
+            return 1;
+        }
+        return Math.min(retrieveThreads, MAXIMUM_RETRIEVE_THREADS);
+    }
+
+    /**
+     * Retrieve the chunks of ids with several threads, each thread uses its own connection with the session of the main
+     * connection as a connection is not thread safe. The chunks are retrieved in order, and the records are returned in
+     * the same order as the sequential retrieve.
+     */
+    private void startParallelRetrieve(int retrieveThreads) throws IOException, ConnectionException {
+        PartnerConnection connection = getConnection();
+        retrieveConnections = new ArrayBlockingQueue<>(retrieveThreads);
+        for (int i = 0; i < retrieveThreads; i++) {
+            retrieveConnections.add(connectWithSession(connection));
+        }
+        final AtomicInteger threadIndex = new AtomicInteger();
+        retrieveExecutor = Executors.newFixedThreadPool(retrieveThreads, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "SalesforceGetUpdatedReader-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        retrieves = new ArrayDeque<>();
+        for (int i = 0; i < retrieveThreads; i++) {
+            submitRetrieve();
+        }
+    }
+
+    private void submitRetrieve() throws IOException {
+        if (queryIndex >= idsList.size()) {
+            return;
+        }
+        final String fieldNames = getFieldNamesStr();
+        final String moduleName = properties.module.moduleName.getValue();
+        final String[] ids = idsList.get(queryIndex++);
+        retrieves.add(retrieveExecutor.submit(new Callable<SObject[]>() {
+
+            @Override
+            public SObject[] call() throws ConnectionException, InterruptedException {
+                PartnerConnection connection = retrieveConnections.take();
+                try {
+                    return connection.retrieve(fieldNames, moduleName, ids);
+                } finally {
+                    retrieveConnections.put(connection);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Wait for the records of the next chunk, and submit the retrieve of another chunk so all the threads keep busy.
+     *
+     * @return the records of the next chunk, or null if all the chunks are read
+     */
+    private SObject[] takeRetrieved() throws IOException, ConnectionException {
+        Future<SObject[]> retrieve = retrieves.poll();
+        if (retrieve == null) {
+            return null;
+        }
+        submitRetrieve();
+        try {
+            return retrieve.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (retrieveExecutor != null) {
+            retrieveExecutor.shutdownNow();
+            retrieveExecutor = null;
+            retrieves = null;
+            retrieveConnections = null;
+        }
+        super.close();
+    }
+
     /**
      * It can be passed a maximum of 2000 object IDs to the retrieve() call.
      * Need to split it into different arrays when objects are more than 2000
@@ -32,6 +32,7 @@ import org.talend.components.salesforce.soql.SoqlQuery;
 import org.talend.components.salesforce.tsalesforceinput.TSalesforceInputProperties;
 import org.talend.daikon.avro.AvroUtils;
 
+import com.sforce.soap.partner.PartnerConnection;
 import com.sforce.soap.partner.QueryResult;
 import com.sforce.soap.partner.sobject.SObject;
 import com.sforce.ws.ConnectionException;
@@ -47,6 +48,11 @@ public class SalesforceInputReader extends SalesforceReader<IndexedRecord> {
 
     private transient int inputRecordsIndex;
 
+    /**
+     * the next batches queried in background, only used in the read ahead mode
+     */
+    private transient ReadAheadQueue<QueryResult> nextResults;
+
     public SalesforceInputReader(RuntimeContainer container, SalesforceSource source, TSalesforceInputProperties props) {
         super(container, source);
         properties = props;
@@ -123,6 +129,10 @@ public class SalesforceInputReader extends SalesforceReader<IndexedRecord> {
             }
             inputRecords = inputResult.getRecords();
             inputRecordsIndex = 0;
+            boolean readAhead = Boolean.TRUE.equals(((TSalesforceInputProperties) properties).readAhead.getValue());
+            if (readAhead && !inputResult.isDone()) {
+                startReadAhead(inputResult);
+            }
             boolean start = inputRecords.length > 0;
             if (start) {
                 dataCount++;
@@ -149,7 +159,15 @@ public class SalesforceInputReader extends SalesforceReader<IndexedRecord> {
 
         try {
             // Get a new result set based on batch size
-            inputResult = getConnection().queryMore(inputResult.getQueryLocator());
+            if (nextResults != null) {
+                QueryResult nextResult = nextResults.take();
+                if (nextResult == null) {
+                    return false;
+                }
+                inputResult = nextResult;
+            } else {
+                inputResult = getConnection().queryMore(inputResult.getQueryLocator());
+            }
             inputRecords = inputResult.getRecords();
             inputRecordsIndex = 0;
             boolean advance = inputRecords != null && inputRecords.length > 0;
@@ -165,6 +183,36 @@ public class SalesforceInputReader extends SalesforceReader<IndexedRecord> {
 
     }
 
+    /**
+     * Query the next batches in a background thread with its own connection, one batch is queried while the current one
+     * is read, and another one may wait in the queue.
+     */
+    private void startReadAhead(final QueryResult firstResult) throws IOException, ConnectionException {
+        final PartnerConnection connection = connectWithSession(getConnection());
+        nextResults = new ReadAheadQueue<>("SalesforceInputReader-queryMore", 1, new ReadAheadQueue.Fetcher<QueryResult>() {
+
+            private QueryResult lastResult = firstResult;
+
+            @Override
+            public QueryResult fetch() throws ConnectionException {
+                if (lastResult.isDone()) {
+                    return null;
+                }
+                lastResult = connection.queryMore(lastResult.getQueryLocator());
+                return lastResult;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (nextResults != null) {
+            nextResults.close();
+            nextResults = null;
+        }
+        super.close();
+    }
+
     public SObject getCurrentSObject() throws NoSuchElementException {
         return inputRecords[inputRecordsIndex];
     }
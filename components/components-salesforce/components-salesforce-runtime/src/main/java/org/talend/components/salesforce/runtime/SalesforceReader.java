@@ -33,6 +33,7 @@ import org.talend.daikon.i18n.GlobalI18N;
 import org.talend.daikon.i18n.I18nMessages;
 
 import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectionException;
 
 public abstract class SalesforceReader<T> extends AbstractBoundedReader<T> {
 
@@ -69,6 +70,14 @@ public abstract class SalesforceReader<T> extends AbstractBoundedReader<T> {
         return connection;
     }
 
+    /**
+     * @return another connection with the session of the given one, for the calls sent by another thread as a
+     * connection is not thread safe, and the connection of the reader may be shared with other components
+     */
+    protected PartnerConnection connectWithSession(PartnerConnection connection) throws ConnectionException {
+        return ((SalesforceSource) getCurrentSource()).connectWithSession(connection);
+    }
+
     protected IndexedRecordConverter<?, IndexedRecord> getFactory() throws IOException {
         if (null == factory) {
             Schema schema = getSchema();
@@ -21,7 +21,6 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.*;
 import java.security.cert.CertificateException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -46,13 +45,13 @@ import org.talend.components.salesforce.common.SalesforceRuntimeSourceOrSink;
 import org.talend.components.salesforce.connection.oauth.SalesforceOAuthConnection;
 import org.talend.components.salesforce.runtime.common.ConnectionHolder;
 import org.talend.components.salesforce.runtime.common.SalesforceConstant;
+import org.talend.components.salesforce.runtime.common.SalesforceMetadataCache;
 import org.talend.components.salesforce.runtime.common.SalesforceRuntimeCommon;
 import org.talend.components.salesforce.schema.SalesforceSchemaHelper;
 import org.talend.components.salesforce.soql.FieldDescription;
 import org.talend.components.salesforce.soql.SoqlQuery;
 import org.talend.components.salesforce.soql.SoqlQueryBuilder;
 import org.talend.daikon.NamedThing;
-import org.talend.daikon.SimpleNamedThing;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.i18n.GlobalI18N;
 import org.talend.daikon.i18n.I18nMessages;
@@ -65,8 +64,6 @@ import org.talend.proxy.TalendProxySelector;
 
 import com.sforce.async.AsyncApiException;
 import com.sforce.async.BulkConnection;
-import com.sforce.soap.partner.DescribeGlobalResult;
-import com.sforce.soap.partner.DescribeGlobalSObjectResult;
 import com.sforce.soap.partner.DescribeSObjectResult;
 import com.sforce.soap.partner.GetUserInfoResult;
 import com.sforce.soap.partner.LoginResult;
@@ -352,6 +349,44 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
         }
     }
 
+    /**
+     * Create another connection with the session of the given connection, so several SOAP calls can be sent at the same
+     * time without a new login. The session is renewed by the session renewer of the given connection.
+     */
+    protected PartnerConnection connectWithSession(PartnerConnection connection) throws ConnectionException {
+        ConnectorConfig config = connection.getConfig();
+        ConnectorConfig sessionConfig = new ConnectorConfig();
+        setProxy(sessionConfig);
+        if (config.getSslContext() != null) {
+            sessionConfig.setSslContext(config.getSslContext());
+        }
+        sessionConfig.setSessionId(config.getSessionId());
+        sessionConfig.setServiceEndpoint(config.getServiceEndpoint());
+        // For session renew
+        sessionConfig.setSessionRenewer(config.getSessionRenewer());
+        sessionConfig.setUsername(config.getUsername());
+        sessionConfig.setPassword(config.getPassword());
+        sessionConfig.setConnectionTimeout(config.getConnectionTimeout());
+        sessionConfig.setReadTimeout(config.getReadTimeout());
+        sessionConfig.setCompression(config.isCompression());
+        sessionConfig.setUseChunkedPost(config.useChunkedPost());
+        sessionConfig.setTraceMessage(config.isTraceMessage());
+        sessionConfig.setValidateSchema(false);
+
+        sessionConfig.setManualLogin(true);
+        PartnerConnection sessionConnection = new PartnerConnection(sessionConfig);
+        sessionConfig.setManualLogin(false);
+        sessionConnection.setSessionHeader(config.getSessionId());
+        if (connection.getCallOptions() != null) {
+            sessionConnection.setCallOptions(connection.getCallOptions().getClient(),
+                    connection.getCallOptions().getDefaultNamespace());
+        }
+        if (connection.getQueryOptions() != null) {
+            sessionConnection.setQueryOptions(connection.getQueryOptions().getBatchSize());
+        }
+        return sessionConnection;
+    }
+
     private static RuntimeInfo getStaticRuntimeInfo() {
         // since the runtime is executed from this class we don't need any dependencies, they should be resolved
         // already.
@@ -424,19 +459,14 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
     }
 
     protected List<NamedThing> getSchemaNames(PartnerConnection connection) throws IOException {
-        List<NamedThing> returnList = new ArrayList<>();
-        DescribeGlobalResult result = null;
+        if (!isUseMetadataCache()) {
+            return SalesforceRuntimeCommon.getSchemaNames(connection);
+        }
         try {
-            result = connection.describeGlobal();
+            return SalesforceMetadataCache.get().getSchemaNames(connection);
         } catch (ConnectionException e) {
             throw new ComponentException(e);
         }
-        DescribeGlobalSObjectResult[] objects = result.getSobjects();
-        for (DescribeGlobalSObjectResult obj : objects) {
-            LOG.debug("module label: " + obj.getLabel() + " name: " + obj.getName());
-            returnList.add(new SimpleNamedThing(obj.getName(), obj.getLabel()));
-        }
-        return returnList;
     }
 
     @Override
@@ -446,9 +476,12 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
 
     protected Schema getSchema(PartnerConnection connection, String module) throws IOException {
         try {
-            DescribeSObjectResult[] describeSObjectResults = new DescribeSObjectResult[0];
-            describeSObjectResults = connection.describeSObjects(new String[] { module });
-            return SalesforceAvroRegistry.get().inferSchema(describeSObjectResults[0]);
+            if (!isUseMetadataCache()) {
+                DescribeSObjectResult[] describeSObjectResults = connection.describeSObjects(new String[] { module });
+                return SalesforceAvroRegistry.get().inferSchema(describeSObjectResults[0]);
+            }
+            File metadataFile = isReuseSession() ? new File(getMetadataFilePath()) : null;
+            return SalesforceMetadataCache.get().getSchema(connection, module, SalesforceAvroRegistry.get(), metadataFile);
         } catch (ConnectionException e) {
             throw new IOException(e);
         }
@@ -575,6 +608,22 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
         }
     }
 
+    /**
+     * Whether the module metadata are cached, they are described for each call otherwise
+     */
+    protected boolean isUseMetadataCache() {
+        return Boolean.TRUE.equals(getConnectionProperties().useMetadataCache.getValue());
+    }
+
+    /**
+     * The schemas of the modules are persisted next to the session file
+     */
+    protected String getMetadataFilePath() {
+        SalesforceConnectionProperties connectionProperties = getConnectionProperties();
+        return connectionProperties.sessionDirectory.getValue() + "/" + SalesforceConstant.METADATA_FILE_PREFIX
+                + connectionProperties.userPassword.userId.getValue();
+    }
+
     /**
      * Whether reuse session available
      */
@@ -595,7 +644,10 @@ public class SalesforceSourceOrSink implements SalesforceRuntimeSourceOrSink, Sa
         DescribeSObjectResult describeSObjectResult = null;
 
         try {
-            describeSObjectResult = connect(null).connection.describeSObject(query.getDrivingEntityName());
+            PartnerConnection connection = connect(null).connection;
+            describeSObjectResult = isUseMetadataCache()
+                    ? SalesforceMetadataCache.get().describeSObject(connection, query.getDrivingEntityName())
+                    : connection.describeSObject(query.getDrivingEntityName());
         } catch (ConnectionException e) {
             throw new RuntimeException(e.getMessage());
         }
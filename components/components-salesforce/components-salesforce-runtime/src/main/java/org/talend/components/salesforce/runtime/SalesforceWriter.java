@@ -17,12 +17,23 @@ import static org.talend.components.salesforce.SalesforceOutputProperties.Output
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -66,6 +77,11 @@ import com.sforce.ws.util.Base64;
 
 final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord, IndexedRecord> {
 
+    /**
+     * an org only allows 25 long running requests at the same time, keep some of them for the other clients
+     */
+    static final int MAXIMUM_WRITE_THREADS = 10;
+
     private transient final Logger LOGGER = LoggerFactory.getLogger(SalesforceWriter.class);
 
     private final I18nMessages MESSAGES = GlobalI18N.getI18nMessageProvider().getI18nMessages(SalesforceWriter.class);
@@ -96,6 +112,20 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
 
     protected boolean exceptionForErrors;
 
+    protected final int writeThreads;
+
+    private transient ExecutorService writeExecutor;
+
+    /**
+     * the connections of the write threads, one for each SOAP call which is sent at the same time
+     */
+    private transient BlockingQueue<PartnerConnection> writeConnections;
+
+    /**
+     * the SOAP calls which are sent but not reported yet, in the order of the input records
+     */
+    private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+
     private int dataCount;
 
     private int successCount;
@@ -131,8 +161,11 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
         sprops = sink.getSalesforceOutputProperties();
         if (sprops.extendInsert.getValue()) {
             commitLevel = sprops.commitLevel.getValue();
+            Integer threads = sprops.writeThreads.getValue();
+            writeThreads = (threads == null || threads < 1) ? 1 : Math.min(threads, MAXIMUM_WRITE_THREADS);
         } else {
             commitLevel = 1;
+            writeThreads = 1;
         }
         int arraySize = commitLevel * 2;
         deleteItems = new ArrayList<>(arraySize);
@@ -166,6 +199,36 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
         if (!StringUtils.isEmpty(sprops.logFileName.getValue())) {
             logWriter = new BufferedWriter(new FileWriter(sprops.logFileName.getValue()));
         }
+
+        if (writeThreads > 1) {
+            startWriteThreads();
+        }
+    }
+
+    /**
+     * Send the SOAP calls with several threads, each thread uses its own connection with the session of the main
+     * connection. The SObjects are still created by the caller thread, so they are built while the previous calls are
+     * sent.
+     */
+    private void startWriteThreads() throws IOException {
+        writeConnections = new ArrayBlockingQueue<>(writeThreads);
+        try {
+            for (int i = 0; i < writeThreads; i++) {
+                writeConnections.add(sink.connectWithSession(connection));
+            }
+        } catch (ConnectionException e) {
+            throw new IOException(e);
+        }
+        final AtomicInteger threadIndex = new AtomicInteger();
+        writeExecutor = Executors.newFixedThreadPool(writeThreads, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "SalesforceWriter-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 
     @SuppressWarnings("unchecked")
@@ -360,20 +423,21 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
             }
 
             String[] changedItemKeys = new String[accs.length];
+            if (writeExecutor != null) {
+                submitWrite(OutputAction.INSERT, insertItems, changedItemKeys, new SoapCall() {
+
+                    @Override
+                    public Object call(PartnerConnection writeConnection) throws ConnectionException {
+                        return writeConnection.create(accs);
+                    }
+                });
+                insertItems.clear();
+                return null;
+            }
             SaveResult[] saveResults;
             try {
                 saveResults = connection.create(accs);
-                if (saveResults != null && saveResults.length != 0) {
-                    int batch_idx = -1;
-                    for (int i = 0; i < saveResults.length; i++) {
-                        ++batch_idx;
-                        if (saveResults[i].getSuccess()) {
-                            handleSuccess(insertItems.get(i), saveResults[i].getId(), null, -saveResults.length + i);
-                        } else {
-                            handleReject(insertItems.get(i), saveResults[i].getErrors(), changedItemKeys, batch_idx);
-                        }
-                    }
-                }
+                handleSaveResults(insertItems, saveResults, changedItemKeys, 0);
                 insertItems.clear();
                 return saveResults;
             } catch (ConnectionException e) {
@@ -404,21 +468,23 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
             for (int ix = 0; ix < upds.length; ++ix) {
                 changedItemKeys[ix] = upds[ix].getId();
             }
+            if (writeExecutor != null) {
+                final SObject[] records = upds;
+                submitWrite(OutputAction.UPDATE, updateItems, changedItemKeys, new SoapCall() {
+
+                    @Override
+                    public Object call(PartnerConnection writeConnection) throws ConnectionException {
+                        return writeConnection.update(records);
+                    }
+                });
+                updateItems.clear();
+                return null;
+            }
             SaveResult[] saveResults;
             try {
                 saveResults = connection.update(upds);
                 upds = null;
-                if (saveResults != null && saveResults.length != 0) {
-                    int batch_idx = -1;
-                    for (int i = 0; i < saveResults.length; i++) {
-                        ++batch_idx;
-                        if (saveResults[i].getSuccess()) {
-                            handleSuccess(updateItems.get(i), saveResults[i].getId(), null, -saveResults.length + i);
-                        } else {
-                            handleReject(updateItems.get(i), saveResults[i].getErrors(), changedItemKeys, batch_idx);
-                        }
-                    }
-                }
+                handleSaveResults(updateItems, saveResults, changedItemKeys, 0);
                 updateItems.clear();
                 return saveResults;
             } catch (ConnectionException e) {
@@ -452,25 +518,24 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
                     changedItemKeys[ix] = String.valueOf(value);
                 }
             }
+            if (writeExecutor != null) {
+                final SObject[] records = upds;
+                final String externalIdFieldName = upsertKeyColumn;
+                submitWrite(OutputAction.UPSERT, upsertItems, changedItemKeys, new SoapCall() {
+
+                    @Override
+                    public Object call(PartnerConnection writeConnection) throws ConnectionException {
+                        return writeConnection.upsert(externalIdFieldName, records);
+                    }
+                });
+                upsertItems.clear();
+                return null;
+            }
             UpsertResult[] upsertResults;
             try {
                 upsertResults = connection.upsert(upsertKeyColumn, upds);
                 upds = null;
-                if (upsertResults != null && upsertResults.length != 0) {
-                    int batch_idx = -1;
-                    for (int i = 0; i < upsertResults.length; i++) {
-                        ++batch_idx;
-                        if (upsertResults[i].getSuccess()) {
-                            if (upsertResults[i].getCreated()) {
-                                handleSuccess(upsertItems.get(i), upsertResults[i].getId(), "created", -upsertResults.length + i);
-                            } else {
-                                handleSuccess(upsertItems.get(i), upsertResults[i].getId(), "updated", -upsertResults.length + i);
-                            }
-                        } else {
-                            handleReject(upsertItems.get(i), upsertResults[i].getErrors(), changedItemKeys, batch_idx);
-                        }
-                    }
-                }
+                handleUpsertResults(upsertItems, upsertResults, changedItemKeys, 0);
                 upsertItems.clear();
                 return upsertResults;
             } catch (ConnectionException e) {
@@ -481,6 +546,163 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
 
     }
 
+    /**
+     * @param dataCountShift - the count of the records which are written after the call, 0 for the sequential calls
+     */
+    private void handleSaveResults(List<IndexedRecord> items, SaveResult[] saveResults, String[] changedItemKeys,
+            int dataCountShift) throws IOException {
+        if (saveResults != null && saveResults.length != 0) {
+            int batch_idx = -1;
+            for (int i = 0; i < saveResults.length; i++) {
+                ++batch_idx;
+                if (saveResults[i].getSuccess()) {
+                    handleSuccess(items.get(i), saveResults[i].getId(), null, dataCountShift - saveResults.length + i);
+                } else {
+                    handleReject(items.get(i), saveResults[i].getErrors(), changedItemKeys, batch_idx, dataCountShift);
+                }
+            }
+        }
+    }
+
+    private void handleUpsertResults(List<IndexedRecord> items, UpsertResult[] upsertResults, String[] changedItemKeys,
+            int dataCountShift) throws IOException {
+        if (upsertResults != null && upsertResults.length != 0) {
+            int batch_idx = -1;
+            for (int i = 0; i < upsertResults.length; i++) {
+                ++batch_idx;
+                if (upsertResults[i].getSuccess()) {
+                    if (upsertResults[i].getCreated()) {
+                        handleSuccess(items.get(i), upsertResults[i].getId(), "created",
+                                dataCountShift - upsertResults.length + i);
+                    } else {
+                        handleSuccess(items.get(i), upsertResults[i].getId(), "updated",
+                                dataCountShift - upsertResults.length + i);
+                    }
+                } else {
+                    handleReject(items.get(i), upsertResults[i].getErrors(), changedItemKeys, batch_idx, dataCountShift);
+                }
+            }
+        }
+    }
+
+    private void handleDeleteResults(List<IndexedRecord> items, DeleteResult[] dr, String[] changedItemKeys,
+            int dataCountShift) throws IOException {
+        if (dr != null && dr.length != 0) {
+            int batch_idx = -1;
+            for (int i = 0; i < dr.length; i++) {
+                ++batch_idx;
+                if (dr[i].getSuccess()) {
+                    handleSuccess(items.get(i), dr[i].getId(), null, dataCountShift - dr.length + i);
+                } else {
+                    handleReject(items.get(i), dr[i].getErrors(), changedItemKeys, batch_idx, dataCountShift);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send a SOAP call by a write thread. When all the threads are busy, the oldest call is waited for, then the calls
+     * which are already finished are reported, so the feedback is always in the order of the input records.
+     *
+     * If a sent call has failed, no other call is sent: the calls before it are reported, then its failure is thrown.
+     */
+    private void submitWrite(OutputAction action, List<IndexedRecord> items, String[] changedItemKeys,
+            final SoapCall call) throws IOException {
+        while (pendingWrites.size() >= writeThreads) {
+            reportWrite(pendingWrites.poll());
+        }
+        reportFailedWrite();
+        final PendingWrite write = new PendingWrite(action, new ArrayList<>(items), changedItemKeys, dataCount);
+        write.results = writeExecutor.submit(new Callable<Object>() {
+
+            @Override
+            public Object call() throws Exception {
+                PartnerConnection writeConnection = writeConnections.take();
+                try {
+                    Object results = call.call(writeConnection);
+                    write.failed = exceptionForErrors && hasErrors(results);
+                    return results;
+                } catch (ConnectionException | RuntimeException e) {
+                    write.failed = true;
+                    throw e;
+                } finally {
+                    writeConnections.put(writeConnection);
+                }
+            }
+        });
+        pendingWrites.add(write);
+        while (!pendingWrites.isEmpty() && pendingWrites.peek().results.isDone()) {
+            reportWrite(pendingWrites.poll());
+        }
+    }
+
+    /**
+     * Report the calls in order until a failed one, whose failure is thrown, if one of the sent calls has failed.
+     */
+    private void reportFailedWrite() throws IOException {
+        boolean failed = false;
+        for (PendingWrite write : pendingWrites) {
+            failed |= write.failed;
+        }
+        while (failed && !pendingWrites.isEmpty()) {
+            reportWrite(pendingWrites.poll());
+        }
+    }
+
+    /**
+     * @return true if one of the records of the results is not written
+     */
+    private static boolean hasErrors(Object results) {
+        if (results instanceof SaveResult[]) {
+            for (SaveResult result : (SaveResult[]) results) {
+                if (!result.getSuccess()) {
+                    return true;
+                }
+            }
+        } else if (results instanceof UpsertResult[]) {
+            for (UpsertResult result : (UpsertResult[]) results) {
+                if (!result.getSuccess()) {
+                    return true;
+                }
+            }
+        } else if (results instanceof DeleteResult[]) {
+            for (DeleteResult result : (DeleteResult[]) results) {
+                if (!result.getSuccess()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void reportWrite(PendingWrite write) throws IOException {
+        Object results;
+        try {
+            results = write.results.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+        int dataCountShift = write.dataCount - dataCount;
+        switch (write.action) {
+        case INSERT:
+        case UPDATE:
+            handleSaveResults(write.items, (SaveResult[]) results, write.changedItemKeys, dataCountShift);
+            break;
+        case UPSERT:
+            handleUpsertResults(write.items, (UpsertResult[]) results, write.changedItemKeys, dataCountShift);
+            break;
+        case DELETE:
+            handleDeleteResults(write.items, (DeleteResult[]) results, write.changedItemKeys, dataCountShift);
+        }
+    }
+
     private void handleSuccess(IndexedRecord input, String id, String status, int dataCountOffset) {
         successCount++;
         Schema outSchema = sprops.schemaFlow.schema.getValue();
@@ -529,8 +751,11 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
         LOGGER.trace(MESSAGES.getMessage("info.successfulRecord", getPastForm(sprops.outputAction.getValue()), dataCount + dataCountOffset));
     }
 
-    private void handleReject(IndexedRecord input, Error[] resultErrors, String[] changedItemKeys, int batchIdx)
-            throws IOException {
+    /**
+     * @param dataCountShift - the count of the records which are written after the call, 0 for the sequential calls
+     */
+    private void handleReject(IndexedRecord input, Error[] resultErrors, String[] changedItemKeys, int batchIdx,
+            int dataCountShift) throws IOException {
         String changedItemKey = null;
         if (batchIdx < changedItemKeys.length) {
             if (changedItemKeys[batchIdx] != null) {
@@ -613,7 +838,8 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
             }
             Property<OutputAction> outputAction = sprops.outputAction;
             LOGGER.info(MESSAGES.getMessage("info.rejectedRecord",
-                    sprops.outputAction.getPossibleValuesDisplayName(outputAction.getValue()).toLowerCase(), dataCount));
+                    sprops.outputAction.getPossibleValuesDisplayName(outputAction.getValue()).toLowerCase(),
+                    dataCount + dataCountShift));
         }
     }
 
@@ -649,20 +875,21 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
                 delIDs[ix] = (String) deleteItems.get(ix).get(deleteFieldId);
                 changedItemKeys[ix] = delIDs[ix];
             }
+            if (writeExecutor != null) {
+                submitWrite(OutputAction.DELETE, deleteItems, changedItemKeys, new SoapCall() {
+
+                    @Override
+                    public Object call(PartnerConnection writeConnection) throws ConnectionException {
+                        return writeConnection.delete(delIDs);
+                    }
+                });
+                deleteItems.clear();
+                return null;
+            }
             DeleteResult[] dr;
             try {
                 dr = connection.delete(delIDs);
-                if (dr != null && dr.length != 0) {
-                    int batch_idx = -1;
-                    for (int i = 0; i < dr.length; i++) {
-                        ++batch_idx;
-                        if (dr[i].getSuccess()) {
-                            handleSuccess(deleteItems.get(i), dr[i].getId(), null, -dr.length + i);
-                        } else {
-                            handleReject(deleteItems.get(i), dr[i].getErrors(), changedItemKeys, batch_idx);
-                        }
-                    }
-                }
+                handleDeleteResults(deleteItems, dr, changedItemKeys, 0);
                 deleteItems.clear();
                 return dr;
             } catch (ConnectionException e) {
@@ -686,11 +913,25 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
     }
 
     private void logout() throws IOException {
+        if (!pendingWrites.isEmpty()) {
+            // The feedback of the calls still sent by the write threads replaces the one of the last record.
+            cleanWrites();
+        }
         // Finish anything uncommitted
         doInsert();
         doDelete();
         doUpdate();
         doUpsert();
+        if (writeExecutor != null) {
+            try {
+                while (!pendingWrites.isEmpty()) {
+                    reportWrite(pendingWrites.poll());
+                }
+            } finally {
+                writeExecutor.shutdownNow();
+                writeExecutor = null;
+            }
+        }
     }
 
     @Override
@@ -753,6 +994,43 @@ final class SalesforceWriter implements WriterWithFeedback<Result, IndexedRecord
         return MESSAGES.getMessage(String.format("outputAction.%s.pastForm", outputAction.name()));
     }
 
+    private interface SoapCall {
+
+        Object call(PartnerConnection connection) throws ConnectionException;
+    }
+
+    /**
+     * a SOAP call of a commit level of records, with what is needed to report its results
+     */
+    private static class PendingWrite {
+
+        private final OutputAction action;
+
+        private final List<IndexedRecord> items;
+
+        private final String[] changedItemKeys;
+
+        /**
+         * the count of the records which are written when the call is sent
+         */
+        private final int dataCount;
+
+        private Future<Object> results;
+
+        /**
+         * set by the write thread when the call throws an error, or when a record is not written and the writer dies on
+         * error
+         */
+        private volatile boolean failed;
+
+        private PendingWrite(OutputAction action, List<IndexedRecord> items, String[] changedItemKeys, int dataCount) {
+            this.action = action;
+            this.items = items;
+            this.changedItemKeys = changedItemKeys;
+            this.dataCount = dataCount;
+        }
+    }
+
     private boolean isValidBase64String(String isValidString){
         try {
            return Base64.isBase64(isValidString);
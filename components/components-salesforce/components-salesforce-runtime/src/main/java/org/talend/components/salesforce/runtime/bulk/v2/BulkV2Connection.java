@@ -34,6 +34,7 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
@@ -45,7 +46,9 @@ import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
 import org.codehaus.jackson.map.DeserializationConfig;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.codehaus.jackson.map.annotate.JsonSerialize.Inclusion;
@@ -72,6 +75,14 @@ public class BulkV2Connection {
 
     public static final String CSV_CONTENT_TYPE = "text/csv";
 
+    public static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * the count of the http connections which can be used at the same time, so several jobs can be uploaded and
+     * polled concurrently
+     */
+    public static final int MAXIMUM_CONNECTIONS = 10;
+
     private final I18nMessages MESSAGES =
             GlobalI18N.getI18nMessageProvider().getI18nMessages(BulkV2Connection.class);
 
@@ -186,20 +197,31 @@ public class BulkV2Connection {
     }
 
     public void uploadDataFromStream(String jobId, InputStream input) throws IOException {
+        uploadDataFromStream(jobId, input, false);
+    }
+
+    /**
+     * Upload the csv data of the job.
+     *
+     * @param compress - true to gzip the data while it's sent, the data is streamed in chunks then
+     */
+    public void uploadDataFromStream(String jobId, InputStream input, boolean compress) throws IOException {
         if (operationType != OperationType.LOAD) {
             throw new IOException(MESSAGES.getMessage("error.unsupported.method"));
         }
         try {
             String endpoint = getRestEndpoint();
             endpoint = endpoint + "jobs/ingest/" + jobId + "/batches";
-            HttpPut httpPut = (HttpPut) createRequest(endpoint, HttpMethod.PUT);
+            HttpPut httpPut = (HttpPut) createRequest(endpoint, HttpMethod.PUT, compress);
 
             InputStreamEntity entity = new InputStreamEntity(input, -1);
             entity.setContentType(CSV_CONTENT_TYPE);
             entity.setChunked(config.useChunkedPost());
 
-            httpPut.setEntity(entity);
+            httpPut.setEntity(compress ? new GzipCompressingEntity(entity) : entity);
             HttpResponse response = httpclient.execute(httpPut);
+            // release the connection for the other jobs
+            EntityUtils.consume(response.getEntity());
             if (response.getStatusLine().getStatusCode() != HttpStatus.SC_CREATED) {
                 throw new BulkV2ClientException(response.getStatusLine().getReasonPhrase());
             }
@@ -336,6 +358,13 @@ public class BulkV2Connection {
     }
 
     public HttpRequestBase createRequest(String uri, String httpMethod) throws IOException {
+        return createRequest(uri, httpMethod, false);
+    }
+
+    /**
+     * @param gzipContent - true when the content of the request is compressed with gzip
+     */
+    public HttpRequestBase createRequest(String uri, String httpMethod, boolean gzipContent) throws IOException {
 
         Proxy proxy = config.getProxy();
 
@@ -388,6 +417,10 @@ public class BulkV2Connection {
 
         request.setHeader(ACCESS_TOKEN, OAUTH_HEADER_NAME + " " + config.getSessionId());
 
+        if (gzipContent) {
+            request.setHeader("Content-Encoding", GZIP_ENCODING);
+        }
+
         if (httpHeaders != null) {
             for (Map.Entry<String, String> entry : httpHeaders.entrySet()) {
                 request.setHeader(entry.getKey(), entry.getValue());
@@ -420,6 +453,9 @@ public class BulkV2Connection {
 
     private CloseableHttpClient getHttpClient() {
         if (httpclient == null) {
+            // the default pool only allows 2 connections to the same host
+            HttpClientBuilder builder =
+                    HttpClients.custom().setMaxConnPerRoute(MAXIMUM_CONNECTIONS).setMaxConnTotal(MAXIMUM_CONNECTIONS);
             if (config != null && config.getProxy() != null) {
                 Proxy proxy = config.getProxy();
                 if (!Proxy.Type.DIRECT.equals(proxy.type()) && config.getProxyUsername() != null
@@ -430,10 +466,10 @@ public class BulkV2Connection {
                             ((InetSocketAddress) proxy.address()).getPort());
                     CredentialsProvider credsProvider = new BasicCredentialsProvider();
                     credsProvider.setCredentials(authScope, credentials);
-                    return HttpClients.custom().setDefaultCredentialsProvider(credsProvider).build();
+                    return builder.setDefaultCredentialsProvider(credsProvider).build();
                 }
             }
-            return HttpClients.createDefault();
+            return builder.build();
         }
         return httpclient;
     }
@@ -12,19 +12,36 @@
 //============================================================================
 package org.talend.components.salesforce.runtime.bulk.v2;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.components.salesforce.SalesforceBulkProperties;
 import org.talend.components.salesforce.SalesforceOutputProperties.OutputAction;
+import org.talend.components.salesforce.runtime.BulkResult;
 import org.talend.components.salesforce.runtime.BulkResultSet;
 import org.talend.components.salesforce.runtime.bulk.v2.error.BulkV2ClientException;
 import org.talend.components.salesforce.runtime.bulk.v2.request.CreateLoadJobRequest;
@@ -52,7 +69,22 @@ public class SalesforceBulkV2Runtime {
 
     private ContentType contentType;
 
-    private JobInfoV2 job;
+    /**
+     * the upper limit of the jobs run at the same time, it's the size of the connection pool
+     */
+    static final int MAXIMUM_PARALLEL_JOBS = BulkV2Connection.MAXIMUM_CONNECTIONS;
+
+    /**
+     * the jobs of the bulk file in the file order, there is only one job if the file is not split
+     */
+    private List<JobInfoV2> jobs = new ArrayList<>();
+
+    /**
+     * the ids of the jobs which are created and not processed yet, they are aborted when another job fails
+     */
+    private final List<String> runningJobIds = new ArrayList<>();
+
+    private boolean aborting;
 
     private long awaitTime = 10000L;
 
@@ -66,6 +98,12 @@ public class SalesforceBulkV2Runtime {
 
     private boolean safetySwitch = true;
 
+    private boolean compressUpload;
+
+    private int rowsPerJob;
+
+    private int parallelJobs = 1;
+
     public SalesforceBulkV2Runtime(BulkV2Connection bulkConnection, TSalesforceBulkExecProperties sprops)
             throws BulkV2ClientException {
         this.bulkConnection = bulkConnection;
@@ -81,6 +119,9 @@ public class SalesforceBulkV2Runtime {
         setObjectType(sprops.module.moduleName.getStringValue());
         setBulkFileName(sprops.bulkFilePath.getValue());
         setAwaitTime(sprops.bulkProperties.waitTimeCheckBatchState.getValue());
+        setCompressUpload(Boolean.TRUE.equals(sprops.bulkProperties.compressUpload.getValue()));
+        setRowsPerJob(sprops.bulkProperties.rowsPerJob.getValue());
+        setParallelJobs(sprops.bulkProperties.parallelJobs.getValue());
         intBulkOperation(sprops.outputAction.getValue());
     }
 
@@ -109,13 +150,162 @@ public class SalesforceBulkV2Runtime {
     }
 
     public void executeBulk() throws IOException, InterruptedException {
-        // 1. create job
-        job = createJob();
-        LOGGER.info(MESSAGES.getMessage("info.job.create", job.toString()));
-        // 2. upload data to job
-        try (FileInputStream input = new FileInputStream(new File(bulkFileName))) {
+        final File bulkFile = new File(bulkFileName);
+        jobs.clear();
+        List<Long> offsets = Collections.emptyList();
+        if (rowsPerJob > 0) {
+            try (InputStream input = new FileInputStream(bulkFile)) {
+                offsets = getJobOffsets(input, rowsPerJob);
+            }
+        }
+
+        // the first offset is the end of the header, each job is the header and the rows until the next offset
+        if (offsets.size() <= 2) {
+            JobInfoV2 job = runJob(new FileInputStream(bulkFile));
+            jobs.add(job);
+            if (job.getState() != JobStateEnum.JobComplete) {
+                throw new BulkV2ClientException(job.getErrorMessage());
+            }
+            return;
+        }
+
+        final byte[] header = new byte[offsets.get(0).intValue()];
+        try (InputStream input = new FileInputStream(bulkFile)) {
+            readFully(input, header);
+        }
+        List<Callable<JobInfoV2>> jobRuns = new ArrayList<>();
+        for (int i = 1; i < offsets.size(); i++) {
+            final long start = offsets.get(i - 1);
+            final long end = offsets.get(i);
+            jobRuns.add(new Callable<JobInfoV2>() {
+
+                @Override
+                public JobInfoV2 call() throws IOException, InterruptedException {
+                    return runJob(new SequenceInputStream(new ByteArrayInputStream(header),
+                            new FileRangeInputStream(bulkFile, start, end)));
+                }
+            });
+        }
+        runJobs(jobRuns);
+
+        // the results of the completed jobs are still returned when some jobs failed, the rows of the failed jobs are
+        // returned by the unprocessed result set
+        boolean completed = false;
+        String errorMessage = null;
+        for (JobInfoV2 job : jobs) {
+            if (job.getState() == JobStateEnum.JobComplete) {
+                completed = true;
+            } else {
+                LOGGER.error(job.getId() + ": " + job.getErrorMessage());
+                errorMessage = errorMessage == null ? job.getErrorMessage() : errorMessage;
+            }
+        }
+        if (!completed) {
+            throw new BulkV2ClientException(errorMessage);
+        }
+    }
+
+    private void runJobs(List<Callable<JobInfoV2>> jobRuns) throws IOException, InterruptedException {
+        synchronized (runningJobIds) {
+            aborting = false;
+            runningJobIds.clear();
+        }
+        int threads = Math.min(Math.min(parallelJobs, MAXIMUM_PARALLEL_JOBS), jobRuns.size());
+        final AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService jobExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "SalesforceBulkV2Runtime-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            // the jobs are taken when they end, so the failure of a job is known without waiting for the previous ones
+            CompletionService<JobInfoV2> jobCompletion = new ExecutorCompletionService<>(jobExecutor);
+            Map<Future<JobInfoV2>, Integer> jobIndexes = new HashMap<>();
+            for (Callable<JobInfoV2> jobRun : jobRuns) {
+                jobIndexes.put(jobCompletion.submit(jobRun), jobIndexes.size());
+            }
+            JobInfoV2[] endedJobs = new JobInfoV2[jobRuns.size()];
+            for (int i = 0; i < endedJobs.length; i++) {
+                Future<JobInfoV2> jobFuture = jobCompletion.take();
+                endedJobs[jobIndexes.get(jobFuture)] = getJobFuture(jobFuture);
+            }
+            jobs.addAll(Arrays.asList(endedJobs));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            jobExecutor.shutdownNow();
+            abortRunningJobs();
+            throw e;
+        } finally {
+            jobExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Abort the jobs which are created and not processed yet, so they don't keep running on the org after a failure.
+     * The jobs created after this call are aborted by their thread.
+     */
+    private void abortRunningJobs() {
+        List<String> jobIds;
+        synchronized (runningJobIds) {
+            aborting = true;
+            jobIds = new ArrayList<>(runningJobIds);
+            runningJobIds.clear();
+        }
+        for (String jobId : jobIds) {
+            abortJob(jobId);
+        }
+    }
+
+    private void abortJob(String jobId) {
+        try {
+            bulkConnection.updateJob(jobId, JobStateEnum.Aborted);
+            LOGGER.info("Job " + jobId + " is aborted.");
+        } catch (IOException | RuntimeException e) {
+            // the job may be processed already
+            LOGGER.warn("Can't abort the job " + jobId + ": " + e.getMessage());
+        }
+    }
+
+    private static JobInfoV2 getJobFuture(Future<JobInfoV2> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Create a job, upload the data to it and wait until it's processed.
+     *
+     * @return the last status of the job
+     */
+    private JobInfoV2 runJob(InputStream data) throws IOException, InterruptedException {
+        JobInfoV2 job;
+        try (InputStream input = data) {
+            // 1. create job
+            job = createJob();
+            LOGGER.info(MESSAGES.getMessage("info.job.create", job.toString()));
+            synchronized (runningJobIds) {
+                if (aborting) {
+                    abortJob(job.getId());
+                    throw new InterruptedException("Job " + job.getId() + " is aborted after the failure of another job");
+                }
+                runningJobIds.add(job.getId());
+            }
+            // 2. upload data to job
             LOGGER.info(MESSAGES.getMessage("info.job.upload", job.getId()));
-            bulkConnection.uploadDataFromStream(job.getId(), input);
+            bulkConnection.uploadDataFromStream(job.getId(), input, compressUpload);
         }
         // 3. close the job which would change the job static to "UploadComplete"
         job = bulkConnection.closeJob(job.getId());
@@ -126,12 +316,55 @@ public class SalesforceBulkV2Runtime {
             LOGGER.info(MESSAGES.getMessage("info.job.process", job.getId()));
             job = bulkConnection.getJobStatus(job.getId());
         }
+        synchronized (runningJobIds) {
+            runningJobIds.remove(job.getId());
+        }
         // 5. check the success and failed records.
         if (job.getState() == JobStateEnum.JobComplete) {
             LOGGER.info(MESSAGES.getMessage("info.result.success", job.getNumberRecordsProcessed()));
             LOGGER.info(MESSAGES.getMessage("info.result.failed", job.getNumberRecordsFailed()));
-        } else {
-            throw new BulkV2ClientException(job.getErrorMessage());
+        }
+        return job;
+    }
+
+    /**
+     * Find where the csv data is split in jobs. The line breaks in the quoted values are skipped, the quote is the same
+     * byte in all the encodings supported by the bulk api.
+     *
+     * @return the offset of the end of the header line, then the offset of the end of every {@code rowsPerJob} rows,
+     * the last offset is the end of the data
+     */
+    static List<Long> getJobOffsets(InputStream input, int rowsPerJob) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        byte[] buffer = new byte[64 * 1024];
+        boolean quoted = false;
+        long rows = -1;
+        long offset = 0;
+        int count;
+        while ((count = input.read(buffer)) != -1) {
+            for (int i = 0; i < count; i++) {
+                if (buffer[i] == '"') {
+                    quoted = !quoted;
+                } else if (buffer[i] == '\n' && !quoted && (++rows % rowsPerJob) == 0) {
+                    offsets.add(offset + i + 1);
+                }
+            }
+            offset += count;
+        }
+        if (offsets.isEmpty() || offsets.get(offsets.size() - 1) != offset) {
+            offsets.add(offset);
+        }
+        return offsets;
+    }
+
+    private static void readFully(InputStream input, byte[] bytes) throws IOException {
+        int read = 0;
+        while (read < bytes.length) {
+            int count = input.read(bytes, read, bytes.length - read);
+            if (count < 0) {
+                throw new IOException("Unexpected end of the bulk file");
+            }
+            read += count;
         }
     }
 
@@ -168,12 +401,49 @@ public class SalesforceBulkV2Runtime {
         this.columnDelimiter = columnDelimiter;
     }
 
+    /**
+     * @return the successful records of all the jobs
+     */
     public BulkResultSet getSuccessResultSet() throws IOException {
-        return getResultSet(bulkConnection.getResult(job.getId()));
+        return new JobsResultSet(jobs, false) {
+
+            @Override
+            protected InputStream openResult(JobInfoV2 job) throws IOException {
+                return bulkConnection.getResult(job.getId());
+            }
+        };
     }
 
+    /**
+     * @return the failed records of all the jobs
+     */
     public BulkResultSet getFailedResultSet() throws IOException {
-        return getResultSet(bulkConnection.getFailedRecordsStream(job.getId()));
+        return new JobsResultSet(jobs, false) {
+
+            @Override
+            protected InputStream openResult(JobInfoV2 job) throws IOException {
+                return bulkConnection.getFailedRecordsStream(job.getId());
+            }
+        };
+    }
+
+    /**
+     * @return the records of the jobs which are not completed, the error of the job is set as sf__Error
+     */
+    public BulkResultSet getUnprocessedResultSet() throws IOException {
+        List<JobInfoV2> failedJobs = new ArrayList<>();
+        for (JobInfoV2 job : jobs) {
+            if (job.getState() != JobStateEnum.JobComplete) {
+                failedJobs.add(job);
+            }
+        }
+        return new JobsResultSet(failedJobs, true) {
+
+            @Override
+            protected InputStream openResult(JobInfoV2 job) throws IOException {
+                return bulkConnection.getUnprocessedRecordsStream(job.getId());
+            }
+        };
     }
 
     public void setAwaitTime(long awaitTime) {
@@ -208,18 +478,42 @@ public class SalesforceBulkV2Runtime {
         this.safetySwitch = safetySwitch;
     }
 
+    public void setCompressUpload(boolean compressUpload) {
+        this.compressUpload = compressUpload;
+    }
+
+    /**
+     * @param rowsPerJob - the count of the rows of a job, 0 or null to upload the whole file in one job
+     */
+    public void setRowsPerJob(Integer rowsPerJob) {
+        this.rowsPerJob = (rowsPerJob == null || rowsPerJob < 0) ? 0 : rowsPerJob;
+    }
+
+    /**
+     * @param parallelJobs - the count of the jobs run at the same time, 1 or null to run them one by one
+     */
+    public void setParallelJobs(Integer parallelJobs) {
+        this.parallelJobs = (parallelJobs == null || parallelJobs < 1) ? 1 : parallelJobs;
+    }
+
+    public List<JobInfoV2> getJobs() {
+        return Collections.unmodifiableList(jobs);
+    }
+
     public int getNumberRecordsFailed() {
-        if (job != null) {
-            return job.getNumberRecordsFailed();
+        int count = 0;
+        for (JobInfoV2 job : jobs) {
+            count += job.getNumberRecordsFailed();
         }
-        return 0;
+        return count;
     }
 
     public int getNumberRecordsProcessed() {
-        if (job != null) {
-            return job.getNumberRecordsProcessed();
+        int count = 0;
+        for (JobInfoV2 job : jobs) {
+            count += job.getNumberRecordsProcessed();
         }
-        return 0;
+        return count;
     }
 
     public char getDelimitedChar(SalesforceBulkProperties.ColumnDelimiter columnDelimiter) {
@@ -244,4 +538,120 @@ public class SalesforceBulkV2Runtime {
         }
 
     }
+
+    /**
+     * The result records of several jobs, the result of a job is only downloaded when the records of the previous job
+     * are read.
+     */
+    private abstract class JobsResultSet extends BulkResultSet {
+
+        private final Iterator<JobInfoV2> jobIterator;
+
+        private final boolean withJobError;
+
+        private BulkResultSet jobResultSet;
+
+        private String jobError;
+
+        private JobsResultSet(List<JobInfoV2> jobs, boolean withJobError) {
+            super(null, null);
+            this.jobIterator = new ArrayList<>(jobs).iterator();
+            this.withJobError = withJobError;
+        }
+
+        protected abstract InputStream openResult(JobInfoV2 job) throws IOException;
+
+        @Override
+        public BulkResult next() throws IOException {
+            while (true) {
+                if (jobResultSet == null) {
+                    if (!jobIterator.hasNext()) {
+                        return null;
+                    }
+                    JobInfoV2 job = jobIterator.next();
+                    jobResultSet = getResultSet(openResult(job));
+                    jobError = job.getErrorMessage();
+                }
+                BulkResult result = jobResultSet.next();
+                if (result != null) {
+                    if (withJobError) {
+                        result.setValue("sf__Error", jobError);
+                    }
+                    return result;
+                }
+                jobResultSet = null;
+            }
+        }
+    }
+
+    /**
+     * Read a range of the bulk file, the file is only opened when it's read.
+     */
+    private static class FileRangeInputStream extends FilterInputStream {
+
+        private final File file;
+
+        private final long start;
+
+        private long remaining;
+
+        private FileRangeInputStream(File file, long start, long end) {
+            super(null);
+            this.file = file;
+            this.start = start;
+            this.remaining = end - start;
+        }
+
+        private void openIfNot() throws IOException {
+            if (in == null) {
+                FileInputStream input = new FileInputStream(file);
+                input.getChannel().position(start);
+                in = input;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            openIfNot();
+            int count = in.read(b, off, (int) Math.min(len, remaining));
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            openIfNot();
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return remaining <= 0 || in == null ? 0 : (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+    }
 }
@@ -22,4 +22,6 @@ public interface SalesforceConstant {
 
     String SESSION_FILE_PREFX = "sessionIDFile_";
 
+    String METADATA_FILE_PREFIX = "metadataFile_";
+
 }
@@ -0,0 +1,283 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.NamedThing;
+import org.talend.daikon.SimpleNamedThing;
+import org.talend.daikon.avro.AvroRegistry;
+
+import com.sforce.soap.partner.DescribeGlobalResult;
+import com.sforce.soap.partner.DescribeGlobalSObjectResult;
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.GetUserInfoResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectionException;
+import com.sforce.ws.ConnectorConfig;
+
+/**
+ * Process wide cache of the Salesforce metadata. The describe results and the schemas inferred from them are kept for
+ * a while, so the components which use the same module don't describe it again. The entries are keyed by the service
+ * endpoint (which contains the org id), the id of the user and the module name, and the oldest entries are dropped when
+ * the cache is full. The user id is asked once by session, as the user name is not known for an OAuth or session login.
+ *
+ * The schemas can also be persisted in a file, next to the session file when the session is reused, so a new job can
+ * skip the describe calls. The file only contains the schemas of the connection which saves it. The describe results
+ * are only kept in memory.
+ *
+ * The cache is only used when the connection enables it, it's off by default so the wizards and the data preparation
+ * always see the changes of the modules. A connection without service endpoint, like a mock, is never cached.
+ */
+public final class SalesforceMetadataCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesforceMetadataCache.class);
+
+    static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(10);
+
+    static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final String KEY_SEPARATOR = "|";
+
+    private static final String TIME_PREFIX = "time.";
+
+    private static final String SCHEMA_PREFIX = "schema.";
+
+    private static final String USER_PREFIX = "user.";
+
+    private static final SalesforceMetadataCache INSTANCE = new SalesforceMetadataCache(DEFAULT_TIME_TO_LIVE,
+            DEFAULT_MAXIMUM_SIZE);
+
+    private final long timeToLive;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * the metadata files which are already loaded by this process
+     */
+    private final Set<String> loadedFiles = new HashSet<>();
+
+    SalesforceMetadataCache(long timeToLive, final int maximumSize) {
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public static SalesforceMetadataCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the describe result of the module, from the cache if it's still valid
+     */
+    public DescribeSObjectResult describeSObject(PartnerConnection connection, String module) throws ConnectionException {
+        String connectionKey = getConnectionKey(connection);
+        if (connectionKey == null) {
+            return connection.describeSObject(module);
+        }
+
+        String key = "describe" + KEY_SEPARATOR + connectionKey + KEY_SEPARATOR + module;
+        DescribeSObjectResult result = (DescribeSObjectResult) getValue(key);
+        if (result == null) {
+            result = connection.describeSObject(module);
+            putValue(key, result, System.currentTimeMillis());
+        }
+        return result;
+    }
+
+    /**
+     * Get the schema of the module, the schema is inferred by the registry from the describe result when it's not
+     * cached. A copy of the cached schema is returned, so the caller can change it.
+     *
+     * @param metadataFile - the file where the schemas are persisted, null to only keep them in memory
+     */
+    public Schema getSchema(PartnerConnection connection, String module, AvroRegistry registry, File metadataFile)
+            throws ConnectionException {
+        String connectionKey = getConnectionKey(connection);
+        if (connectionKey == null) {
+            return registry.inferSchema(connection.describeSObjects(new String[] { module })[0]);
+        }
+
+        if (metadataFile != null) {
+            loadIfNot(metadataFile);
+        }
+        String key = SCHEMA_PREFIX + connectionKey + KEY_SEPARATOR + registry.getClass().getName() + KEY_SEPARATOR + module;
+        String schema = (String) getValue(key);
+        if (schema == null) {
+            schema = registry.inferSchema(describeSObject(connection, module)).toString();
+            putValue(key, schema, System.currentTimeMillis());
+            if (metadataFile != null) {
+                save(metadataFile, SCHEMA_PREFIX + connectionKey + KEY_SEPARATOR);
+            }
+        }
+        return new Schema.Parser().parse(schema);
+    }
+
+    /**
+     * @return the names and labels of all the modules, from the cache if they are still valid
+     */
+    @SuppressWarnings("unchecked")
+    public List<NamedThing> getSchemaNames(PartnerConnection connection) throws ConnectionException {
+        String connectionKey = getConnectionKey(connection);
+        String key = "global" + KEY_SEPARATOR + connectionKey;
+        List<NamedThing> names = connectionKey == null ? null : (List<NamedThing>) getValue(key);
+        if (names == null) {
+            DescribeGlobalResult result = connection.describeGlobal();
+            names = new ArrayList<>();
+            for (DescribeGlobalSObjectResult obj : result.getSobjects()) {
+                LOG.debug("module label: " + obj.getLabel() + " name: " + obj.getName());
+                names.add(new SimpleNamedThing(obj.getName(), obj.getLabel()));
+            }
+            if (connectionKey != null) {
+                putValue(key, names, System.currentTimeMillis());
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loadedFiles.clear();
+    }
+
+    /**
+     * @return the service endpoint and the id of the user of the connection, null if the connection can't be cached
+     */
+    private String getConnectionKey(PartnerConnection connection) throws ConnectionException {
+        ConnectorConfig config = connection.getConfig();
+        if (config == null || config.getServiceEndpoint() == null) {
+            return null;
+        }
+        String userKey = USER_PREFIX + config.getServiceEndpoint() + KEY_SEPARATOR + config.getSessionId();
+        String userId = (String) getValue(userKey);
+        if (userId == null) {
+            GetUserInfoResult userInfo = connection.getUserInfo();
+            if (userInfo == null || userInfo.getUserId() == null) {
+                return null;
+            }
+            userId = userInfo.getUserId();
+            putValue(userKey, userId, System.currentTimeMillis());
+        }
+        return config.getServiceEndpoint() + KEY_SEPARATOR + userId;
+    }
+
+    private synchronized Object getValue(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry.time)) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private synchronized void putValue(String key, Object value, long time) {
+        entries.put(key, new Entry(value, time));
+    }
+
+    private boolean isExpired(long time) {
+        return System.currentTimeMillis() - time >= timeToLive;
+    }
+
+    /**
+     * Load the schemas of the file once, the expired ones are ignored, and the ones in memory are kept.
+     */
+    private synchronized void loadIfNot(File metadataFile) {
+        if (!loadedFiles.add(metadataFile.getAbsolutePath()) || !metadataFile.exists()) {
+            return;
+        }
+        Properties metadata = new Properties();
+        try (InputStream input = new FileInputStream(metadataFile)) {
+            metadata.load(input);
+        } catch (IOException e) {
+            // the file is only a cache, the metadata are described again
+            LOG.warn("Can't load the metadata file " + metadataFile, e);
+            return;
+        }
+        for (String name : metadata.stringPropertyNames()) {
+            if (!name.startsWith(SCHEMA_PREFIX) || entries.containsKey(name)) {
+                continue;
+            }
+            long time;
+            try {
+                time = Long.parseLong(metadata.getProperty(TIME_PREFIX + name));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (!isExpired(time)) {
+                entries.put(name, new Entry(metadata.getProperty(name), time));
+            }
+        }
+    }
+
+    /**
+     * Write the valid schemas of a connection in the file, the file is replaced.
+     *
+     * @param keyPrefix - the start of the keys of the schemas of the connection
+     */
+    private synchronized void save(File metadataFile, String keyPrefix) {
+        Properties metadata = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().startsWith(keyPrefix) && !isExpired(entry.getValue().time)) {
+                metadata.setProperty(entry.getKey(), (String) entry.getValue().value);
+                metadata.setProperty(TIME_PREFIX + entry.getKey(), String.valueOf(entry.getValue().time));
+            }
+        }
+
+        File parentPath = metadataFile.getAbsoluteFile().getParentFile();
+        if (!parentPath.exists()) {
+            parentPath.mkdirs();
+        }
+        try (OutputStream output = new FileOutputStream(metadataFile)) {
+            metadata.store(output, null);
+        } catch (IOException e) {
+            LOG.warn("Can't save the metadata file " + metadataFile, e);
+        }
+    }
+
+    private static class Entry {
+
+        private final Object value;
+
+        private final long time;
+
+        private Entry(Object value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+}
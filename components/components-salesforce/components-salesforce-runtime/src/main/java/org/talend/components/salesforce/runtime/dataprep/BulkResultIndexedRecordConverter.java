@@ -16,6 +16,7 @@ import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.IndexedRecord;
 import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 import org.talend.daikon.avro.converter.AvroConverter;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
@@ -30,6 +31,11 @@ public class BulkResultIndexedRecordConverter implements IndexedRecordConverter<
     @SuppressWarnings("rawtypes")
     protected transient AvroConverter[] fieldConverter;
 
+    /** The header which the fields are bound to, and the index of the column of each field in it. */
+    private transient BulkResultHeader boundHeader;
+
+    private transient int[] columnIndexes;
+
     @Override
     public Schema getSchema() {
         return schema;
@@ -81,7 +87,19 @@ public class BulkResultIndexedRecordConverter implements IndexedRecordConverter<
                     fieldConverter[j] = SalesforceAvroRegistryString.get().getConverterFromString(f);
                 }
             }
-            return fieldConverter[i].convertToAvro(value.getValue(names[i]));
+            BulkResultHeader header = value.getHeader();
+            if (header == null) {
+                return fieldConverter[i].convertToAvro(value.getValue(names[i]));
+            }
+            // the fields are bound to the columns once for all the rows of a result file
+            if (header != boundHeader) {
+                columnIndexes = new int[names.length];
+                for (int j = 0; j < names.length; j++) {
+                    columnIndexes[j] = header.indexOf(names[j]);
+                }
+                boundHeader = header;
+            }
+            return fieldConverter[i].convertToAvro(value.getValue(columnIndexes[i]));
         }
 
         @Override
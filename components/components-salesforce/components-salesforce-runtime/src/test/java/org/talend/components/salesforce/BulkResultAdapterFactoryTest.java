@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
@@ -27,6 +28,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.talend.components.salesforce.runtime.BulkResult;
 import org.talend.components.salesforce.runtime.BulkResultAdapterFactory;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 import org.talend.daikon.avro.SchemaConstants;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
@@ -73,6 +75,22 @@ public class BulkResultAdapterFactoryTest {
         assertEquals(Boolean.TRUE, indexedRecord.get(3));
     }
 
+    @Test
+    public void testConvertRowToAvro() throws IOException {
+        converter.setSchema(SCHEMA);
+
+        // the relationship field Account.Name is found by Name
+        BulkResultHeader header = new BulkResultHeader(Arrays.asList("FIELDY", "Account.Name", "Id", "FieldX"));
+        for (int i = 0; i < 3; i++) {
+            IndexedRecord indexedRecord = converter.convertToAvro(
+                    new BulkResult(header, new String[] { String.valueOf(i % 2 == 0), "Qwerty" + i, "1234" + i, "4" + i }));
+            assertEquals("1234" + i, indexedRecord.get(0));
+            assertEquals("Qwerty" + i, indexedRecord.get(1));
+            assertEquals(Integer.valueOf(40 + i), indexedRecord.get(2));
+            assertEquals(i % 2 == 0, indexedRecord.get(3));
+        }
+    }
+
     @Test(expected = IndexedRecordConverter.UnmodifiableAdapterException.class)
     public void testConvertToDatum() throws IOException {
         converter.setSchema(SCHEMA);
@@ -17,9 +17,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultHeader;
 
 /**
  *
@@ -48,4 +50,28 @@ public class BulkResultTest {
         assertNull(result3.getValue("fieldA"));
         assertNull(result3.getValue("fieldB"));
     }
+
+    @Test
+    public void testHeaderValues() throws IOException {
+        BulkResultHeader header = new BulkResultHeader(Arrays.asList("Id", "Account.Name", "fieldD"));
+        BulkResult result = new BulkResult(header, new String[] { "001", "Talend", "#N/A" });
+
+        assertEquals(1, header.indexOf("ACCOUNT_NAME"));
+        assertEquals(-1, header.indexOf("Account.Name"));
+        assertEquals("001", result.getValue("id"));
+        assertEquals("Talend", result.getValue("Account_Name"));
+        assertEquals("Talend", result.getValue(1));
+        assertNull(result.getValue("unknown"));
+        assertEquals(Arrays.asList("Account_Name", "fieldD", "Id"), Arrays.asList(result.getFieldNames().toArray()));
+
+        BulkResult copy = new BulkResult();
+        copy.copyValues(result);
+        assertEquals("Talend", copy.getValue("account_name"));
+        assertNull(copy.getValue("fieldD"));
+
+        // the values can still be changed
+        result.setValue("Id", "002");
+        assertEquals("002", result.getValue("Id"));
+        assertEquals("Talend", result.getValue("Account_Name"));
+    }
 }
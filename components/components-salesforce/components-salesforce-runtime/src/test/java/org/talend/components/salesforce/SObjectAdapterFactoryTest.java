@@ -148,6 +148,36 @@ public class SObjectAdapterFactoryTest {
         assertEquals("foo|bar", indexedRecord.get(6));
     }
 
+    @Test
+    public void testConvertToAvroWithDifferentShapes() throws Exception {
+        Schema schema = SchemaBuilder.builder().record("Schema").fields() //
+                .name("Name").type(AvroUtils._string()).noDefault() //
+                .name("Owner_Name").type(AvroUtils._string()).noDefault() //
+                .name("Contact_Owner_User_Name").type(AvroUtils._string()).noDefault() //
+                .endRecord();
+        schema.addProp(SalesforceSchemaConstants.COLUMNNAME_DELIMTER, "_");
+        schema.addProp(SalesforceSchemaConstants.VALUE_DELIMITER, "|");
+        converter.setSchema(schema);
+
+        // the columns are bound when they are found, so a record may have more columns than the previous one
+        for (int i = 0; i < 3; i++) {
+            SObject contact = new SObject("Contact");
+            contact.addField("Id", "c" + i);
+            contact.addField(i == 2 ? "NAME" : "Name", "Contact " + i);
+            if (i > 0) {
+                SObject owner = new SObject("User");
+                owner.addField("Id", "u" + i);
+                owner.addField("Name", "User " + i);
+                contact.addField("Owner", owner);
+            }
+
+            IndexedRecord indexedRecord = converter.convertToAvro(contact);
+            assertEquals("Contact " + i, indexedRecord.get(0));
+            assertEquals(i > 0 ? "User " + i : null, indexedRecord.get(1));
+            assertEquals(i > 0 ? "User " + i : null, indexedRecord.get(2));
+        }
+    }
+
     @Test
     public void testConvertToAvroForAggregateResult() throws Exception {
 
@@ -15,23 +15,57 @@ package org.talend.components.salesforce;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.salesforce.SalesforceOutputProperties.OutputAction;
+import org.talend.components.salesforce.runtime.BulkResult;
+import org.talend.components.salesforce.runtime.BulkResultSet;
 import org.talend.components.salesforce.runtime.SalesforceBulkRuntime;
 import org.talend.components.salesforce.tsalesforceinput.TSalesforceInputProperties;
 
+import com.sforce.async.BatchInfo;
+import com.sforce.async.BatchInfoList;
+import com.sforce.async.BatchStateEnum;
 import com.sforce.async.BulkConnection;
 import com.sforce.async.ConcurrencyMode;
+import com.sforce.async.ContentType;
+import com.sforce.async.JobInfo;
+import com.sforce.async.QueryResultList;
 
 /**
  *
  */
 public class SalesforceBulkRuntimeTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private TSalesforceInputProperties inputProperties;
 
     private BulkConnection conn;
@@ -88,6 +122,181 @@ public class SalesforceBulkRuntimeTest {
         assertEquals(ConcurrencyMode.Parallel, runtime.getConcurrencyMode());
     }
 
+    @Test
+    public void testParallelThreadsDefault() throws IOException {
+        assertEquals(1, runtime.getParallelThreads());
+        runtime.setParallelThreads(null);
+        assertEquals(1, runtime.getParallelThreads());
+        runtime.setParallelThreads(4);
+        assertEquals(4, runtime.getParallelThreads());
+    }
+
+    @Test
+    public void testPipelinedExecution() throws Exception {
+        File bulkFile = folder.newFile("bulk.csv");
+        StringBuilder content = new StringBuilder("Name\n");
+        for (int i = 0; i < 7; i++) {
+            content.append("name").append(i).append("\n");
+        }
+        Files.write(bulkFile.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+        JobInfo job = new JobInfo();
+        job.setId("job");
+        when(conn.createJob(any(JobInfo.class))).thenReturn(job);
+        when(conn.updateJob(any(JobInfo.class))).thenReturn(job);
+
+        // the batch id is the first name of the batch, so the order of the batches can be checked
+        final Map<String, List<String>> batches = new ConcurrentHashMap<>();
+        when(conn.createBatchFromStream(any(JobInfo.class), any(InputStream.class))).thenAnswer(new Answer<BatchInfo>() {
+
+            @Override
+            public BatchInfo answer(InvocationOnMock invocation) throws Throwable {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader((InputStream) invocation.getArgument(1), StandardCharsets.UTF_8));
+                reader.readLine();
+                List<String> names = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    names.add(line);
+                }
+                BatchInfo batch = new BatchInfo();
+                batch.setId(names.get(0));
+                batch.setState(BatchStateEnum.Completed);
+                batches.put(batch.getId(), names);
+                return batch;
+            }
+        });
+        when(conn.getBatchInfoList(eq("job"), any(ContentType.class))).thenAnswer(new Answer<BatchInfoList>() {
+
+            @Override
+            public BatchInfoList answer(InvocationOnMock invocation) throws Throwable {
+                BatchInfoList list = new BatchInfoList();
+                List<BatchInfo> infos = new ArrayList<>();
+                for (String id : batches.keySet()) {
+                    BatchInfo batch = new BatchInfo();
+                    batch.setId(id);
+                    batch.setState(BatchStateEnum.Completed);
+                    infos.add(batch);
+                }
+                list.setBatchInfo(infos.toArray(new BatchInfo[0]));
+                return list;
+            }
+        });
+        when(conn.getBatchResultStream(eq("job"), anyString())).thenAnswer(new Answer<InputStream>() {
+
+            @Override
+            public InputStream answer(InvocationOnMock invocation) throws Throwable {
+                StringBuilder result = new StringBuilder("\"Id\",\"Success\",\"Created\",\"Error\"\n");
+                for (String name : batches.get((String) invocation.getArgument(1))) {
+                    result.append("\"id_").append(name).append("\",\"true\",\"true\",\"\"\n");
+                }
+                return new ByteArrayInputStream(result.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        runtime.setConcurrencyMode(SalesforceBulkProperties.Concurrency.Parallel);
+        runtime.setParallelThreads(3);
+        runtime.setAwaitTime(10);
+        runtime.executeBulk("Account", OutputAction.INSERT, false, null, "CSV", bulkFile.getAbsolutePath(), 10 * 1024 * 1024,
+                2);
+
+        assertEquals(4, runtime.getBatchCount());
+        int count = 0;
+        for (int i = 0; i < runtime.getBatchCount(); i++) {
+            for (BulkResult result : runtime.getBatchLog(i)) {
+                // the result of every row is matched with the row of the bulk file
+                assertEquals("name" + count, result.getValue("Name"));
+                assertEquals("id_name" + count, result.getValue("salesforce_id"));
+                count++;
+            }
+        }
+        assertEquals(7, count);
+        runtime.close();
+    }
+
+    @Test
+    public void testParallelChunkedQuery() throws Exception {
+        // the results are read in the order of the batches, even if the second batch is completed later
+        assertEquals(Arrays.asList("r1:c1", "r2a:c2", "r2b:c2", "r3:c3"), readChunkedQuery(false));
+    }
+
+    @Test
+    public void testParallelChunkedQueryUnordered() throws Exception {
+        List<String> results = readChunkedQuery(true);
+        Collections.sort(results);
+        assertEquals(Arrays.asList("r1:c1", "r2a:c2", "r2b:c2", "r3:c3"), results);
+    }
+
+    private List<String> readChunkedQuery(boolean unordered) throws Exception {
+        JobInfo job = new JobInfo();
+        job.setId("job");
+        job.setCreatedDate(Calendar.getInstance());
+        when(conn.createJob(any(JobInfo.class))).thenReturn(job);
+
+        BatchInfo queryBatch = new BatchInfo();
+        queryBatch.setId("query");
+        queryBatch.setState(BatchStateEnum.Queued);
+        when(conn.createBatchFromStream(any(JobInfo.class), any(InputStream.class))).thenReturn(queryBatch);
+        BatchInfo processedBatch = new BatchInfo();
+        processedBatch.setId("query");
+        processedBatch.setState(BatchStateEnum.NotProcessed);
+        when(conn.getBatchInfo("job", "query")).thenReturn(processedBatch);
+
+        // c2 is still in progress at the first check
+        when(conn.getBatchInfoList(eq("job"), any())).thenReturn(
+                batchInfoList(BatchStateEnum.NotProcessed, BatchStateEnum.Completed, BatchStateEnum.InProgress,
+                        BatchStateEnum.Completed),
+                batchInfoList(BatchStateEnum.NotProcessed, BatchStateEnum.Completed, BatchStateEnum.Completed,
+                        BatchStateEnum.Completed));
+        when(conn.getQueryResultList("job", "c1")).thenReturn(queryResultList("r1"));
+        when(conn.getQueryResultList("job", "c2")).thenReturn(queryResultList("r2a", "r2b"));
+        when(conn.getQueryResultList("job", "c3")).thenReturn(queryResultList("r3"));
+        when(conn.getQueryResultStream(eq("job"), anyString(), anyString())).thenAnswer(new Answer<InputStream>() {
+
+            @Override
+            public InputStream answer(InvocationOnMock invocation) throws Throwable {
+                String result = "Id,Name\n" + invocation.getArgument(2) + "," + invocation.getArgument(1) + "\n";
+                return new ByteArrayInputStream(result.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        inputProperties.chunkSleepTime.setValue(1);
+        inputProperties.chunkParallelThreads.setValue(3);
+        inputProperties.unorderedChunkResults.setValue(unordered);
+        runtime.setChunkProperties(inputProperties);
+        runtime.doBulkQuery("Account", "SELECT Id, Name FROM Account", false);
+
+        List<String> results = new ArrayList<>();
+        BulkResultSet resultSet;
+        while ((resultSet = runtime.nextQueryResultSet()) != null) {
+            BulkResult result;
+            while ((result = resultSet.next()) != null) {
+                results.add(result.getValue("Id") + ":" + result.getValue("Name"));
+            }
+        }
+        runtime.close();
+        return results;
+    }
+
+    private static BatchInfoList batchInfoList(BatchStateEnum... states) {
+        String[] ids = { "query", "c1", "c2", "c3" };
+        BatchInfo[] infos = new BatchInfo[states.length];
+        for (int i = 0; i < states.length; i++) {
+            infos[i] = new BatchInfo();
+            infos[i].setId(ids[i]);
+            infos[i].setState(states[i]);
+        }
+        BatchInfoList list = new BatchInfoList();
+        list.setBatchInfo(infos);
+        return list;
+    }
+
+    private static QueryResultList queryResultList(String... resultIds) {
+        QueryResultList list = new QueryResultList();
+        list.setResult(resultIds);
+        return list;
+    }
+
     @Test(expected = RuntimeException.class)
     public void testNullConnection() throws IOException {
         new SalesforceBulkRuntime(null);
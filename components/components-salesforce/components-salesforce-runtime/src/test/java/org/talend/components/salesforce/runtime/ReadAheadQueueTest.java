@@ -0,0 +1,104 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sforce.ws.ConnectionException;
+
+/**
+ * Unit-tests for {@link ReadAheadQueue}
+ */
+public class ReadAheadQueueTest {
+
+    @Test
+    public void testTakeInFetchOrder() throws Exception {
+        try (ReadAheadQueue<Integer> queue = new ReadAheadQueue<>("test", 1, new CountingFetcher(5))) {
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(Integer.valueOf(i), queue.take());
+            }
+            Assert.assertNull(queue.take());
+            Assert.assertNull(queue.take());
+        }
+    }
+
+    @Test
+    public void testFetchErrorThrownByTake() throws Exception {
+        try (ReadAheadQueue<Integer> queue = new ReadAheadQueue<>("test", 1, new ReadAheadQueue.Fetcher<Integer>() {
+
+            private int count;
+
+            @Override
+            public Integer fetch() throws ConnectionException {
+                if (count == 2) {
+                    throw new ConnectionException("queryMore failed");
+                }
+                return count++;
+            }
+        })) {
+            Assert.assertEquals(Integer.valueOf(0), queue.take());
+            Assert.assertEquals(Integer.valueOf(1), queue.take());
+            try {
+                queue.take();
+                Assert.fail("the fetch error should be thrown");
+            } catch (ConnectionException e) {
+                Assert.assertEquals("queryMore failed", e.getMessage());
+            }
+            Assert.assertNull(queue.take());
+        }
+    }
+
+    @Test
+    public void testCloseStopsFetching() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        CountingFetcher fetcher = new CountingFetcher(Integer.MAX_VALUE) {
+
+            @Override
+            public Integer fetch() {
+                started.countDown();
+                return super.fetch();
+            }
+        };
+
+        ReadAheadQueue<Integer> queue = new ReadAheadQueue<>("test", 1, fetcher);
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(Integer.valueOf(0), queue.take());
+        queue.close();
+        Assert.assertNull(queue.take());
+
+        // the fetcher waits on the full queue, so it can only fetch a few results in advance
+        Thread.sleep(100);
+        Assert.assertTrue(fetcher.count <= 4);
+    }
+
+    private static class CountingFetcher implements ReadAheadQueue.Fetcher<Integer> {
+
+        private final int size;
+
+        private volatile int count;
+
+        private CountingFetcher(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer fetch() {
+            return count < size ? count++ : null;
+        }
+    }
+
+}
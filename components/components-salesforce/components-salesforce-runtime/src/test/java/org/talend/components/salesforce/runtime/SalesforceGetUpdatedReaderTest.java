@@ -0,0 +1,204 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.SchemaBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.salesforce.runtime.common.ConnectionHolder;
+import org.talend.components.salesforce.tsalesforcegetupdated.TSalesforceGetUpdatedProperties;
+
+import com.sforce.soap.partner.GetUpdatedResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.soap.partner.sobject.SObject;
+
+/**
+ * Unit-tests for {@link SalesforceGetUpdatedReader}
+ */
+public class SalesforceGetUpdatedReaderTest {
+
+    /**
+     * more chunks of ids than the maximum count of the retrieve threads
+     */
+    private static final int CHUNKS = 15;
+
+    private static final int CHUNK_SIZE = 2000;
+
+    private TSalesforceGetUpdatedProperties properties;
+
+    private PartnerConnection connection;
+
+    private final List<PartnerConnection> sessionConnections = Collections
+            .synchronizedList(new ArrayList<PartnerConnection>());
+
+    private final AtomicInteger runningRetrieves = new AtomicInteger();
+
+    private final AtomicInteger maxRunningRetrieves = new AtomicInteger();
+
+    private SalesforceSource source;
+
+    @Before
+    public void setUp() throws Exception {
+        properties = new TSalesforceGetUpdatedProperties("test");
+        properties.init();
+        properties.module.moduleName.setValue("Account");
+        properties.module.main.schema.setValue(SchemaBuilder.record("Account").fields() //
+                .name("Id").type().stringType().noDefault() //
+                .endRecord());
+        properties.startDate.setValue(new Date(0));
+        properties.endDate.setValue(new Date());
+
+        String[] ids = new String[CHUNKS * CHUNK_SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "id" + i;
+        }
+        GetUpdatedResult result = new GetUpdatedResult();
+        result.setIds(ids);
+
+        connection = mockRetrieve();
+        when(connection.getUpdated(anyString(), any(Calendar.class), any(Calendar.class))).thenReturn(result);
+
+        source = new SalesforceSource() {
+
+            @Override
+            protected ConnectionHolder connect(RuntimeContainer container) throws IOException {
+                ConnectionHolder connectionHolder = new ConnectionHolder();
+                connectionHolder.connection = connection;
+                return connectionHolder;
+            }
+
+            @Override
+            protected PartnerConnection connectWithSession(PartnerConnection connection) {
+                PartnerConnection sessionConnection = mockRetrieve();
+                sessionConnections.add(sessionConnection);
+                return sessionConnection;
+            }
+        };
+    }
+
+    @Test
+    public void testParallelRetrieveInChunkOrder() throws Exception {
+        properties.retrieveThreads.setValue(50);
+
+        SalesforceGetUpdatedReader reader = new SalesforceGetUpdatedReader(null, source, properties);
+        Assert.assertEquals(SalesforceGetUpdatedReader.MAXIMUM_RETRIEVE_THREADS, reader.getRetrieveThreads());
+
+        Assert.assertEquals(getExpectedIds(), readIds(reader));
+        Assert.assertEquals(SalesforceGetUpdatedReader.MAXIMUM_RETRIEVE_THREADS, sessionConnections.size());
+        Assert.assertTrue(maxRunningRetrieves.get() <= SalesforceGetUpdatedReader.MAXIMUM_RETRIEVE_THREADS);
+        // the main connection is not shared with the retrieve threads
+        verify(connection, never()).retrieve(anyString(), anyString(), any(String[].class));
+    }
+
+    @Test
+    public void testSequentialRetrieve() throws Exception {
+        properties.retrieveThreads.setValue(1);
+
+        SalesforceGetUpdatedReader reader = new SalesforceGetUpdatedReader(null, source, properties);
+        Assert.assertEquals(1, reader.getRetrieveThreads());
+
+        Assert.assertEquals(getExpectedIds(), readIds(reader));
+        Assert.assertTrue(sessionConnections.isEmpty());
+        Assert.assertEquals(1, maxRunningRetrieves.get());
+    }
+
+    @Test
+    public void testReadAheadWithOwnConnection() throws Exception {
+        properties.retrieveThreads.setValue(1);
+        properties.readAhead.setValue(true);
+
+        SalesforceGetUpdatedReader reader = new SalesforceGetUpdatedReader(null, source, properties);
+
+        Assert.assertEquals(getExpectedIds(), readIds(reader));
+        // the first chunk is retrieved by the main connection, the next ones by the connection of the read ahead thread
+        Assert.assertEquals(1, sessionConnections.size());
+        verify(connection, times(1)).retrieve(anyString(), anyString(), any(String[].class));
+        verify(sessionConnections.get(0), times(CHUNKS - 1)).retrieve(anyString(), anyString(), any(String[].class));
+    }
+
+    private List<String> readIds(SalesforceGetUpdatedReader reader) throws IOException {
+        List<String> ids = new ArrayList<>();
+        try {
+            for (boolean available = reader.start(); available; available = reader.advance()) {
+                ids.add(reader.inputRecords[reader.inputRecordsIndex].getId());
+            }
+        } finally {
+            reader.close();
+        }
+        return ids;
+    }
+
+    private static List<String> getExpectedIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CHUNKS; i++) {
+            ids.add("id" + i * CHUNK_SIZE);
+        }
+        return ids;
+    }
+
+    /**
+     * @return a connection which retrieves one record by chunk of ids, the id of the first one, after a random delay
+     */
+    private PartnerConnection mockRetrieve() {
+        PartnerConnection partnerConnection = mock(PartnerConnection.class);
+        final Random random = new Random();
+        try {
+            when(partnerConnection.retrieve(anyString(), anyString(), any(String[].class)))
+                    .thenAnswer(new Answer<SObject[]>() {
+
+                        @Override
+                        public SObject[] answer(InvocationOnMock invocation) throws Throwable {
+                            String[] ids = (String[]) invocation.getArguments()[2];
+                            int running = runningRetrieves.incrementAndGet();
+                            try {
+                                int max = maxRunningRetrieves.get();
+                                while (running > max && !maxRunningRetrieves.compareAndSet(max, running)) {
+                                    max = maxRunningRetrieves.get();
+                                }
+                                Thread.sleep(random.nextInt(20));
+                                SObject record = new SObject();
+                                record.setType("Account");
+                                record.setId(ids[0]);
+                                return new SObject[] { record };
+                            } finally {
+                                runningRetrieves.decrementAndGet();
+                            }
+                        }
+                    });
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return partnerConnection;
+    }
+}
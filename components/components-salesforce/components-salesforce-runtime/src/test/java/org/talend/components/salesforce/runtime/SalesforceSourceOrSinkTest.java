@@ -125,4 +125,40 @@ public class SalesforceSourceOrSinkTest {
         Assert.assertEquals("yyyy-MM-dd",
                 resultSchema.getFields().get(2).getProp(SchemaConstants.TALEND_COLUMN_PATTERN));
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks {@link SalesforceSourceOrSink#guessSchema(String)} describes the module on each call
+     * when the metadata cache is not enabled on the connection
+     */
+    @Test
+    public void testGuessSchemaWithoutMetadataCache() throws Exception {
+        final PartnerConnection partnerConnectionMock = Mockito.mock(PartnerConnection.class);
+
+        class SalesforceSourceOrSinkChild extends SalesforceSourceOrSink {
+            @Override
+            protected ConnectionHolder connect(RuntimeContainer container) {
+                ConnectionHolder connectionHolder = new ConnectionHolder();
+                connectionHolder.connection = partnerConnectionMock;
+                return connectionHolder;
+            }
+        }
+
+        Field field = new Field();
+        field.setName("Id");
+        field.setType(FieldType.string);
+
+        DescribeSObjectResult describeSObjectResult = new DescribeSObjectResult();
+        describeSObjectResult.setFields(new Field[] { field });
+
+        Mockito.when(partnerConnectionMock.describeSObject("Account")).thenReturn(describeSObjectResult);
+
+        SalesforceSourceOrSinkChild salesforceSourceOrSinkChild = new SalesforceSourceOrSinkChild();
+        salesforceSourceOrSinkChild.initialize(runtimeContainerMock, properties);
+
+        Assert.assertNotEquals(Boolean.TRUE, properties.useMetadataCache.getValue());
+        salesforceSourceOrSinkChild.guessSchema("SELECT Id FROM Account");
+        salesforceSourceOrSinkChild.guessSchema("SELECT Id FROM Account");
+
+        Mockito.verify(partnerConnectionMock, Mockito.times(2)).describeSObject("Account");
+    }
+}
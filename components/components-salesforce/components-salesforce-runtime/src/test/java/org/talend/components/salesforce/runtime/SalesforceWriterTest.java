@@ -0,0 +1,277 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.api.component.runtime.Result;
+import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.salesforce.SalesforceOutputProperties.OutputAction;
+import org.talend.components.salesforce.runtime.common.ConnectionHolder;
+import org.talend.components.salesforce.tsalesforceoutput.TSalesforceOutputProperties;
+
+import com.sforce.soap.partner.Error;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.soap.partner.SaveResult;
+import com.sforce.soap.partner.StatusCode;
+import com.sforce.soap.partner.sobject.SObject;
+
+/**
+ * Unit-tests for the parallel write threads of {@link SalesforceWriter}
+ */
+public class SalesforceWriterTest {
+
+    private static final int RECORDS = 20;
+
+    private Schema schema;
+
+    private TSalesforceOutputProperties properties;
+
+    private PartnerConnection connection;
+
+    private final List<PartnerConnection> writeConnections = Collections
+            .synchronizedList(new ArrayList<PartnerConnection>());
+
+    private final AtomicInteger createCalls = new AtomicInteger();
+
+    private SalesforceSink sink;
+
+    @Before
+    public void setUp() throws Exception {
+        schema = SchemaBuilder.record("Account").fields() //
+                .name("Id").type().nullable().stringType().noDefault() //
+                .name("Name").type().stringType().noDefault() //
+                .endRecord();
+
+        properties = new TSalesforceOutputProperties("test");
+        properties.init();
+        properties.module.moduleName.setValue("Account");
+        properties.module.main.schema.setValue(schema);
+        properties.schemaFlow.schema.setValue(schema);
+        properties.schemaReject.schema.setValue(SchemaBuilder.record("rejectOutput").fields() //
+                .name("Id").type().nullable().stringType().noDefault() //
+                .name("Name").type().stringType().noDefault() //
+                .name(TSalesforceOutputProperties.FIELD_ERROR_CODE).type().nullable().stringType().noDefault() //
+                .name(TSalesforceOutputProperties.FIELD_ERROR_FIELDS).type().nullable().stringType().noDefault() //
+                .name(TSalesforceOutputProperties.FIELD_ERROR_MESSAGE).type().nullable().stringType().noDefault() //
+                .endRecord());
+        properties.outputAction.setValue(OutputAction.INSERT);
+        properties.extendInsert.setValue(true);
+        properties.commitLevel.setValue(1);
+        properties.ceaseForError.setValue(false);
+
+        connection = mockCreate();
+
+        sink = new SalesforceSink() {
+
+            @Override
+            protected ConnectionHolder connect(RuntimeContainer container) throws IOException {
+                ConnectionHolder connectionHolder = new ConnectionHolder();
+                connectionHolder.connection = connection;
+                return connectionHolder;
+            }
+
+            @Override
+            protected Schema getSchema(PartnerConnection connection, String module) throws IOException {
+                return schema;
+            }
+
+            @Override
+            protected PartnerConnection connectWithSession(PartnerConnection connection) {
+                PartnerConnection writeConnection = mockCreate();
+                writeConnections.add(writeConnection);
+                return writeConnection;
+            }
+        };
+        sink.initialize(null, properties);
+    }
+
+    @Test
+    public void testFeedbackInInputOrder() throws Exception {
+        properties.writeThreads.setValue(4);
+
+        List<String> successes = new ArrayList<>();
+        List<String> rejects = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        Result result = write(successes, rejects, messages);
+
+        Assert.assertEquals(4, writeConnections.size());
+        verify(connection, never()).create(any(SObject[].class));
+        Assert.assertEquals(RECORDS - 2, result.getSuccessCount());
+        Assert.assertEquals(2, result.getRejectCount());
+        Assert.assertEquals(getExpectedNames(), successes);
+        Assert.assertEquals(Arrays.asList("bad5", "bad12"), rejects);
+
+        // the records are reported after the next ones are written, but with the same record numbers as the sequential
+        // write
+        writeConnections.clear();
+        properties.writeThreads.setValue(1);
+        List<String> sequentialMessages = new ArrayList<>();
+        write(new ArrayList<String>(), new ArrayList<String>(), sequentialMessages);
+        Assert.assertTrue(writeConnections.isEmpty());
+        Collections.sort(messages);
+        Collections.sort(sequentialMessages);
+        Assert.assertEquals(sequentialMessages, messages);
+    }
+
+    @Test
+    public void testDieOnError() throws Exception {
+        properties.writeThreads.setValue(3);
+        properties.ceaseForError.setValue(true);
+
+        SalesforceWriter writer = new SalesforceWriteOperation(sink).createWriter(null);
+        writer.open("test");
+        int written = 0;
+        try {
+            for (int i = 1; i <= RECORDS; i++) {
+                writer.write(createRecord(i == 4 ? "bad4" : "name" + i));
+                written++;
+            }
+            writer.close();
+            Assert.fail("The failed record should stop the write");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().contains("bad4"));
+        }
+        // no call is sent after the failure is received, only the calls sent with the failed one are applied
+        Assert.assertTrue(written < RECORDS);
+        Assert.assertTrue(createCalls.get() <= 4 + 3 - 1);
+    }
+
+    private Result write(List<String> successes, List<String> rejects, final List<String> messages) throws IOException {
+        Logger logger = Logger.getLogger(SalesforceWriter.class);
+        Level level = logger.getLevel();
+        AppenderSkeleton appender = new AppenderSkeleton() {
+
+            @Override
+            protected void append(LoggingEvent event) {
+                synchronized (messages) {
+                    messages.add(event.getRenderedMessage());
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public boolean requiresLayout() {
+                return false;
+            }
+        };
+        logger.setLevel(Level.TRACE);
+        logger.addAppender(appender);
+        try {
+            SalesforceWriter writer = new SalesforceWriteOperation(sink).createWriter(null);
+            writer.open("test");
+            for (int i = 1; i <= RECORDS; i++) {
+                writer.write(createRecord(i == 5 || i == 12 ? "bad" + i : "name" + i));
+                // the feedback is read after each record, as a DI job does
+                addNames(writer.getSuccessfulWrites(), successes);
+                addNames(writer.getRejectedWrites(), rejects);
+            }
+            Result result = writer.close();
+            addNames(writer.getSuccessfulWrites(), successes);
+            addNames(writer.getRejectedWrites(), rejects);
+            return result;
+        } finally {
+            logger.removeAppender(appender);
+            logger.setLevel(level);
+        }
+    }
+
+    private IndexedRecord createRecord(String name) {
+        IndexedRecord record = new GenericData.Record(schema);
+        record.put(1, name);
+        return record;
+    }
+
+    private static void addNames(List<IndexedRecord> records, List<String> names) {
+        for (IndexedRecord record : records) {
+            names.add((String) record.get(1));
+        }
+    }
+
+    private static List<String> getExpectedNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= RECORDS; i++) {
+            if (i != 5 && i != 12) {
+                names.add("name" + i);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @return a connection which creates the records after a random delay, and fails for the names starting with "bad"
+     */
+    private PartnerConnection mockCreate() {
+        PartnerConnection partnerConnection = mock(PartnerConnection.class);
+        final Random random = new Random();
+        try {
+            when(partnerConnection.create(any(SObject[].class))).thenAnswer(new Answer<SaveResult[]>() {
+
+                @Override
+                public SaveResult[] answer(InvocationOnMock invocation) throws Throwable {
+                    createCalls.incrementAndGet();
+                    SObject[] records = (SObject[]) invocation.getArguments()[0];
+                    SaveResult[] results = new SaveResult[records.length];
+                    for (int i = 0; i < records.length; i++) {
+                        String name = (String) records[i].getField("Name");
+                        results[i] = new SaveResult();
+                        if (name.startsWith("bad")) {
+                            Error error = new Error();
+                            error.setStatusCode(StatusCode.INVALID_FIELD);
+                            error.setMessage("Invalid name " + name);
+                            error.setFields(new String[] { "Name" });
+                            results[i].setSuccess(false);
+                            results[i].setErrors(new Error[] { error });
+                        } else {
+                            Thread.sleep(random.nextInt(20));
+                            results[i].setSuccess(true);
+                            results[i].setId("id-" + name);
+                        }
+                    }
+                    return results;
+                }
+            });
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return partnerConnection;
+    }
+}
@@ -0,0 +1,230 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.salesforce.runtime.bulk.v2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.talend.components.salesforce.runtime.BulkResultSet;
+import org.talend.components.salesforce.runtime.bulk.v2.request.CreateJobRequest;
+import org.talend.components.salesforce.tsalesforcebulkexec.TSalesforceBulkExecProperties;
+
+import com.sforce.async.JobStateEnum;
+
+public class SalesforceBulkV2RuntimeTest {
+
+    private static final String HEADER = "Name,Description\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGetJobOffsets() throws Exception {
+        String data = HEADER + "a,\"line 1\nline 2\"\nb,\"say \"\"hi\"\"\"\nc,x\n";
+        List<Long> offsets = SalesforceBulkV2Runtime.getJobOffsets(toStream(data), 2);
+
+        int headerEnd = HEADER.length();
+        int secondRowEnd = data.indexOf("c,x");
+        assertEquals(Arrays.asList((long) headerEnd, (long) secondRowEnd, (long) data.length()), offsets);
+
+        // the last row has no line break
+        offsets = SalesforceBulkV2Runtime.getJobOffsets(toStream(HEADER + "a,x\nb,y"), 1);
+        assertEquals(Arrays.asList((long) headerEnd, (long) headerEnd + 4, (long) headerEnd + 7), offsets);
+    }
+
+    @Test
+    public void testSplitInJobs() throws Exception {
+        File bulkFile = folder.newFile("bulk.csv");
+        Files.write(bulkFile.toPath(), (HEADER + "a,x\nb,\"y\nz\"\nc,w\n").getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, String> uploads = new ConcurrentHashMap<>();
+        final AtomicInteger jobIndex = new AtomicInteger();
+        BulkV2Connection connection = Mockito.mock(BulkV2Connection.class);
+        Mockito.when(connection.createJob(Mockito.any(CreateJobRequest.class))).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return newJob("job" + jobIndex.incrementAndGet(), JobStateEnum.Open);
+            }
+        });
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Exception {
+                InputStream input = (InputStream) invocation.getArguments()[1];
+                ByteArrayOutputStream data = new ByteArrayOutputStream();
+                byte[] buffer = new byte[3];
+                int count;
+                while ((count = input.read(buffer)) != -1) {
+                    data.write(buffer, 0, count);
+                }
+                uploads.put((String) invocation.getArguments()[0], new String(data.toByteArray(), StandardCharsets.UTF_8));
+                return null;
+            }
+        }).when(connection).uploadDataFromStream(Mockito.anyString(), Mockito.any(InputStream.class), Mockito.eq(true));
+        Mockito.when(connection.closeJob(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                String jobId = (String) invocation.getArguments()[0];
+                return newJob(jobId, "job3".equals(jobId) ? JobStateEnum.Failed : JobStateEnum.JobComplete);
+            }
+        });
+        Mockito.when(connection.getResult(Mockito.anyString())).thenAnswer(new Answer<InputStream>() {
+
+            @Override
+            public InputStream answer(InvocationOnMock invocation) {
+                return toStream("sf__Id,sf__Created,Name\n" + invocation.getArguments()[0] + ",true,n\n");
+            }
+        });
+        Mockito.when(connection.getUnprocessedRecordsStream("job3")).thenReturn(toStream(HEADER + "c,w\n"));
+
+        TSalesforceBulkExecProperties properties = new TSalesforceBulkExecProperties("root");
+        properties.init();
+        properties.bulkFilePath.setValue(bulkFile.getAbsolutePath());
+        properties.bulkProperties.compressUpload.setValue(true);
+        properties.bulkProperties.rowsPerJob.setValue(1);
+        properties.bulkProperties.parallelJobs.setValue(2);
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        runtime.executeBulk();
+
+        assertEquals(3, runtime.getJobs().size());
+        assertEquals(HEADER + "a,x\n", uploads.get("job" + jobNumber(runtime, 0)));
+        assertEquals(HEADER + "b,\"y\nz\"\n", uploads.get("job" + jobNumber(runtime, 1)));
+        assertEquals(HEADER + "c,w\n", uploads.get("job" + jobNumber(runtime, 2)));
+        assertEquals(3, runtime.getNumberRecordsProcessed());
+
+        // the results of the completed jobs are merged in the job order
+        BulkResultSet successResults = runtime.getSuccessResultSet();
+        int completed = 0;
+        while (successResults.next() != null) {
+            completed++;
+        }
+        assertEquals(2, completed);
+
+        BulkResultSet unprocessedResults = runtime.getUnprocessedResultSet();
+        assertEquals("job3 failed", unprocessedResults.next().getValue("sf__Error"));
+        assertNull(unprocessedResults.next());
+    }
+
+    @Test
+    public void testAbortJobsOnFailure() throws Exception {
+        File bulkFile = folder.newFile("bulk.csv");
+        Files.write(bulkFile.toPath(), (HEADER + "a,x\nb,y\nc,w\n").getBytes(StandardCharsets.UTF_8));
+
+        final AtomicInteger jobIndex = new AtomicInteger();
+        final CountDownLatch otherUploads = new CountDownLatch(2);
+        BulkV2Connection connection = Mockito.mock(BulkV2Connection.class);
+        Mockito.when(connection.createJob(Mockito.any(CreateJobRequest.class))).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return newJob("job" + jobIndex.incrementAndGet(), JobStateEnum.Open);
+            }
+        });
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Exception {
+                InputStream input = (InputStream) invocation.getArguments()[1];
+                ByteArrayOutputStream data = new ByteArrayOutputStream();
+                byte[] buffer = new byte[64];
+                int count;
+                while ((count = input.read(buffer)) != -1) {
+                    data.write(buffer, 0, count);
+                }
+                if (new String(data.toByteArray(), StandardCharsets.UTF_8).contains("b,y")) {
+                    // fail when the other jobs are created
+                    otherUploads.await(10, TimeUnit.SECONDS);
+                    throw new IOException("upload failed");
+                }
+                otherUploads.countDown();
+                return null;
+            }
+        }).when(connection).uploadDataFromStream(Mockito.anyString(), Mockito.any(InputStream.class), Mockito.eq(false));
+        Mockito.when(connection.closeJob(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return newJob((String) invocation.getArguments()[0], JobStateEnum.InProgress);
+            }
+        });
+        Mockito.when(connection.getJobStatus(Mockito.anyString())).thenAnswer(new Answer<JobInfoV2>() {
+
+            @Override
+            public JobInfoV2 answer(InvocationOnMock invocation) {
+                return newJob((String) invocation.getArguments()[0], JobStateEnum.InProgress);
+            }
+        });
+
+        TSalesforceBulkExecProperties properties = new TSalesforceBulkExecProperties("root");
+        properties.init();
+        properties.bulkFilePath.setValue(bulkFile.getAbsolutePath());
+        properties.bulkProperties.rowsPerJob.setValue(1);
+        properties.bulkProperties.parallelJobs.setValue(3);
+        properties.bulkProperties.waitTimeCheckBatchState.setValue(10);
+
+        SalesforceBulkV2Runtime runtime = new SalesforceBulkV2Runtime(connection, properties);
+        try {
+            runtime.executeBulk();
+            fail("The failed upload should stop the bulk execution");
+        } catch (IOException e) {
+            assertEquals("upload failed", e.getMessage());
+        }
+
+        // the failed job and the jobs which are still in progress are aborted
+        for (int i = 1; i <= 3; i++) {
+            Mockito.verify(connection).updateJob("job" + i, JobStateEnum.Aborted);
+        }
+    }
+
+    private static int jobNumber(SalesforceBulkV2Runtime runtime, int index) {
+        return Integer.parseInt(runtime.getJobs().get(index).getId().substring(3));
+    }
+
+    private static JobInfoV2 newJob(String id, JobStateEnum state) {
+        JobInfoV2 job = new JobInfoV2();
+        job.setId(id);
+        job.setState(state);
+        job.setNumberRecordsProcessed(1);
+        job.setErrorMessage(id + " failed");
+        return job;
+    }
+
+    private static InputStream toStream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,192 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+
+package org.talend.components.salesforce.runtime.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.talend.components.salesforce.runtime.SalesforceAvroRegistry;
+
+import com.sforce.soap.partner.DescribeSObjectResult;
+import com.sforce.soap.partner.Field;
+import com.sforce.soap.partner.FieldType;
+import com.sforce.soap.partner.GetUserInfoResult;
+import com.sforce.soap.partner.PartnerConnection;
+import com.sforce.ws.ConnectorConfig;
+
+/**
+ *
+ */
+public class SalesforceMetadataCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDescribeOnlyOnce() throws Exception {
+        SalesforceMetadataCache cache = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10);
+        PartnerConnection connection = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+
+        Schema schema = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get(), null);
+        assertEquals("Account", schema.getName());
+        assertEquals(2, schema.getFields().size());
+
+        // a copy is returned, so the cached schema can't be changed by the caller
+        Schema cached = cache.getSchema(connection, "Account", SalesforceAvroRegistry.get(), null);
+        assertEquals(schema, cached);
+        assertNotSame(schema, cached);
+        assertSame(cache.describeSObject(connection, "Account"), cache.describeSObject(connection, "Account"));
+
+        verify(connection, times(1)).describeSObject("Account");
+    }
+
+    @Test
+    public void testKeyedByEndpointAndUser() throws Exception {
+        SalesforceMetadataCache cache = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10);
+        PartnerConnection connection1 = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+        PartnerConnection connection2 = mockConnection("https://org2.salesforce.com/services/Soap/u/42.0/00D2", "user");
+
+        cache.describeSObject(connection1, "Account");
+        cache.describeSObject(connection2, "Account");
+
+        verify(connection1, times(1)).describeSObject("Account");
+        verify(connection2, times(1)).describeSObject("Account");
+    }
+
+    @Test
+    public void testKeyedByUserIdWithoutUserName() throws Exception {
+        SalesforceMetadataCache cache = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10);
+        // OAuth logins, the user name of the configuration is not set
+        PartnerConnection connection1 = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", null);
+        mockUser(connection1, "session1", "005A");
+        PartnerConnection connection2 = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", null);
+        mockUser(connection2, "session2", "005B");
+
+        cache.describeSObject(connection1, "Account");
+        cache.describeSObject(connection1, "Account");
+        cache.describeSObject(connection2, "Account");
+
+        verify(connection1, times(1)).describeSObject("Account");
+        verify(connection2, times(1)).describeSObject("Account");
+        // the user id is asked once by session
+        verify(connection1, times(1)).getUserInfo();
+    }
+
+    @Test
+    public void testExpiredAndEvicted() throws Exception {
+        SalesforceMetadataCache expiring = new SalesforceMetadataCache(0, 10);
+        PartnerConnection connection = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+        expiring.describeSObject(connection, "Account");
+        expiring.describeSObject(connection, "Account");
+        verify(connection, times(2)).describeSObject("Account");
+
+        SalesforceMetadataCache small = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 1);
+        connection = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+        small.describeSObject(connection, "Account");
+        small.describeSObject(connection, "Contact");
+        small.describeSObject(connection, "Account");
+        verify(connection, times(2)).describeSObject("Account");
+    }
+
+    @Test
+    public void testPersistedSchema() throws Exception {
+        File metadataFile = new File(folder.getRoot(), "session/" + SalesforceConstant.METADATA_FILE_PREFIX + "user");
+        PartnerConnection connection = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+
+        Schema schema = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10).getSchema(connection, "Account",
+                SalesforceAvroRegistry.get(), metadataFile);
+        assertTrue(metadataFile.exists());
+
+        // a new process loads the schema from the file
+        PartnerConnection newConnection = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", "user");
+        Schema persisted = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10).getSchema(newConnection,
+                "Account", SalesforceAvroRegistry.get(), metadataFile);
+        assertEquals(schema, persisted);
+        verify(newConnection, never()).describeSObject("Account");
+    }
+
+    @Test
+    public void testPersistedSchemasOfTheConnection() throws Exception {
+        File metadataFile = new File(folder.getRoot(), "session/" + SalesforceConstant.METADATA_FILE_PREFIX + "user");
+        SalesforceMetadataCache cache = new SalesforceMetadataCache(TimeUnit.MINUTES.toMillis(10), 10);
+        PartnerConnection connection1 = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", null);
+        mockUser(connection1, "session1", "005A");
+        PartnerConnection connection2 = mockConnection("https://org1.salesforce.com/services/Soap/u/42.0/00D1", null);
+        mockUser(connection2, "session2", "005B");
+
+        cache.getSchema(connection1, "Account", SalesforceAvroRegistry.get(), null);
+        cache.getSchema(connection2, "Contact", SalesforceAvroRegistry.get(), metadataFile);
+
+        Properties metadata = new Properties();
+        try (InputStream input = new FileInputStream(metadataFile)) {
+            metadata.load(input);
+        }
+        // a schema and its time
+        assertEquals(2, metadata.size());
+        for (String name : metadata.stringPropertyNames()) {
+            assertTrue(name, name.contains("|005B|") && name.endsWith("|Contact"));
+        }
+    }
+
+    private static PartnerConnection mockConnection(String serviceEndpoint, String userName) throws Exception {
+        ConnectorConfig config = new ConnectorConfig();
+        config.setServiceEndpoint(serviceEndpoint);
+        config.setUsername(userName);
+
+        Field id = new Field();
+        id.setName("Id");
+        id.setType(FieldType.id);
+        Field name = new Field();
+        name.setName("Name");
+        name.setType(FieldType.string);
+
+        DescribeSObjectResult account = new DescribeSObjectResult();
+        account.setName("Account");
+        account.setFields(new Field[] { id, name });
+        DescribeSObjectResult contact = new DescribeSObjectResult();
+        contact.setName("Contact");
+        contact.setFields(new Field[] { id, name });
+
+        PartnerConnection connection = mock(PartnerConnection.class);
+        doReturn(config).when(connection).getConfig();
+        doReturn(account).when(connection).describeSObject("Account");
+        doReturn(contact).when(connection).describeSObject("Contact");
+        mockUser(connection, "session-" + userName, "005" + userName);
+        return connection;
+    }
+
+    private static void mockUser(PartnerConnection connection, String sessionId, String userId) throws Exception {
+        connection.getConfig().setSessionId(sessionId);
+        GetUserInfoResult userInfo = new GetUserInfoResult();
+        userInfo.setUserId(userId);
+        doReturn(userInfo).when(connection).getUserInfo();
+    }
+}
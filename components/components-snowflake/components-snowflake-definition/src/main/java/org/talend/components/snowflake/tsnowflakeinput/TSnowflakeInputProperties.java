@@ -45,6 +45,12 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
 
     public Property<Boolean> convertColumnsAndTableToUppercase = newBoolean("convertColumnsAndTableToUppercase", true);
 
+    /**
+     * Advanced property, when the component is split in bundles (Beam or Spark execution), the query is executed once
+     * and its result chunks are read by several bundles
+     */
+    public Property<Boolean> splitQueryResult = newBoolean("splitQueryResult", false);
+
     public TSnowflakeInputProperties(@JsonProperty("name") String name) {
         super(name);
     }
@@ -76,6 +82,7 @@ public class TSnowflakeInputProperties extends SnowflakeGuessSchemaProperties {
 
         Form advancedForm = getForm(Form.ADVANCED);
         advancedForm.addRow(convertColumnsAndTableToUppercase);
+        advancedForm.addRow(splitQueryResult);
     }
 
     @Override
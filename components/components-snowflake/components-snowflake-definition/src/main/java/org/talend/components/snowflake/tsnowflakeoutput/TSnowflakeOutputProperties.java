@@ -98,6 +98,12 @@ public class TSnowflakeOutputProperties extends SnowflakeConnectionTableProperti
 
     public Property<Boolean> dieOnError = PropertyFactory.newBoolean("dieOnError").setRequired();
 
+    /**
+     * Advanced property which sets the count of the threads converting the records to the rows sent to the loader,
+     * 1 means the records are converted by the component thread
+     */
+    public Property<Integer> encodingThreads = PropertyFactory.newInteger("encodingThreads", 1);
+
     // Have to use an explicit class to get the override of afterTableName(), an anonymous
     // class cannot be public and thus cannot be called.
     public class TableSubclass extends SnowflakeTableProperties {
@@ -201,6 +207,8 @@ public class TSnowflakeOutputProperties extends SnowflakeConnectionTableProperti
         Widget dateMappingWidget = new Widget(dateMapping);
         dateMappingWidget.setVisible(false);
         advancedForm.addColumn(dateMappingWidget);
+
+        advancedForm.addRow(encodingThreads);
     }
 
     public void afterOutputAction() {
@@ -82,6 +82,7 @@ public class TSnowflakeInputPropertiesTest {
         assertTrue(isQueryPropertyHidden);
         assertFalse(isConditionPropertyHidden);
         assertTrue(defaultConvertColumnsAndTableToUppercase);
+        assertFalse(inputProperties.splitQueryResult.getValue());
 
     }
 
@@ -113,6 +113,7 @@ public class TSnowflakeOutputPropertiesTest {
         assertEquals(Collections.emptyList(), defaultDBTypeType);
         assertFalse(useSchemaDatePattern);
         assertTrue(outputProperties.useSchemaKeysForUpsert.getValue());
+        assertEquals(Integer.valueOf(1), outputProperties.encodingThreads.getValue());
     }
 
     @Test
@@ -12,33 +12,58 @@
 //============================================================================
 package org.talend.components.snowflake.runtime;
 
-import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TimeZone;
 
+import org.talend.components.common.runtime.TemporalCodec;
+
 /**
- * the class help format the date type to string, the inner SimpleDateFormat object is thread local, then avoid the thread
- * share issue
+ * the class help format the date type to string, the values are formatted by the thread safe codecs of the default time
+ * zone when the formatter is created, so a formatter can be shared by the threads. The inner SimpleDateFormat objects
+ * are only kept for the callers of the getters, they are thread local.
  *
  * @author wangwei
  */
 public class Formatter {
 
-    private static Map<String, DateFormat> dateFormats = new HashMap<>();
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final String TIME_PATTERN = "HH:mm:ss.SSS";
+
+    private static final String TIMESTAMP_PATTERN = "yyyy-MM-dd HH:mm:ss.SSSXXX";
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    // the codec and java.time only give the same date between these days
+    private static final long FIRST_CODEC_DAY = LocalDate.of(1583, 1, 2).toEpochDay();
+
+    private static final long LAST_CODEC_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private static final TemporalCodec EPOCH_DAY_CODEC = TemporalCodec.getInstance(DATE_PATTERN, ZoneOffset.UTC);
+
+    // Time in milliseconds would mean time from midnight. It shouldn't be influenced by timezone differences.
+    private static final TemporalCodec TIME_CODEC = TemporalCodec.getInstance(TIME_PATTERN, ZoneOffset.UTC);
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final TimeZone timeZone = TimeZone.getTimeZone(zone);
+
+    private final TemporalCodec dateCodec = TemporalCodec.getInstance(DATE_PATTERN, zone);
+
+    private final TemporalCodec timestampCodec = TemporalCodec.getInstance(TIMESTAMP_PATTERN, zone);
 
     private static final ThreadLocal<SimpleDateFormat> DATEFORMATTER_LOCAL = new ThreadLocal<SimpleDateFormat>() {
 
         @Override
         protected SimpleDateFormat initialValue() {
-            return new SimpleDateFormat("yyyy-MM-dd");
+            return new SimpleDateFormat(DATE_PATTERN);
         }
 
     };
@@ -49,7 +74,7 @@ public class Formatter {
 
         @Override
         protected SimpleDateFormat initialValue() {
-            return new SimpleDateFormat("HH:mm:ss.SSS");
+            return new SimpleDateFormat(TIME_PATTERN);
         }
 
     };
@@ -66,7 +91,7 @@ public class Formatter {
 
         @Override
         protected SimpleDateFormat initialValue() {
-            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSXXX");
+            return new SimpleDateFormat(TIMESTAMP_PATTERN);
         }
 
     };
@@ -81,9 +106,9 @@ public class Formatter {
      */
     Object formatTimestampMillis(Object inputValue) {
         if (inputValue instanceof Date) {
-            return getTimestampFormatter().format(inputValue);
+            return timestampCodec.format((Date) inputValue);
         } else if (inputValue instanceof Long) {
-            return getTimestampFormatter().format(new Date((Long) inputValue));
+            return timestampCodec.format((Long) inputValue);
         } else {
             return inputValue;
         }
@@ -127,18 +152,21 @@ public class Formatter {
             // If the date is int, it represents amount of days from 1970(no timezone). So if the date is
             // 14.01.2017 it shouldn't be influenced by timezones time differences. It should be the same date
             // in any timezone.
-            return LocalDate.ofEpochDay(((Integer) inputValue).longValue()).format(DateTimeFormatter.ISO_LOCAL_DATE);
+            long epochDay = ((Integer) inputValue).longValue();
+            if (epochDay >= FIRST_CODEC_DAY && epochDay < LAST_CODEC_DAY) {
+                return EPOCH_DAY_CODEC.format(epochDay * MILLIS_PER_DAY);
+            }
+            return LocalDate.ofEpochDay(epochDay).format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
 
         Date date = inputValueAsDate(inputValue);
-        return getDateFormatter().format(date);
+        return dateCodec.format(date);
     }
 
     String formatDateWithPattern(final String datePattern, final Object inputValue) {
         Date date = inputValueAsDate(inputValue);
 
-        DateFormat df = dateFormats.computeIfAbsent(datePattern, p -> new SimpleDateFormat(p));
-        return df.format((Date) date);
+        return TemporalCodec.getInstance(datePattern, zone).format(date);
     }
 
     /**
@@ -148,25 +176,18 @@ public class Formatter {
      * @return
      */
     String formatTimeMillis(Object inputValue) {
-        final Date date;
+        final long time;
         if (inputValue instanceof Date) {
-            date = (Date) inputValue;
+            time = ((Date) inputValue).getTime();
         } else {//support the old int type input for time type though it's wrong before
-            date = new Date((int) inputValue);
+            time = (int) inputValue;
         }
 
-        Calendar c = Calendar.getInstance();
-        c.setTime(date);
-
-        // we need to set the time with DST offset(01-01-1970)
-        Calendar c1 = Calendar.getInstance();
-        c1.setTimeInMillis(0);
-        c1.set(Calendar.HOUR_OF_DAY, c.get(Calendar.HOUR_OF_DAY));
-        c1.set(Calendar.MINUTE, c.get(Calendar.MINUTE));
-        c1.set(Calendar.SECOND, c.get(Calendar.SECOND));
-        c1.set(Calendar.MILLISECOND, c.get(Calendar.MILLISECOND));
+        // we need to set the local time of the day with DST offset(01-01-1970), then write it in GMT
+        long localTime = Math.floorMod(time + timeZone.getOffset(time), MILLIS_PER_DAY);
+        long epochTime = localTime - timeZone.getOffset(localTime - timeZone.getOffset(0));
 
-        return getTimeFormatter().format(c1.getTime());
+        return TIME_CODEC.format(epochTime);
     }
 
     public SimpleDateFormat getDateFormatter() {
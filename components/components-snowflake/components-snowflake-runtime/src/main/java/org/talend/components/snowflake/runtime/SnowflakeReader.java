@@ -17,13 +17,17 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.components.api.component.runtime.AbstractBoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.component.runtime.Result;
@@ -35,10 +39,17 @@ import org.talend.daikon.avro.SchemaConstants;
 import org.talend.daikon.i18n.GlobalI18N;
 import org.talend.daikon.i18n.I18nMessages;
 
+import net.snowflake.client.jdbc.SnowflakeResultSet;
+import net.snowflake.client.jdbc.SnowflakeResultSetSerializable;
+
 public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
 
     private static final I18nMessages i18nMessages = GlobalI18N.getI18nMessageProvider().getI18nMessages(SnowflakeReader.class);
 
+    private transient static final Logger LOG = LoggerFactory.getLogger(SnowflakeReader.class);
+
+    private static final Pattern BYTES_ASSIGNED_PATTERN = Pattern.compile("\"bytesAssigned\"\\s*:\\s*(\\d+)");
+
     private transient Connection connection;
 
     private transient SnowflakeResultSetIndexedRecordConverter factory;
@@ -130,6 +141,16 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
     @Override
     public boolean start() throws IOException {
         result = new Result();
+        SnowflakeResultSetSerializable resultChunk = ((SnowflakeSource) getCurrentSource()).getResultChunk();
+        if (resultChunk != null) {
+            // the query is already executed, the chunk is downloaded from the result of the query
+            try {
+                resultSet = resultChunk.getResultSet();
+                return haveNext();
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        }
         try {
             statement = getConnection().createStatement();
             resultSet = statement.executeQuery(getQueryString());
@@ -140,6 +161,44 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
         }
     }
 
+    /**
+     * Execute the query and split its result in chunks of about the given size, each chunk can be read by another
+     * reader, even in another process.
+     */
+    List<SnowflakeResultSetSerializable> executeInChunks(long chunkSizeBytes) throws IOException {
+        try {
+            // not the connection of the source, which is closed after
+            connection = ((SnowflakeSource) getCurrentSource()).createNewConnection(container);
+            statement = connection.createStatement();
+            resultSet = statement.executeQuery(getQueryString());
+            SnowflakeResultSet snowflakeResultSet = resultSet.unwrap(SnowflakeResultSet.class);
+            List<SnowflakeResultSetSerializable> chunks = snowflakeResultSet.getResultSetSerializables(chunkSizeBytes);
+            LOG.info("The result of the query {} is read in {} chunks.", snowflakeResultSet.getQueryID(), chunks.size());
+            return chunks;
+        } catch (SQLException e) {
+            throw new IOException(i18nMessages.getMessage("error.processQuery", getQueryString()), e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * @return the bytes scanned by the query from its plan, the query isn't executed
+     */
+    long estimateQueryBytes() throws IOException {
+        try {
+            connection = ((SnowflakeSource) getCurrentSource()).createNewConnection(container);
+            statement = connection.createStatement();
+            resultSet = statement.executeQuery("EXPLAIN USING JSON " + getQueryString());
+            Matcher matcher = resultSet.next() ? BYTES_ASSIGNED_PATTERN.matcher(resultSet.getString(1)) : null;
+            return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+        } catch (SQLException e) {
+            throw new IOException(e);
+        } finally {
+            close();
+        }
+    }
+
     private boolean haveNext() throws SQLException {
         boolean haveNext = resultSet.next();
 
@@ -211,7 +270,7 @@ public class SnowflakeReader extends AbstractBoundedReader<IndexedRecord> {
                     }
                     return properties.manualQuery.getValue()
                             ? factory.getRegistry().inferSchema(resultSet.getMetaData())
-                                    : source.getSchema(container, connection, tableName);
+                                    : source.getSchema(container, getConnection(), tableName);
                 } catch (SQLException e) {
                     throw new IOException(e);
                 }
@@ -0,0 +1,326 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+
+/**
+ * Converts the records to the rows of the loader and submits them to the loader.
+ *
+ * With one thread, a record is converted and submitted by the component thread, like before. With more threads, the
+ * records are converted by a pool of encoding threads, and the rows are submitted in the record order by one submit
+ * thread, as the loader is not thread safe. The rows are taken from a pool of preallocated buffers which is also the
+ * bound of the queue: the component thread waits when all the buffers are used. The values of a queued record are
+ * copied by the component thread, as the previous component may reuse the same record for the next row.
+ *
+ * The counters of each stage can be read while the rows are written.
+ */
+public class SnowflakeRowPipeline {
+
+    public interface RowEncoder {
+
+        /**
+         * Fill the row with the values of the record, all the values of the row must be set.
+         */
+        void encode(IndexedRecord input, Object[] row);
+    }
+
+    public interface RowSubmitter {
+
+        void submit(Object[] row);
+    }
+
+    /**
+     * the upper limit of the encoding threads, the rows are submitted by one thread anyway
+     */
+    static final int MAXIMUM_THREADS = 16;
+
+    static final int BUFFERS_PER_THREAD = 16;
+
+    private static final Future<Object[]> END = CompletableFuture.completedFuture(null);
+
+    private final RowEncoder encoder;
+
+    private final RowSubmitter submitter;
+
+    private final BlockingQueue<Object[]> rowBuffers;
+
+    private final BlockingQueue<Future<Object[]>> pendingRows;
+
+    private final ExecutorService encodeExecutor;
+
+    private final Thread submitThread;
+
+    private volatile Throwable failure;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    private final AtomicLong encodedCount = new AtomicLong();
+
+    private final AtomicLong encodeNanos = new AtomicLong();
+
+    private final AtomicLong submittedCount = new AtomicLong();
+
+    private final AtomicLong submitNanos = new AtomicLong();
+
+    /**
+     * @param threads - the count of the encoding threads, 1 or less to convert and submit in the component thread
+     * @param rowSize - the count of the values of a row
+     */
+    public SnowflakeRowPipeline(int threads, int rowSize, RowEncoder encoder, RowSubmitter submitter) {
+        this.encoder = encoder;
+        this.submitter = submitter;
+
+        threads = Math.min(Math.max(threads, 1), MAXIMUM_THREADS);
+        int bufferCount = threads == 1 ? 1 : threads * BUFFERS_PER_THREAD;
+        rowBuffers = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            rowBuffers.add(new Object[rowSize]);
+        }
+
+        if (threads == 1) {
+            pendingRows = null;
+            encodeExecutor = null;
+            submitThread = null;
+            return;
+        }
+
+        // one more slot for the end marker
+        pendingRows = new ArrayBlockingQueue<>(bufferCount + 1);
+        final AtomicInteger threadIndex = new AtomicInteger();
+        encodeExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "SnowflakeRowPipeline-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        submitThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                submitAll();
+            }
+        }, "SnowflakeRowPipeline-submit");
+        submitThread.setDaemon(true);
+        submitThread.start();
+    }
+
+    /**
+     * Convert the record and submit it, or queue it when there are several threads.
+     *
+     * @throws IOException if a previous row can't be converted or submitted
+     */
+    public void put(IndexedRecord input) throws IOException {
+        checkFailure();
+        receivedCount.incrementAndGet();
+
+        final Object[] row;
+        long start = System.nanoTime();
+        try {
+            row = rowBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        waitNanos.addAndGet(System.nanoTime() - start);
+
+        if (encodeExecutor == null) {
+            try {
+                encode(input, row);
+                submit(row);
+            } finally {
+                rowBuffers.add(row);
+            }
+            return;
+        }
+
+        final IndexedRecord queued = copy(input);
+        Future<Object[]> encoded = encodeExecutor.submit(new Callable<Object[]>() {
+
+            @Override
+            public Object[] call() {
+                try {
+                    encode(queued, row);
+                    return row;
+                } catch (RuntimeException e) {
+                    rowBuffers.add(row);
+                    throw e;
+                }
+            }
+        });
+        try {
+            pendingRows.put(encoded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Wait until all the rows are submitted and stop the threads.
+     *
+     * @throws IOException if a row can't be converted or submitted
+     */
+    public void finish() throws IOException {
+        if (submitThread != null) {
+            try {
+                pendingRows.put(END);
+                submitThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                encodeExecutor.shutdownNow();
+            }
+        }
+        checkFailure();
+    }
+
+    private static IndexedRecord copy(IndexedRecord input) {
+        GenericData.Record copy = new GenericData.Record(input.getSchema());
+        for (int i = 0; i < input.getSchema().getFields().size(); i++) {
+            copy.put(i, input.get(i));
+        }
+        return copy;
+    }
+
+    private void encode(IndexedRecord input, Object[] row) {
+        long start = System.nanoTime();
+        encoder.encode(input, row);
+        encodeNanos.addAndGet(System.nanoTime() - start);
+        encodedCount.incrementAndGet();
+    }
+
+    private void submit(Object[] row) {
+        long start = System.nanoTime();
+        submitter.submit(row);
+        submitNanos.addAndGet(System.nanoTime() - start);
+        submittedCount.incrementAndGet();
+    }
+
+    /**
+     * Submit the rows in the record order, the rows are only dropped after a failure, so the component thread never
+     * waits for a buffer.
+     */
+    private void submitAll() {
+        try {
+            Future<Object[]> encoded;
+            while ((encoded = pendingRows.take()) != END) {
+                Object[] row;
+                try {
+                    row = encoded.get();
+                } catch (ExecutionException e) {
+                    setFailure(e.getCause());
+                    continue;
+                }
+                try {
+                    if (failure == null) {
+                        submit(row);
+                    }
+                } catch (RuntimeException e) {
+                    setFailure(e);
+                } finally {
+                    rowBuffers.add(row);
+                }
+            }
+        } catch (InterruptedException e) {
+            setFailure(e);
+        }
+    }
+
+    private void setFailure(Throwable e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable e = failure;
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return the count of the records given to the pipeline
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * @return the time spent by the component thread waiting for a free row buffer, in nanoseconds
+     */
+    public long getWaitNanos() {
+        return waitNanos.get();
+    }
+
+    /**
+     * @return the count of the records converted to rows
+     */
+    public long getEncodedCount() {
+        return encodedCount.get();
+    }
+
+    /**
+     * @return the time spent by all the threads converting the records, in nanoseconds
+     */
+    public long getEncodeNanos() {
+        return encodeNanos.get();
+    }
+
+    /**
+     * @return the count of the rows submitted to the loader
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return the time spent submitting the rows to the loader, in nanoseconds
+     */
+    public long getSubmitNanos() {
+        return submitNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "received: " + getReceivedCount() + ", wait: " + getWaitNanos() / 1000000 + " ms, encoded: "
+                + getEncodedCount() + " in " + getEncodeNanos() / 1000000 + " ms, submitted: " + getSubmittedCount()
+                + " in " + getSubmitNanos() / 1000000 + " ms";
+    }
+
+}
@@ -12,30 +12,86 @@
 //============================================================================
 package org.talend.components.snowflake.runtime;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.components.api.component.runtime.BoundedReader;
 import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.api.container.RuntimeContainer;
+import org.talend.components.api.exception.ComponentException;
 import org.talend.components.snowflake.tsnowflakeinput.TSnowflakeInputProperties;
 import org.talend.daikon.exception.TalendRuntimeException;
 
+import net.snowflake.client.jdbc.SnowflakeResultSetSerializable;
+
 public class SnowflakeSource extends SnowflakeSourceOrSink implements BoundedSource {
 
+    private static final long serialVersionUID = 1L;
+
+    private transient static final Logger LOG = LoggerFactory.getLogger(SnowflakeSource.class);
+
+    /**
+     * the size of a bundle when the runner doesn't give one
+     */
+    static final long DEFAULT_BUNDLE_SIZE = 128L * 1024 * 1024;
+
+    /**
+     * the part of the query result read by this source, null to execute the query
+     */
+    private SnowflakeResultSetSerializable resultChunk;
+
     public SnowflakeSource() {
     }
 
+    /**
+     * When the query result is split, the query is executed once here, and each bundle reads some chunks of its result,
+     * so the bundles can be read by several executors. Else the query is executed by the only bundle.
+     */
     @Override
     public List<? extends BoundedSource> splitIntoBundles(long desiredBundleSizeBytes, RuntimeContainer adaptor) {
         List<BoundedSource> list = new ArrayList<>();
-        list.add(this);
+        if (resultChunk != null || !isSplitQueryResult()) {
+            list.add(this);
+            return list;
+        }
+
+        List<SnowflakeResultSetSerializable> chunks;
+        try {
+            long chunkSize = desiredBundleSizeBytes > 0 ? desiredBundleSizeBytes : DEFAULT_BUNDLE_SIZE;
+            chunks = newReader(adaptor).executeInChunks(chunkSize);
+        } catch (IOException e) {
+            throw new ComponentException(e);
+        }
+        for (SnowflakeResultSetSerializable chunk : chunks) {
+            SnowflakeSource bundle = new SnowflakeSource();
+            bundle.initialize(adaptor, properties);
+            bundle.resultChunk = chunk;
+            list.add(bundle);
+        }
+        LOG.debug("The query result is split in {} bundles.", list.size());
         return list;
     }
 
+    /**
+     * @return the uncompressed size of the result chunks of a bundle, the bytes scanned by the query from its plan when
+     * the result is split, else 0
+     */
     @Override
     public long getEstimatedSizeBytes(RuntimeContainer adaptor) {
+        try {
+            if (resultChunk != null) {
+                return resultChunk.getUncompressedDataSizeInBytes();
+            } else if (isSplitQueryResult()) {
+                return newReader(adaptor).estimateQueryBytes();
+            }
+        } catch (Exception e) {
+            // only an estimation
+            LOG.warn("Can't estimate the size of the query result.", e);
+        }
         return 0;
     }
 
@@ -46,6 +102,19 @@ public class SnowflakeSource extends SnowflakeSourceOrSink implements BoundedSou
 
     @Override
     public BoundedReader<? extends IndexedRecord> createReader(RuntimeContainer container) {
+        return newReader(container);
+    }
+
+    SnowflakeResultSetSerializable getResultChunk() {
+        return resultChunk;
+    }
+
+    private boolean isSplitQueryResult() {
+        return properties instanceof TSnowflakeInputProperties
+                && Boolean.TRUE.equals(((TSnowflakeInputProperties) properties).splitQueryResult.getValue());
+    }
+
+    private SnowflakeReader newReader(RuntimeContainer container) {
         if (properties instanceof TSnowflakeInputProperties) {
             return new SnowflakeReader(container, this, (TSnowflakeInputProperties) properties);
         }
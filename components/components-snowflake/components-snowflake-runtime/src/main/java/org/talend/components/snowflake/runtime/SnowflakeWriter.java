@@ -32,6 +32,8 @@ import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.components.api.component.runtime.Result;
 import org.talend.components.api.component.runtime.WriteOperation;
 import org.talend.components.api.component.runtime.WriterWithFeedback;
@@ -58,6 +60,8 @@ import net.snowflake.client.loader.StreamLoader;
 
 public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord, IndexedRecord> {
 
+    private transient static final Logger LOGGER = LoggerFactory.getLogger(SnowflakeWriter.class);
+
     private final static Set<String> STRING_TYPES = new HashSet<>(Arrays.asList(new String[]{"STRING", "TEXT", "VARCHAR"}));
 
     protected Loader loader;
@@ -68,7 +72,10 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
 
     protected Connection processingConnection;
 
-    protected Object[] row;
+    /**
+     * converts the records to rows and submits them to the loader, it's created with the first record
+     */
+    protected SnowflakeRowPipeline rowPipeline;
 
     private SnowflakeResultListener listener;
 
@@ -98,7 +105,8 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
 
     private transient List<Schema.Field> collectedFields;
 
-    private Formatter formatter = new Formatter();
+    // the formatter is thread safe, it's shared by the encoding threads
+    private final Formatter formatter = new Formatter();
 
     private transient List<Schema.Field> remoteTableFields;
 
@@ -230,7 +238,10 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
     private void setLoaderColumnsPropertyAtRuntime(Loader loader, List<Field> columns, List<Field> remoteColumns, boolean orderIsAdjusted) {
         StringSchemaInfo ssi = getStringSchemaInfo(sprops, mainSchema, columns, orderIsAdjusted, remoteColumns, sprops.tableAction.getValue(), useRuntimeSchemaForMainSchema);
 
-        row = new Object[ssi.columnsStr.size()];
+        // the lazy fields are initialized before the rows are encoded by several threads
+        getDbTypeMap();
+        rowPipeline = new SnowflakeRowPipeline(getEncodingThreads(), ssi.columnsStr.size(),
+                (input, row) -> populateRowData(input, columns, remoteColumns, row), loader::submitRow);
 
         // TODO remove the condition, now add it only for more safe for old job
         if(orderIsAdjusted || (sprops.tableAction.getValue()!=TableAction.TableActionEnum.NONE)) {
@@ -388,11 +399,19 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
 
             isFirst = false;
         }
-        populateRowData(input, collectedFields, remoteTableFields);
+        rowPipeline.put(input);
     }
 
+    private int getEncodingThreads() {
+        Integer encodingThreads = sprops.encodingThreads.getValue();
+        return encodingThreads == null ? 1 : encodingThreads;
+    }
+
+    /**
+     * Fill the row with the values of the record, it may be called by several threads at the same time.
+     */
     protected void populateRowData(IndexedRecord input,
-            List<Schema.Field> recordFields, List<Schema.Field> remoteFields) {
+            List<Schema.Field> recordFields, List<Schema.Field> remoteFields, Object[] row) {
         for (int i = 0, j = 0; i < row.length && j < remoteFields.size(); j++) {
             Field f = recordFields.get(j);
             Field remoteTableField = remoteFields.get(j);
@@ -420,8 +439,6 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
             }
             i++;
         }
-
-        loader.submitRow(row);
     }
 
     protected IndexedRecord getInputRecord(Object datum) {
@@ -512,6 +529,13 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
 
     @Override
     public Result close() throws IOException {
+        if (null != rowPipeline) {
+            try {
+                rowPipeline.finish();
+            } finally {
+                LOGGER.debug("Snowflake rows: " + rowPipeline);
+            }
+        }
         try {
             if(null != loader) {
                 loader.finish();
@@ -528,6 +552,13 @@ public class SnowflakeWriter implements WriterWithFeedback<Result, IndexedRecord
         return new Result(uId, listener.getSubmittedRowCount(), listener.counter.get(), listener.getErrorRecordCount());
     }
 
+    /**
+     * @return the pipeline with the counters of the written rows, or null if no record is written
+     */
+    public SnowflakeRowPipeline getRowPipeline() {
+        return rowPipeline;
+    }
+
     @Override
     public WriteOperation<Result> getWriteOperation() {
         return snowflakeWriteOperation;
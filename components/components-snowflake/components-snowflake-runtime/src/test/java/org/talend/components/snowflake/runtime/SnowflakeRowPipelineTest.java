@@ -0,0 +1,134 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.snowflake.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SnowflakeRowPipeline} class
+ */
+public class SnowflakeRowPipelineTest {
+
+    private static final Schema SCHEMA = SchemaBuilder.record("record").fields().requiredInt("id").endRecord();
+
+    private static final SnowflakeRowPipeline.RowEncoder ENCODER = new SnowflakeRowPipeline.RowEncoder() {
+
+        @Override
+        public void encode(IndexedRecord input, Object[] row) {
+            int id = (Integer) input.get(0);
+            if (id < 0) {
+                throw new IllegalArgumentException("invalid id " + id);
+            }
+            row[0] = id;
+            row[1] = "value " + id;
+        }
+    };
+
+    @Test
+    public void testSubmitInRecordOrder() throws Exception {
+        final List<Object> submitted = new ArrayList<>();
+        SnowflakeRowPipeline pipeline = new SnowflakeRowPipeline(4, 2, ENCODER, new SnowflakeRowPipeline.RowSubmitter() {
+
+            @Override
+            public void submit(Object[] row) {
+                // the loader copies the row, so the buffer can be reused
+                submitted.add(row[0]);
+            }
+        });
+
+        for (int i = 0; i < 1000; i++) {
+            pipeline.put(newRecord(i));
+        }
+        pipeline.finish();
+
+        Assert.assertEquals(1000, submitted.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, submitted.get(i));
+        }
+        Assert.assertEquals(1000, pipeline.getReceivedCount());
+        Assert.assertEquals(1000, pipeline.getEncodedCount());
+        Assert.assertEquals(1000, pipeline.getSubmittedCount());
+    }
+
+    @Test
+    public void testReusedRecord() throws Exception {
+        final List<Object> submitted = new ArrayList<>();
+        SnowflakeRowPipeline pipeline = new SnowflakeRowPipeline(4, 2, ENCODER, new SnowflakeRowPipeline.RowSubmitter() {
+
+            @Override
+            public void submit(Object[] row) {
+                submitted.add(row[0] + ":" + row[1]);
+            }
+        });
+
+        // the same record is updated for each row, as the previous component may do
+        IndexedRecord record = newRecord(0);
+        for (int i = 0; i < 1000; i++) {
+            record.put(0, i);
+            pipeline.put(record);
+        }
+        record.put(0, -1);
+        pipeline.finish();
+
+        Assert.assertEquals(1000, submitted.size());
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i + ":value " + i, submitted.get(i));
+        }
+    }
+
+    @Test
+    public void testSingleThreadSubmitsInline() throws Exception {
+        final List<Thread> threads = new ArrayList<>();
+        SnowflakeRowPipeline pipeline = new SnowflakeRowPipeline(1, 2, ENCODER, new SnowflakeRowPipeline.RowSubmitter() {
+
+            @Override
+            public void submit(Object[] row) {
+                threads.add(Thread.currentThread());
+            }
+        });
+
+        pipeline.put(newRecord(1));
+        Assert.assertEquals(1, pipeline.getSubmittedCount());
+        Assert.assertSame(Thread.currentThread(), threads.get(0));
+        pipeline.finish();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeErrorThrown() throws Exception {
+        SnowflakeRowPipeline pipeline = new SnowflakeRowPipeline(2, 2, ENCODER, new SnowflakeRowPipeline.RowSubmitter() {
+
+            @Override
+            public void submit(Object[] row) {
+                // nothing to do
+            }
+        });
+
+        pipeline.put(newRecord(1));
+        pipeline.put(newRecord(-1));
+        pipeline.put(newRecord(2));
+        pipeline.finish();
+    }
+
+    private static IndexedRecord newRecord(int id) {
+        return new GenericRecordBuilder(SCHEMA).set("id", id).build();
+    }
+
+}
@@ -12,14 +12,24 @@
 //============================================================================
 package org.talend.components.snowflake.runtime;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.talend.components.api.component.runtime.BoundedSource;
 import org.talend.components.snowflake.tsnowflakeinput.TSnowflakeInputProperties;
 import org.talend.daikon.exception.TalendRuntimeException;
 
+import net.snowflake.client.jdbc.SnowflakeResultSet;
+import net.snowflake.client.jdbc.SnowflakeResultSetSerializable;
+
 /**
  * Unit tests for {@link SnowflakeSource} class
  */
@@ -38,6 +48,49 @@ public class SnowflakeSourceTest {
         Assert.assertEquals(Collections.singletonList(source), source.splitIntoBundles(0, null));
     }
 
+    @Test
+    public void testSplitQueryResult() throws Exception {
+        TSnowflakeInputProperties properties = new TSnowflakeInputProperties("inputProperties");
+        properties.init();
+        properties.manualQuery.setValue(true);
+        properties.query.setValue("select id from test");
+        properties.splitQueryResult.setValue(true);
+        SnowflakeSource splitSource = Mockito.spy(new SnowflakeSource());
+        splitSource.initialize(null, properties);
+
+        SnowflakeResultSetSerializable chunk1 = Mockito.mock(SnowflakeResultSetSerializable.class);
+        SnowflakeResultSetSerializable chunk2 = Mockito.mock(SnowflakeResultSetSerializable.class);
+        Mockito.when(chunk1.getUncompressedDataSizeInBytes()).thenReturn(1000L);
+        ResultSet chunkResultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(chunk1.getResultSet()).thenReturn(chunkResultSet);
+        Mockito.when(chunkResultSet.next()).thenReturn(true, false);
+
+        Connection connection = Mockito.mock(Connection.class);
+        Statement statement = Mockito.mock(Statement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        SnowflakeResultSet snowflakeResultSet = Mockito.mock(SnowflakeResultSet.class);
+        Mockito.doReturn(connection).when(splitSource).createNewConnection(null);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+        Mockito.when(statement.executeQuery("select id from test")).thenReturn(resultSet);
+        Mockito.when(resultSet.unwrap(SnowflakeResultSet.class)).thenReturn(snowflakeResultSet);
+        Mockito.when(snowflakeResultSet.getResultSetSerializables(SnowflakeSource.DEFAULT_BUNDLE_SIZE))
+                .thenReturn(Arrays.asList(chunk1, chunk2));
+
+        List<? extends BoundedSource> bundles = splitSource.splitIntoBundles(0, null);
+
+        Assert.assertEquals(2, bundles.size());
+        Assert.assertSame(chunk1, ((SnowflakeSource) bundles.get(0)).getResultChunk());
+        Assert.assertSame(chunk2, ((SnowflakeSource) bundles.get(1)).getResultChunk());
+        Assert.assertEquals(1000L, bundles.get(0).getEstimatedSizeBytes(null));
+        Mockito.verify(connection).close();
+
+        // a bundle reads its chunk without executing the query again
+        SnowflakeReader reader = (SnowflakeReader) bundles.get(0).createReader(null);
+        Assert.assertTrue(reader.start());
+        Assert.assertFalse(reader.advance());
+        Mockito.verify(statement, Mockito.times(1)).executeQuery("select id from test");
+    }
+
     @Test
     public void testGetEstimatedSizeBytes() {
         Assert.assertEquals(0, source.getEstimatedSizeBytes(null));
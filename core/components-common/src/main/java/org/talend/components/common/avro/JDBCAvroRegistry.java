@@ -14,6 +14,7 @@ package org.talend.components.common.avro;
 
 import java.sql.CallableStatement;
 import java.sql.DatabaseMetaData;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -317,22 +318,7 @@ public class JDBCAvroRegistry extends AvroRegistry {
 
             };
         } else if (AvroUtils.isSameType(basicSchema, AvroUtils._int())) {
-            return new JDBCConverter() {
-
-                @Override
-                public Object convertToAvro(ResultSet value) {
-                    try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getInt(index);
-                    } catch (SQLException e) {
-                        throw new ComponentException(e);
-                    }
-                }
-
-            };
+            return new JDBCIntConverter(index);
         } else if (AvroUtils.isSameType(basicSchema, AvroUtils._date())) {// no date type in AVRO types, so we replace it by long
             // type
             return new JDBCConverter() {
@@ -340,13 +326,12 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if(value.getObject(index) == null){
-                            return null;
-                        }
+                        // null for the null value, no need to check it by another fetch
                         return value.getTimestamp(index);
                     } catch (Exception e1) {
                         try {
-                            return value.getDate(index).getTime();
+                            Date result = value.getDate(index);
+                            return result == null ? null : result.getTime();
                         } catch (SQLException e2) {
                             throw new ComponentException(e2);
                         }
@@ -364,9 +349,6 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if(value.getObject(index) == null){
-                            return null;
-                        }
                         return value.getBigDecimal(index);
                     } catch (SQLException e) {
                         throw new ComponentException(e);
@@ -375,50 +357,17 @@ public class JDBCAvroRegistry extends AvroRegistry {
 
             };
         } else if (AvroUtils.isSameType(basicSchema, AvroUtils._long())) {
-            return new JDBCConverter() {
-
-                @Override
-                public Object convertToAvro(ResultSet value) {
-                    try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getLong(index);
-                    } catch (SQLException e) {
-                        throw new ComponentException(e);
-                    }
-                }
-
-            };
+            return new JDBCLongConverter(index);
         } else if (AvroUtils.isSameType(basicSchema, AvroUtils._double())) {
-            return new JDBCConverter() {
-
-                @Override
-                public Object convertToAvro(ResultSet value) {
-                    try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getDouble(index);
-                    } catch (SQLException e) {
-                        throw new ComponentException(e);
-                    }
-                }
-
-            };
+            return new JDBCDoubleConverter(index);
         } else if (AvroUtils.isSameType(basicSchema, AvroUtils._float())) {
             return new JDBCConverter() {
 
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getFloat(index);
+                        float result = value.getFloat(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -431,11 +380,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getBoolean(index);
+                        boolean result = value.getBoolean(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -448,11 +394,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getShort(index);
+                        short result = value.getShort(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -489,11 +432,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(ResultSet value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getByte(index);
+                        byte result = value.getByte(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -598,6 +538,96 @@ public class JDBCAvroRegistry extends AvroRegistry {
 
     }
 
+    /**
+     * the converter for the int column, it can read the column as a primitive value too
+     */
+    public class JDBCIntConverter extends JDBCConverter {
+
+        private final int index;
+
+        public JDBCIntConverter(int index) {
+            this.index = index;
+        }
+
+        /**
+         * read the column without boxing it, the caller need to check {@link ResultSet#wasNull()} after it
+         */
+        public int getInt(ResultSet value) throws SQLException {
+            return value.getInt(index);
+        }
+
+        @Override
+        public Object convertToAvro(ResultSet value) {
+            try {
+                int result = value.getInt(index);
+                return value.wasNull() ? null : result;
+            } catch (SQLException e) {
+                throw new ComponentException(e);
+            }
+        }
+
+    }
+
+    /**
+     * the converter for the long column, it can read the column as a primitive value too
+     */
+    public class JDBCLongConverter extends JDBCConverter {
+
+        private final int index;
+
+        public JDBCLongConverter(int index) {
+            this.index = index;
+        }
+
+        /**
+         * read the column without boxing it, the caller need to check {@link ResultSet#wasNull()} after it
+         */
+        public long getLong(ResultSet value) throws SQLException {
+            return value.getLong(index);
+        }
+
+        @Override
+        public Object convertToAvro(ResultSet value) {
+            try {
+                long result = value.getLong(index);
+                return value.wasNull() ? null : result;
+            } catch (SQLException e) {
+                throw new ComponentException(e);
+            }
+        }
+
+    }
+
+    /**
+     * the converter for the double column, it can read the column as a primitive value too
+     */
+    public class JDBCDoubleConverter extends JDBCConverter {
+
+        private final int index;
+
+        public JDBCDoubleConverter(int index) {
+            this.index = index;
+        }
+
+        /**
+         * read the column without boxing it, the caller need to check {@link ResultSet#wasNull()} after it
+         */
+        public double getDouble(ResultSet value) throws SQLException {
+            return value.getDouble(index);
+        }
+
+        @Override
+        public Object convertToAvro(ResultSet value) {
+            try {
+                double result = value.getDouble(index);
+                return value.wasNull() ? null : result;
+            } catch (SQLException e) {
+                throw new ComponentException(e);
+            }
+        }
+
+    }
+
     public abstract class JDBCSPConverter implements AvroConverter<CallableStatement, Object> {
 
         protected JDBCAvroRegistryInfluencer influencer;
@@ -645,11 +675,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getInt(index);
+                        int result = value.getInt(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -663,13 +690,11 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if(value.getObject(index) == null){
-                            return null;
-                        }
                         return value.getTimestamp(index);
                     } catch (Exception e1) {
                         try {
-                            return value.getDate(index).getTime();
+                            Date result = value.getDate(index);
+                            return result == null ? null : result.getTime();
                         } catch (SQLException e2) {
                             throw new ComponentException(e2);
                         }
@@ -687,9 +712,6 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if(value.getObject(index) == null){
-                            return null;
-                        }
                         return value.getBigDecimal(index);
                     } catch (SQLException e) {
                         throw new ComponentException(e);
@@ -703,11 +725,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getLong(index);
+                        long result = value.getLong(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -720,11 +739,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getDouble(index);
+                        double result = value.getDouble(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -737,11 +753,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getFloat(index);
+                        float result = value.getFloat(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -754,11 +767,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getBoolean(index);
+                        boolean result = value.getBoolean(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -771,11 +781,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getShort(index);
+                        short result = value.getShort(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -807,11 +814,8 @@ public class JDBCAvroRegistry extends AvroRegistry {
                 @Override
                 public Object convertToAvro(CallableStatement value) {
                     try {
-                        if (value.getObject(index) == null) {
-                            return null;
-                        }
-
-                        return value.getByte(index);
+                        byte result = value.getByte(index);
+                        return value.wasNull() ? null : result;
                     } catch (SQLException e) {
                         throw new ComponentException(e);
                     }
@@ -13,15 +13,25 @@
 package org.talend.components.common.avro;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.apache.avro.generic.IndexedRecord;
+import org.talend.components.api.exception.ComponentException;
 import org.talend.daikon.avro.converter.AvroConverter;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
 public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConverter<ResultSet, IndexedRecord> {
 
+    private static final byte OBJECT_COLUMN = 0;
+
+    private static final byte INT_COLUMN = 1;
+
+    private static final byte LONG_COLUMN = 2;
+
+    private static final byte DOUBLE_COLUMN = 3;
+
     private Schema schema;
 
     private String names[];
@@ -32,6 +42,18 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
     @SuppressWarnings("rawtypes")
     protected transient AvroConverter[] fieldConverter;
 
+    /**
+     * how to read the fields, the int, long and double fields are read as primitive values and only boxed when they are
+     * got by {@link IndexedRecord#get(int)}
+     */
+    private transient byte[] columnKinds;
+
+    private boolean reuseRecord;
+
+    private transient ResultSetIndexedRecord reusedRecord;
+
+    private transient ResultSet currentResultSet;
+
     @Override
     public Schema getSchema() {
         return schema;
@@ -46,6 +68,7 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
         this.schema = schema;
         names = new String[getSchema().getFields().size()];
         fieldConverter = new AvroConverter[names.length];
+        columnKinds = new byte[names.length];
         for (int j = 0; j < names.length; j++) {
             Field f = getSchema().getFields().get(j);
             names[j] = f.name();
@@ -54,7 +77,19 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
                 jdbcConverter.setInfluencer(influencer);
             }
             fieldConverter[j] = jdbcConverter;
+
+            if (jdbcConverter instanceof JDBCAvroRegistry.JDBCIntConverter) {
+                columnKinds[j] = INT_COLUMN;
+            } else if (jdbcConverter instanceof JDBCAvroRegistry.JDBCLongConverter) {
+                columnKinds[j] = LONG_COLUMN;
+            } else if (jdbcConverter instanceof JDBCAvroRegistry.JDBCDoubleConverter) {
+                columnKinds[j] = DOUBLE_COLUMN;
+            } else {
+                columnKinds[j] = OBJECT_COLUMN;
+            }
         }
+        reusedRecord = null;
+        currentResultSet = null;
     }
 
     private int sizeInResultSet;
@@ -67,6 +102,20 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
         //do nothing as default
     }
 
+    /**
+     * if true, {@link #convertToAvro(ResultSet)} refill the same record for every row instead of creating a new one, so a
+     * record is only valid until the next row is converted, the consumer which need to keep it must call
+     * {@link PrimitiveIndexedRecord#copy()}.
+     */
+    public void setReuseRecord(boolean reuseRecord) {
+        this.reuseRecord = reuseRecord;
+        reusedRecord = null;
+    }
+
+    public boolean isReuseRecord() {
+        return reuseRecord;
+    }
+
     @Override
     public Class<ResultSet> getDatumClass() {
         return ResultSet.class;
@@ -79,7 +128,23 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
 
     @Override
     public IndexedRecord convertToAvro(ResultSet value) {
-        return new ResultSetIndexedRecord(value);
+        // the metadata is the same for all the rows of a result set, no need to check it for every row
+        if (value != currentResultSet) {
+            resetSizeByResultSet(value);
+            currentResultSet = value;
+        }
+
+        if (!reuseRecord) {
+            ResultSetIndexedRecord record = new ResultSetIndexedRecord();
+            record.fill(value);
+            return record;
+        }
+
+        if (reusedRecord == null) {
+            reusedRecord = new ResultSetIndexedRecord();
+        }
+        reusedRecord.fill(value);
+        return reusedRecord;
     }
 
     private JDBCAvroRegistryInfluencer influencer;
@@ -88,20 +153,65 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
         this.influencer = influencer;
     }
 
-    private class ResultSetIndexedRecord implements IndexedRecord {
+    private class ResultSetIndexedRecord implements PrimitiveIndexedRecord {
+
+        private final Object[] values;
+
+        // the values of the int and long fields
+        private final long[] longValues;
+
+        private final double[] doubleValues;
 
-        private Object[] values;
+        private final boolean[] nulls;
 
-        public ResultSetIndexedRecord(ResultSet resultSet) {
-            resetSizeByResultSet(resultSet);
-            
+        ResultSetIndexedRecord() {
             values = new Object[names.length];
-            for (int i = 0; i < values.length; i++) {
-                if ((sizeInResultSet > 0) && (i == sizeInResultSet)) {
-                    break;
+            longValues = new long[names.length];
+            doubleValues = new double[names.length];
+            nulls = new boolean[names.length];
+        }
+
+        private ResultSetIndexedRecord(ResultSetIndexedRecord origin) {
+            values = origin.values.clone();
+            longValues = origin.longValues.clone();
+            doubleValues = origin.doubleValues.clone();
+            nulls = origin.nulls.clone();
+        }
+
+        void fill(ResultSet resultSet) {
+            int size = (sizeInResultSet > 0) ? Math.min(sizeInResultSet, values.length) : values.length;
+            try {
+                for (int i = 0; i < size; i++) {
+                    switch (columnKinds[i]) {
+                    case INT_COLUMN:
+                        values[i] = null;
+                        longValues[i] = ((JDBCAvroRegistry.JDBCIntConverter) fieldConverter[i]).getInt(resultSet);
+                        nulls[i] = resultSet.wasNull();
+                        break;
+                    case LONG_COLUMN:
+                        values[i] = null;
+                        longValues[i] = ((JDBCAvroRegistry.JDBCLongConverter) fieldConverter[i]).getLong(resultSet);
+                        nulls[i] = resultSet.wasNull();
+                        break;
+                    case DOUBLE_COLUMN:
+                        values[i] = null;
+                        doubleValues[i] = ((JDBCAvroRegistry.JDBCDoubleConverter) fieldConverter[i]).getDouble(resultSet);
+                        nulls[i] = resultSet.wasNull();
+                        break;
+                    default:
+                        values[i] = fieldConverter[i].convertToAvro(resultSet);
+                        nulls[i] = values[i] == null;
+                        break;
+                    }
                 }
+            } catch (SQLException e) {
+                throw new ComponentException(e);
+            }
 
-                values[i] = fieldConverter[i].convertToAvro(resultSet);
+            // the fields which are not in the result set
+            for (int i = size; i < values.length; i++) {
+                values[i] = null;
+                nulls[i] = true;
             }
         }
 
@@ -117,8 +227,77 @@ public class JDBCResultSetIndexedRecordConverter implements IndexedRecordConvert
 
         @Override
         public Object get(int i) {
+            if (nulls[i]) {
+                return null;
+            }
+
+            // box the primitive value only when it's used
+            if (values[i] == null) {
+                switch (columnKinds[i]) {
+                case INT_COLUMN:
+                    values[i] = Integer.valueOf((int) longValues[i]);
+                    break;
+                case LONG_COLUMN:
+                    values[i] = Long.valueOf(longValues[i]);
+                    break;
+                case DOUBLE_COLUMN:
+                    values[i] = Double.valueOf(doubleValues[i]);
+                    break;
+                default:
+                    break;
+                }
+            }
             return values[i];
         }
+
+        @Override
+        public boolean isNull(int i) {
+            return nulls[i];
+        }
+
+        @Override
+        public int getInt(int i) {
+            switch (columnKinds[i]) {
+            case INT_COLUMN:
+            case LONG_COLUMN:
+                return (int) longValues[i];
+            case DOUBLE_COLUMN:
+                return (int) doubleValues[i];
+            default:
+                return nulls[i] ? 0 : ((Number) values[i]).intValue();
+            }
+        }
+
+        @Override
+        public long getLong(int i) {
+            switch (columnKinds[i]) {
+            case INT_COLUMN:
+            case LONG_COLUMN:
+                return longValues[i];
+            case DOUBLE_COLUMN:
+                return (long) doubleValues[i];
+            default:
+                return nulls[i] ? 0 : ((Number) values[i]).longValue();
+            }
+        }
+
+        @Override
+        public double getDouble(int i) {
+            switch (columnKinds[i]) {
+            case INT_COLUMN:
+            case LONG_COLUMN:
+                return longValues[i];
+            case DOUBLE_COLUMN:
+                return doubleValues[i];
+            default:
+                return nulls[i] ? 0 : ((Number) values[i]).doubleValue();
+            }
+        }
+
+        @Override
+        public PrimitiveIndexedRecord copy() {
+            return new ResultSetIndexedRecord(this);
+        }
     }
 
 }
@@ -0,0 +1,52 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.avro;
+
+import org.apache.avro.generic.IndexedRecord;
+
+/**
+ * a record which can give the number values without boxing them, {@link #get(int)} still return the boxed value for the
+ * common usage.
+ *
+ * The record may be a reused buffer which is refilled for every row (see
+ * {@link JDBCResultSetIndexedRecordConverter#setReuseRecord(boolean)}), then it's only valid until the next row is read,
+ * so the consumer which keep it must call {@link #copy()}.
+ */
+public interface PrimitiveIndexedRecord extends IndexedRecord {
+
+    /**
+     * @return true if the value of the field is null
+     */
+    boolean isNull(int i);
+
+    /**
+     * @return the value of a number field as int, 0 if the value is null
+     */
+    int getInt(int i);
+
+    /**
+     * @return the value of a number field as long, 0 if the value is null
+     */
+    long getLong(int i);
+
+    /**
+     * @return the value of a number field as double, 0 if the value is null
+     */
+    double getDouble(int i);
+
+    /**
+     * @return a detached copy of current record which is not changed by the next row
+     */
+    PrimitiveIndexedRecord copy();
+
+}
@@ -0,0 +1,159 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.config.jdbc;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process wide cache of the parsed mapping files (mapping_*.xml), so a mapping file is only parsed once for all the
+ * components and jobs of the same process. The {@link Dbms} objects in the registry are shared, so they must not be
+ * changed after loading.
+ *
+ * A mapping file is reloaded if the last modified time of a local file changed, the files in a jar can't change while
+ * the jar is loaded, so they are only parsed once.
+ */
+public final class DbmsRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DbmsRegistry.class);
+
+    private static final DbmsRegistry INSTANCE = new DbmsRegistry();
+
+    /**
+     * key is the url of the mapping file
+     */
+    private final ConcurrentMap<String, Entry> byLocation = new ConcurrentHashMap<>();
+
+    /**
+     * key is the id of the mapping, like "mysql_id"
+     */
+    private final ConcurrentMap<String, Dbms> byId = new ConcurrentHashMap<>();
+
+    private DbmsRegistry() {
+    }
+
+    public static DbmsRegistry get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the first {@link Dbms} of the mapping file, the file is only parsed at the first call or when it's changed
+     *
+     * @param mappingFile url of the mapping file
+     * @return the mapping
+     * @throws IOException if the file can't be read or parsed
+     */
+    public Dbms getDbms(URL mappingFile) throws IOException {
+        List<Dbms> dbmsList = getAllDbms(mappingFile);
+        return dbmsList.get(0);
+    }
+
+    /**
+     * Returns all the {@link Dbms} of the mapping file, the file is only parsed at the first call or when it's changed
+     *
+     * @param mappingFile url of the mapping file
+     * @return the unmodifiable list of the mappings, never empty
+     * @throws IOException if the file can't be read or parsed
+     */
+    public List<Dbms> getAllDbms(URL mappingFile) throws IOException {
+        String location = mappingFile.toExternalForm();
+        long lastModified = lastModified(mappingFile);
+
+        Entry entry = byLocation.get(location);
+        if (entry != null && entry.lastModified == lastModified) {
+            return entry.dbmsList;
+        }
+
+        // two threads may parse the same file at the same time, but the result is the same, so no need to lock
+        Entry loaded = new Entry(lastModified, load(mappingFile));
+        byLocation.put(location, loaded);
+        for (Dbms dbms : loaded.dbmsList) {
+            if (dbms.getId() != null && !dbms.getId().isEmpty()) {
+                byId.put(dbms.getId(), dbms);
+            }
+        }
+        return loaded.dbmsList;
+    }
+
+    /**
+     * Returns a mapping by its id, only the mappings of the files which are already loaded can be found
+     *
+     * @param mappingId id of the mapping, like "mysql_id"
+     * @return the mapping or null if not found
+     */
+    public Dbms getDbmsById(String mappingId) {
+        return mappingId == null ? null : byId.get(mappingId);
+    }
+
+    /**
+     * Removes all the loaded mappings, the files are parsed again at the next call
+     */
+    public void clear() {
+        byLocation.clear();
+        byId.clear();
+    }
+
+    private static List<Dbms> load(URL mappingFile) throws IOException {
+        LOG.debug("Loading mapping file {}", mappingFile);
+        List<Dbms> dbmsList;
+        try (InputStream stream = mappingFile.openStream()) {
+            dbmsList = new MappingFileLoader().load(stream);
+        }
+
+        if (dbmsList == null || dbmsList.isEmpty()) {
+            throw new IOException("Could not parse mapping file " + mappingFile);
+        }
+        return Collections.unmodifiableList(dbmsList);
+    }
+
+    private static long lastModified(URL mappingFile) throws IOException {
+        if (!"file".equalsIgnoreCase(mappingFile.getProtocol())) {
+            return 0;
+        }
+
+        File file;
+        try {
+            file = new File(mappingFile.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            file = new File(mappingFile.getFile());
+        }
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        return file.lastModified();
+    }
+
+    private static class Entry {
+
+        private final long lastModified;
+
+        private final List<Dbms> dbmsList;
+
+        private Entry(long lastModified, List<Dbms> dbmsList) {
+            this.lastModified = lastModified;
+            this.dbmsList = dbmsList;
+        }
+    }
+
+}
@@ -14,7 +14,6 @@ package org.talend.components.common.runtime;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,10 +28,8 @@ import org.talend.components.common.BulkFileProperties;
 import org.talend.daikon.avro.AvroUtils;
 import org.talend.daikon.avro.converter.IndexedRecordConverter;
 
-import com.talend.csv.CSVWriter;
-
 /**
- * Generate bulk file
+ * Generate bulk file, the file is compressed by gzip if its name ends with ".gz"
  */
 public class BulkFileWriter implements Writer<Result> {
 
@@ -48,7 +45,7 @@ public class BulkFileWriter implements Writer<Result> {
 
     private String uId;
 
-    private CSVWriter csvWriter;
+    private CSVEncoder csvEncoder;
 
     private char separator = ',';
 
@@ -76,8 +73,8 @@ public class BulkFileWriter implements Writer<Result> {
         }
         File file = new File(bulkProperties.bulkFilePath.getStringValue());
         file.getParentFile().mkdirs();
-        csvWriter = new CSVWriter(new OutputStreamWriter(new java.io.FileOutputStream(file, isAppend), charset));
-        csvWriter.setSeparator(separator);
+        csvEncoder = CSVEncoder.open(file, isAppend, charset, CSVEncoder.Compression.of(filepath));
+        csvEncoder.setSeparator(separator);
 
         fileIsEmpty = (file.length() == 0);
     }
@@ -93,30 +90,29 @@ public class BulkFileWriter implements Writer<Result> {
         }
 
         if (!headerIsReady && (!isAppend || fileIsEmpty)) {
-            Schema schema = new Schema.Parser().setValidateDefaults(false).parse(bulkProperties.schema.schema.getStringValue());
+            // the schema property keep the parsed schema, no need to parse its string value again
+            Schema schema = bulkProperties.schema.schema.getValue();
 
             if (AvroUtils.isIncludeAllFields(schema) && (datum instanceof org.apache.avro.generic.IndexedRecord)) {
                 org.apache.avro.generic.IndexedRecord record = (org.apache.avro.generic.IndexedRecord) datum;
                 schema = record.getSchema();
             }
 
-            csvWriter.writeNext(getHeaders(schema));
+            csvEncoder.writeRow(getHeaders(schema));
             headerIsReady = true;
         }
 
-        List<String> values = getValues(datum);
-        csvWriter.writeNext(values.toArray(new String[values.size()]));
+        writeValues(getFactory(datum).convertToAvro((IndexedRecord) datum));
         result.totalCount++;
     }
 
     public void flush() throws IOException {
-        csvWriter.flush();
+        csvEncoder.flush();
     }
 
     @Override
     public Result close() throws IOException {
-        flush();
-        csvWriter.close();
+        csvEncoder.close();
         return result;
     }
 
@@ -137,15 +133,76 @@ public class BulkFileWriter implements Writer<Result> {
         IndexedRecord input = getFactory(datum).convertToAvro((IndexedRecord) datum);
         List<String> values = new ArrayList<String>();
         for (Schema.Field f : input.getSchema().getFields()) {
+            if (!isIncluded(f)) {
+                continue;
+            }
             if (input.get(f.pos()) != null) {
                 values.add(String.valueOf(input.get(f.pos())));
             } else {
-                values.add("");
+                values.add(getNullValue());
             }
         }
         return values;
     }
 
+    /**
+     * @return true if the field is written to the file
+     */
+    protected boolean isIncluded(Schema.Field field) {
+        return true;
+    }
+
+    /**
+     * @return the value written for null
+     */
+    protected String getNullValue() {
+        return "";
+    }
+
+    private Schema columnsSchema;
+
+    private int[] columns;
+
+    private String nullValue;
+
+    /**
+     * write the values directly to the file buffer, the same values as {@link #getValues(Object)} without creating the
+     * strings for the numbers
+     */
+    private void writeValues(IndexedRecord input) throws IOException {
+        if (input.getSchema() != columnsSchema) {
+            columnsSchema = input.getSchema();
+            List<Integer> positions = new ArrayList<>();
+            for (Schema.Field f : columnsSchema.getFields()) {
+                if (isIncluded(f)) {
+                    positions.add(f.pos());
+                }
+            }
+            columns = new int[positions.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = positions.get(i);
+            }
+            nullValue = getNullValue();
+        }
+
+        for (int position : columns) {
+            Object value = input.get(position);
+            if (value == null) {
+                csvEncoder.writeColumn(nullValue);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Byte) {
+                csvEncoder.writeColumn(((Number) value).longValue());
+            } else if (value instanceof CharSequence) {
+                csvEncoder.writeColumn((CharSequence) value);
+            } else if (value instanceof Boolean) {
+                csvEncoder.writeColumn((Boolean) value ? "true" : "false");
+            } else {
+                csvEncoder.writeColumn(String.valueOf(value));
+            }
+        }
+        csvEncoder.endRow();
+    }
+
     public IndexedRecordConverter<IndexedRecord, IndexedRecord> getFactory(Object datum) {
         if (null == factory) {
             factory = new GenericIndexedRecordConverter();
@@ -0,0 +1,335 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CSV writer for the bulk files, the columns are written into one reusable char buffer which is encoded to the file
+ * channel directly when it's full, so no String or array is created for a row.
+ *
+ * The quote modes are the same as the ones of talend CSVWriter: AUTO only quotes the value which contains the separator,
+ * the quote char or a line break, FORCE quotes all the values, NO never quotes. In a quoted value, the quote char and the
+ * escape char are escaped by the escape char, so the quote char is doubled by default.
+ */
+public class CSVEncoder implements Closeable, Flushable {
+
+    public enum QuoteMode {
+        AUTO,
+        FORCE,
+        NO
+    }
+
+    public enum Compression {
+        NONE,
+        GZIP;
+
+        /**
+         * @return GZIP if the file name ends with ".gz", else NONE
+         */
+        public static Compression of(String filePath) {
+            return filePath != null && filePath.toLowerCase(Locale.ENGLISH).endsWith(".gz") ? GZIP : NONE;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Closeable resource;
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder;
+
+    private final char[] chars = new char[BUFFER_SIZE];
+
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+    private final ByteBuffer byteBuffer = ByteBuffer.allocate(BUFFER_SIZE * 2);
+
+    private int position;
+
+    private char separator = ',';
+
+    private char quoteChar = '"';
+
+    private char escapeChar = '"';
+
+    private String lineEnd = "\n";
+
+    private QuoteMode quoteMode = QuoteMode.AUTO;
+
+    private boolean firstColumn = true;
+
+    private boolean closed;
+
+    public CSVEncoder(WritableByteChannel channel, Charset charset) {
+        this(channel, channel, charset);
+    }
+
+    private CSVEncoder(WritableByteChannel channel, Closeable resource, Charset charset) {
+        this.channel = channel;
+        this.resource = resource;
+        // same as OutputStreamWriter, replace the chars which can't be encoded
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * open a file for writing, the gzip file is appended as a new gzip member, which is still a valid gzip file
+     */
+    public static CSVEncoder open(File file, boolean append, String charset, Compression compression) throws IOException {
+        FileOutputStream output = new FileOutputStream(file, append);
+        try {
+            if (compression == Compression.GZIP) {
+                OutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(output.getChannel()), BUFFER_SIZE);
+                return new CSVEncoder(Channels.newChannel(gzip), gzip, Charset.forName(charset));
+            }
+            return new CSVEncoder(output.getChannel(), output, Charset.forName(charset));
+        } catch (IOException | RuntimeException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    public void setSeparator(char separator) {
+        this.separator = separator;
+    }
+
+    public void setQuoteChar(char quoteChar) {
+        this.quoteChar = quoteChar;
+    }
+
+    public void setEscapeChar(char escapeChar) {
+        this.escapeChar = escapeChar;
+    }
+
+    public void setLineEnd(String lineEnd) {
+        this.lineEnd = lineEnd;
+    }
+
+    public void setQuoteMode(QuoteMode quoteMode) {
+        this.quoteMode = quoteMode;
+    }
+
+    /**
+     * write a value as a column of current row, quote and escape it by the quote mode
+     */
+    public void writeColumn(CharSequence value) throws IOException {
+        startColumn();
+        if (value == null) {
+            return;
+        }
+
+        boolean quote = quoteMode == QuoteMode.FORCE || (quoteMode == QuoteMode.AUTO && needQuote(value));
+        if (!quote) {
+            append(value);
+            return;
+        }
+
+        append(quoteChar);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == quoteChar || c == escapeChar) {
+                append(escapeChar);
+            }
+            append(c);
+        }
+        append(quoteChar);
+    }
+
+    /**
+     * write a number as a column of current row without creating a String for it
+     */
+    public void writeColumn(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeColumn(String.valueOf(value));
+            return;
+        }
+
+        startColumn();
+        boolean quote = quoteMode == QuoteMode.FORCE;
+        if (quote) {
+            append(quoteChar);
+        }
+
+        long rest = value;
+        if (rest < 0) {
+            append('-');
+            rest = -rest;
+        }
+
+        int digits = 1;
+        for (long limit = 10; digits < 19 && rest >= limit; limit *= 10) {
+            digits++;
+        }
+        ensureSpace(digits);
+        for (int i = position + digits - 1; i >= position; i--) {
+            chars[i] = (char) ('0' + (rest % 10));
+            rest /= 10;
+        }
+        position += digits;
+
+        if (quote) {
+            append(quoteChar);
+        }
+    }
+
+    /**
+     * write a value as a column of current row without quote and escape, for example, the null value
+     */
+    public void writeRawColumn(CharSequence value) throws IOException {
+        startColumn();
+        if (value != null) {
+            append(value);
+        }
+    }
+
+    /**
+     * write a full row, like the header
+     */
+    public void writeRow(String[] values) throws IOException {
+        for (String value : values) {
+            writeColumn(value);
+        }
+        endRow();
+    }
+
+    public void endRow() throws IOException {
+        append(lineEnd);
+        firstColumn = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+        writeBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            encode(true);
+            while (encoder.flush(byteBuffer).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        } finally {
+            resource.close();
+        }
+    }
+
+    private boolean needQuote(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == separator || c == quoteChar || c == escapeChar || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startColumn() throws IOException {
+        if (firstColumn) {
+            firstColumn = false;
+        } else {
+            append(separator);
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (position == chars.length) {
+            encode(false);
+        }
+        chars[position++] = c;
+    }
+
+    private void append(CharSequence value) throws IOException {
+        int length = value.length();
+        if (value instanceof String) {
+            String s = (String) value;
+            int start = 0;
+            while (start < length) {
+                if (position == chars.length) {
+                    encode(false);
+                }
+                int end = Math.min(length, start + chars.length - position);
+                s.getChars(start, end, chars, position);
+                position += end - start;
+                start = end;
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                append(value.charAt(i));
+            }
+        }
+    }
+
+    private void ensureSpace(int count) throws IOException {
+        if (chars.length - position < count) {
+            encode(false);
+        }
+    }
+
+    /**
+     * encode the buffered chars to the bytes, a high surrogate at the end is kept in the buffer for the next call
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        charBuffer.limit(position);
+        charBuffer.position(0);
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+            if (result.isOverflow()) {
+                writeBytes();
+            } else {
+                break;
+            }
+        }
+
+        int remaining = charBuffer.remaining();
+        if (remaining > 0) {
+            System.arraycopy(chars, charBuffer.position(), chars, 0, remaining);
+        }
+        position = remaining;
+    }
+
+    private void writeBytes() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+}
@@ -0,0 +1,445 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread safe formatter of the dates, which gives the same result as a {@link SimpleDateFormat} with the same pattern
+ * and time zone, so it can replace the thread local formats.
+ *
+ * The patterns made only of numeric fields (yyyy, MM, dd, HH, mm, ss, SSS), offsets (Z, XXX) and literals, like
+ * "yyyy-MM-dd HH:mm:ss.SSSXXX", are written directly in the given {@link StringBuilder} without any Calendar. The other
+ * patterns use a cached {@link DateTimeFormatter} when their letters mean the same thing for both formatters, else a
+ * thread local {@link SimpleDateFormat}. The dates before the year 1583 or after the year 9999 always use the
+ * {@link SimpleDateFormat}, as java.time uses another calendar and another sign style for them. The offsets are taken
+ * from the {@link TimeZone} like SimpleDateFormat does, java.time would use the local mean time before the first
+ * transition of the zone.
+ *
+ * The instances are cached by pattern and time zone, they can be shared by all the threads.
+ */
+public final class TemporalCodec {
+
+    /**
+     * 1583-01-02T00:00:00Z, the first year after the default cutover of {@link java.util.GregorianCalendar}, in any time
+     * zone
+     */
+    static final long MINIMUM_FAST_DATE = -12212467200000L;
+
+    /**
+     * 9999-12-31T00:00:00Z, the year has at most 4 digits in any time zone before it
+     */
+    static final long MAXIMUM_FAST_DATE = 253402214400000L;
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final ConcurrentMap<ZoneId, ConcurrentMap<String, TemporalCodec>> CACHE = new ConcurrentHashMap<>();
+
+    // the fields of the numeric patterns, a literal char is stored as LITERAL followed by the char
+
+    private static final char LITERAL = 0;
+
+    private static final char YEAR = 1;
+
+    private static final char MONTH = 2;
+
+    private static final char DAY = 3;
+
+    private static final char HOUR = 4;
+
+    private static final char MINUTE = 5;
+
+    private static final char SECOND = 6;
+
+    private static final char MILLISECOND = 7;
+
+    private static final char OFFSET_ISO = 8;
+
+    private static final char OFFSET_RFC = 9;
+
+    private final String pattern;
+
+    private final ZoneId zone;
+
+    private final TimeZone timeZone;
+
+    /**
+     * the offset of the time zone when it has no transition, else Integer.MIN_VALUE
+     */
+    private final int fixedOffset;
+
+    /**
+     * the compiled numeric pattern, null when the pattern isn't only numeric
+     */
+    private final char[] fields;
+
+    /**
+     * null when the pattern is numeric or can't be used by java.time
+     */
+    private final DateTimeFormatter formatter;
+
+    private final ThreadLocal<DateFormat> legacyFormat;
+
+    private TemporalCodec(final String pattern, final ZoneId zone) {
+        this.pattern = pattern;
+        this.zone = zone;
+        this.timeZone = TimeZone.getTimeZone(zone);
+        this.fixedOffset = zone.getRules().isFixedOffset() ? timeZone.getRawOffset() : Integer.MIN_VALUE;
+        this.fields = compile(pattern);
+        this.formatter = fields == null ? toFormatter(pattern) : null;
+        // fails like SimpleDateFormat for an invalid pattern
+        final DateFormat format = newLegacyFormat(pattern, timeZone);
+        this.legacyFormat = new ThreadLocal<DateFormat>() {
+
+            @Override
+            protected DateFormat initialValue() {
+                return (DateFormat) format.clone();
+            }
+        };
+    }
+
+    /**
+     * @return the codec of the pattern in the default time zone
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TemporalCodec getInstance(String pattern) {
+        return getInstance(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * @return the codec of the pattern in the time zone
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TemporalCodec getInstance(String pattern, TimeZone timeZone) {
+        return getInstance(pattern, timeZone.toZoneId());
+    }
+
+    /**
+     * @return the codec of the pattern in the time zone
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TemporalCodec getInstance(String pattern, ZoneId zone) {
+        ConcurrentMap<String, TemporalCodec> codecs = CACHE.get(zone);
+        if (codecs == null) {
+            codecs = new ConcurrentHashMap<>();
+            ConcurrentMap<String, TemporalCodec> previous = CACHE.putIfAbsent(zone, codecs);
+            if (previous != null) {
+                codecs = previous;
+            }
+        }
+        TemporalCodec codec = codecs.get(pattern);
+        if (codec == null) {
+            codec = new TemporalCodec(pattern, zone);
+            TemporalCodec previous = codecs.putIfAbsent(pattern, codec);
+            if (previous != null) {
+                codec = previous;
+            }
+        }
+        return codec;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public String format(Date date) {
+        return format(date.getTime());
+    }
+
+    public String format(long epochMillis) {
+        if (fields == null && formatter != null && isFast(epochMillis)) {
+            return formatter.format(toDateTime(epochMillis));
+        }
+        return formatTo(epochMillis, new StringBuilder(32)).toString();
+    }
+
+    /**
+     * Append the formatted date to the builder, nothing is allocated for a numeric pattern in a fixed offset zone.
+     *
+     * @return the builder
+     */
+    public StringBuilder formatTo(long epochMillis, StringBuilder out) {
+        if (!isFast(epochMillis)) {
+            return out.append(legacyFormat.get().format(new Date(epochMillis)));
+        }
+        if (fields == null) {
+            if (formatter != null) {
+                formatter.formatTo(toDateTime(epochMillis), out);
+            } else {
+                out.append(legacyFormat.get().format(new Date(epochMillis)));
+            }
+            return out;
+        }
+
+        int offsetSeconds = getOffset(epochMillis) / 1000;
+        long localMillis = epochMillis + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+
+        // days to civil date, from http://howardhinnant.github.io/date_algorithms.html
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        for (int i = 0; i < fields.length; i++) {
+            switch (fields[i]) {
+            case LITERAL:
+                out.append(fields[++i]);
+                break;
+            case YEAR:
+                appendPadded(out, year, 4);
+                break;
+            case MONTH:
+                appendPadded(out, month, 2);
+                break;
+            case DAY:
+                appendPadded(out, day, 2);
+                break;
+            case HOUR:
+                appendPadded(out, millisOfDay / 3600000, 2);
+                break;
+            case MINUTE:
+                appendPadded(out, millisOfDay / 60000 % 60, 2);
+                break;
+            case SECOND:
+                appendPadded(out, millisOfDay / 1000 % 60, 2);
+                break;
+            case MILLISECOND:
+                appendPadded(out, millisOfDay % 1000, 3);
+                break;
+            case OFFSET_ISO:
+                if (offsetSeconds == 0) {
+                    out.append('Z');
+                } else {
+                    appendOffset(out, offsetSeconds, true);
+                }
+                break;
+            default:
+                appendOffset(out, offsetSeconds, false);
+                break;
+            }
+        }
+        return out;
+    }
+
+    private static boolean isFast(long epochMillis) {
+        return epochMillis >= MINIMUM_FAST_DATE && epochMillis < MAXIMUM_FAST_DATE;
+    }
+
+    /**
+     * @return the offset of the time zone in milliseconds, the {@link TimeZone} doesn't allocate anything for it
+     */
+    private int getOffset(long epochMillis) {
+        return fixedOffset != Integer.MIN_VALUE ? fixedOffset : timeZone.getOffset(epochMillis);
+    }
+
+    private OffsetDateTime toDateTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.ofTotalSeconds(getOffset(epochMillis) / 1000));
+    }
+
+    private static void appendPadded(StringBuilder out, int value, int width) {
+        for (int limit = 10; width > 1; width--, limit *= 10) {
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+        out.append(value);
+    }
+
+    /**
+     * the offset in hours and minutes, the seconds are ignored like SimpleDateFormat does
+     */
+    private static void appendOffset(StringBuilder out, int offsetSeconds, boolean colon) {
+        out.append(offsetSeconds < 0 ? '-' : '+');
+        int offsetMinutes = Math.abs(offsetSeconds) / 60;
+        appendPadded(out, offsetMinutes / 60, 2);
+        if (colon) {
+            out.append(':');
+        }
+        appendPadded(out, offsetMinutes % 60, 2);
+    }
+
+    /**
+     * @return the fields of the pattern, null if the pattern has another field than the numeric ones and the offsets
+     */
+    static char[] compile(String pattern) {
+        List<Character> fields = new ArrayList<>();
+        boolean quoted = false;
+        int length = pattern.length();
+        for (int i = 0; i < length;) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // a doubled quote is a quote, inside a quoted text or not
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    addLiteral(fields, c);
+                    i += 2;
+                } else {
+                    quoted = !quoted;
+                    i++;
+                }
+                continue;
+            }
+            if (quoted || !isLetter(c)) {
+                addLiteral(fields, c);
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < length && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            char field = toField(c, count);
+            if (field == LITERAL) {
+                return null;
+            }
+            fields.add(field);
+            i += count;
+        }
+        if (quoted) {
+            return null;
+        }
+
+        char[] result = new char[fields.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fields.get(i);
+        }
+        return result;
+    }
+
+    private static void addLiteral(List<Character> fields, char c) {
+        fields.add(LITERAL);
+        fields.add(c);
+    }
+
+    private static char toField(char letter, int count) {
+        switch (letter) {
+        case 'y':
+            return count == 4 ? YEAR : LITERAL;
+        case 'M':
+            return count == 2 ? MONTH : LITERAL;
+        case 'd':
+            return count == 2 ? DAY : LITERAL;
+        case 'H':
+            return count == 2 ? HOUR : LITERAL;
+        case 'm':
+            return count == 2 ? MINUTE : LITERAL;
+        case 's':
+            return count == 2 ? SECOND : LITERAL;
+        case 'S':
+            return count == 3 ? MILLISECOND : LITERAL;
+        case 'X':
+            return count == 3 ? OFFSET_ISO : LITERAL;
+        case 'Z':
+            return count == 1 ? OFFSET_RFC : LITERAL;
+        default:
+            return LITERAL;
+        }
+    }
+
+    /**
+     * @return the java.time formatter of the pattern, null if a letter has another meaning for SimpleDateFormat
+     */
+    static DateTimeFormatter toFormatter(String pattern) {
+        boolean quoted = false;
+        int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (quoted) {
+                continue;
+            } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#') {
+                // reserved by java.time, a literal for SimpleDateFormat
+                return null;
+            } else if (isLetter(c)) {
+                int count = 1;
+                while (i + 1 < length && pattern.charAt(i + 1) == c) {
+                    count++;
+                    i++;
+                }
+                if (!isSameMeaning(c, count)) {
+                    return null;
+                }
+            }
+        }
+        try {
+            return DateTimeFormatter.ofPattern(pattern);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isSameMeaning(char letter, int count) {
+        switch (letter) {
+        case 'y':
+        case 'd':
+        case 'D':
+        case 'H':
+        case 'h':
+        case 'K':
+        case 'k':
+        case 'm':
+        case 's':
+        case 'a':
+            return true;
+        case 'M':
+        case 'E':
+        case 'G':
+            // the narrow text of java.time
+            return count <= 4;
+        case 'S':
+            // a fraction for java.time, a count of milliseconds for SimpleDateFormat
+            return count == 3;
+        case 'Z':
+            return count <= 3;
+        case 'X':
+            // SimpleDateFormat writes only the hours for one letter
+            return count == 2 || count == 3;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static DateFormat newLegacyFormat(String pattern, TimeZone timeZone) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(timeZone);
+        return format;
+    }
+
+}
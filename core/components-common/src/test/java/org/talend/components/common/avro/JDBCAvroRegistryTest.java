@@ -0,0 +1,136 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.avro;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.SchemaBuilder;
+import org.codehaus.jackson.JsonNode;
+import org.junit.Test;
+import org.talend.daikon.avro.AvroUtils;
+
+/**
+ * Unit-tests for the converters of {@link JDBCAvroRegistry}
+ */
+public class JDBCAvroRegistryTest {
+
+    /**
+     * a result set of one row, which count the fetches of every column
+     */
+    private static class OneRowResultSet implements InvocationHandler {
+
+        private final Map<Integer, Object> row = new HashMap<>();
+
+        private final Map<Integer, Integer> fetches = new HashMap<>();
+
+        private boolean wasNull;
+
+        ResultSet create() {
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("wasNull".equals(name)) {
+                return wasNull;
+            }
+
+            if (!name.startsWith("get") || args == null || args.length != 1 || !(args[0] instanceof Integer)) {
+                throw new UnsupportedOperationException(name);
+            }
+
+            Integer index = (Integer) args[0];
+            Integer count = fetches.get(index);
+            fetches.put(index, count == null ? 1 : count + 1);
+
+            Object value = row.get(index);
+            wasNull = value == null;
+
+            Class<?> type = method.getReturnType();
+            if (type == int.class) {
+                return value == null ? 0 : ((Number) value).intValue();
+            } else if (type == long.class) {
+                return value == null ? 0L : ((Number) value).longValue();
+            } else if (type == double.class) {
+                return value == null ? 0d : ((Number) value).doubleValue();
+            } else if (type == float.class) {
+                return value == null ? 0f : ((Number) value).floatValue();
+            } else if (type == short.class) {
+                return value == null ? (short) 0 : ((Number) value).shortValue();
+            } else if (type == byte.class) {
+                return value == null ? (byte) 0 : ((Number) value).byteValue();
+            } else if (type == boolean.class) {
+                return value == null ? false : value;
+            }
+            return value;
+        }
+
+        int fetchCount(int index) {
+            Integer count = fetches.get(index);
+            return count == null ? 0 : count;
+        }
+    }
+
+    private static Field field(Schema type) {
+        return new Field("c", SchemaBuilder.builder().nullable().type(type), null, (JsonNode) null);
+    }
+
+    private void assertSingleFetch(Schema type, Object value) {
+        OneRowResultSet rs = new OneRowResultSet();
+        rs.row.put(1, value);
+
+        JDBCAvroRegistry.JDBCConverter converter = JDBCAvroRegistry.get().getConverter(field(type), 1);
+        assertEquals(value, converter.convertToAvro(rs.create()));
+        assertEquals(1, rs.fetchCount(1));
+
+        rs = new OneRowResultSet();
+        assertNull(converter.convertToAvro(rs.create()));
+        assertEquals(1, rs.fetchCount(1));
+    }
+
+    @Test
+    public void testConvertersFetchTheColumnOnce() {
+        assertSingleFetch(AvroUtils._int(), 1);
+        assertSingleFetch(AvroUtils._long(), 2L);
+        assertSingleFetch(AvroUtils._double(), 3.5d);
+        assertSingleFetch(AvroUtils._float(), 4.5f);
+        assertSingleFetch(AvroUtils._short(), (short) 5);
+        assertSingleFetch(AvroUtils._byte(), (byte) 6);
+        assertSingleFetch(AvroUtils._boolean(), true);
+        assertSingleFetch(AvroUtils._decimal(), new BigDecimal("7.89"));
+        assertSingleFetch(AvroUtils._date(), new Timestamp(1000L));
+        assertSingleFetch(AvroUtils._string(), "talend");
+    }
+
+    @Test
+    public void testZeroIsNotNull() {
+        OneRowResultSet rs = new OneRowResultSet();
+        rs.row.put(1, 0);
+
+        assertEquals(0, JDBCAvroRegistry.get().getConverter(field(AvroUtils._int()), 1).convertToAvro(rs.create()));
+    }
+
+}
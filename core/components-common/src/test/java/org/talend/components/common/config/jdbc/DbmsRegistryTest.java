@@ -0,0 +1,82 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.config.jdbc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit-tests for {@link DbmsRegistry}
+ */
+public class DbmsRegistryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        DbmsRegistry.get().clear();
+    }
+
+    @Test
+    public void testLoadOnlyOnce() throws IOException {
+        URL mappingFile = getClass().getResource("mapping_mysql.xml");
+
+        Dbms dbms = DbmsRegistry.get().getDbms(mappingFile);
+        Assert.assertEquals("mysql_id", dbms.getId());
+        Assert.assertEquals(43, dbms.getDbmsTypes().size());
+
+        Assert.assertSame(dbms, DbmsRegistry.get().getDbms(mappingFile));
+        Assert.assertSame(dbms, DbmsRegistry.get().getDbmsById("mysql_id"));
+    }
+
+    @Test
+    public void testReloadChangedFile() throws IOException {
+        File mappingFile = folder.newFile("mapping_mysql.xml");
+        try (InputStream stream = getClass().getResourceAsStream("mapping_mysql.xml")) {
+            Files.copy(stream, mappingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        URL url = mappingFile.toURI().toURL();
+
+        Dbms dbms = DbmsRegistry.get().getDbms(url);
+        Assert.assertSame(dbms, DbmsRegistry.get().getDbms(url));
+
+        Assert.assertTrue(mappingFile.setLastModified(mappingFile.lastModified() - 10000));
+        Dbms reloaded = DbmsRegistry.get().getDbms(url);
+        Assert.assertNotSame(dbms, reloaded);
+        Assert.assertEquals(dbms.getDbmsTypes().size(), reloaded.getDbmsTypes().size());
+        Assert.assertSame(reloaded, DbmsRegistry.get().getDbmsById("mysql_id"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingFile() throws IOException {
+        DbmsRegistry.get().getDbms(new File(folder.getRoot(), "mapping_none.xml").toURI().toURL());
+    }
+
+    @Test
+    public void testUnknownId() {
+        Assert.assertNull(DbmsRegistry.get().getDbmsById("unknown_id"));
+        Assert.assertNull(DbmsRegistry.get().getDbmsById(null));
+    }
+
+}
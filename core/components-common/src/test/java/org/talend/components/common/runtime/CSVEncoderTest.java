@@ -0,0 +1,121 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit-tests for {@link CSVEncoder}
+ */
+public class CSVEncoderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testAutoQuote() throws IOException {
+        File file = folder.newFile("auto.csv");
+        try (CSVEncoder encoder = CSVEncoder.open(file, false, "UTF-8", CSVEncoder.Compression.NONE)) {
+            encoder.writeRow(new String[] { "a", "b,c", "q\"x", null, "line\nbreak" });
+            encoder.writeColumn(0);
+            encoder.writeColumn(-123);
+            encoder.writeColumn(Long.MAX_VALUE);
+            encoder.writeColumn(Long.MIN_VALUE);
+            encoder.endRow();
+        }
+
+        Assert.assertEquals("a,\"b,c\",\"q\"\"x\",,\"line\nbreak\"\n0,-123,9223372036854775807,-9223372036854775808\n",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testForceQuoteWithEscapeChar() throws IOException {
+        File file = folder.newFile("force.csv");
+        try (CSVEncoder encoder = CSVEncoder.open(file, false, "UTF-8", CSVEncoder.Compression.NONE)) {
+            encoder.setQuoteMode(CSVEncoder.QuoteMode.FORCE);
+            encoder.setEscapeChar('\\');
+            encoder.setSeparator(';');
+            encoder.setLineEnd("|");
+            encoder.writeColumn("a\"b\\c");
+            encoder.writeRawColumn("NULL");
+            encoder.writeColumn(5);
+            encoder.endRow();
+        }
+
+        Assert.assertEquals("\"a\\\"b\\\\c\";NULL;\"5\"|", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNoQuote() throws IOException {
+        File file = folder.newFile("no.csv");
+        try (CSVEncoder encoder = CSVEncoder.open(file, false, "UTF-8", CSVEncoder.Compression.NONE)) {
+            encoder.setQuoteMode(CSVEncoder.QuoteMode.NO);
+            encoder.writeColumn("a\"b");
+            encoder.writeColumn("c,d");
+            encoder.endRow();
+        }
+
+        Assert.assertEquals("a\"b,c,d\n", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGzipAppendBiggerThanBuffer() throws IOException {
+        // the surrogate pairs may be split by the end of the buffer
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            value.append(i % 7 == 0 ? "\uD83D\uDE00" : "\u00E9");
+        }
+
+        File file = new File(folder.getRoot(), "bulk.csv.gz");
+        Assert.assertEquals(CSVEncoder.Compression.GZIP, CSVEncoder.Compression.of(file.getName()));
+
+        StringBuilder expected = new StringBuilder();
+        for (int round = 0; round < 2; round++) {
+            try (CSVEncoder encoder = CSVEncoder.open(file, true, "UTF-8", CSVEncoder.Compression.of(file.getName()))) {
+                for (int i = 0; i < 3; i++) {
+                    encoder.writeColumn(value);
+                    encoder.writeColumn(i);
+                    encoder.endRow();
+                    expected.append(value).append(',').append(i).append('\n');
+                }
+            }
+        }
+
+        try (InputStream input = new GZIPInputStream(new FileInputStream(file))) {
+            Assert.assertEquals(expected.toString(), new String(readAll(input), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = input.read(buffer)) > 0) {
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+
+}
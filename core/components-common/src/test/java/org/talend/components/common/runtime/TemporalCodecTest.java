@@ -0,0 +1,91 @@
+//============================================================================
+//
+// Copyright (C) 2006-2023 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+//============================================================================
+package org.talend.components.common.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class TemporalCodecTest {
+
+    private static final String[] PATTERNS = { "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "HH:mm:ss.SSS",
+            "yyyy-MM-dd HH:mm:ss.SSSXXX", "dd-MM-yyyy", "yyyy-MM-dd'T'HH:mm:ssZ", "yyyy-MM-dd HH:mm:ss'Z'",
+            "'it''s' yyyy", "dd/MMM/yy hh:mm a", "EEE, d MMM yyyy HH:mm:ss Z", "yyyyMMddHHmmssS", "yyyy-MM-dd HH:mm X",
+            "G yyyy D k K", "y-M-d [w]" };
+
+    private static final String[] ZONES = { "UTC", "Europe/Paris", "America/New_York", "Asia/Kolkata",
+            "Australia/Lord_Howe", "America/St_Johns", "GMT+05:30" };
+
+    private static final long[] DATES = { 0, -1, 1, 86399999, TemporalCodec.MINIMUM_FAST_DATE,
+            TemporalCodec.MINIMUM_FAST_DATE - 1, TemporalCodec.MAXIMUM_FAST_DATE, TemporalCodec.MAXIMUM_FAST_DATE - 1,
+            -62135596800000L, 1498031820000L };
+
+    @Test
+    public void testSameAsSimpleDateFormat() {
+        Random random = new Random(0);
+        for (String zone : ZONES) {
+            TimeZone timeZone = TimeZone.getTimeZone(zone);
+            for (String pattern : PATTERNS) {
+                SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                expected.setTimeZone(timeZone);
+                TemporalCodec codec = TemporalCodec.getInstance(pattern, timeZone);
+                for (long date : DATES) {
+                    assertEquals(pattern + " " + zone, expected.format(new Date(date)), codec.format(date));
+                }
+                for (int i = 0; i < 1000; i++) {
+                    // from the 17th to the 23rd century, with the DST transitions and the local mean times
+                    long date = (long) (random.nextDouble() * 2e13) - 12000000000000L;
+                    assertEquals(pattern + " " + zone + " " + date, expected.format(new Date(date)), codec.format(date));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatTo() {
+        TemporalCodec codec = TemporalCodec.getInstance("yyyy-MM-dd HH:mm:ss.SSSXXX", TimeZone.getTimeZone("UTC"));
+        StringBuilder out = new StringBuilder("date: ");
+        assertSame(out, codec.formatTo(1498031820123L, out));
+        assertEquals("date: 2017-06-21 07:57:00.123Z", out.toString());
+    }
+
+    @Test
+    public void testCached() {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Paris");
+        assertSame(TemporalCodec.getInstance("yyyy-MM-dd", timeZone), TemporalCodec.getInstance("yyyy-MM-dd", timeZone));
+    }
+
+    @Test
+    public void testCompile() {
+        assertNotNull(TemporalCodec.compile("yyyy-MM-dd'T'HH:mm:ss.SSSXXX"));
+        assertNull(TemporalCodec.compile("yyyy-MM-dd HH:mm:ss.S"));
+        assertNull(TemporalCodec.compile("dd MMM yyyy"));
+        assertNull(TemporalCodec.compile("'unterminated"));
+        assertNull(TemporalCodec.toFormatter("yyyy-MM-dd [u]"));
+        assertNull(TemporalCodec.toFormatter("yyyy-MM-dd HH:mm:ss.S"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPattern() {
+        TemporalCodec.getInstance("yyyy-MM-dd qq");
+    }
+
+}